@@ -0,0 +1,182 @@
+/*
+ * ObservableCollectionBenchmark.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@linkplain ObservableCollectionBenchmark} measures the bulk operations of the {@linkplain ObservableCollection} 
+ * from a thousand to a million items, with and without an observer of the {@linkplain ObservableCollection#CollectionChanged()}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservableCollectionBenchmark
+{
+    /**
+     * The number of items in the collection
+     */
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int size;
+    
+    /**
+     * A value indicating whether the collections are observed
+     */
+    @Param({ "false", "true" })
+    public boolean isObserved;
+    
+    /**
+     * The items, boxed once so that the boxing is not measured
+     */
+    private List<Integer> items;
+    
+    /**
+     * The items looked up by {@linkplain #ContainsAll()}, taken from the end of the collection so every lookup walks most of it
+     */
+    private List<Integer> probes;
+    
+    /**
+     * The collection {@linkplain #ContainsAll()} looks into
+     */
+    private ObservableCollection<Integer> filledCollection;
+    
+    /**
+     * The number of notifications received, written by the observers so they cannot be optimized away
+     */
+    private long notificationCount;
+    
+    /**
+     * Creates the items and the collection to look into
+     */
+    @Setup(Level.Trial)
+    public void Setup()
+    {
+        this.items = new ArrayList<>(this.size);
+        
+        for (int index = 0; index < this.size; index++)
+        {
+            this.items.add(index);
+        }
+        
+        this.probes = new ArrayList<>(this.items.subList(this.size - Math.min(this.size, 1000), this.size));
+        this.filledCollection = this.CreateCollection();
+        this.filledCollection.addAll(this.items);
+    }
+    
+    /**
+     * Creates an empty {@linkplain ObservableCollection}, observed according to {@linkplain #isObserved}
+     * 
+     * @return an {@linkplain ObservableCollection}
+     */
+    ObservableCollection<Integer> CreateCollection()
+    {
+        ObservableCollection<Integer> collection = new ObservableCollection<>(Integer.class);
+        
+        if(this.isObserved)
+        {
+            collection.CollectionChanged().subscribe(x -> this.notificationCount++);
+        }
+        
+        return collection;
+    }
+    
+    /**
+     * The {@linkplain State} that provides a filled {@linkplain ObservableCollection} to every invocation, 
+     * for the operations that consume it
+     */
+    @State(Scope.Thread)
+    public static class FilledCollection
+    {
+        /**
+         * The filled {@linkplain ObservableCollection}
+         */
+        ObservableCollection<Integer> collection;
+        
+        /**
+         * Fills a new collection before every invocation
+         * 
+         * @param benchmark the {@linkplain ObservableCollectionBenchmark} that holds the items
+         */
+        @Setup(Level.Invocation)
+        public void Setup(ObservableCollectionBenchmark benchmark)
+        {
+            this.collection = benchmark.CreateCollection();
+            this.collection.addAll(benchmark.items);
+        }
+    }
+    
+    /**
+     * Adds all the items at once to an empty collection
+     * 
+     * @return the collection
+     */
+    @Benchmark
+    public ObservableCollection<Integer> AddAll()
+    {
+        ObservableCollection<Integer> collection = this.CreateCollection();
+        collection.addAll(this.items);
+        return collection;
+    }
+    
+    /**
+     * Removes every other item at once
+     * 
+     * @param state the {@linkplain FilledCollection}
+     * @return a value indicating whether something was removed
+     */
+    @Benchmark
+    public boolean RemoveIf(FilledCollection state)
+    {
+        return state.collection.removeIf(x -> (x & 1) == 0);
+    }
+    
+    /**
+     * Looks up a thousand items at the end of the collection
+     * 
+     * @return a value indicating whether all the items are contained
+     */
+    @Benchmark
+    public boolean ContainsAll()
+    {
+        return this.filledCollection.containsAll(this.probes);
+    }
+}
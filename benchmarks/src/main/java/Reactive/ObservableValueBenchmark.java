@@ -0,0 +1,109 @@
+/*
+ * ObservableValueBenchmark.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@linkplain ObservableValueBenchmark} measures one emission of an {@linkplain ObservableValue} to N subscribers.
+ * The subscriber counts stop at ten thousand since subscribing to a subject copies its array of observers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservableValueBenchmark
+{
+    /**
+     * The number of subscribers of the {@linkplain #value}
+     */
+    @Param({ "0", "1", "10", "100", "1000", "10000" })
+    public int subscribers;
+    
+    /**
+     * The values to emit, boxed once so that the boxing is not measured
+     */
+    private final Integer[] values = new Integer[1024];
+    
+    /**
+     * The {@linkplain ObservableValue} that emits
+     */
+    private ObservableValue<Integer> value;
+    
+    /**
+     * The index of the next value to emit
+     */
+    private int index;
+    
+    /**
+     * The sum of the received values, read so the subscribers cannot be optimized away
+     */
+    private long receivedSum;
+    
+    /**
+     * Creates the {@linkplain ObservableValue} and its subscribers
+     */
+    @Setup(Level.Trial)
+    public void Setup()
+    {
+        for (int valueIndex = 0; valueIndex < this.values.length; valueIndex++)
+        {
+            this.values[valueIndex] = valueIndex;
+        }
+        
+        this.value = new ObservableValue<>(Integer.class);
+        
+        for (int subscriber = 0; subscriber < this.subscribers; subscriber++)
+        {
+            this.value.Observable().subscribe(x -> this.receivedSum += x);
+        }
+    }
+    
+    /**
+     * Emits one value to all the subscribers
+     * 
+     * @return the sum of the received values
+     */
+    @Benchmark
+    public long Emit()
+    {
+        this.value.Value(this.values[this.index++ & (this.values.length - 1)]);
+        return this.receivedSum;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * ReactiveBenchmarks.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The {@linkplain ReactiveBenchmarks} runs the benchmarks of the Reactive package with the allocation profiler, 
+ * so every score comes with its gc.alloc.rate.norm in bytes per operation. It accepts the usual JMH command line options.
+ */
+public final class ReactiveBenchmarks
+{
+    /**
+     * Prevents the {@linkplain ReactiveBenchmarks} from being instantiated
+     */
+    private ReactiveBenchmarks()
+    {
+    }
+    
+    /**
+     * Runs the benchmarks
+     * 
+     * @param args the JMH command line options, for instance a regular expression to run only some of the benchmarks
+     * @throws Exception when the options are invalid or a benchmark fails
+     */
+    public static void main(String[] args) throws Exception
+    {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+}
@@ -28,10 +28,16 @@ import org.picocontainer.MutablePicoContainer;
 import org.picocontainer.behaviors.Caching;
 import HubController.HubController;
 import HubController.IHubController;
+import HubController.ISessionFactory;
+import HubController.SessionFactory;
 import Services.UserPreferenceService.*;
+import Services.IterationSnapshot.IIterationSnapshotService;
+import Services.IterationSnapshot.IterationSnapshotService;
 import Services.LocalExchangeHistory.ILocalExchangeHistoryService;
 import Services.LocalExchangeHistory.LocalExchangeHistoryService;
 import Services.NavigationService.*;
+import Services.SchedulerService.ISchedulerService;
+import Services.SchedulerService.SchedulerService;
 import ViewModels.*;
 import ViewModels.Dialogs.LogEntryDialogViewModel;
 import ViewModels.Dialogs.Interfaces.ILogEntryDialogViewModel;
@@ -63,9 +69,12 @@ public final class AppContainer
 	{
         Container = new DefaultPicoContainer(new Caching());
         Container.as(CACHE).addComponent(IHubController.class, HubController.class);
+        Container.as(CACHE).addComponent(ISessionFactory.class, SessionFactory.class);
         Container.as(NO_CACHE).addComponent(INavigationService.class, NavigationService.class);
         Container.as(NO_CACHE).addComponent(IUserPreferenceService.class, UserPreferenceService.class);
+        Container.as(CACHE).addComponent(IIterationSnapshotService.class, IterationSnapshotService.class);
         Container.as(CACHE).addComponent(ILocalExchangeHistoryService.class, LocalExchangeHistoryService.class);
+        Container.addComponent(ISchedulerService.class, SchedulerService.Current);
         RegisterViewModels();
         Container.start();
 	}
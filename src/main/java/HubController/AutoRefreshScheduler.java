@@ -0,0 +1,248 @@
+/*
+ * AutoRefreshScheduler.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import Reactive.ObservableValue;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * The {@linkplain AutoRefreshScheduler} triggers a refresh every interval from the provided {@linkplain Scheduler}.
+ * It counts down in seconds, does not start a refresh while the previous one is running or while it is paused,
+ * and doubles the interval, up to {@linkplain #MaximumBackOffFactor} times the requested one, as long as the refreshes find no change.
+ */
+final class AutoRefreshScheduler
+{
+    /**
+     * The maximum factor applied to the requested interval when the refreshes keep finding no change
+     */
+    static final int MaximumBackOffFactor = 8;
+
+    /**
+     * The current class logger
+     */
+    private final Logger logger = LogManager.getLogger();
+
+    /**
+     * Starts a refresh or joins the one in flight, yields the resulting {@linkplain ThingChangeSet} or null if the refresh failed
+     */
+    private final Supplier<CompletableFuture<ThingChangeSet>> refresh;
+
+    /**
+     * Gets a value indicating whether the refreshes should be held back for now
+     */
+    private final BooleanSupplier isPaused;
+
+    /**
+     * The {@linkplain Scheduler} that runs the ticks
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * The {@linkplain ObservableValue} that yields the number of seconds left before the next refresh
+     */
+    private final ObservableValue<Integer> countdown = new ObservableValue<>(0, Integer.class);
+
+    /**
+     * The {@linkplain ObservableValue} that yields the current interval in seconds, after back-off
+     */
+    private final ObservableValue<Integer> effectiveInterval = new ObservableValue<>(0, Integer.class);
+
+    /**
+     * The {@linkplain Disposable} of the ticks, null when stopped
+     */
+    private Disposable ticker;
+
+    /**
+     * The requested interval in seconds
+     */
+    private int interval;
+
+    /**
+     * The current interval in seconds, after back-off
+     */
+    private int currentInterval;
+
+    /**
+     * The number of seconds left before the next refresh
+     */
+    private int remaining;
+
+    /**
+     * A value indicating whether a refresh triggered by this scheduler is running
+     */
+    private boolean isRefreshing;
+
+    /**
+     * Initializes a new {@linkplain AutoRefreshScheduler}
+     *
+     * @param refresh the {@linkplain Supplier} that starts a refresh or joins the one in flight
+     * @param isPaused the {@linkplain BooleanSupplier} that indicates whether the refreshes should be held back
+     * @param scheduler the {@linkplain Scheduler} that runs the ticks
+     */
+    AutoRefreshScheduler(Supplier<CompletableFuture<ThingChangeSet>> refresh, BooleanSupplier isPaused, Scheduler scheduler)
+    {
+        this.refresh = refresh;
+        this.isPaused = isPaused;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Gets the {@linkplain Observable} that yields the number of seconds left before the next refresh
+     *
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    Observable<Integer> Countdown()
+    {
+        return this.countdown.Observable();
+    }
+
+    /**
+     * Gets the {@linkplain Observable} that yields the current interval in seconds, after back-off, each time it changes
+     *
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    Observable<Integer> EffectiveInterval()
+    {
+        return this.effectiveInterval.Observable();
+    }
+
+    /**
+     * Gets the current interval in seconds, after back-off
+     *
+     * @return an int
+     */
+    synchronized int GetCurrentInterval()
+    {
+        return this.currentInterval;
+    }
+
+    /**
+     * Gets a value indicating whether the auto refresh is running
+     *
+     * @return a {@linkplain boolean}
+     */
+    synchronized boolean IsRunning()
+    {
+        return this.ticker != null;
+    }
+
+    /**
+     * Starts or restarts the auto refresh
+     *
+     * @param interval the interval in seconds between two refreshes
+     */
+    synchronized void Start(int interval)
+    {
+        if(interval < 1)
+        {
+            throw new IllegalArgumentException("The auto refresh interval should be at least one second");
+        }
+
+        this.Stop();
+        this.interval = interval;
+        this.currentInterval = interval;
+        this.remaining = interval;
+        this.effectiveInterval.Value(this.currentInterval);
+        this.countdown.Value(this.remaining);
+        this.ticker = this.scheduler.schedulePeriodicallyDirect(this::Tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the auto refresh, a refresh in flight still completes
+     */
+    synchronized void Stop()
+    {
+        if(this.ticker != null)
+        {
+            this.ticker.dispose();
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * Counts down one second and starts a refresh when the countdown is over
+     */
+    private synchronized void Tick()
+    {
+        if(this.isRefreshing || this.ticker == null)
+        {
+            return;
+        }
+
+        this.remaining = Math.max(this.remaining - 1, 0);
+        this.countdown.Value(this.remaining);
+
+        if(this.remaining > 0 || this.isPaused.getAsBoolean())
+        {
+            return;
+        }
+
+        this.isRefreshing = true;
+        Disposable currentTicker = this.ticker;
+
+        try
+        {
+            this.refresh.get().whenComplete((changeSet, exception) -> this.OnRefreshed(exception == null ? changeSet : null, currentTicker));
+        }
+        catch (Exception exception)
+        {
+            this.logger.catching(exception);
+            this.OnRefreshed(null, currentTicker);
+        }
+    }
+
+    /**
+     * Applies the back-off based on the result of the last refresh and restarts the countdown
+     *
+     * @param changeSet the {@linkplain ThingChangeSet} found by the refresh, null if it failed
+     * @param tickerAtStart the {@linkplain Disposable} of the ticks when the refresh started
+     */
+    private synchronized void OnRefreshed(ThingChangeSet changeSet, Disposable tickerAtStart)
+    {
+        this.isRefreshing = false;
+
+        if(this.ticker != tickerAtStart)
+        {
+            return;
+        }
+
+        this.currentInterval = changeSet != null && changeSet.IsEmpty()
+                ? Math.min(this.currentInterval * 2, this.interval * MaximumBackOffFactor)
+                : this.interval;
+
+        this.remaining = this.currentInterval;
+        this.effectiveInterval.Value(this.currentInterval);
+        this.countdown.Value(this.remaining);
+    }
+}
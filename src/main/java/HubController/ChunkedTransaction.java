@@ -0,0 +1,836 @@
+/*
+ * ChunkedTransaction.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import Reactive.ObservableValue;
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.EngineeringModel;
+import cdp4common.engineeringmodeldata.Iteration;
+import cdp4common.types.ContainerList;
+import cdp4dal.operations.ThingTransaction;
+import io.reactivex.Observable;
+
+/**
+ * The {@linkplain ChunkedTransaction} splits the created and updated {@linkplain Thing}s of a {@linkplain ThingTransaction} into batches
+ * that can be written one after the other. A {@linkplain Thing} always lands in the same batch as the other {@linkplain Thing}s of
+ * the transaction it is contained in, or that it contains. The batches are ordered so that the {@linkplain Thing}s a batch references,
+ * through containment or through any other reference, are written by the same batch or by an earlier one, {@linkplain Thing}s that reference
+ * each other land in the same batch. The top containers, {@linkplain Iteration} and {@linkplain EngineeringModel}, are written by every batch
+ * that needs them, trimmed from the created {@linkplain Thing}s that later batches write.
+ * It also keeps track of the written batches so a failed write can be resumed from the first batch that did not go through.
+ */
+public final class ChunkedTransaction
+{
+    /**
+     * The getters of each {@linkplain Thing} class that may return a referenced {@linkplain Thing} or a collection of them
+     */
+    private static final ClassValue<List<Method>> referenceGetters = new ClassValue<List<Method>>()
+    {
+        @Override
+        protected List<Method> computeValue(Class<?> type)
+        {
+            return GetGetters(type, x -> Thing.class.isAssignableFrom(x) || Iterable.class.isAssignableFrom(x));
+        }
+    };
+    
+    /**
+     * The getters of each {@linkplain Thing} class that return one of its {@linkplain ContainerList}
+     */
+    private static final ClassValue<List<Method>> containerListGetters = new ClassValue<List<Method>>()
+    {
+        @Override
+        protected List<Method> computeValue(Class<?> type)
+        {
+            return GetGetters(type, ContainerList.class::isAssignableFrom);
+        }
+    };
+    
+    /**
+     * The getters that have failed at least once, so that only their first failure is logged as a warning
+     */
+    private static final Set<Method> failedGetters = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * The current class logger
+     */
+    private static final Logger Logger = LogManager.getLogger();
+    
+    /**
+     * The planned batches
+     */
+    private final List<Batch> batches;
+
+    /**
+     * The index of the next batch to write
+     */
+    private int nextBatchIndex;
+
+    /**
+     * The {@linkplain ObservableValue} that yields the number of batches written so far
+     */
+    private final ObservableValue<Integer> writtenBatches = new ObservableValue<>(0, Integer.class);
+
+    /**
+     * The {@linkplain Exception} that stopped the last write
+     */
+    private Exception exception;
+
+    /**
+     * Initializes a new {@linkplain ChunkedTransaction}
+     *
+     * @param batches the planned {@linkplain Batch}es
+     */
+    private ChunkedTransaction(List<Batch> batches)
+    {
+        this.batches = Collections.unmodifiableList(batches);
+    }
+
+    /**
+     * Plans a {@linkplain ChunkedTransaction} from the created and updated {@linkplain Thing}s of the provided {@linkplain ThingTransaction}
+     *
+     * @param transaction the {@linkplain ThingTransaction}, it does not need to be finalized
+     * @param batchSize the maximum number of {@linkplain Thing}s per batch, a group of dependent {@linkplain Thing}s bigger than it gets its own batch
+     * @return a {@linkplain ChunkedTransaction}
+     * @throws IllegalArgumentException when the transaction deletes {@linkplain Thing}s, deletions have to be written in one single transaction
+     */
+    public static ChunkedTransaction From(ThingTransaction transaction, int batchSize)
+    {
+        if(transaction.getDeletedThing().iterator().hasNext())
+        {
+            throw new IllegalArgumentException("A transaction that deletes things cannot be chunked, write it in one single transaction instead");
+        }
+        
+        List<Thing> things = new ArrayList<>();
+        Set<Thing> createdThings = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Thing thing : transaction.getAddedThing())
+        {
+            things.add(thing);
+            createdThings.add(thing);
+        }
+
+        things.addAll(transaction.getUpdatedThing().values());
+
+        return Plan(things, createdThings, batchSize);
+    }
+
+    /**
+     * Plans a {@linkplain ChunkedTransaction} from the provided {@linkplain Thing}s to create or update. 
+     * The {@linkplain Thing}s that have never been written, with a revision number of zero, are the created ones
+     *
+     * @param things the {@linkplain Collection} of {@linkplain Thing} clones to create or update
+     * @param batchSize the maximum number of {@linkplain Thing}s per batch, a group of dependent {@linkplain Thing}s bigger than it gets its own batch
+     * @return a {@linkplain ChunkedTransaction}
+     */
+    public static ChunkedTransaction Plan(Collection<Thing> things, int batchSize)
+    {
+        return Plan(things, things.stream().filter(x -> x.getRevisionNumber() == 0).collect(Collectors.toList()), batchSize);
+    }
+
+    /**
+     * Plans a {@linkplain ChunkedTransaction} from the provided {@linkplain Thing}s to create or update
+     *
+     * @param things the {@linkplain Collection} of {@linkplain Thing} clones to create or update
+     * @param createdThings the {@linkplain Thing}s among the provided ones that do not exist yet
+     * @param batchSize the maximum number of {@linkplain Thing}s per batch, a group of dependent {@linkplain Thing}s bigger than it gets its own batch
+     * @return a {@linkplain ChunkedTransaction}
+     */
+    public static ChunkedTransaction Plan(Collection<Thing> things, Collection<Thing> createdThings, int batchSize)
+    {
+        if(batchSize < 1)
+        {
+            throw new IllegalArgumentException("The batch size should be at least 1");
+        }
+
+        Set<Thing> thingSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Thing> orderedThings = new ArrayList<>();
+        
+        for (Thing thing : things)
+        {
+            if(thingSet.add(thing))
+            {
+                orderedThings.add(thing);
+            }
+        }
+
+        Map<Thing, Integer> groupIndexes = new IdentityHashMap<>();
+        List<List<Thing>> groups = new ArrayList<>();
+        List<Set<Thing>> groupTopContainers = new ArrayList<>();
+        Map<Thing, Integer> groupIndexByRoot = new IdentityHashMap<>();
+
+        for (Thing thing : orderedThings)
+        {
+            if(IsTopContainer(thing))
+            {
+                continue;
+            }
+
+            Thing root = thing;
+            Set<Thing> topContainers = new LinkedHashSet<>();
+
+            for (Thing container = thing.getContainer(); container != null; container = container.getContainer())
+            {
+                if(!thingSet.contains(container))
+                {
+                    continue;
+                }
+                
+                if(IsTopContainer(container))
+                {
+                    topContainers.add(container);
+                }
+                else
+                {
+                    root = container;
+                }
+            }
+
+            Integer groupIndex = groupIndexByRoot.get(root);
+            
+            if(groupIndex == null)
+            {
+                groupIndex = groups.size();
+                groupIndexByRoot.put(root, groupIndex);
+                groups.add(new ArrayList<>());
+                groupTopContainers.add(new LinkedHashSet<>());
+            }
+            
+            groups.get(groupIndex).add(thing);
+            groupTopContainers.get(groupIndex).addAll(topContainers);
+            groupIndexes.put(thing, groupIndex);
+        }
+
+        List<List<Integer>> units = OrderGroups(groups, groupIndexes);
+        List<Batch> batches = new ArrayList<>();
+        Map<Thing, Integer> createdThingBatchIndexes = new IdentityHashMap<>();
+        Set<Thing> createdThingSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        createdThingSet.addAll(createdThings);
+        Batch currentBatch = new Batch(0, createdThingBatchIndexes);
+        Set<Thing> assignedTopContainers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (List<Integer> unit : units)
+        {
+            int unitSize = unit.stream().mapToInt(x -> groups.get(x).size()).sum();
+            
+            if(!currentBatch.things.isEmpty() && currentBatch.things.size() + unitSize > batchSize)
+            {
+                batches.add(currentBatch);
+                currentBatch = new Batch(batches.size(), createdThingBatchIndexes);
+            }
+
+            for (int groupIndex : unit)
+            {
+                for (Thing thing : groups.get(groupIndex))
+                {
+                    currentBatch.things.add(thing);
+                    
+                    if(createdThingSet.contains(thing))
+                    {
+                        createdThingBatchIndexes.put(thing, currentBatch.index);
+                    }
+                }
+                
+                currentBatch.topContainers.addAll(groupTopContainers.get(groupIndex));
+                assignedTopContainers.addAll(groupTopContainers.get(groupIndex));
+            }
+        }
+
+        for (Thing thing : orderedThings)
+        {
+            if(IsTopContainer(thing) && !assignedTopContainers.contains(thing))
+            {
+                currentBatch.topContainers.add(thing);
+            }
+        }
+
+        if(!currentBatch.things.isEmpty() || !currentBatch.topContainers.isEmpty())
+        {
+            batches.add(currentBatch);
+        }
+
+        return new ChunkedTransaction(batches);
+    }
+
+    /**
+     * Orders the provided groups so that every group comes after the groups holding the {@linkplain Thing}s it references.
+     * The groups that reference each other, directly or not, are merged into one unit. Among the units that are ready, 
+     * the one holding the group that came first in the transaction is picked first, so the order of the transaction is kept when nothing forces it
+     *
+     * @param groups the groups of {@linkplain Thing}s that share the same containment root
+     * @param groupIndexes the group index of each {@linkplain Thing}
+     * @return a {@linkplain List} of units, each unit being a {@linkplain List} of group indexes
+     */
+    private static List<List<Integer>> OrderGroups(List<List<Thing>> groups, Map<Thing, Integer> groupIndexes)
+    {
+        int numberOfGroups = groups.size();
+        List<Set<Integer>> prerequisites = new ArrayList<>();
+        List<Set<Integer>> dependents = new ArrayList<>();
+        
+        for (int groupIndex = 0; groupIndex < numberOfGroups; groupIndex++)
+        {
+            prerequisites.add(new LinkedHashSet<>());
+            dependents.add(new LinkedHashSet<>());
+        }
+        
+        for (int groupIndex = 0; groupIndex < numberOfGroups; groupIndex++)
+        {
+            for (Thing thing : groups.get(groupIndex))
+            {
+                for (Thing referencedThing : GetReferencedThings(thing))
+                {
+                    Integer referencedGroupIndex = groupIndexes.get(referencedThing);
+                    
+                    if(referencedGroupIndex != null && referencedGroupIndex != groupIndex)
+                    {
+                        prerequisites.get(groupIndex).add(referencedGroupIndex);
+                        dependents.get(referencedGroupIndex).add(groupIndex);
+                    }
+                }
+            }
+        }
+        
+        int[] unitIndexes = GetStronglyConnectedComponents(prerequisites, dependents);
+        int numberOfUnits = 0;
+        
+        for (int unitIndex : unitIndexes)
+        {
+            numberOfUnits = Math.max(numberOfUnits, unitIndex + 1);
+        }
+        
+        List<List<Integer>> units = new ArrayList<>();
+        List<Set<Integer>> unitDependents = new ArrayList<>();
+        int[] remainingPrerequisites = new int[numberOfUnits];
+        
+        for (int unitIndex = 0; unitIndex < numberOfUnits; unitIndex++)
+        {
+            units.add(new ArrayList<>());
+            unitDependents.add(new LinkedHashSet<>());
+        }
+        
+        for (int groupIndex = 0; groupIndex < numberOfGroups; groupIndex++)
+        {
+            units.get(unitIndexes[groupIndex]).add(groupIndex);
+            
+            for (int dependent : dependents.get(groupIndex))
+            {
+                if(unitIndexes[dependent] != unitIndexes[groupIndex] && unitDependents.get(unitIndexes[groupIndex]).add(unitIndexes[dependent]))
+                {
+                    remainingPrerequisites[unitIndexes[dependent]]++;
+                }
+            }
+        }
+        
+        PriorityQueue<Integer> readyUnits = new PriorityQueue<>((x, y) -> Integer.compare(units.get(x).get(0), units.get(y).get(0)));
+        
+        for (int unitIndex = 0; unitIndex < numberOfUnits; unitIndex++)
+        {
+            if(remainingPrerequisites[unitIndex] == 0)
+            {
+                readyUnits.add(unitIndex);
+            }
+        }
+        
+        List<List<Integer>> orderedUnits = new ArrayList<>();
+        
+        while(!readyUnits.isEmpty())
+        {
+            int unitIndex = readyUnits.poll();
+            orderedUnits.add(units.get(unitIndex));
+            
+            for (int dependent : unitDependents.get(unitIndex))
+            {
+                if(--remainingPrerequisites[dependent] == 0)
+                {
+                    readyUnits.add(dependent);
+                }
+            }
+        }
+        
+        return orderedUnits;
+    }
+    
+    /**
+     * Computes the strongly connected components of the graph of groups, without recursion so that long chains of references do not overflow the stack
+     *
+     * @param prerequisites the groups each group references
+     * @param dependents the groups that reference each group
+     * @return the component index of each group
+     */
+    private static int[] GetStronglyConnectedComponents(List<Set<Integer>> prerequisites, List<Set<Integer>> dependents)
+    {
+        int numberOfGroups = prerequisites.size();
+        boolean[] isVisited = new boolean[numberOfGroups];
+        List<Integer> finishOrder = new ArrayList<>();
+        
+        for (int startIndex = 0; startIndex < numberOfGroups; startIndex++)
+        {
+            if(isVisited[startIndex])
+            {
+                continue;
+            }
+            
+            Deque<Integer> path = new ArrayDeque<>();
+            Deque<Iterator<Integer>> iterators = new ArrayDeque<>();
+            isVisited[startIndex] = true;
+            path.push(startIndex);
+            iterators.push(prerequisites.get(startIndex).iterator());
+            
+            while(!path.isEmpty())
+            {
+                if(iterators.peek().hasNext())
+                {
+                    int next = iterators.peek().next();
+                    
+                    if(!isVisited[next])
+                    {
+                        isVisited[next] = true;
+                        path.push(next);
+                        iterators.push(prerequisites.get(next).iterator());
+                    }
+                }
+                else
+                {
+                    iterators.pop();
+                    finishOrder.add(path.pop());
+                }
+            }
+        }
+        
+        int[] componentIndexes = new int[numberOfGroups];
+        Arrays.fill(componentIndexes, -1);
+        int numberOfComponents = 0;
+        
+        for (int position = finishOrder.size() - 1; position >= 0; position--)
+        {
+            int startIndex = finishOrder.get(position);
+            
+            if(componentIndexes[startIndex] >= 0)
+            {
+                continue;
+            }
+            
+            Deque<Integer> pending = new ArrayDeque<>();
+            pending.push(startIndex);
+            componentIndexes[startIndex] = numberOfComponents;
+            
+            while(!pending.isEmpty())
+            {
+                for (int next : dependents.get(pending.pop()))
+                {
+                    if(componentIndexes[next] < 0)
+                    {
+                        componentIndexes[next] = numberOfComponents;
+                        pending.push(next);
+                    }
+                }
+            }
+            
+            numberOfComponents++;
+        }
+        
+        return componentIndexes;
+    }
+    
+    /**
+     * Gets the {@linkplain Thing}s the provided one references through its getters, containment included
+     *
+     * @param thing the {@linkplain Thing}
+     * @return a {@linkplain Collection} of {@linkplain Thing}
+     */
+    private static Collection<Thing> GetReferencedThings(Thing thing)
+    {
+        Set<Thing> referencedThings = Collections.newSetFromMap(new IdentityHashMap<>());
+        
+        for (Method getter : referenceGetters.get(thing.getClass()))
+        {
+            Object value = Invoke(getter, thing);
+            
+            if(value instanceof Thing)
+            {
+                referencedThings.add((Thing)value);
+            }
+            else if(value instanceof Iterable)
+            {
+                for (Object item : (Iterable<?>)value)
+                {
+                    if(item instanceof Thing)
+                    {
+                        referencedThings.add((Thing)item);
+                    }
+                }
+            }
+        }
+        
+        return referencedThings;
+    }
+    
+    /**
+     * Gets the public getters without parameter of the provided type whose return type matches the provided predicate
+     *
+     * @param type the {@linkplain Class} to inspect
+     * @param returnTypePredicate the {@linkplain Predicate} on the return type
+     * @return a {@linkplain List} of {@linkplain Method}
+     */
+    private static List<Method> GetGetters(Class<?> type, Predicate<Class<?>> returnTypePredicate)
+    {
+        List<Method> getters = new ArrayList<>();
+        
+        for (Method method : type.getMethods())
+        {
+            if(method.getName().startsWith("get") && method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())
+                    && !method.getName().equals("getContainer") && returnTypePredicate.test(method.getReturnType()))
+            {
+                getters.add(method);
+            }
+        }
+        
+        return getters;
+    }
+    
+    /**
+     * Invokes the provided getter, a getter that fails is considered as returning nothing. 
+     * The first failure of each getter is logged as a warning, the next ones at debug level
+     *
+     * @param getter the getter {@linkplain Method}
+     * @param thing the {@linkplain Thing} to invoke it on
+     * @return the returned value or null
+     */
+    private static Object Invoke(Method getter, Thing thing)
+    {
+        try
+        {
+            return getter.invoke(thing);
+        }
+        catch (Exception exception)
+        {
+            Throwable cause = exception instanceof InvocationTargetException ? exception.getCause() : exception;
+            String message = String.format("The getter %s.%s failed on the thing %s, its references are ignored, because %s", 
+                    getter.getDeclaringClass().getSimpleName(), getter.getName(), thing.getIid(), cause);
+            
+            if(failedGetters.add(getter))
+            {
+                Logger.warn(message);
+            }
+            else
+            {
+                Logger.debug(message);
+            }
+            
+            return null;
+        }
+    }
+
+    /**
+     * Gets a value indicating whether the provided {@linkplain Thing} is a top container that every batch can update
+     *
+     * @param thing the {@linkplain Thing}
+     * @return a {@linkplain boolean}
+     */
+    private static boolean IsTopContainer(Thing thing)
+    {
+        return thing instanceof Iteration || thing instanceof EngineeringModel;
+    }
+
+    /**
+     * Gets the planned {@linkplain Batch}es
+     *
+     * @return an unmodifiable {@linkplain List} of {@linkplain Batch}
+     */
+    public List<Batch> GetBatches()
+    {
+        return this.batches;
+    }
+
+    /**
+     * Gets the number of planned batches
+     *
+     * @return an int
+     */
+    public int GetNumberOfBatches()
+    {
+        return this.batches.size();
+    }
+
+    /**
+     * Gets the index of the next batch to write, equal to {@linkplain #GetNumberOfBatches()} when everything has been written
+     *
+     * @return an int
+     */
+    public int GetNextBatchIndex()
+    {
+        return this.nextBatchIndex;
+    }
+
+    /**
+     * Gets a value indicating whether all the batches have been written
+     *
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsCompleted()
+    {
+        return this.nextBatchIndex >= this.batches.size();
+    }
+
+    /**
+     * Gets the {@linkplain Observable} that yields the number of batches written so far
+     *
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    public Observable<Integer> Progress()
+    {
+        return this.writtenBatches.Observable();
+    }
+
+    /**
+     * Gets the {@linkplain Exception} that stopped the last write if any
+     *
+     * @return an {@linkplain Exception}
+     */
+    public Exception GetException()
+    {
+        return this.exception;
+    }
+
+    /**
+     * Marks the next batch as written
+     */
+    void OnBatchWritten()
+    {
+        this.nextBatchIndex++;
+        this.exception = null;
+        this.writtenBatches.Value(this.nextBatchIndex);
+    }
+
+    /**
+     * Records the {@linkplain Exception} that prevented the next batch from being written
+     *
+     * @param exception the {@linkplain Exception}
+     */
+    void OnBatchFailed(Exception exception)
+    {
+        this.exception = exception;
+    }
+
+    /**
+     * The {@linkplain Batch} is one group of {@linkplain Thing}s written in one transaction
+     */
+    public static final class Batch
+    {
+        /**
+         * The index of this batch in the planned batches
+         */
+        private final int index;
+        
+        /**
+         * The index of the batch that writes each created {@linkplain Thing}, shared by all the batches of one plan
+         */
+        private final Map<Thing, Integer> createdThingBatchIndexes;
+        
+        /**
+         * The {@linkplain Thing}s to create or update
+         */
+        private final List<Thing> things = new ArrayList<>();
+
+        /**
+         * The top container clones this batch updates
+         */
+        private final Set<Thing> topContainers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * Initializes a new {@linkplain Batch}
+         * 
+         * @param index the index of this batch in the planned batches
+         * @param createdThingBatchIndexes the index of the batch that writes each created {@linkplain Thing}
+         */
+        private Batch(int index, Map<Thing, Integer> createdThingBatchIndexes)
+        {
+            this.index = index;
+            this.createdThingBatchIndexes = createdThingBatchIndexes;
+        }
+        
+        /**
+         * Gets the {@linkplain Thing}s to create or update
+         *
+         * @return a {@linkplain List} of {@linkplain Thing}
+         */
+        public List<Thing> GetThings()
+        {
+            return Collections.unmodifiableList(this.things);
+        }
+
+        /**
+         * Gets the top container clones, {@linkplain Iteration} and {@linkplain EngineeringModel}, this batch updates
+         *
+         * @return a {@linkplain Collection} of {@linkplain Thing}
+         */
+        public Collection<Thing> GetTopContainers()
+        {
+            return Collections.unmodifiableSet(this.topContainers);
+        }
+
+        /**
+         * Gets the {@linkplain Iteration} clone this batch updates if any
+         *
+         * @return an {@linkplain Iteration} or null
+         */
+        public Iteration GetIterationClone()
+        {
+            return this.topContainers.stream()
+                    .filter(Iteration.class::isInstance)
+                    .map(Iteration.class::cast)
+                    .findFirst()
+                    .orElse(null);
+        }
+        
+        /**
+         * Creates, for each of the {@linkplain #GetTopContainers()}, the clone this batch writes. Its containment lists only hold
+         * the {@linkplain Thing}s that already exist or that this batch or an earlier one creates, so that the batch never references
+         * a {@linkplain Thing} a later batch creates. It is meant to be called right before the batch is written. 
+         * The top containers may be the {@linkplain Thing}s of the session cache, only the containment lists owned by the clones are trimmed
+         *
+         * @return a {@linkplain List} of {@linkplain Thing}
+         */
+        public List<Thing> CreateTopContainerClones()
+        {
+            List<Thing> clones = new ArrayList<>();
+            
+            for (Thing topContainer : this.topContainers)
+            {
+                Thing clone = topContainer.clone(false);
+                
+                for (Method getter : containerListGetters.get(clone.getClass()))
+                {
+                    Object containerList = Invoke(getter, clone);
+                    
+                    if(containerList instanceof ContainerList && this.HasCreatedByLaterBatches((Collection<?>)containerList))
+                    {
+                        this.TrimCreatedByLaterBatches(clone, getter, (ContainerList<?>)containerList, containerList == Invoke(getter, topContainer));
+                    }
+                }
+                
+                clones.add(clone);
+            }
+            
+            return clones;
+        }
+        
+        /**
+         * Gets a value indicating whether the provided containment list holds a {@linkplain Thing} that a later batch creates
+         *
+         * @param containerList the containment list of a top container clone
+         * @return a value indicating whether the containment list has to be trimmed
+         */
+        private boolean HasCreatedByLaterBatches(Collection<?> containerList)
+        {
+            return containerList.stream().anyMatch(this::IsCreatedByLaterBatch);
+        }
+        
+        /**
+         * Gets a value indicating whether the provided item is a {@linkplain Thing} that a later batch creates
+         *
+         * @param item the item of a containment list
+         * @return a value indicating whether a later batch creates it
+         */
+        private boolean IsCreatedByLaterBatch(Object item)
+        {
+            return item instanceof Thing && this.createdThingBatchIndexes.getOrDefault(item, this.index) > this.index;
+        }
+        
+        /**
+         * Removes from the provided containment list of the provided clone the {@linkplain Thing}s that a later batch creates. 
+         * When the clone shares the list with the top container it has been cloned from, the clone gets a trimmed copy instead, 
+         * through the setter that matches the provided getter. The {@linkplain Thing}s keep the container they had before
+         *
+         * @param clone the top container clone
+         * @param getter the getter of the containment list
+         * @param containerList the containment list of the clone
+         * @param isShared a value indicating whether the clone shares the containment list with the top container
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void TrimCreatedByLaterBatches(Thing clone, Method getter, ContainerList<?> containerList, boolean isShared)
+        {
+            List<Thing> things = new ArrayList<>();
+            Map<Thing, Thing> containers = new IdentityHashMap<>();
+            
+            for (Object item : containerList)
+            {
+                things.add((Thing)item);
+                containers.put((Thing)item, ((Thing)item).getContainer());
+            }
+            
+            if(isShared)
+            {
+                ContainerList trimmedList = new ContainerList(clone);
+                things.stream().filter(x -> !this.IsCreatedByLaterBatch(x)).forEach(trimmedList::add);
+                
+                try
+                {
+                    clone.getClass().getMethod("s" + getter.getName().substring(1), getter.getReturnType()).invoke(clone, trimmedList);
+                }
+                catch (Exception exception)
+                {
+                    Logger.error(String.format("The containment list %s of the clone %s could not be trimmed, because %s", 
+                            getter.getName(), clone.getIid(), exception));
+                }
+            }
+            else
+            {
+                things.stream().filter(this::IsCreatedByLaterBatch).forEach(containerList::remove);
+            }
+            
+            for (Thing thing : things)
+            {
+                Thing container = containers.get(thing);
+                
+                if(thing.getContainer() != container)
+                {
+                    thing.setContainer(container);
+                }
+            }
+        }
+    }
+}
@@ -26,31 +26,40 @@ package HubController;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.checkerframework.checker.nullness.qual.Nullable;
 
+import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
 
 import Reactive.ObservableValue;
+import Services.IterationSnapshot.IIterationSnapshotService;
 import Services.NavigationService.INavigationService;
+import Services.SchedulerService.ISchedulerService;
+import Services.SchedulerService.SchedulerService;
+import Utils.FutureExtensions;
 import Utils.Ref;
+import Utils.StreamExtensions;
 import Views.Dialogs.LogEntryDialog;
 
-import static Utils.Operators.Operators.AreTheseEquals;
-
+import cdp4common.commondata.ClassKind;
 import cdp4common.commondata.DeprecatableThing;
 import cdp4common.commondata.LogLevelKind;
 import cdp4common.commondata.Thing;
@@ -62,15 +71,15 @@ import cdp4common.sitedirectorydata.*;
 import cdp4common.types.CacheKey;
 import cdp4common.types.ContainerList;
 import cdp4dal.Session;
-import cdp4dal.SessionImpl;
 import cdp4dal.dal.Credentials;
 import cdp4dal.exceptions.DalWriteException;
 import cdp4dal.exceptions.TransactionException;
+import cdp4dal.operations.OperationContainer;
 import cdp4dal.operations.ThingTransaction;
 import cdp4dal.operations.ThingTransactionImpl;
 import cdp4dal.operations.TransactionContextResolver;
-import cdp4servicesdal.CdpServicesDal;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
 import javassist.NotFoundException;
 
 /**
@@ -87,6 +96,16 @@ public class HubController implements IHubController
      * The {@linkplain INavigationService}
      */
     private final INavigationService navigationService;
+    
+    /**
+     * The {@linkplain IIterationSnapshotService}, null when the iteration snapshots are not available
+     */
+    private final IIterationSnapshotService iterationSnapshotService;
+    
+    /**
+     * The {@linkplain ISessionFactory} that creates the {@linkplain Session} to open
+     */
+    private final ISessionFactory sessionFactory;
   
     /**
      * Backing field for {@link IsSessionOpen}
@@ -151,6 +170,23 @@ public class HubController implements IHubController
         return this.sessionEvent.Observable();
     }
     
+    /**
+     * Backing field for {@linkplain GetChangeSetObservable}
+     */
+    private ObservableValue<ThingChangeSet> changeSet = new ObservableValue<>(ThingChangeSet.class);
+    
+    /**
+     * Gets the {@linkplain Observable} of {@linkplain ThingChangeSet} that yields the Iids of the {@linkplain Thing}s 
+     * that have been added, updated or deleted by a successful {@linkplain #Refresh()} or {@linkplain #Reload()}, on the event dispatch thread
+     * 
+     * @return an {@linkplain Observable} of {@linkplain ThingChangeSet}
+     */
+    @Override
+    public Observable<ThingChangeSet> GetChangeSetObservable()
+    {
+        return this.changeSet.Observable();
+    }
+    
     /**
      * Sets the {@linkplain isSessionOpen} and call OnNext on {@linkplain isSessionOpenObservable}
      * 
@@ -183,14 +219,107 @@ public class HubController implements IHubController
      */
     private Session session;
     
+    /**
+     * The {@linkplain ThingIndex} of each open {@linkplain Iteration} by Iid, lazily built on first lookup and dropped whenever the cache changes
+     */
+    private final Map<UUID, ThingIndex> thingIndexes = new HashMap<>();
+    
+    /**
+     * The refresh in flight, yields the resulting {@linkplain ThingChangeSet} or null if it failed
+     */
+    private CompletableFuture<ThingChangeSet> inFlightRefresh;
+    
+    /**
+     * The number of writes in progress, the auto refresh is paused as long as it is not zero
+     */
+    private final AtomicInteger writesInProgress = new AtomicInteger();
+    
+    /**
+     * The {@linkplain AutoRefreshScheduler}
+     */
+    private final AutoRefreshScheduler autoRefreshScheduler;
+    
+    /**
+     * The {@linkplain Executor} that runs the blocking work of the async operations, such as loading an iteration snapshot from the disk
+     */
+    private final Executor ioExecutor;
+    
+    /**
+     * The {@linkplain Scheduler} the {@linkplain #changeSet} and the {@linkplain #sessionEvent} are emitted on, 
+     * whichever thread completes the refresh or the reload, and never while this {@linkplain HubController} is locked
+     */
+    private final Scheduler notificationScheduler;
+    
+    /**
+     * The {@linkplain HubControllerMetrics}
+     */
+    private final HubControllerMetrics metrics = new HubControllerMetrics();
+    
+    /**
+     * Gets the {@linkplain IHubControllerMetrics} that measure this {@linkplain HubController}
+     * 
+     * @return the {@linkplain IHubControllerMetrics}
+     */
+    @Override
+    public IHubControllerMetrics GetMetrics()
+    {
+        return this.metrics;
+    }
+    
     /**
      * Initializes an new {@linkplain HubController}
      * 
      * @param navigationService the {@linkplain INavigationService}
      */
     public HubController(INavigationService navigationService)
+    {
+        this(navigationService, null);
+    }
+    
+    /**
+     * Initializes an new {@linkplain HubController}
+     * 
+     * @param navigationService the {@linkplain INavigationService}
+     * @param iterationSnapshotService the {@linkplain IIterationSnapshotService}
+     */
+    public HubController(INavigationService navigationService, IIterationSnapshotService iterationSnapshotService)
+    {
+        this(navigationService, iterationSnapshotService, new SessionFactory());
+    }
+    
+    /**
+     * Initializes an new {@linkplain HubController}
+     * 
+     * @param navigationService the {@linkplain INavigationService}
+     * @param iterationSnapshotService the {@linkplain IIterationSnapshotService}
+     * @param sessionFactory the {@linkplain ISessionFactory} that creates the {@linkplain Session} on {@linkplain #Open(Credentials)}
+     */
+    public HubController(INavigationService navigationService, IIterationSnapshotService iterationSnapshotService, ISessionFactory sessionFactory)
+    {
+        this(navigationService, iterationSnapshotService, sessionFactory, SchedulerService.Current);
+    }
+    
+    /**
+     * Initializes an new {@linkplain HubController}
+     * 
+     * @param navigationService the {@linkplain INavigationService}
+     * @param iterationSnapshotService the {@linkplain IIterationSnapshotService}
+     * @param sessionFactory the {@linkplain ISessionFactory} that creates the {@linkplain Session} on {@linkplain #Open(Credentials)}
+     * @param schedulerService the {@linkplain ISchedulerService} whose IO scheduler runs the blocking work of the async operations, 
+     * whose computation scheduler runs the auto refresh ticks and whose event dispatch thread scheduler emits the change sets and the session events. 
+     * The {@linkplain #GetMetrics()} are exported through JMX on construction, replacing the export of any previously constructed {@linkplain HubController}
+     */
+    public HubController(INavigationService navigationService, IIterationSnapshotService iterationSnapshotService, ISessionFactory sessionFactory,
+            ISchedulerService schedulerService)
     {
         this.navigationService = navigationService;
+        this.iterationSnapshotService = iterationSnapshotService;
+        this.sessionFactory = sessionFactory;
+        this.ioExecutor = x -> schedulerService.IO().scheduleDirect(x);
+        this.notificationScheduler = schedulerService.Edt();
+        this.autoRefreshScheduler = new AutoRefreshScheduler(this::JoinOrStartRefresh, 
+                () -> this.writesInProgress.get() > 0 || !Boolean.TRUE.equals(this.isSessionOpen), schedulerService.Computation());
+        this.metrics.RegisterMBean();
     }
     
     /**
@@ -238,12 +367,46 @@ public class HubController implements IHubController
     @Annotations.ExludeFromCodeCoverageGeneratedReport
     public Boolean Open(Credentials credentials)
     {
-        this.session = new SessionImpl(new CdpServicesDal(), credentials); 
-
-        this.session.open().join();
-                
-        return this.session.getAssembler().retrieveSiteDirectory() != null;
+        long start = System.nanoTime();
+        boolean result = false;
+        
+        try
+        {
+            this.session = this.sessionFactory.Create(credentials); 
+    
+            this.session.open().join();
+                    
+            result = this.session.getAssembler().retrieveSiteDirectory() != null;
+            return result;
+        }
+        finally
+        {
+            this.metrics.Record(HubControllerMetrics.Open, start, result);
+        }
     }    
+    
+    /**
+     * Opens the {@linkplain Session} without blocking the calling thread
+     * 
+     * @param credentials the {@link Credentials}
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of {@link Boolean} indicating whether opening the session succeeded
+     */
+    @Override
+    @Annotations.ExludeFromCodeCoverageGeneratedReport
+    public CompletableFuture<Boolean> OpenAsync(Credentials credentials, long timeout, TimeUnit timeUnit)
+    {
+        long start = System.nanoTime();
+        this.session = this.sessionFactory.Create(credentials);
+        Session openingSession = this.session;
+        
+        CompletableFuture<Void> future = openingSession.open();
+        
+        return FutureExtensions.WithTimeout(
+                future.thenApply(x -> openingSession.getAssembler().retrieveSiteDirectory() != null), future, timeout, timeUnit)
+                .whenComplete((result, exception) -> this.metrics.Record(HubControllerMetrics.Open, start, Boolean.TRUE.equals(result)));
+    }
 
     /**
      * Gets the {@link EngineeringModelSetup}s contained in the site directory
@@ -322,18 +485,161 @@ public class HubController implements IHubController
     public void GetIteration(Iteration iteration, DomainOfExpertise domain) throws NotFoundException
     {
         this.session.read(iteration, domain).join();
+        this.SetOpenIteration(iteration);
+    }
+    
+    /**
+     * Reads an {@link Iteration} and set the active {@link DomainOfExpertise} for the {@link Iteration} without blocking the calling thread
+     * 
+     * @param iteration the {@link Iteration} to read
+     * @param domain the {@link DomainOfExpertise} that reads the {@link Iteration}
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return a {@linkplain CompletableFuture} that completes exceptionally with a {@linkplain NotFoundException} if the iteration was not found
+     */
+    @Override
+    public CompletableFuture<Void> GetIterationAsync(Iteration iteration, DomainOfExpertise domain, long timeout, TimeUnit timeUnit)
+    {
+        CompletableFuture<Void> future = this.session.read(iteration, domain);
+        
+        return FutureExtensions.WithTimeout(future.thenRun(() -> 
+        {
+            try
+            {
+                this.SetOpenIteration(iteration);
+            }
+            catch (NotFoundException exception)
+            {
+                throw new CompletionException(exception);
+            }
+        }), future, timeout, timeUnit);
+    }
+    
+    /**
+     * Sets the open {@linkplain Iteration} and the current {@linkplain DomainOfExpertise} from the open iterations of the {@linkplain Session}.
+     * The {@linkplain Iteration} that has just been read is preferred, the other open iterations stay open
+     * 
+     * @param readIteration the {@linkplain Iteration} that has just been read
+     * @throws NotFoundException
+     */
+    private void SetOpenIteration(Iteration readIteration) throws NotFoundException
+    {
         ImmutableMap<Iteration, Pair<DomainOfExpertise, Participant>> iterationDomainAndParticipant = this.GetIteration();
         
-        this.openIteration = iterationDomainAndParticipant.keySet().stream()
+        Map.Entry<Iteration, Pair<DomainOfExpertise, Participant>> openIterationEntry = iterationDomainAndParticipant.entrySet().stream()
+                .filter(x -> readIteration != null && readIteration.getIid() != null && readIteration.getIid().equals(x.getKey().getIid()))
                 .findFirst()
-                .orElseThrow(() -> new NotFoundException("The Iteration %s was not found"));
-                
-        this.currentDomainOfExpertise = iterationDomainAndParticipant.entrySet().stream()
-                .map(x -> x.getValue().getLeft())
-                .findFirst()
-                .orElseThrow(() -> new NotFoundException("The Iteration %s was not found"));
+                .orElse(iterationDomainAndParticipant.entrySet().stream()
+                        .findFirst()
+                        .orElseThrow(() -> new NotFoundException("The Iteration %s was not found")));
+        
+        synchronized (this)
+        {
+            this.openIteration = openIterationEntry.getKey();
+            this.currentDomainOfExpertise = openIterationEntry.getValue().getLeft();
+            this.InvalidateThingIndex();
+        }
+        
+        this.SetIsSessionOpen(openIterationEntry.getKey() != null);
+    }
+    
+    /**
+     * Gets all the {@linkplain Iteration}s open in the {@linkplain Session}, they all share the same session cache
+     * 
+     * @return a {@linkplain Collection} of {@linkplain Iteration}
+     */
+    @Override
+    public Collection<Iteration> GetOpenIterations()
+    {
+        if (this.session == null)
+        {
+            return new ArrayList<>();
+        }
+        
+        return new ArrayList<>(this.GetIteration().keySet());
+    }
+    
+    /**
+     * Gets the {@linkplain DomainOfExpertise} the provided open {@linkplain Iteration} has been read with
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @return the {@linkplain DomainOfExpertise} or null if the {@linkplain Iteration} is not open
+     */
+    @Override
+    public DomainOfExpertise GetDomainOfExpertise(Iteration iteration)
+    {
+        if (this.session == null || iteration == null)
+        {
+            return null;
+        }
+        
+        Pair<DomainOfExpertise, Participant> domainAndParticipant = this.GetIteration().get(iteration);
+        return domainAndParticipant != null ? domainAndParticipant.getLeft() : null;
+    }
+    
+    /**
+     * Makes the provided open {@linkplain Iteration} the one returned by {@linkplain #GetOpenIteration()} 
+     * and by all the lookups that do not take an {@linkplain Iteration}
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @return a value indicating whether the {@linkplain Iteration} is open and has been selected
+     */
+    @Override
+    public boolean SelectOpenIteration(Iteration iteration)
+    {
+        DomainOfExpertise domain = this.GetDomainOfExpertise(iteration);
+        
+        if (domain == null)
+        {
+            this.logger.info(String.format("The Iteration %s is not open", iteration != null ? iteration.getIid() : null));
+            return false;
+        }
+        
+        this.openIteration = iteration;
+        this.currentDomainOfExpertise = domain;
+        this.SetIsSessionOpen(true);
+        return true;
+    }
+    
+    /**
+     * Closes the provided open {@linkplain Iteration}, the other open iterations stay open. 
+     * When the closed {@linkplain Iteration} is the selected one, any other open {@linkplain Iteration} gets selected
+     * 
+     * @param iteration the open {@linkplain Iteration} to close
+     * @return a value indicating whether the {@linkplain Iteration} has been closed
+     */
+    @Override
+    public boolean CloseIteration(Iteration iteration)
+    {
+        if (this.GetDomainOfExpertise(iteration) == null)
+        {
+            this.logger.info(String.format("The Iteration %s is not open", iteration != null ? iteration.getIid() : null));
+            return false;
+        }
         
-        this.SetIsSessionOpen(this.openIteration != null);
+        try
+        {
+            this.session.closeIterationSetup(iteration.getIterationSetup()).join();
+            this.InvalidateThingIndex();
+            
+            if (this.openIteration == iteration)
+            {
+                Optional<Map.Entry<Iteration, Pair<DomainOfExpertise, Participant>>> remaining = this.GetIteration().entrySet().stream()
+                        .filter(x -> x.getKey() != iteration)
+                        .findFirst();
+                
+                this.openIteration = remaining.map(Map.Entry::getKey).orElse(null);
+                this.currentDomainOfExpertise = remaining.map(x -> x.getValue().getLeft()).orElse(null);
+                this.SetIsSessionOpen(this.openIteration != null);
+            }
+            
+            return true;
+        }
+        catch (Exception exception)
+        {
+            this.logger.error(MessageFormat.format("The Iteration {0} could not be closed: {1}", iteration.getIid(), exception));
+            return false;
+        }
     }
 
     /**
@@ -356,10 +662,20 @@ public class HubController implements IHubController
     @Override
     public Collection<ExternalIdentifierMap> GetAvailableExternalIdentifierMap(String toolName)
     {
-        return this.openIteration.getExternalIdentifierMap()
-              .stream()
-              .filter(x -> AreTheseEquals(x.getExternalToolName(), toolName))
-              .collect(Collectors.toList());
+        return this.GetAvailableExternalIdentifierMap(this.openIteration, toolName);
+    }
+    
+    /**
+     * Gets the collection of available {@linkplain ExternalIdentifierMap} for the provided DST tool name in the provided open {@linkplain Iteration}
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @param toolName the {@linkplain String} DST tool name
+     * @return a {@linkplain Collection} of {@linkplain ExternalIdentifierMap}
+     */
+    @Override
+    public Collection<ExternalIdentifierMap> GetAvailableExternalIdentifierMap(Iteration iteration, String toolName)
+    {
+        return new ArrayList<>(this.GetThingIndex(iteration).GetExternalIdentifierMaps(toolName));
     }
     
     /**
@@ -374,13 +690,21 @@ public class HubController implements IHubController
             return;
         }
 
+        this.StopAutoRefresh();
+        
         try
         {
+            for (Iteration iteration : this.GetOpenIterations())
+            {
+                this.SaveIterationSnapshot(iteration);
+            }
+            
             this.session.close().join();
             this.session = null;
             this.SetIsSessionOpen(false);
             this.currentDomainOfExpertise = null;
             this.openIteration = null;
+            this.InvalidateThingIndex();
         }
         catch (Exception exception)
         {
@@ -396,180 +720,563 @@ public class HubController implements IHubController
     @Override
     public boolean Reload()
     {
+        long start = System.nanoTime();
+        Map<UUID, Integer> previousRevisions = this.GetRevisions();
         boolean result = this.RefreshOrReload(this.session.reload());
-        this.sessionEvent.Value(result);
+        this.OnSessionRefreshedOrReloaded(previousRevisions, result);
+        this.metrics.Record(HubControllerMetrics.Reload, start, result);
 
         return result;
     }
 
     /**
-     * Reloads the {@link Session}
+     * Refreshes the {@link Session}, or waits for the refresh in flight if any
      * 
      * @return A value indicating whether the {@link future} completed with success
      */
     @Override
     public boolean Refresh()
     {
-        boolean result = this.RefreshOrReload(this.session.refresh());
-        this.sessionEvent.Value(result);
-        
-        
-        return result;
+        return this.JoinOrStartRefresh().join() != null;
     }
     
     /**
-     * Refresh the specified library local cache by reading it
+     * Starts a refresh of the {@linkplain Session} or joins the one in flight
      * 
-     * @param library the {@linkplain ReferenceDataLibrary} to refresh
+     * @return a {@linkplain CompletableFuture} of the resulting {@linkplain ThingChangeSet}, that yields null if the refresh failed
      */
-    @Override
-    public void RefreshReferenceDataLibrary(ReferenceDataLibrary library)
+    private synchronized CompletableFuture<ThingChangeSet> JoinOrStartRefresh()
     {
-        this.RefreshOrReload(this.session.read(library));
+        if(this.inFlightRefresh != null && !this.inFlightRefresh.isDone())
+        {
+            return this.inFlightRefresh;
+        }
+        
+        long start = System.nanoTime();
+        Map<UUID, Integer> previousRevisions = this.GetRevisions();
+        CompletableFuture<Void> future = this.session.refresh();
+        
+        this.inFlightRefresh = future.handle((x, exception) -> 
+        {
+            boolean result = exception == null;
+            
+            if(!result)
+            {
+                this.logger.catching(exception);
+            }
+            
+            this.metrics.Record(HubControllerMetrics.Refresh, start, result);
+            return this.OnSessionRefreshedOrReloaded(previousRevisions, result);
+        });
+        
+        return this.inFlightRefresh;
     }
     
     /**
-     * Calls the {@link future} wrapped in try block and return a {@link Boolean}
+     * Drops the {@linkplain ThingIndex} and emits the resulting {@linkplain ThingChangeSet} and session event. 
+     * The {@linkplain ThingChangeSet} only needs the revision numbers, so the {@linkplain ThingIndex} is left to be rebuilt on the next lookup
      * 
-     * @param future a {@link CompletableFuture}
-     * @return A value indicating whether the {@link future} completed with success
+     * @param previousRevisions the revision numbers by Iid of the {@linkplain Thing}s as they were before the refresh or reload
+     * @param result a value indicating whether the refresh or reload completed with success
+     * @return the emitted {@linkplain ThingChangeSet} or null if the refresh or reload failed
      */
-    private boolean RefreshOrReload(CompletableFuture<Void> future)
+    private ThingChangeSet OnSessionRefreshedOrReloaded(Map<UUID, Integer> previousRevisions, boolean result)
     {
-        try
-        {
-            future.get();
-            return true;
-        } 
-        catch (InterruptedException interruptedException)
-        {
-            this.logger.catching(interruptedException);
-            Thread.currentThread().interrupt();
-        } 
-        catch (ExecutionException executionException)
+        this.InvalidateThingIndex();
+        ThingChangeSet thingChangeSet = null;
+        
+        if(result)
         {
-            this.logger.catching(executionException);
+            thingChangeSet = ThingChangeSet.Compute(previousRevisions, this.GetRevisions());
         }
         
-        return false;
+        this.EmitSessionEvent(thingChangeSet, result);
+        return thingChangeSet;
     }
-
+    
     /**
-     * Loads an {@link Iteration} with the selected {@link DomainOfExpertise}
+     * Emits the provided {@linkplain ThingChangeSet}, if any, and session event on the {@linkplain #notificationScheduler}. 
+     * The refresh continuation may run on a thread of the data access layer, or inline in {@linkplain #JoinOrStartRefresh()} 
+     * while this {@linkplain HubController} is locked, so the subscribers are never called from there
      * 
-     * @param engineeringModelSetup
-     * @param iterationSetup
-     * @param domainOfExpertise
-     * @return A value indicating whether the operation went well
+     * @param thingChangeSet the {@linkplain ThingChangeSet} or null
+     * @param result the session event value
      */
-    @Override
-    public boolean OpenIteration(EngineeringModelSetup engineeringModelSetup, IterationSetup iterationSetup, DomainOfExpertise domainOfExpertise)
+    private void EmitSessionEvent(ThingChangeSet thingChangeSet, boolean result)
     {
-        try
+        this.notificationScheduler.scheduleDirect(() -> 
         {
-            try(EngineeringModel model = new EngineeringModel(engineeringModelSetup.getEngineeringModelIid(), 
-                    this.session.getAssembler().getCache(), this.session.getCredentials().getUri()))
+            if(thingChangeSet != null)
             {
-                model.setEngineeringModelSetup(engineeringModelSetup);
-
-                Iteration iteration = new Iteration(iterationSetup.getIterationIid(),
-                    this.session.getAssembler().getCache(), this.session.getCredentials().getUri());
-
-                model.getIteration().add(iteration);
-    
-                this.GetIteration(iteration, domainOfExpertise);
+                this.changeSet.Value(thingChangeSet);
             }
             
-            return true;
-        }
-        catch (Exception exception)
-        {
-            this.logger.catching(exception);
-            return false;
-        }
+            this.sessionEvent.Value(result);
+        });
     }
-
+    
     /**
-     * Gets the {@linkplain Thing} by it's Iid from the cache
+     * Starts or restarts refreshing the {@linkplain Session} every interval. A refresh in flight is joined instead of starting another one, 
+     * the refreshes are held back while a write is in progress, and the interval doubles, up to eight times the provided one, as long as the refreshes find no change
      * 
-     * @param <TThing> the type of {@linkplain Thing} to retrieve
-     * @param iid the Iid of the {@linkplain Thing} to retrieve from the cache
-     * @param refThing the {@linkplain Ref} of {@linkplain TThing} as ref parameter
+     * @param interval the interval in seconds between two refreshes
      */
     @Override
-    @SuppressWarnings("unchecked")
-    public <TThing extends Thing> boolean TryGetThingById(UUID iid, Ref<TThing> refThing)
+    public void StartAutoRefresh(int interval)
     {
-        @Nullable Thing thing = this.session.getAssembler().getCache().getIfPresent(new CacheKey(iid, this.openIteration.getIid()));
-        
-        if (thing != null && thing.getClass().isAssignableFrom(refThing.GetType()))
+        this.autoRefreshScheduler.Start(interval);
+    }
+    
+    /**
+     * Stops the auto refresh
+     */
+    @Override
+    public void StopAutoRefresh()
+    {
+        this.autoRefreshScheduler.Stop();
+    }
+    
+    /**
+     * Gets the {@linkplain Observable} that yields the number of seconds left before the next auto refresh
+     * 
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    @Override
+    public Observable<Integer> GetAutoRefreshCountdownObservable()
+    {
+        return this.autoRefreshScheduler.Countdown();
+    }
+    
+    /**
+     * Gets the {@linkplain Observable} that yields the interval in seconds between two auto refreshes each time it changes, including after back-off
+     * 
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    @Override
+    public Observable<Integer> GetAutoRefreshIntervalObservable()
+    {
+        return this.autoRefreshScheduler.EffectiveInterval();
+    }
+    
+    /**
+     * Reloads the {@link Session} without blocking the calling thread
+     * 
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of value indicating whether the reload completed with success
+     */
+    @Override
+    public CompletableFuture<Boolean> ReloadAsync(long timeout, TimeUnit timeUnit)
+    {
+        long start = System.nanoTime();
+        Map<UUID, Integer> previousRevisions = this.GetRevisions();
+        return this.RefreshOrReloadAsync(this.session.reload(), previousRevisions, timeout, timeUnit)
+                .whenComplete((result, exception) -> this.metrics.Record(HubControllerMetrics.Reload, start, Boolean.TRUE.equals(result)));
+    }
+    
+    /**
+     * Refreshes the {@link Session} without blocking the calling thread, or joins the refresh in flight if any. 
+     * Cancelling the returned {@linkplain CompletableFuture} or its timeout only gives up on this call, 
+     * the refresh keeps going for the other callers that wait for it
+     * 
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of value indicating whether the refresh completed with success
+     */
+    @Override
+    public CompletableFuture<Boolean> RefreshAsync(long timeout, TimeUnit timeUnit)
+    {
+        return FutureExtensions.WithTimeout(this.JoinOrStartRefresh().thenApply(Objects::nonNull), timeout, timeUnit);
+    }
+    
+    /**
+     * Continues the provided refresh or reload {@linkplain CompletableFuture} with the same notifications as the blocking variants
+     * 
+     * @param future the {@linkplain CompletableFuture} from the {@linkplain Session}
+     * @param previousRevisions the revision numbers by Iid of the {@linkplain Thing}s as they were before the refresh or reload
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of value indicating whether the {@link future} completed with success
+     */
+    private CompletableFuture<Boolean> RefreshOrReloadAsync(CompletableFuture<Void> future, Map<UUID, Integer> previousRevisions, long timeout, TimeUnit timeUnit)
+    {
+        return FutureExtensions.WithTimeout(future.handle((x, exception) -> 
         {
-            refThing.Set((TThing)thing);
+            boolean result = exception == null;
+            
+            if(!result)
+            {
+                this.logger.catching(exception);
+            }
+            
+            this.OnSessionRefreshedOrReloaded(previousRevisions, result);
+            return result;
+        }), future, timeout, timeUnit);
+    }
+    
+    /**
+     * Refresh the specified library local cache by reading it
+     * 
+     * @param library the {@linkplain ReferenceDataLibrary} to refresh
+     */
+    @Override
+    public void RefreshReferenceDataLibrary(ReferenceDataLibrary library)
+    {
+        this.RefreshOrReload(this.session.read(library));
+        this.InvalidateThingIndex();
+    }
+    
+    /**
+     * Refresh the specified library local cache by reading it without blocking the calling thread
+     * 
+     * @param library the {@linkplain ReferenceDataLibrary} to refresh
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return a {@linkplain CompletableFuture}
+     */
+    @Override
+    public CompletableFuture<Void> RefreshReferenceDataLibraryAsync(ReferenceDataLibrary library, long timeout, TimeUnit timeUnit)
+    {
+        CompletableFuture<Void> future = this.session.read(library);
+        return FutureExtensions.WithTimeout(future.whenComplete((x, exception) -> this.InvalidateThingIndex()), future, timeout, timeUnit);
+    }
+    
+    /**
+     * Calls the {@link future} wrapped in try block and return a {@link Boolean}
+     * 
+     * @param future a {@link CompletableFuture}
+     * @return A value indicating whether the {@link future} completed with success
+     */
+    private boolean RefreshOrReload(CompletableFuture<Void> future)
+    {
+        try
+        {
+            future.get();
+            return true;
+        } 
+        catch (InterruptedException interruptedException)
+        {
+            this.logger.catching(interruptedException);
+            Thread.currentThread().interrupt();
+        } 
+        catch (ExecutionException executionException)
+        {
+            this.logger.catching(executionException);
         }
+        
+        return false;
+    }
 
-        return refThing.HasValue();
+    /**
+     * Loads an {@link Iteration} with the selected {@link DomainOfExpertise} without blocking the calling thread.
+     * When the iteration snapshots are enabled, the snapshot is loaded on the IO scheduler and opened until the server read completes. 
+     * Cancelling the returned {@linkplain CompletableFuture} or its timeout cancels the snapshot load and the server read, 
+     * and the iteration is not opened once either has been given up
+     * 
+     * @param engineeringModelSetup the {@linkplain EngineeringModelSetup}
+     * @param iterationSetup the {@linkplain IterationSetup}
+     * @param domainOfExpertise the {@linkplain DomainOfExpertise}
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of value indicating whether the operation went well
+     */
+    @Override
+    public CompletableFuture<Boolean> OpenIterationAsync(EngineeringModelSetup engineeringModelSetup, IterationSetup iterationSetup, 
+            DomainOfExpertise domainOfExpertise, long timeout, TimeUnit timeUnit)
+    {
+        long start = System.nanoTime();
+        
+        try
+        {
+            EngineeringModel model = new EngineeringModel(engineeringModelSetup.getEngineeringModelIid(), 
+                    this.session.getAssembler().getCache(), this.session.getCredentials().getUri());
+            
+            model.setEngineeringModelSetup(engineeringModelSetup);
+
+            Iteration iteration = new Iteration(iterationSetup.getIterationIid(),
+                this.session.getAssembler().getCache(), this.session.getCredentials().getUri());
+
+            model.getIteration().add(iteration);
+            
+            CompletableFuture<Void> cancellation = new CompletableFuture<>();
+            
+            CompletableFuture<ThingIndex> snapshotFuture = CompletableFuture.supplyAsync(() -> 
+                    this.LoadIterationSnapshot(engineeringModelSetup.getEngineeringModelIid(), iterationSetup.getIterationIid(), domainOfExpertise, cancellation), 
+                    this.ioExecutor);
+            
+            cancellation.whenComplete((x, exception) -> snapshotFuture.cancel(true));
+            
+            CompletableFuture<ThingIndex> readFuture = snapshotFuture.thenCompose(snapshotIndex -> 
+            {
+                CompletableFuture<Void> read = this.session.read(iteration, domainOfExpertise);
+                cancellation.whenComplete((x, exception) -> read.cancel(true));
+                return read.thenApply(x -> snapshotIndex);
+            });
+            
+            return FutureExtensions.WithTimeout(readFuture.handle((snapshotIndex, exception) -> 
+            {
+                this.CloseQuietly(model);
+                
+                if(exception != null)
+                {
+                    this.logger.catching(exception);
+                    return false;
+                }
+                
+                return this.OnIterationRead(iteration, snapshotIndex, cancellation);
+            }), cancellation, timeout, timeUnit)
+                    .whenComplete((result, exception) -> this.metrics.Record(HubControllerMetrics.OpenIteration, start, Boolean.TRUE.equals(result)));
+        }
+        catch (Exception exception)
+        {
+            this.logger.catching(exception);
+            this.metrics.Record(HubControllerMetrics.OpenIteration, start, false);
+            return CompletableFuture.completedFuture(false);
+        }
     }
     
     /**
-     * Gets the thing by predicate on {@linkplain Thing} from the chain of rdls
+     * Closes the provided {@linkplain AutoCloseable} and logs any failure
      * 
-     * @param predicate the predicate on {@linkplain Thing}
-     * @return An assert whether the thing has been found
+     * @param closeable the {@linkplain AutoCloseable}
+     */
+    private void CloseQuietly(AutoCloseable closeable)
+    {
+        try
+        {
+            closeable.close();
+        }
+        catch (Exception exception)
+        {
+            this.logger.catching(exception);
+        }
+    }
+    
+    /**
+     * Loads an {@link Iteration} with the selected {@link DomainOfExpertise}. 
+     * This blocking path reads the iteration from the server right away, so it does not load the iteration snapshot, it only saves a new one.
+     * Use {@linkplain #OpenIterationAsync} to show the snapshot while the server read completes in the background
+     * 
+     * @param engineeringModelSetup
+     * @param iterationSetup
+     * @param domainOfExpertise
+     * @return A value indicating whether the operation went well
      */
     @Override
-    @SuppressWarnings("unchecked")
-    public <TThing extends Object> boolean TryGetThingFromChainOfRdlBy(Predicate<TThing> predicate, Ref<TThing> thing)
+    public boolean OpenIteration(EngineeringModelSetup engineeringModelSetup, IterationSetup iterationSetup, DomainOfExpertise domainOfExpertise)
     {
-        Function<? super ReferenceDataLibrary, ? extends Stream<?>> collectionSelector = null;
+        long start = System.nanoTime();
         
-        if(Category.class.isAssignableFrom(thing.GetType()))
+        try
         {
-            collectionSelector = x -> x.queryCategoriesFromChainOfRdls().stream();
+            try(EngineeringModel model = new EngineeringModel(engineeringModelSetup.getEngineeringModelIid(), 
+                    this.session.getAssembler().getCache(), this.session.getCredentials().getUri()))
+            {
+                model.setEngineeringModelSetup(engineeringModelSetup);
+
+                Iteration iteration = new Iteration(iterationSetup.getIterationIid(),
+                    this.session.getAssembler().getCache(), this.session.getCredentials().getUri());
+
+                model.getIteration().add(iteration);
+                
+                this.GetIteration(iteration, domainOfExpertise);
+                this.OnIterationRead(null);
+            }
+            
+            this.metrics.Record(HubControllerMetrics.OpenIteration, start, true);
+            return true;
         }
-        else if(Rule.class.isAssignableFrom(thing.GetType()))
+        catch (Exception exception)
         {
-            collectionSelector = x -> x.queryRulesFromChainOfRdls().stream();
+            this.logger.catching(exception);
+            this.metrics.Record(HubControllerMetrics.OpenIteration, start, false);
+            return false;
         }
-        else if(Constant.class.isAssignableFrom(thing.GetType()))
+    }
+
+    /**
+     * Loads the snapshot of the provided iteration in the session cache, if the snapshots are enabled and there is one,
+     * and makes it the open {@linkplain Iteration} until the server answers, unless the opening has been given up in the meantime
+     * 
+     * @param engineeringModelIid the Iid of the {@linkplain EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain Iteration}
+     * @param domainOfExpertise the {@linkplain DomainOfExpertise} that opens the {@linkplain Iteration}
+     * @param cancellation the {@linkplain CompletableFuture} that completes when the opening is given up
+     * @return the {@linkplain ThingIndex} of the loaded snapshot, or null if no snapshot has been loaded
+     */
+    private ThingIndex LoadIterationSnapshot(UUID engineeringModelIid, UUID iterationIid, DomainOfExpertise domainOfExpertise, CompletableFuture<?> cancellation)
+    {
+        if(this.iterationSnapshotService == null || !this.iterationSnapshotService.IsEnabled())
         {
-            collectionSelector = x -> x.queryConstantsFromChainOfRdls().stream();
+            return null;
         }
-        else if(FileType.class.isAssignableFrom(thing.GetType()))
+        
+        try
         {
-            collectionSelector = x -> x.queryFileTypesFromChainOfRdls().stream();
+            List<cdp4common.dto.Thing> dtos = this.iterationSnapshotService.Load(engineeringModelIid, iterationIid);
+            
+            if(dtos.isEmpty())
+            {
+                return null;
+            }
+            
+            this.session.getAssembler().synchronize(dtos).join();
+            
+            Thing iteration = this.session.getAssembler().getCache().getIfPresent(new CacheKey(iterationIid, null));
+            
+            if(!(iteration instanceof Iteration))
+            {
+                return null;
+            }
+            
+            ThingIndex snapshotIndex;
+            
+            synchronized (this)
+            {
+                if(cancellation.isDone())
+                {
+                    return null;
+                }
+                
+                this.openIteration = (Iteration)iteration;
+                this.currentDomainOfExpertise = domainOfExpertise;
+                this.InvalidateThingIndex();
+                snapshotIndex = this.GetThingIndex();
+            }
+            
+            this.SetIsSessionOpen(true);
+            return snapshotIndex;
         }
-        else if(Glossary.class.isAssignableFrom(thing.GetType()))
+        catch (Exception exception)
         {
-            collectionSelector = x -> x.queryGlossariesFromChainOfRdls().stream();
+            this.logger.error(String.format("The iteration snapshot could not be loaded, because %s", exception));
+            return null;
         }
-        else if(MeasurementScale.class.isAssignableFrom(thing.GetType()))
+    }
+    
+    /**
+     * Opens the provided {@linkplain Iteration} that has just been read, then notifies the changes since the loaded snapshot if any 
+     * and saves a new snapshot, unless the opening has been given up in the meantime
+     * 
+     * @param iteration the {@linkplain Iteration} that has just been read
+     * @param snapshotIndex the {@linkplain ThingIndex} of the loaded snapshot, or null
+     * @param cancellation the {@linkplain CompletableFuture} that completes when the opening is given up
+     * @return a value indicating whether the {@linkplain Iteration} has been opened
+     */
+    private boolean OnIterationRead(Iteration iteration, ThingIndex snapshotIndex, CompletableFuture<?> cancellation)
+    {
+        if(cancellation.isDone())
         {
-            collectionSelector = x -> x.queryMeasurementScalesFromChainOfRdls().stream();
+            return false;
         }
-        else if(MeasurementUnit.class.isAssignableFrom(thing.GetType()))
+        
+        try
         {
-            collectionSelector = x -> x.queryMeasurementUnitsFromChainOfRdls().stream();
+            this.SetOpenIteration(iteration);
         }
-        else if(ReferenceSource.class.isAssignableFrom(thing.GetType()))
+        catch (NotFoundException exception)
         {
-            collectionSelector = x -> x.queryReferenceSourcesFromChainOfRdls().stream();
+            this.logger.catching(exception);
+            return false;
         }
-        else if(UnitPrefix.class.isAssignableFrom(thing.GetType()))
+        
+        this.OnIterationRead(snapshotIndex);
+        return true;
+    }
+    
+    /**
+     * Notifies the changes since the loaded snapshot if any, and saves a new snapshot of the {@linkplain #openIteration} 
+     * 
+     * @param snapshotIndex the {@linkplain ThingIndex} of the loaded snapshot, or null
+     */
+    private void OnIterationRead(ThingIndex snapshotIndex)
+    {
+        if(snapshotIndex != null)
         {
-            collectionSelector = x -> x.queryUnitPrefixesFromChainOfRdls().stream();
+            this.EmitSessionEvent(ThingChangeSet.Compute(snapshotIndex.GetRevisions(), this.GetThingIndex().GetRevisions()), true);
         }
-        else if(ParameterType.class.isAssignableFrom(thing.GetType()))
+        
+        this.SaveIterationSnapshot(this.openIteration);
+    }
+    
+    /**
+     * Saves a snapshot of the provided {@linkplain Iteration} if the snapshots are enabled
+     * 
+     * @param iteration the {@linkplain Iteration}
+     */
+    private void SaveIterationSnapshot(Iteration iteration)
+    {
+        if(this.iterationSnapshotService == null || iteration == null || !this.iterationSnapshotService.IsEnabled())
         {
-            collectionSelector = x -> x.queryParameterTypesFromChainOfRdls().stream();
+            return;
         }
         
-        if (collectionSelector == null)
+        try
         {
-            return false;
+            EngineeringModel model = iteration.getContainerOfType(EngineeringModel.class);
+            
+            Collection<Thing> things = new LinkedHashSet<>();
+            things.add(model);
+            things.add(iteration);
+            things.addAll(this.GetThingIndex(iteration).GetThings());
+            
+            this.iterationSnapshotService.Save(model.getIid(), iteration.getIid(), model.getRevisionNumber(), things);
+        }
+        catch (Exception exception)
+        {
+            this.logger.error(String.format("The iteration snapshot could not be saved, because %s", exception));
+        }
+    }
+    
+    /**
+     * Gets the {@linkplain Thing} by it's Iid from the cache
+     * 
+     * @param <TThing> the type of {@linkplain Thing} to retrieve
+     * @param iid the Iid of the {@linkplain Thing} to retrieve from the cache
+     * @param refThing the {@linkplain Ref} of {@linkplain TThing} as ref parameter
+     */
+    @Override
+    public <TThing extends Thing> boolean TryGetThingById(UUID iid, Ref<TThing> refThing)
+    {
+        return this.TryGetThingById(this.openIteration, iid, refThing);
+    }
+    
+    /**
+     * Gets the {@linkplain Thing} by it's Iid from the cache, scoped to the provided open {@linkplain Iteration}
+     * 
+     * @param <TThing> the type of {@linkplain Thing} to retrieve
+     * @param iteration the open {@linkplain Iteration} the {@linkplain Thing} is contained in
+     * @param iid the Iid of the {@linkplain Thing} to retrieve from the cache
+     * @param refThing the {@linkplain Ref} of {@linkplain TThing} as ref parameter
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TThing extends Thing> boolean TryGetThingById(Iteration iteration, UUID iid, Ref<TThing> refThing)
+    {
+        long start = System.nanoTime();
+        Thing thing = this.GetThingIndex(iteration).GetThingById(iid);
+        
+        if (thing != null && thing.getClass().isAssignableFrom(refThing.GetType()))
+        {
+            refThing.Set((TThing)thing);
         }
 
-        Optional<Object> optionalThing = this.OpenReferenceDataLibraries().stream()
-                .flatMap(collectionSelector)
+        this.metrics.RecordLookup(HubControllerMetrics.TryGetThingById, start, refThing.HasValue());
+        return refThing.HasValue();
+    }
+    
+    /**
+     * Gets the thing by predicate on {@linkplain Thing} from the chain of rdls
+     * 
+     * @param predicate the predicate on {@linkplain Thing}
+     * @return An assert whether the thing has been found
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TThing extends Object> boolean TryGetThingFromChainOfRdlBy(Predicate<TThing> predicate, Ref<TThing> thing)
+    {
+        long start = System.nanoTime();
+        Optional<Object> optionalThing = this.GetThingIndex().GetChainOfRdlThings(thing.GetType()).stream()
                 .filter((Predicate<? super Object>) predicate)
                 .filter(x -> !((DeprecatableThing)x).isDeprecated())
                 .findFirst();
@@ -579,8 +1286,140 @@ public class HubController implements IHubController
             thing.Set((TThing)optionalThing.get());
         }
 
+        this.metrics.RecordLookup(HubControllerMetrics.TryGetThingFromChainOfRdlBy, start, thing.HasValue());
+        return thing.HasValue();
+    }
+
+    /**
+     * Gets the thing by its short name from the chain of rdls
+     * 
+     * @param <TThing> the type of thing to retrieve
+     * @param shortName the short name of the thing to retrieve
+     * @param thing the {@linkplain Ref} of {@linkplain TThing} as ref parameter
+     * @return An assert whether the thing has been found
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TThing extends Object> boolean TryGetThingFromChainOfRdlByShortName(String shortName, Ref<TThing> thing)
+    {
+        long start = System.nanoTime();
+        Optional<Object> optionalThing = this.GetThingIndex().GetChainOfRdlThingsByShortName(thing.GetType(), shortName).stream()
+                .filter(x -> !((DeprecatableThing)x).isDeprecated())
+                .findFirst();
+        
+        if (optionalThing.isPresent() && thing.GetType().isAssignableFrom(optionalThing.get().getClass()))
+        {
+            thing.Set((TThing)optionalThing.get());
+        }
+
+        this.metrics.RecordLookup(HubControllerMetrics.TryGetThingFromChainOfRdlByShortName, start, thing.HasValue());
         return thing.HasValue();
     }
+    
+    /**
+     * Gets all the {@linkplain Thing}s of the provided {@linkplain ClassKind} contained in the open {@linkplain Iteration}
+     * 
+     * @param <TThing> the type of {@linkplain Thing} to retrieve
+     * @param classKind the {@linkplain ClassKind}
+     * @param clazz the {@linkplain Class} of {@linkplain TThing}
+     * @return a {@linkplain Collection} of {@linkplain TThing}
+     */
+    @Override
+    public <TThing extends Thing> Collection<TThing> GetThingsByClassKind(ClassKind classKind, Class<TThing> clazz)
+    {
+        return this.GetThingsByClassKind(this.openIteration, classKind, clazz);
+    }
+    
+    /**
+     * Gets all the {@linkplain Thing}s of the provided {@linkplain ClassKind} contained in the provided open {@linkplain Iteration}
+     * 
+     * @param <TThing> the type of {@linkplain Thing} to retrieve
+     * @param iteration the open {@linkplain Iteration}
+     * @param classKind the {@linkplain ClassKind}
+     * @param clazz the {@linkplain Class} of {@linkplain TThing}
+     * @return a {@linkplain Collection} of {@linkplain TThing}
+     */
+    @Override
+    public <TThing extends Thing> Collection<TThing> GetThingsByClassKind(Iteration iteration, ClassKind classKind, Class<TThing> clazz)
+    {
+        return StreamExtensions.OfType(this.GetThingIndex(iteration).GetThingsByClassKind(classKind), clazz);
+    }
+    
+    /**
+     * Gets the {@linkplain ThingIndex} of the selected open {@linkplain Iteration}, builds it if it has been invalidated
+     * 
+     * @return the {@linkplain ThingIndex}
+     */
+    private ThingIndex GetThingIndex()
+    {
+        return this.GetThingIndex(this.openIteration);
+    }
+    
+    /**
+     * Gets the {@linkplain ThingIndex} of the provided {@linkplain Iteration}, builds it if it has been invalidated
+     * 
+     * @param iteration the {@linkplain Iteration}
+     * @return the {@linkplain ThingIndex}
+     */
+    private synchronized ThingIndex GetThingIndex(Iteration iteration)
+    {
+        Cache<CacheKey, Thing> cache = this.GetCache();
+        
+        if(iteration == null || iteration.getIid() == null)
+        {
+            return new ThingIndex(iteration, cache, this.OpenReferenceDataLibraries());
+        }
+        
+        ThingIndex thingIndex = this.thingIndexes.get(iteration.getIid());
+        
+        if(thingIndex == null || thingIndex.GetIteration() != iteration)
+        {
+            thingIndex = new ThingIndex(iteration, cache, this.OpenReferenceDataLibraries());
+            this.thingIndexes.put(iteration.getIid(), thingIndex);
+        }
+        
+        return thingIndex;
+    }
+    
+    /**
+     * Gets the revision numbers by Iid of the {@linkplain Thing}s of the open {@linkplain Iteration}, from its {@linkplain ThingIndex} when it is built, 
+     * or else from a single pass over the session cache that does not build the {@linkplain ThingIndex}
+     * 
+     * @return a {@linkplain Map} of Iid and revision number
+     */
+    private synchronized Map<UUID, Integer> GetRevisions()
+    {
+        Iteration iteration = this.openIteration;
+        ThingIndex thingIndex = iteration != null && iteration.getIid() != null ? this.thingIndexes.get(iteration.getIid()) : null;
+        
+        if(thingIndex != null && thingIndex.GetIteration() == iteration)
+        {
+            return thingIndex.GetRevisions();
+        }
+        
+        return ThingIndex.ComputeRevisions(iteration, this.GetCache());
+    }
+    
+    /**
+     * Gets the cache of the {@linkplain Session} if any
+     * 
+     * @return the {@linkplain Cache} or null
+     */
+    private Cache<CacheKey, Thing> GetCache()
+    {
+        return this.session != null && this.session.getAssembler() != null 
+                ? this.session.getAssembler().getCache() 
+                : null;
+    }
+    
+    /**
+     * Drops all the {@linkplain ThingIndex}es so they get rebuilt on the next lookup. 
+     * It is called whenever the session cache may have changed, after every refresh, reload and write
+     */
+    private synchronized void InvalidateThingIndex()
+    {
+        this.thingIndexes.clear();
+    }
 
     /**
      * Creates or updates the things in the specified {@linkplain ThingTransaction}
@@ -591,8 +1430,147 @@ public class HubController implements IHubController
     @Override
     public void Write(ThingTransaction transaction) throws DalWriteException, CompletionException
     {
-        this.session.write(transaction.finalizeTransaction()).join();
+        long start = System.nanoTime();
+        boolean isSuccessful = false;
+        this.writesInProgress.incrementAndGet();
+        
+        try
+        {
+            OperationContainer operationContainer = transaction.finalizeTransaction();
+            this.session.write(operationContainer).join();
+            this.metrics.RecordThingsWritten(operationContainer.getOperations().size());
+            isSuccessful = true;
+        }
+        finally
+        {
+            this.InvalidateThingIndex();
+            this.writesInProgress.decrementAndGet();
+            this.metrics.Record(HubControllerMetrics.Write, start, isSuccessful);
+        }
     }    
+    
+    /**
+     * Writes the remaining batches of the provided {@linkplain ChunkedTransaction}, one transaction per batch.
+     * Stops at the first batch that fails, calling it again resumes from that batch.
+     * 
+     * @param chunkedTransaction the {@linkplain ChunkedTransaction}
+     * @return a value indicating whether all the batches have been written
+     */
+    @Override
+    public boolean Write(ChunkedTransaction chunkedTransaction)
+    {
+        this.writesInProgress.incrementAndGet();
+        
+        try
+        {
+            return this.WriteBatches(chunkedTransaction);
+        }
+        finally
+        {
+            this.writesInProgress.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Writes the remaining batches of the provided {@linkplain ChunkedTransaction}, one transaction per batch
+     * 
+     * @param chunkedTransaction the {@linkplain ChunkedTransaction}
+     * @return a value indicating whether all the batches have been written
+     */
+    private boolean WriteBatches(ChunkedTransaction chunkedTransaction)
+    {
+        while(!chunkedTransaction.IsCompleted())
+        {
+            int batchIndex = chunkedTransaction.GetNextBatchIndex();
+            ChunkedTransaction.Batch batch = chunkedTransaction.GetBatches().get(batchIndex);
+            
+            long start = System.nanoTime();
+            
+            try
+            {
+                List<Thing> topContainerClones = batch.CreateTopContainerClones();
+                
+                Iteration iterationClone = topContainerClones.stream()
+                        .filter(Iteration.class::isInstance)
+                        .map(Iteration.class::cast)
+                        .findFirst()
+                        .orElseGet(() -> this.GetOpenIteration().clone(false));
+                
+                ThingTransaction transaction = new ThingTransactionImpl(TransactionContextResolver.resolveContext(iterationClone), iterationClone);
+                
+                for (Thing thing : batch.GetThings())
+                {
+                    transaction.createOrUpdate(thing);
+                }
+                
+                for (Thing topContainer : topContainerClones)
+                {
+                    transaction.createOrUpdate(topContainer);
+                }
+                
+                OperationContainer operationContainer = transaction.finalizeTransaction();
+                this.session.write(operationContainer).join();
+                chunkedTransaction.OnBatchWritten();
+                this.metrics.RecordThingsWritten(operationContainer.getOperations().size());
+                this.metrics.Record(HubControllerMetrics.Write, start, true);
+            }
+            catch (Exception exception)
+            {
+                this.logger.error(String.format("The batch %s out of %s could not be written, because %s", 
+                        batchIndex + 1, chunkedTransaction.GetNumberOfBatches(), exception));
+                
+                chunkedTransaction.OnBatchFailed(exception);
+                this.metrics.Record(HubControllerMetrics.Write, start, false);
+                return false;
+            }
+            finally
+            {
+                this.InvalidateThingIndex();
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Creates or updates the things in the specified {@linkplain ThingTransaction} without blocking the calling thread
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return a {@linkplain CompletableFuture} that completes exceptionally if the transaction could not be committed
+     */
+    @Override
+    public CompletableFuture<Void> WriteAsync(ThingTransaction transaction, long timeout, TimeUnit timeUnit)
+    {
+        long start = System.nanoTime();
+        this.writesInProgress.incrementAndGet();
+        
+        try
+        {
+            OperationContainer operationContainer = transaction.finalizeTransaction();
+            
+            return FutureExtensions.WithTimeout(this.session.write(operationContainer), timeout, timeUnit)
+                    .whenComplete((x, exception) -> 
+                    {
+                        this.InvalidateThingIndex();
+                        this.writesInProgress.decrementAndGet();
+                        
+                        if(exception == null)
+                        {
+                            this.metrics.RecordThingsWritten(operationContainer.getOperations().size());
+                        }
+                        
+                        this.metrics.Record(HubControllerMetrics.Write, start, exception == null);
+                    });
+        }
+        catch (Exception exception)
+        {
+            this.writesInProgress.decrementAndGet();
+            this.metrics.Record(HubControllerMetrics.Write, start, false);
+            return FutureExtensions.Failed(exception);
+        }
+    }
 
     /**
      * Tries to create a {@linkplain LogEntry} base on the input from the {@linkplain LogEntryDialog}
@@ -631,12 +1609,7 @@ public class HubController implements IHubController
             return;
         }
 
-        ModelLogEntry logEntry = new ModelLogEntry();
-        logEntry.setIid(UUID.randomUUID());
-        logEntry.setContent(content);
-        logEntry.setAuthor(this.GetActivePerson());
-        logEntry.setLevel(LogLevelKind.USER);
-        logEntry.setLanguageCode("en-GB");
+        ModelLogEntry logEntry = this.CreateLogEntry(content);
 
         EngineeringModel clonedEngineeringModel = this.GetOpenIteration().getContainerOfType(EngineeringModel.class).clone(false);
         clonedEngineeringModel.getLogEntry().add(logEntry);
@@ -645,6 +1618,68 @@ public class HubController implements IHubController
         transaction.createOrUpdate(clonedEngineeringModel);
     }
     
+    /**
+     * Adds a new {@linkplain ModelLogEntry} record to the {@linkplain EngineeringModel} 
+     * and registers the change to the provided {@linkplain ThingTransactionBuilder}
+     * 
+     * @param content the {@linkplain String} content
+     * @param builder the {@linkplain ThingTransactionBuilder}
+     */
+    @Override
+    public void RegisterLogEntry(String content, ThingTransactionBuilder builder)
+    {
+        if (StringUtils.isBlank(content))
+        {
+            return;
+        }
+
+        ModelLogEntry logEntry = this.CreateLogEntry(content);
+        builder.GetEngineeringModelClone().getLogEntry().add(logEntry);
+        builder.CreateOrUpdate(logEntry);
+    }
+    
+    /**
+     * Creates a new {@linkplain ModelLogEntry} authored by the active {@linkplain Person}
+     * 
+     * @param content the {@linkplain String} content
+     * @return a {@linkplain ModelLogEntry}
+     */
+    private ModelLogEntry CreateLogEntry(String content)
+    {
+        ModelLogEntry logEntry = new ModelLogEntry();
+        logEntry.setIid(UUID.randomUUID());
+        logEntry.setContent(content);
+        logEntry.setAuthor(this.GetActivePerson());
+        logEntry.setLevel(LogLevelKind.USER);
+        logEntry.setLanguageCode("en-GB");
+        return logEntry;
+    }
+    
+    /**
+     * Initializes a new {@linkplain ThingTransactionBuilder} based on the current open {@linkplain Iteration}, 
+     * that only clones the containers actually touched
+     * 
+     * @return a {@linkplain ThingTransactionBuilder}
+     */
+    @Override
+    public ThingTransactionBuilder GetTransactionBuilder()
+    {
+        return this.GetTransactionBuilder(this.GetOpenIteration());
+    }
+    
+    /**
+     * Initializes a new {@linkplain ThingTransactionBuilder} based on the provided open {@linkplain Iteration}, 
+     * that only clones the containers actually touched
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @return a {@linkplain ThingTransactionBuilder}
+     */
+    @Override
+    public ThingTransactionBuilder GetTransactionBuilder(Iteration iteration)
+    {
+        return new ThingTransactionBuilder(iteration);
+    }
+    
     /**
      * Initializes a new {@linkplain ThingTransaction} based on the current open {@linkplain Iteration}
      * 
@@ -655,7 +1690,21 @@ public class HubController implements IHubController
     @Annotations.ExludeFromCodeCoverageGeneratedReport
     public Pair<Iteration, ThingTransaction> GetIterationTransaction() throws TransactionException
     {
-        Iteration iterationClone = this.GetOpenIteration().clone(false);
+        return this.GetIterationTransaction(this.GetOpenIteration());
+    }
+    
+    /**
+     * Initializes a new {@linkplain ThingTransaction} based on the provided open {@linkplain Iteration}
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @return a {@linkplain Pair} of {@linkplain Iteration} cloned and its {@linkplain ThingTransaction}
+     * @throws TransactionException
+     */
+    @Override
+    @Annotations.ExludeFromCodeCoverageGeneratedReport
+    public Pair<Iteration, ThingTransaction> GetIterationTransaction(Iteration iteration) throws TransactionException
+    {
+        Iteration iterationClone = iteration.clone(false);
         return Pair.of(iterationClone, new ThingTransactionImpl(TransactionContextResolver.resolveContext(iterationClone), iterationClone));
     }
 }
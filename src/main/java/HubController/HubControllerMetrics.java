@@ -0,0 +1,437 @@
+/*
+ * HubControllerMetrics.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import Utils.Metrics.Histogram;
+
+/**
+ * The {@linkplain HubControllerMetrics} collects the latency, call count, failure count, payload size and lookup hit and miss
+ * of the {@linkplain HubController} operations. Recording is lock free so it can stay on in production.
+ */
+public final class HubControllerMetrics implements IHubControllerMetrics, HubControllerMetricsMXBean
+{
+    /**
+     * The name under which the metrics are exported through JMX
+     */
+    public static final String JmxObjectName = "DEHP:type=HubControllerMetrics";
+
+    /**
+     * The {@linkplain HubController#Open(cdp4dal.dal.Credentials)} operation name
+     */
+    public static final String Open = "Open";
+
+    /**
+     * The {@linkplain HubController#OpenIteration} operation name
+     */
+    public static final String OpenIteration = "OpenIteration";
+
+    /**
+     * The {@linkplain HubController#Refresh()} operation name
+     */
+    public static final String Refresh = "Refresh";
+
+    /**
+     * The {@linkplain HubController#Reload()} operation name
+     */
+    public static final String Reload = "Reload";
+
+    /**
+     * The {@linkplain HubController#Write(cdp4dal.operations.ThingTransaction)} operation name
+     */
+    public static final String Write = "Write";
+
+    /**
+     * The {@linkplain HubController#TryGetThingById} operation name
+     */
+    public static final String TryGetThingById = "TryGetThingById";
+
+    /**
+     * The {@linkplain HubController#TryGetThingFromChainOfRdlBy} operation name
+     */
+    public static final String TryGetThingFromChainOfRdlBy = "TryGetThingFromChainOfRdlBy";
+
+    /**
+     * The {@linkplain HubController#TryGetThingFromChainOfRdlByShortName} operation name
+     */
+    public static final String TryGetThingFromChainOfRdlByShortName = "TryGetThingFromChainOfRdlByShortName";
+
+    /**
+     * The current class logger
+     */
+    private final Logger logger = LogManager.getLogger();
+
+    /**
+     * The latencies in microseconds by operation
+     */
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * The failure counts by operation
+     */
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    /**
+     * The lookup hit counts by operation
+     */
+    private final Map<String, LongAdder> hits = new ConcurrentHashMap<>();
+
+    /**
+     * The lookup miss counts by operation
+     */
+    private final Map<String, LongAdder> misses = new ConcurrentHashMap<>();
+
+    /**
+     * The number of {@linkplain cdp4common.commondata.Thing}s written per transaction
+     */
+    private final Histogram thingsWrittenPerTransaction = new Histogram(Histogram.SizeBuckets);
+
+    /**
+     * Records one call to the provided operation
+     *
+     * @param operation the operation name
+     * @param startNanoTime the {@linkplain System#nanoTime()} taken when the operation started
+     * @param isSuccessful a value indicating whether the operation succeeded
+     */
+    public void Record(String operation, long startNanoTime, boolean isSuccessful)
+    {
+        this.latencies.computeIfAbsent(operation, x -> new Histogram(Histogram.LatencyBucketsInMicroseconds))
+            .Record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanoTime));
+
+        if(!isSuccessful)
+        {
+            this.failures.computeIfAbsent(operation, x -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Records one lookup of the provided operation
+     *
+     * @param operation the lookup operation name
+     * @param startNanoTime the {@linkplain System#nanoTime()} taken when the lookup started
+     * @param isHit a value indicating whether the lookup found something
+     */
+    public void RecordLookup(String operation, long startNanoTime, boolean isHit)
+    {
+        this.Record(operation, startNanoTime, true);
+        (isHit ? this.hits : this.misses).computeIfAbsent(operation, x -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records the number of {@linkplain cdp4common.commondata.Thing}s written by one transaction
+     *
+     * @param numberOfThings the number of {@linkplain cdp4common.commondata.Thing}s
+     */
+    public void RecordThingsWritten(int numberOfThings)
+    {
+        this.thingsWrittenPerTransaction.Record(numberOfThings);
+    }
+
+    /**
+     * Registers these metrics in the platform {@linkplain MBeanServer} under {@linkplain #JmxObjectName}, replacing any previous registration
+     *
+     * @return a value indicating whether the registration succeeded
+     */
+    public boolean RegisterMBean()
+    {
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JmxObjectName);
+
+            if(server.isRegistered(name))
+            {
+                server.unregisterMBean(name);
+            }
+
+            server.registerMBean(this, name);
+            return true;
+        }
+        catch (Exception exception)
+        {
+            this.logger.error(String.format("The HubController metrics could not be exported through JMX, because %s", exception));
+            return false;
+        }
+    }
+
+    /**
+     * Gets the names of the operations that have been measured so far
+     *
+     * @return a {@linkplain Collection} of {@linkplain String}
+     */
+    @Override
+    public Collection<String> GetOperations()
+    {
+        return Collections.unmodifiableSet(this.latencies.keySet());
+    }
+
+    /**
+     * Gets the latency {@linkplain Histogram} in microseconds of the provided operation
+     *
+     * @param operation the operation name
+     * @return a {@linkplain Histogram}, empty if the operation has never been measured
+     */
+    @Override
+    public Histogram GetLatency(String operation)
+    {
+        return this.latencies.getOrDefault(operation, new Histogram(Histogram.LatencyBucketsInMicroseconds));
+    }
+
+    /**
+     * Gets the number of calls to the provided operation
+     *
+     * @param operation the operation name
+     * @return a long
+     */
+    @Override
+    public long GetCallCount(String operation)
+    {
+        return this.GetLatency(operation).GetCount();
+    }
+
+    /**
+     * Gets the number of calls to the provided operation that failed
+     *
+     * @param operation the operation name
+     * @return a long
+     */
+    @Override
+    public long GetFailureCount(String operation)
+    {
+        return GetSum(this.failures, operation);
+    }
+
+    /**
+     * Gets the {@linkplain Histogram} of the number of {@linkplain cdp4common.commondata.Thing}s written per transaction
+     *
+     * @return a {@linkplain Histogram}
+     */
+    @Override
+    public Histogram GetThingsWrittenPerTransaction()
+    {
+        return this.thingsWrittenPerTransaction;
+    }
+
+    /**
+     * Gets the number of lookups of the provided operation that found something
+     *
+     * @param operation the lookup operation name
+     * @return a long
+     */
+    @Override
+    public long GetLookupHitCount(String operation)
+    {
+        return GetSum(this.hits, operation);
+    }
+
+    /**
+     * Gets the number of lookups of the provided operation that found nothing
+     *
+     * @param operation the lookup operation name
+     * @return a long
+     */
+    @Override
+    public long GetLookupMissCount(String operation)
+    {
+        return GetSum(this.misses, operation);
+    }
+
+    /**
+     * Clears all the metrics
+     */
+    @Override
+    public void Reset()
+    {
+        this.latencies.clear();
+        this.failures.clear();
+        this.hits.clear();
+        this.misses.clear();
+        this.thingsWrittenPerTransaction.Reset();
+    }
+
+    /**
+     * Gets the number of calls by operation
+     *
+     * @return a {@linkplain Map} of operation name and count
+     */
+    @Override
+    public Map<String, Long> getCallCounts()
+    {
+        return this.ToLongMap(this::GetCallCount);
+    }
+
+    /**
+     * Gets the number of failed calls by operation
+     *
+     * @return a {@linkplain Map} of operation name and count
+     */
+    @Override
+    public Map<String, Long> getFailureCounts()
+    {
+        return this.ToLongMap(this::GetFailureCount);
+    }
+
+    /**
+     * Gets the mean latency in microseconds by operation
+     *
+     * @return a {@linkplain Map} of operation name and latency
+     */
+    @Override
+    public Map<String, Double> getMeanLatenciesInMicroseconds()
+    {
+        return this.ToDoubleMap(x -> this.GetLatency(x).GetMean());
+    }
+
+    /**
+     * Gets the 95th percentile latency in microseconds by operation
+     *
+     * @return a {@linkplain Map} of operation name and latency
+     */
+    @Override
+    public Map<String, Long> getP95LatenciesInMicroseconds()
+    {
+        return this.ToLongMap(x -> this.GetLatency(x).GetPercentile(95));
+    }
+
+    /**
+     * Gets the maximum latency in microseconds by operation
+     *
+     * @return a {@linkplain Map} of operation name and latency
+     */
+    @Override
+    public Map<String, Long> getMaximumLatenciesInMicroseconds()
+    {
+        return this.ToLongMap(x -> this.GetLatency(x).GetMaximum());
+    }
+
+    /**
+     * Gets the ratio of lookups that found something by lookup operation
+     *
+     * @return a {@linkplain Map} of operation name and hit rate between 0 and 1
+     */
+    @Override
+    public Map<String, Double> getLookupHitRates()
+    {
+        Map<String, Double> result = new TreeMap<>();
+
+        for (String operation : this.latencies.keySet())
+        {
+            long hitCount = this.GetLookupHitCount(operation);
+            long total = hitCount + this.GetLookupMissCount(operation);
+
+            if(total > 0)
+            {
+                result.put(operation, (double)hitCount / total);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the total number of {@linkplain cdp4common.commondata.Thing}s written
+     *
+     * @return a long
+     */
+    @Override
+    public long getThingsWritten()
+    {
+        return this.thingsWrittenPerTransaction.GetSum();
+    }
+
+    /**
+     * Gets the mean number of {@linkplain cdp4common.commondata.Thing}s written per transaction
+     *
+     * @return a double
+     */
+    @Override
+    public double getMeanThingsWrittenPerTransaction()
+    {
+        return this.thingsWrittenPerTransaction.GetMean();
+    }
+
+    /**
+     * Clears all the metrics
+     */
+    @Override
+    public void reset()
+    {
+        this.Reset();
+    }
+
+    /**
+     * Maps every measured operation to the value computed by the provided function
+     *
+     * @param function the {@linkplain ToLongFunction}
+     * @return a sorted {@linkplain Map}
+     */
+    private Map<String, Long> ToLongMap(ToLongFunction<String> function)
+    {
+        Map<String, Long> result = new TreeMap<>();
+        this.latencies.keySet().forEach(x -> result.put(x, function.applyAsLong(x)));
+        return result;
+    }
+
+    /**
+     * Maps every measured operation to the value computed by the provided function
+     *
+     * @param function the {@linkplain ToDoubleFunction}
+     * @return a sorted {@linkplain Map}
+     */
+    private Map<String, Double> ToDoubleMap(ToDoubleFunction<String> function)
+    {
+        Map<String, Double> result = new TreeMap<>();
+        this.latencies.keySet().forEach(x -> result.put(x, function.applyAsDouble(x)));
+        return result;
+    }
+
+    /**
+     * Gets the sum of the counter of the provided operation
+     *
+     * @param counters the counters by operation
+     * @param operation the operation name
+     * @return a long
+     */
+    private static long GetSum(Map<String, LongAdder> counters, String operation)
+    {
+        LongAdder counter = counters.get(operation);
+        return counter == null ? 0 : counter.sum();
+    }
+}
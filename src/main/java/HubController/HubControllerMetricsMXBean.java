@@ -0,0 +1,94 @@
+/*
+ * HubControllerMetricsMXBean.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.util.Map;
+
+/**
+ * The {@linkplain HubControllerMetricsMXBean} is the JMX view of the {@linkplain HubControllerMetrics}.
+ * The naming follows the JMX conventions so the attributes show up in any JMX console.
+ */
+public interface HubControllerMetricsMXBean
+{
+    /**
+     * Gets the number of calls by operation
+     *
+     * @return a {@linkplain Map} of operation name and count
+     */
+    Map<String, Long> getCallCounts();
+
+    /**
+     * Gets the number of failed calls by operation
+     *
+     * @return a {@linkplain Map} of operation name and count
+     */
+    Map<String, Long> getFailureCounts();
+
+    /**
+     * Gets the mean latency in microseconds by operation
+     *
+     * @return a {@linkplain Map} of operation name and latency
+     */
+    Map<String, Double> getMeanLatenciesInMicroseconds();
+
+    /**
+     * Gets the 95th percentile latency in microseconds by operation
+     *
+     * @return a {@linkplain Map} of operation name and latency
+     */
+    Map<String, Long> getP95LatenciesInMicroseconds();
+
+    /**
+     * Gets the maximum latency in microseconds by operation
+     *
+     * @return a {@linkplain Map} of operation name and latency
+     */
+    Map<String, Long> getMaximumLatenciesInMicroseconds();
+
+    /**
+     * Gets the ratio of lookups that found something by lookup operation
+     *
+     * @return a {@linkplain Map} of operation name and hit rate between 0 and 1
+     */
+    Map<String, Double> getLookupHitRates();
+
+    /**
+     * Gets the total number of {@linkplain cdp4common.commondata.Thing}s written
+     *
+     * @return a long
+     */
+    long getThingsWritten();
+
+    /**
+     * Gets the mean number of {@linkplain cdp4common.commondata.Thing}s written per transaction
+     *
+     * @return a double
+     */
+    double getMeanThingsWrittenPerTransaction();
+
+    /**
+     * Clears all the metrics
+     */
+    void reset();
+}
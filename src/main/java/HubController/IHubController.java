@@ -26,7 +26,9 @@ package HubController;
 
 import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -35,6 +37,7 @@ import com.google.common.collect.ImmutableMap;
 
 import Utils.Ref;
 import Views.Dialogs.LogEntryDialog;
+import cdp4common.commondata.ClassKind;
 import cdp4common.commondata.LogEntry;
 import cdp4common.commondata.Thing;
 import cdp4common.engineeringmodeldata.ExternalIdentifierMap;
@@ -61,7 +64,9 @@ import javassist.NotFoundException;
 public interface IHubController
 {
     /**
-     * Loads an {@link Iteration} with the selected {@link DomainOfExpertise}
+     * Loads an {@link Iteration} with the selected {@link DomainOfExpertise}. 
+     * This blocking path reads the iteration from the server right away, so it does not load the iteration snapshot, it only saves a new one.
+     * Use {@linkplain #OpenIterationAsync} to show the snapshot while the server read completes in the background
      * 
      * @param engineeringModelSetup
      * @param iterationSetup
@@ -70,6 +75,20 @@ public interface IHubController
      */
     boolean OpenIteration(EngineeringModelSetup engineeringModelSetup, IterationSetup iterationSetup, DomainOfExpertise domainOfExpertise);
 
+    /**
+     * Loads an {@link Iteration} with the selected {@link DomainOfExpertise} without blocking the calling thread.
+     * When the iteration snapshots are enabled, the snapshot is loaded on the IO scheduler and opened until the server read completes
+     * 
+     * @param engineeringModelSetup the {@linkplain EngineeringModelSetup}
+     * @param iterationSetup the {@linkplain IterationSetup}
+     * @param domainOfExpertise the {@linkplain DomainOfExpertise}
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of value indicating whether the operation went well
+     */
+    CompletableFuture<Boolean> OpenIterationAsync(EngineeringModelSetup engineeringModelSetup, IterationSetup iterationSetup, 
+            DomainOfExpertise domainOfExpertise, long timeout, TimeUnit timeUnit);
+
     /**
      * Reloads the {@link Session}
      * 
@@ -77,6 +96,49 @@ public interface IHubController
      */
     boolean Refresh();
 
+    /**
+     * Refreshes the {@link Session} without blocking the calling thread
+     * 
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of value indicating whether the refresh completed with success
+     */
+    CompletableFuture<Boolean> RefreshAsync(long timeout, TimeUnit timeUnit);
+
+    /**
+     * Starts or restarts refreshing the {@linkplain Session} every interval. A refresh in flight is joined instead of starting another one, 
+     * the refreshes are held back while a write is in progress, and the interval doubles as long as the refreshes find no change
+     * 
+     * @param interval the interval in seconds between two refreshes
+     */
+    void StartAutoRefresh(int interval);
+
+    /**
+     * Stops the auto refresh
+     */
+    void StopAutoRefresh();
+
+    /**
+     * Gets the {@linkplain Observable} that yields the number of seconds left before the next auto refresh
+     * 
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    Observable<Integer> GetAutoRefreshCountdownObservable();
+
+    /**
+     * Gets the {@linkplain Observable} that yields the interval in seconds between two auto refreshes each time it changes, including after back-off
+     * 
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    Observable<Integer> GetAutoRefreshIntervalObservable();
+
+    /**
+     * Gets the {@linkplain IHubControllerMetrics} that measure this {@linkplain IHubController}
+     * 
+     * @return the {@linkplain IHubControllerMetrics}
+     */
+    IHubControllerMetrics GetMetrics();
+
     /**
      * Reloads the {@link Session}
      * 
@@ -84,6 +146,15 @@ public interface IHubController
      */
     boolean Reload();
 
+    /**
+     * Reloads the {@link Session} without blocking the calling thread
+     * 
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of value indicating whether the reload completed with success
+     */
+    CompletableFuture<Boolean> ReloadAsync(long timeout, TimeUnit timeUnit);
+
     /**
      * Reads an {@link Iteration} and set the active @link DomainOfExpertise for the Iteration
      * 
@@ -100,6 +171,17 @@ public interface IHubController
      */
     void GetIteration(Iteration iteration, DomainOfExpertise domain) throws NotFoundException;
 
+    /**
+     * Reads an {@link Iteration} and set the active {@link DomainOfExpertise} for the {@link Iteration} without blocking the calling thread
+     * 
+     * @param iteration the {@link Iteration} to read
+     * @param domain the {@link DomainOfExpertise} that reads the {@link Iteration}
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return a {@linkplain CompletableFuture} that completes exceptionally with a {@linkplain NotFoundException} if the iteration was not found
+     */
+    CompletableFuture<Void> GetIterationAsync(Iteration iteration, DomainOfExpertise domain, long timeout, TimeUnit timeUnit);
+
     /**
      * Gets the active person
      * 
@@ -129,6 +211,16 @@ public interface IHubController
      */
     Boolean Open(Credentials credentials);
 
+    /**
+     * Opens the {@linkplain Session} without blocking the calling thread
+     * 
+     * @param credentials the {@link Credentials}
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return A {@linkplain CompletableFuture} of {@link Boolean} indicating whether opening the session succeeded
+     */
+    CompletableFuture<Boolean> OpenAsync(Credentials credentials, long timeout, TimeUnit timeUnit);
+
     /**
      * Gets the open {@link Iteration}
      * 
@@ -136,6 +228,38 @@ public interface IHubController
      */
     Iteration GetOpenIteration();
 
+    /**
+     * Gets all the {@linkplain Iteration}s open in the {@linkplain Session}, they all share the same session cache
+     * 
+     * @return a {@linkplain Collection} of {@linkplain Iteration}
+     */
+    Collection<Iteration> GetOpenIterations();
+
+    /**
+     * Gets the {@linkplain DomainOfExpertise} the provided open {@linkplain Iteration} has been read with
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @return the {@linkplain DomainOfExpertise} or null if the {@linkplain Iteration} is not open
+     */
+    DomainOfExpertise GetDomainOfExpertise(Iteration iteration);
+
+    /**
+     * Makes the provided open {@linkplain Iteration} the one returned by {@linkplain #GetOpenIteration()} 
+     * and by all the lookups that do not take an {@linkplain Iteration}
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @return a value indicating whether the {@linkplain Iteration} is open and has been selected
+     */
+    boolean SelectOpenIteration(Iteration iteration);
+
+    /**
+     * Closes the provided open {@linkplain Iteration}, the other open iterations stay open
+     * 
+     * @param iteration the open {@linkplain Iteration} to close
+     * @return a value indicating whether the {@linkplain Iteration} has been closed
+     */
+    boolean CloseIteration(Iteration iteration);
+
     /**
      * Gets the {@linkplain Observable} from {@linkplain isSessionOpen} boolean field
      * 
@@ -175,6 +299,37 @@ public interface IHubController
      */
     <TThing extends Object> boolean TryGetThingFromChainOfRdlBy(Predicate<TThing> predicate, Ref<TThing> thing);
 
+    /**
+     * Gets the thing by its short name from the chain of rdls
+     * 
+     * @param <TThing> the type of thing to retrieve
+     * @param shortName the short name of the thing to retrieve
+     * @param thing the {@linkplain Ref} of {@linkplain TThing} as ref parameter
+     * @return An assert whether the thing has been found
+     */
+    <TThing extends Object> boolean TryGetThingFromChainOfRdlByShortName(String shortName, Ref<TThing> thing);
+
+    /**
+     * Gets all the {@linkplain Thing}s of the provided {@linkplain ClassKind} contained in the open {@linkplain Iteration}
+     * 
+     * @param <TThing> the type of {@linkplain Thing} to retrieve
+     * @param classKind the {@linkplain ClassKind}
+     * @param clazz the {@linkplain Class} of {@linkplain TThing}
+     * @return a {@linkplain Collection} of {@linkplain TThing}
+     */
+    <TThing extends Thing> Collection<TThing> GetThingsByClassKind(ClassKind classKind, Class<TThing> clazz);
+
+    /**
+     * Gets all the {@linkplain Thing}s of the provided {@linkplain ClassKind} contained in the provided open {@linkplain Iteration}
+     * 
+     * @param <TThing> the type of {@linkplain Thing} to retrieve
+     * @param iteration the open {@linkplain Iteration}
+     * @param classKind the {@linkplain ClassKind}
+     * @param clazz the {@linkplain Class} of {@linkplain TThing}
+     * @return a {@linkplain Collection} of {@linkplain TThing}
+     */
+    <TThing extends Thing> Collection<TThing> GetThingsByClassKind(Iteration iteration, ClassKind classKind, Class<TThing> clazz);
+
     /**
      * Gets the DEHP {@linkplain ReferenceDataLibraries} or the open model one
      * 
@@ -191,6 +346,25 @@ public interface IHubController
      */
     void Write(ThingTransaction transaction) throws DalWriteException, CompletionException;
 
+    /**
+     * Writes the remaining batches of the provided {@linkplain ChunkedTransaction}, one transaction per batch.
+     * Stops at the first batch that fails, calling it again resumes from that batch.
+     * 
+     * @param chunkedTransaction the {@linkplain ChunkedTransaction}
+     * @return a value indicating whether all the batches have been written
+     */
+    boolean Write(ChunkedTransaction chunkedTransaction);
+
+    /**
+     * Creates or updates the things in the specified {@linkplain ThingTransaction} without blocking the calling thread
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return a {@linkplain CompletableFuture} that completes exceptionally if the transaction could not be committed
+     */
+    CompletableFuture<Void> WriteAsync(ThingTransaction transaction, long timeout, TimeUnit timeUnit);
+
     /**
      * Refresh the specified library local cache by reading it
      * 
@@ -198,6 +372,16 @@ public interface IHubController
      */
     void RefreshReferenceDataLibrary(ReferenceDataLibrary library);
 
+    /**
+     * Refresh the specified library local cache by reading it without blocking the calling thread
+     * 
+     * @param library the {@linkplain ReferenceDataLibrary} to refresh
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return a {@linkplain CompletableFuture}
+     */
+    CompletableFuture<Void> RefreshReferenceDataLibraryAsync(ReferenceDataLibrary library, long timeout, TimeUnit timeUnit);
+
     /**
      * Gets the {@linkplain Thing} by it's Iid from the cache
      * 
@@ -207,6 +391,17 @@ public interface IHubController
      */
     <TThing extends Thing> boolean TryGetThingById(UUID iid, Ref<TThing> refThing);
 
+    /**
+     * Gets the {@linkplain Thing} by it's Iid from the cache, scoped to the provided open {@linkplain Iteration}
+     * 
+     * @param <TThing> the type of {@linkplain Thing} to retrieve
+     * @param iteration the open {@linkplain Iteration} the {@linkplain Thing} is contained in
+     * @param iid the Iid of the {@linkplain Thing} to retrieve from the cache
+     * @param refThing the {@linkplain Ref} of {@linkplain TThing} as ref parameter
+     * @return a value indicating whether the {@linkplain Thing} has been found
+     */
+    <TThing extends Thing> boolean TryGetThingById(Iteration iteration, UUID iid, Ref<TThing> refThing);
+
     /**
      * Initializes a new {@linkplain ThingTransaction} based on the current open {@linkplain Iteration}
      * 
@@ -215,6 +410,32 @@ public interface IHubController
      */
     Pair<Iteration, ThingTransaction> GetIterationTransaction() throws TransactionException;
 
+    /**
+     * Initializes a new {@linkplain ThingTransactionBuilder} based on the current open {@linkplain Iteration}, 
+     * that only clones the containers actually touched
+     * 
+     * @return a {@linkplain ThingTransactionBuilder}
+     */
+    ThingTransactionBuilder GetTransactionBuilder();
+
+    /**
+     * Initializes a new {@linkplain ThingTransactionBuilder} based on the provided open {@linkplain Iteration}, 
+     * that only clones the containers actually touched
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @return a {@linkplain ThingTransactionBuilder}
+     */
+    ThingTransactionBuilder GetTransactionBuilder(Iteration iteration);
+
+    /**
+     * Initializes a new {@linkplain ThingTransaction} based on the provided open {@linkplain Iteration}
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @return a {@linkplain Pair} of {@linkplain Iteration} cloned and its {@linkplain ThingTransaction}
+     * @throws TransactionException
+     */
+    Pair<Iteration, ThingTransaction> GetIterationTransaction(Iteration iteration) throws TransactionException;
+
     /**
      * Gets the {@linkplain Observable} from {@linkplain isSessionOpen} boolean field
      * 
@@ -222,6 +443,14 @@ public interface IHubController
      */
     Observable<Boolean> GetSessionEventObservable();
 
+    /**
+     * Gets the {@linkplain Observable} of {@linkplain ThingChangeSet} that yields the Iids of the {@linkplain Thing}s 
+     * that have been added, updated or deleted by a successful {@linkplain #Refresh()} or {@linkplain #Reload()}, on the event dispatch thread
+     * 
+     * @return an {@linkplain Observable} of {@linkplain ThingChangeSet}
+     */
+    Observable<ThingChangeSet> GetChangeSetObservable();
+
     /**
      * Gets the collection of available {@linkplain ExternalIdentifierMap} for the provided DST tool name
      * 
@@ -230,6 +459,15 @@ public interface IHubController
      */
     Collection<ExternalIdentifierMap> GetAvailableExternalIdentifierMap(String toolName);
 
+    /**
+     * Gets the collection of available {@linkplain ExternalIdentifierMap} for the provided DST tool name in the provided open {@linkplain Iteration}
+     * 
+     * @param iteration the open {@linkplain Iteration}
+     * @param toolName the {@linkplain String} DST tool name
+     * @return a {@linkplain Collection} of {@linkplain ExternalIdentifierMap}
+     */
+    Collection<ExternalIdentifierMap> GetAvailableExternalIdentifierMap(Iteration iteration, String toolName);
+
     /**
      * Adds a new <see cref="ModelLogEntry"/> record to the <see cref="EngineeringModel.LogEntry"/> 
      * list of the current <see cref="OpenIteration"/> and registers the change to a <see cref="ThingTransaction"/>
@@ -237,6 +475,15 @@ public interface IHubController
      */
     void RegisterLogEntry(String content, ThingTransaction transaction) throws TransactionException;
 
+    /**
+     * Adds a new {@linkplain ModelLogEntry} record to the {@linkplain EngineeringModel} 
+     * and registers the change to the provided {@linkplain ThingTransactionBuilder}
+     * 
+     * @param content the {@linkplain String} content
+     * @param builder the {@linkplain ThingTransactionBuilder}
+     */
+    void RegisterLogEntry(String content, ThingTransactionBuilder builder);
+
     /**
      * Tries to create a {@linkplain LogEntry} base on the input from the {@linkplain LogEntryDialog}
      * 
@@ -0,0 +1,93 @@
+/*
+ * IHubControllerMetrics.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.util.Collection;
+
+import Utils.Metrics.Histogram;
+
+/**
+ * The {@linkplain IHubControllerMetrics} is the interface definition for {@linkplain HubControllerMetrics}
+ */
+public interface IHubControllerMetrics
+{
+    /**
+     * Gets the names of the operations that have been measured so far
+     *
+     * @return a {@linkplain Collection} of {@linkplain String}
+     */
+    Collection<String> GetOperations();
+
+    /**
+     * Gets the latency {@linkplain Histogram} in microseconds of the provided operation
+     *
+     * @param operation the operation name
+     * @return a {@linkplain Histogram}, empty if the operation has never been measured
+     */
+    Histogram GetLatency(String operation);
+
+    /**
+     * Gets the number of calls to the provided operation
+     *
+     * @param operation the operation name
+     * @return a long
+     */
+    long GetCallCount(String operation);
+
+    /**
+     * Gets the number of calls to the provided operation that failed
+     *
+     * @param operation the operation name
+     * @return a long
+     */
+    long GetFailureCount(String operation);
+
+    /**
+     * Gets the {@linkplain Histogram} of the number of {@linkplain cdp4common.commondata.Thing}s written per transaction
+     *
+     * @return a {@linkplain Histogram}
+     */
+    Histogram GetThingsWrittenPerTransaction();
+
+    /**
+     * Gets the number of lookups of the provided operation that found something
+     *
+     * @param operation the lookup operation name
+     * @return a long
+     */
+    long GetLookupHitCount(String operation);
+
+    /**
+     * Gets the number of lookups of the provided operation that found nothing
+     *
+     * @param operation the lookup operation name
+     * @return a long
+     */
+    long GetLookupMissCount(String operation);
+
+    /**
+     * Clears all the metrics
+     */
+    void Reset();
+}
@@ -0,0 +1,42 @@
+/*
+ * ISessionFactory.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import cdp4dal.Session;
+import cdp4dal.dal.Credentials;
+
+/**
+ * The {@linkplain ISessionFactory} creates the {@linkplain Session} the {@linkplain HubController} opens,
+ * which decouples the {@linkplain HubController} from the data access layer it talks to
+ */
+public interface ISessionFactory
+{
+    /**
+     * Creates a new {@linkplain Session} for the provided {@linkplain Credentials}
+     * 
+     * @param credentials the {@linkplain Credentials}
+     * @return a new {@linkplain Session}, not opened yet
+     */
+    Session Create(Credentials credentials);
+}
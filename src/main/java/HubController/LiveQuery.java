@@ -0,0 +1,245 @@
+/*
+ * LiveQuery.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import Reactive.KeyedObservableCollection;
+import Services.SchedulerService.SchedulerService;
+import Utils.Ref;
+import cdp4common.commondata.ClassKind;
+import cdp4common.commondata.Thing;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.CompositeDisposable;
+
+/**
+ * The {@linkplain LiveQuery} holds the {@linkplain Thing}s of one type from the open {@linkplain cdp4common.engineeringmodeldata.Iteration} 
+ * that match a predicate, and keeps them up to date. After a {@linkplain IHubController#Refresh()} or {@linkplain IHubController#Reload()} 
+ * only the {@linkplain Thing}s of the {@linkplain ThingChangeSet} are evaluated again, the whole iteration is only scanned 
+ * when the session opens or on {@linkplain #Requery()}.
+ * The results are only ever updated on one {@linkplain Scheduler}, the event dispatch thread by default, 
+ * so that the views can read them there while the changes are emitted from the thread of the data access layer.
+ * 
+ * @param <TThing> the type of {@linkplain Thing} this query yields
+ */
+public final class LiveQuery<TThing extends Thing>
+{
+    /**
+     * The current class logger
+     */
+    private final Logger logger = LogManager.getLogger();
+
+    /**
+     * The {@linkplain IHubController}
+     */
+    private final IHubController hubController;
+
+    /**
+     * The {@linkplain ClassKind} of the queried {@linkplain Thing}s
+     */
+    private final ClassKind classKind;
+
+    /**
+     * The {@linkplain Class} of the queried {@linkplain Thing}s
+     */
+    private final Class<TThing> clazz;
+
+    /**
+     * The {@linkplain Predicate} the {@linkplain Thing}s have to match
+     */
+    private final Predicate<? super TThing> predicate;
+
+    /**
+     * The matching {@linkplain Thing}s by Iid
+     */
+    private final KeyedObservableCollection<UUID, TThing> results;
+
+    /**
+     * The {@linkplain Scheduler} the {@linkplain #results} are updated on
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * The subscriptions to the {@linkplain #hubController}
+     */
+    private final CompositeDisposable subscriptions = new CompositeDisposable();
+
+    /**
+     * Initializes a new {@linkplain LiveQuery} over the {@linkplain Thing}s of a concrete type, whose {@linkplain ClassKind} has the same name
+     * 
+     * @param hubController the {@linkplain IHubController}
+     * @param clazz the {@linkplain Class} of the queried {@linkplain Thing}s
+     * @param predicate the {@linkplain Predicate} the {@linkplain Thing}s have to match
+     * @throws IllegalArgumentException when no {@linkplain ClassKind} is named after the provided {@linkplain Class}
+     */
+    public LiveQuery(IHubController hubController, Class<TThing> clazz, Predicate<? super TThing> predicate)
+    {
+        this(hubController, ClassKind.valueOf(clazz.getSimpleName()), clazz, predicate);
+    }
+
+    /**
+     * Initializes a new {@linkplain LiveQuery}
+     * 
+     * @param hubController the {@linkplain IHubController}
+     * @param classKind the {@linkplain ClassKind} of the queried {@linkplain Thing}s
+     * @param clazz the {@linkplain Class} of the queried {@linkplain Thing}s
+     * @param predicate the {@linkplain Predicate} the {@linkplain Thing}s have to match
+     */
+    public LiveQuery(IHubController hubController, ClassKind classKind, Class<TThing> clazz, Predicate<? super TThing> predicate)
+    {
+        this(hubController, classKind, clazz, predicate, SchedulerService.Current.Edt());
+    }
+
+    /**
+     * Initializes a new {@linkplain LiveQuery}
+     * 
+     * @param hubController the {@linkplain IHubController}
+     * @param classKind the {@linkplain ClassKind} of the queried {@linkplain Thing}s
+     * @param clazz the {@linkplain Class} of the queried {@linkplain Thing}s
+     * @param predicate the {@linkplain Predicate} the {@linkplain Thing}s have to match
+     * @param scheduler the {@linkplain Scheduler} the results are updated on, it has to run its work one at a time
+     */
+    public LiveQuery(IHubController hubController, ClassKind classKind, Class<TThing> clazz, Predicate<? super TThing> predicate, Scheduler scheduler)
+    {
+        this.hubController = hubController;
+        this.scheduler = scheduler;
+        this.classKind = classKind;
+        this.clazz = clazz;
+        this.predicate = predicate;
+        this.results = KeyedObservableCollection.ByIid(clazz);
+
+        this.subscriptions.add(this.hubController.GetIsSessionOpenObservable()
+                .observeOn(this.scheduler)
+                .subscribe(x -> this.EvaluateAll(), x -> this.logger.catching(x)));
+
+        this.subscriptions.add(this.hubController.GetChangeSetObservable()
+                .observeOn(this.scheduler)
+                .subscribe(this::Apply, x -> this.logger.catching(x)));
+
+        this.Requery();
+    }
+
+    /**
+     * Gets the {@linkplain Thing}s that currently match this query
+     * 
+     * @return the {@linkplain KeyedObservableCollection} of {@linkplain TThing} by Iid, only this query is meant to modify it, 
+     * and it is only safe to read on the {@linkplain Scheduler} this query updates it on
+     */
+    public KeyedObservableCollection<UUID, TThing> GetResults()
+    {
+        return this.results;
+    }
+
+    /**
+     * Evaluates the whole open {@linkplain cdp4common.engineeringmodeldata.Iteration} again, 
+     * the results are emptied when no session is open. To call when the selected open iteration changes, 
+     * from any thread since the evaluation runs on the {@linkplain Scheduler} of this query.
+     */
+    public void Requery()
+    {
+        this.scheduler.scheduleDirect(this::EvaluateAll);
+    }
+
+    /**
+     * Evaluates the whole open {@linkplain cdp4common.engineeringmodeldata.Iteration} again, on the {@linkplain Scheduler} of this query
+     */
+    private void EvaluateAll()
+    {
+        ArrayList<TThing> matches = new ArrayList<>();
+
+        if(Boolean.TRUE.equals(this.hubController.GetIsSessionOpen()) && this.hubController.GetOpenIteration() != null)
+        {
+            for (TThing thing : this.hubController.GetThingsByClassKind(this.classKind, this.clazz))
+            {
+                if(this.predicate.test(thing))
+                {
+                    matches.add(thing);
+                }
+            }
+        }
+
+        this.results.Value(matches);
+    }
+
+    /**
+     * Evaluates again the {@linkplain Thing}s of the provided {@linkplain ThingChangeSet}, the other results are kept as is. 
+     * Runs on the {@linkplain Scheduler} of this query
+     * 
+     * @param changeSet the {@linkplain ThingChangeSet}
+     */
+    void Apply(ThingChangeSet changeSet)
+    {
+        if(changeSet.IsEmpty())
+        {
+            return;
+        }
+
+        this.results.BeginUpdate();
+
+        try
+        {
+            changeSet.GetDeleted().forEach(this.results::RemoveByKey);
+            changeSet.GetAdded().forEach(this::Evaluate);
+            changeSet.GetUpdated().forEach(this::Evaluate);
+        }
+        finally
+        {
+            this.results.EndUpdate();
+        }
+    }
+
+    /**
+     * Adds, replaces or removes the {@linkplain Thing} with the provided Iid depending on whether it matches this query
+     * 
+     * @param iid the {@linkplain UUID} Iid of the {@linkplain Thing} to evaluate
+     */
+    private void Evaluate(UUID iid)
+    {
+        Ref<TThing> refThing = new Ref<>(this.clazz);
+
+        if(this.hubController.TryGetThingById(iid, refThing) 
+                && refThing.Get().getClassKind() == this.classKind
+                && this.predicate.test(refThing.Get()))
+        {
+            this.results.add(refThing.Get());
+        }
+        else
+        {
+            this.results.RemoveByKey(iid);
+        }
+    }
+
+    /**
+     * Stops following the changes of the {@linkplain IHubController}, the results keep their last state
+     */
+    public void Dispose()
+    {
+        this.subscriptions.dispose();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * ThingChangeSet.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain ThingChangeSet} holds the Iids of the {@linkplain Thing}s that have been added, updated or deleted
+ * between two states of the open {@linkplain cdp4common.engineeringmodeldata.Iteration}, as computed by comparing revision numbers
+ */
+public final class ThingChangeSet
+{
+    /**
+     * The Iids of the {@linkplain Thing}s that have been added
+     */
+    private final Set<UUID> added;
+
+    /**
+     * The Iids of the {@linkplain Thing}s that have a new revision number
+     */
+    private final Set<UUID> updated;
+
+    /**
+     * The Iids of the {@linkplain Thing}s that are not present anymore
+     */
+    private final Set<UUID> deleted;
+
+    /**
+     * Initializes a new {@linkplain ThingChangeSet}
+     *
+     * @param added the Iids of the added {@linkplain Thing}s
+     * @param updated the Iids of the updated {@linkplain Thing}s
+     * @param deleted the Iids of the deleted {@linkplain Thing}s
+     */
+    public ThingChangeSet(Set<UUID> added, Set<UUID> updated, Set<UUID> deleted)
+    {
+        this.added = Collections.unmodifiableSet(added);
+        this.updated = Collections.unmodifiableSet(updated);
+        this.deleted = Collections.unmodifiableSet(deleted);
+    }
+
+    /**
+     * Computes the {@linkplain ThingChangeSet} between the two provided revision snapshots
+     *
+     * @param previousRevisions the revision numbers by Iid before the change
+     * @param currentRevisions the revision numbers by Iid after the change
+     * @return a {@linkplain ThingChangeSet}
+     */
+    public static ThingChangeSet Compute(Map<UUID, Integer> previousRevisions, Map<UUID, Integer> currentRevisions)
+    {
+        Set<UUID> added = new HashSet<>();
+        Set<UUID> updated = new HashSet<>();
+        Set<UUID> deleted = new HashSet<>();
+
+        for (Map.Entry<UUID, Integer> current : currentRevisions.entrySet())
+        {
+            Integer previousRevision = previousRevisions.get(current.getKey());
+
+            if(previousRevision == null)
+            {
+                added.add(current.getKey());
+            }
+            else if(!previousRevision.equals(current.getValue()))
+            {
+                updated.add(current.getKey());
+            }
+        }
+
+        for (UUID iid : previousRevisions.keySet())
+        {
+            if(!currentRevisions.containsKey(iid))
+            {
+                deleted.add(iid);
+            }
+        }
+
+        return new ThingChangeSet(added, updated, deleted);
+    }
+
+    /**
+     * Gets the Iids of the {@linkplain Thing}s that have been added
+     *
+     * @return a {@linkplain Collection} of {@linkplain UUID}
+     */
+    public Collection<UUID> GetAdded()
+    {
+        return this.added;
+    }
+
+    /**
+     * Gets the Iids of the {@linkplain Thing}s that have a new revision number
+     *
+     * @return a {@linkplain Collection} of {@linkplain UUID}
+     */
+    public Collection<UUID> GetUpdated()
+    {
+        return this.updated;
+    }
+
+    /**
+     * Gets the Iids of the {@linkplain Thing}s that are not present anymore
+     *
+     * @return a {@linkplain Collection} of {@linkplain UUID}
+     */
+    public Collection<UUID> GetDeleted()
+    {
+        return this.deleted;
+    }
+
+    /**
+     * Gets a value indicating whether the provided Iid is part of this change set
+     *
+     * @param iid the {@linkplain UUID} Iid
+     * @return a {@linkplain boolean}
+     */
+    public boolean Contains(UUID iid)
+    {
+        return this.added.contains(iid) || this.updated.contains(iid) || this.deleted.contains(iid);
+    }
+
+    /**
+     * Gets a value indicating whether nothing changed
+     *
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsEmpty()
+    {
+        return this.added.isEmpty() && this.updated.isEmpty() && this.deleted.isEmpty();
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * ThingIndex.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.cache.Cache;
+
+import cdp4common.commondata.ClassKind;
+import cdp4common.commondata.ShortNamedThing;
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.ExternalIdentifierMap;
+import cdp4common.engineeringmodeldata.Iteration;
+import cdp4common.sitedirectorydata.*;
+import cdp4common.types.CacheKey;
+
+/**
+ * The {@linkplain ThingIndex} is a lookup index over the {@linkplain Thing}s of one open {@linkplain Iteration}.
+ * It is built once per {@linkplain Iteration} revision and provides constant time access to the {@linkplain Thing}s
+ * by Iid, by {@linkplain ClassKind}, by short name from the chain of rdls and to the {@linkplain ExternalIdentifierMap}s by tool name.
+ * The chain of rdls part is computed lazily per requested type since only a few types are ever queried.
+ */
+final class ThingIndex
+{
+    /**
+     * The {@linkplain Iteration} this index is based on
+     */
+    private final Iteration iteration;
+
+    /**
+     * The {@linkplain Thing}s contained in the {@linkplain #iteration} by their Iid
+     */
+    private final Map<UUID, Thing> thingsById = new HashMap<>();
+
+    /**
+     * The revision numbers of the {@linkplain Thing}s contained in the {@linkplain #iteration} at the time this index was built
+     */
+    private final Map<UUID, Integer> revisions = new HashMap<>();
+
+    /**
+     * The {@linkplain Thing}s contained in the {@linkplain #iteration} by their {@linkplain ClassKind}
+     */
+    private final Map<ClassKind, List<Thing>> thingsByClassKind = new EnumMap<>(ClassKind.class);
+
+    /**
+     * The {@linkplain ExternalIdentifierMap}s of the {@linkplain #iteration} by their external tool name
+     */
+    private final Map<String, List<ExternalIdentifierMap>> externalIdentifierMapsByToolName = new HashMap<>();
+
+    /**
+     * The open {@linkplain ReferenceDataLibrary}s at the time this index was built
+     */
+    private final Collection<ReferenceDataLibrary> referenceDataLibraries;
+
+    /**
+     * The distinct things from the chain of rdls, by the type used to query them
+     */
+    private final Map<Class<?>, List<Object>> chainOfRdlThingsByType = new ConcurrentHashMap<>();
+
+    /**
+     * The distinct things from the chain of rdls by short name, by the type used to query them
+     */
+    private final Map<Class<?>, Map<String, List<Object>>> chainOfRdlThingsByShortName = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new {@linkplain ThingIndex}
+     *
+     * @param iteration the {@linkplain Iteration} to index
+     * @param cache the session {@linkplain Cache} where the {@linkplain Iteration} {@linkplain Thing}s are
+     * @param referenceDataLibraries the open {@linkplain ReferenceDataLibrary}s
+     */
+    ThingIndex(Iteration iteration, Cache<CacheKey, Thing> cache, Collection<ReferenceDataLibrary> referenceDataLibraries)
+    {
+        this.iteration = iteration;
+        this.referenceDataLibraries = referenceDataLibraries == null ? Collections.emptyList() : new ArrayList<>(referenceDataLibraries);
+
+        if(iteration == null)
+        {
+            return;
+        }
+
+        if(cache != null)
+        {
+            for (Map.Entry<CacheKey, Thing> entry : cache.asMap().entrySet())
+            {
+                if(IsContainedIn(entry, iteration))
+                {
+                    this.Add(entry.getValue());
+                }
+            }
+        }
+
+        for (ExternalIdentifierMap externalIdentifierMap : iteration.getExternalIdentifierMap())
+        {
+            this.externalIdentifierMapsByToolName
+                .computeIfAbsent(externalIdentifierMap.getExternalToolName(), x -> new ArrayList<>())
+                .add(externalIdentifierMap);
+        }
+    }
+
+    /**
+     * Gets the revision numbers by Iid of the {@linkplain Thing}s of the provided {@linkplain Iteration} in the provided cache 
+     * in a single pass, without building the rest of an index, for when only a {@linkplain ThingChangeSet} is needed
+     *
+     * @param iteration the {@linkplain Iteration}
+     * @param cache the session {@linkplain Cache} where the {@linkplain Iteration} {@linkplain Thing}s are
+     * @return a {@linkplain Map} of Iid and revision number
+     */
+    static Map<UUID, Integer> ComputeRevisions(Iteration iteration, Cache<CacheKey, Thing> cache)
+    {
+        Map<UUID, Integer> revisions = new HashMap<>();
+
+        if(iteration == null || cache == null)
+        {
+            return revisions;
+        }
+
+        for (Map.Entry<CacheKey, Thing> entry : cache.asMap().entrySet())
+        {
+            if(IsContainedIn(entry, iteration))
+            {
+                revisions.put(entry.getValue().getIid(), entry.getValue().getRevisionNumber());
+            }
+        }
+
+        return revisions;
+    }
+
+    /**
+     * Verifies that the provided cache entry holds a {@linkplain Thing} of the provided {@linkplain Iteration}
+     *
+     * @param entry the cache entry
+     * @param iteration the {@linkplain Iteration}
+     * @return a value indicating whether the {@linkplain Thing} belongs to the {@linkplain Iteration}
+     */
+    private static boolean IsContainedIn(Map.Entry<CacheKey, Thing> entry, Iteration iteration)
+    {
+        Thing thing = entry.getValue();
+        return thing != null && entry.getKey().equals(new CacheKey(thing.getIid(), iteration.getIid()));
+    }
+
+    /**
+     * Gets the {@linkplain Iteration} this index is based on
+     *
+     * @return the {@linkplain Iteration}
+     */
+    Iteration GetIteration()
+    {
+        return this.iteration;
+    }
+
+    /**
+     * Adds the specified {@linkplain Thing} to the iid and the {@linkplain ClassKind} indexes
+     *
+     * @param thing the {@linkplain Thing} to add
+     */
+    private void Add(Thing thing)
+    {
+        this.thingsById.put(thing.getIid(), thing);
+        this.revisions.put(thing.getIid(), thing.getRevisionNumber());
+        this.thingsByClassKind.computeIfAbsent(thing.getClassKind(), x -> new ArrayList<>()).add(thing);
+    }
+
+    /**
+     * Gets the revision numbers by Iid of the indexed {@linkplain Thing}s as they were when this index was built.
+     * Since the session cache updates {@linkplain Thing}s in place, this snapshot is what allows to compute a {@linkplain ThingChangeSet}
+     *
+     * @return an unmodifiable {@linkplain Map} of Iid and revision number
+     */
+    Map<UUID, Integer> GetRevisions()
+    {
+        return Collections.unmodifiableMap(this.revisions);
+    }
+
+    /**
+     * Gets the {@linkplain Thing} with the provided Iid
+     *
+     * @param iid the {@linkplain UUID} Iid
+     * @return the {@linkplain Thing} or null if it is not contained in the indexed {@linkplain Iteration}
+     */
+    Thing GetThingById(UUID iid)
+    {
+        return this.thingsById.get(iid);
+    }
+
+    /**
+     * Gets all the indexed {@linkplain Thing}s
+     *
+     * @return an unmodifiable {@linkplain Collection} of {@linkplain Thing}
+     */
+    Collection<Thing> GetThings()
+    {
+        return Collections.unmodifiableCollection(this.thingsById.values());
+    }
+
+    /**
+     * Gets all the {@linkplain Thing}s of the provided {@linkplain ClassKind}
+     *
+     * @param classKind the {@linkplain ClassKind}
+     * @return an unmodifiable {@linkplain List} of {@linkplain Thing}
+     */
+    List<Thing> GetThingsByClassKind(ClassKind classKind)
+    {
+        return Collections.unmodifiableList(this.thingsByClassKind.getOrDefault(classKind, Collections.emptyList()));
+    }
+
+    /**
+     * Gets the {@linkplain ExternalIdentifierMap}s that belong to the provided tool name
+     *
+     * @param toolName the {@linkplain String} DST tool name
+     * @return an unmodifiable {@linkplain List} of {@linkplain ExternalIdentifierMap}
+     */
+    List<ExternalIdentifierMap> GetExternalIdentifierMaps(String toolName)
+    {
+        return Collections.unmodifiableList(this.externalIdentifierMapsByToolName.getOrDefault(toolName, Collections.emptyList()));
+    }
+
+    /**
+     * Gets the distinct things of the provided type from the chain of rdls of all the open {@linkplain ReferenceDataLibrary}
+     *
+     * @param clazz the {@linkplain Class} of thing to query
+     * @return a {@linkplain List} of things, empty if the type is not something a {@linkplain ReferenceDataLibrary} holds
+     */
+    List<Object> GetChainOfRdlThings(Class<?> clazz)
+    {
+        return this.chainOfRdlThingsByType.computeIfAbsent(clazz, this::ComputeChainOfRdlThings);
+    }
+
+    /**
+     * Gets the distinct things of the provided type from the chain of rdls that have the provided short name
+     *
+     * @param clazz the {@linkplain Class} of thing to query
+     * @param shortName the short name
+     * @return a {@linkplain List} of things
+     */
+    List<Object> GetChainOfRdlThingsByShortName(Class<?> clazz, String shortName)
+    {
+        return this.chainOfRdlThingsByShortName
+                .computeIfAbsent(clazz, x -> this.GetChainOfRdlThings(x).stream()
+                        .filter(t -> t instanceof ShortNamedThing && ((ShortNamedThing)t).getShortName() != null)
+                        .collect(Collectors.groupingBy(t -> ((ShortNamedThing)t).getShortName())))
+                .getOrDefault(shortName, Collections.emptyList());
+    }
+
+    /**
+     * Computes the distinct things of the provided type from the chain of rdls
+     *
+     * @param clazz the {@linkplain Class} of thing to query
+     * @return a {@linkplain List} of things
+     */
+    private List<Object> ComputeChainOfRdlThings(Class<?> clazz)
+    {
+        Function<? super ReferenceDataLibrary, ? extends Stream<?>> collectionSelector = GetChainOfRdlsSelector(clazz);
+
+        if (collectionSelector == null)
+        {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(new ArrayList<>(this.referenceDataLibraries.stream()
+                .flatMap(collectionSelector)
+                .collect(Collectors.toCollection(LinkedHashSet::new))));
+    }
+
+    /**
+     * Gets the selector that queries the chain of rdls of one {@linkplain ReferenceDataLibrary} for the provided type
+     *
+     * @param clazz the {@linkplain Class} of thing to query
+     * @return a {@linkplain Function} or null if the type is not something a {@linkplain ReferenceDataLibrary} holds
+     */
+    private static Function<? super ReferenceDataLibrary, ? extends Stream<?>> GetChainOfRdlsSelector(Class<?> clazz)
+    {
+        if(Category.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryCategoriesFromChainOfRdls().stream();
+        }
+        else if(Rule.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryRulesFromChainOfRdls().stream();
+        }
+        else if(Constant.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryConstantsFromChainOfRdls().stream();
+        }
+        else if(FileType.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryFileTypesFromChainOfRdls().stream();
+        }
+        else if(Glossary.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryGlossariesFromChainOfRdls().stream();
+        }
+        else if(MeasurementScale.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryMeasurementScalesFromChainOfRdls().stream();
+        }
+        else if(MeasurementUnit.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryMeasurementUnitsFromChainOfRdls().stream();
+        }
+        else if(ReferenceSource.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryReferenceSourcesFromChainOfRdls().stream();
+        }
+        else if(UnitPrefix.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryUnitPrefixesFromChainOfRdls().stream();
+        }
+        else if(ParameterType.class.isAssignableFrom(clazz))
+        {
+            return x -> x.queryParameterTypesFromChainOfRdls().stream();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * ThingTransactionBuilder.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.EngineeringModel;
+import cdp4common.engineeringmodeldata.Iteration;
+import cdp4dal.exceptions.TransactionException;
+import cdp4dal.operations.ThingTransaction;
+import cdp4dal.operations.ThingTransactionImpl;
+import cdp4dal.operations.TransactionContextResolver;
+
+/**
+ * The {@linkplain ThingTransactionBuilder} collects the {@linkplain Thing}s to create or update in one {@linkplain Iteration}
+ * before building the {@linkplain ThingTransaction}. Containers are only cloned when they are actually touched through {@linkplain #GetClone(Thing)},
+ * each {@linkplain Thing} is cloned at most once, and several registrations of the same {@linkplain Thing} end up in one single createOrUpdate.
+ */
+public final class ThingTransactionBuilder
+{
+    /**
+     * The {@linkplain Iteration} the transaction applies to
+     */
+    private final Iteration iteration;
+
+    /**
+     * The clones by their original {@linkplain Thing}
+     */
+    private final Map<Thing, Thing> clones = new IdentityHashMap<>();
+
+    /**
+     * The clones handed out by this builder
+     */
+    private final Set<Thing> handedOutClones = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The {@linkplain Thing}s to create or update by Iid, in registration order
+     */
+    private final Map<UUID, Thing> things = new LinkedHashMap<>();
+
+    /**
+     * Initializes a new {@linkplain ThingTransactionBuilder}
+     *
+     * @param iteration the {@linkplain Iteration} the transaction applies to
+     */
+    public ThingTransactionBuilder(Iteration iteration)
+    {
+        this.iteration = iteration;
+    }
+
+    /**
+     * Gets the {@linkplain Iteration} the transaction applies to
+     *
+     * @return the {@linkplain Iteration}
+     */
+    public Iteration GetIteration()
+    {
+        return this.iteration;
+    }
+
+    /**
+     * Gets the clone of the provided {@linkplain Thing}, clones it without its contained {@linkplain Thing}s on first call,
+     * and registers the clone to be updated
+     *
+     * @param <TThing> the type of {@linkplain Thing}
+     * @param thing the original {@linkplain Thing} or a clone obtained from this builder
+     * @return the clone
+     */
+    @SuppressWarnings("unchecked")
+    public <TThing extends Thing> TThing GetClone(TThing thing)
+    {
+        if(this.handedOutClones.contains(thing))
+        {
+            return thing;
+        }
+
+        TThing clone = (TThing)this.clones.computeIfAbsent(thing, x -> x.clone(false));
+        
+        if(this.handedOutClones.add(clone))
+        {
+            this.things.put(clone.getIid(), clone);
+        }
+        
+        return clone;
+    }
+
+    /**
+     * Gets the clone of the {@linkplain EngineeringModel} that contains the {@linkplain Iteration}, cloned on first call
+     *
+     * @return the {@linkplain EngineeringModel} clone
+     */
+    public EngineeringModel GetEngineeringModelClone()
+    {
+        return this.GetClone(this.iteration.getContainerOfType(EngineeringModel.class));
+    }
+
+    /**
+     * Registers the provided {@linkplain Thing} to be created or updated. Registering the same {@linkplain Thing} again is a no-op,
+     * registering another instance with the same Iid replaces the previous one
+     *
+     * @param thing the {@linkplain Thing} to create or update
+     */
+    public void CreateOrUpdate(Thing thing)
+    {
+        if(thing == null)
+        {
+            throw new IllegalArgumentException("The thing to create or update cannot be null");
+        }
+
+        this.things.put(thing.getIid(), thing);
+    }
+
+    /**
+     * Gets the registered {@linkplain Thing}s to create or update
+     *
+     * @return an unmodifiable {@linkplain Collection} of {@linkplain Thing}
+     */
+    public Collection<Thing> GetThings()
+    {
+        return Collections.unmodifiableCollection(this.things.values());
+    }
+
+    /**
+     * Gets the number of distinct {@linkplain Thing}s to create or update
+     *
+     * @return an int
+     */
+    public int GetNumberOfThings()
+    {
+        return this.things.size();
+    }
+
+    /**
+     * Builds the {@linkplain ThingTransaction} from the registered {@linkplain Thing}s,
+     * the {@linkplain Iteration} and {@linkplain EngineeringModel} clones, if any, are registered last
+     *
+     * @return the {@linkplain ThingTransaction}
+     * @throws TransactionException
+     */
+    public ThingTransaction Build() throws TransactionException
+    {
+        Iteration iterationClone = (Iteration)this.clones.get(this.iteration);
+
+        ThingTransaction transaction = iterationClone != null
+                ? new ThingTransactionImpl(TransactionContextResolver.resolveContext(iterationClone), iterationClone)
+                : new ThingTransactionImpl(TransactionContextResolver.resolveContext(this.iteration));
+
+        Collection<Thing> topContainers = new ArrayList<>();
+
+        for (Thing thing : this.things.values())
+        {
+            if(thing instanceof Iteration || thing instanceof EngineeringModel)
+            {
+                topContainers.add(thing);
+            }
+            else
+            {
+                transaction.createOrUpdate(thing);
+            }
+        }
+
+        for (Thing topContainer : topContainers)
+        {
+            transaction.createOrUpdate(topContainer);
+        }
+
+        return transaction;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * CollectionChange.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@linkplain CollectionChange} describes one positional change of an {@linkplain ObservableCollection} 
+ * so that tree and table models can apply the minimal update
+ * 
+ * @param <TValue> the type of item of the {@linkplain ObservableCollection}
+ */
+public final class CollectionChange<TValue>
+{
+    /**
+     * The {@linkplain CollectionChangeKind}
+     */
+    private final CollectionChangeKind kind;
+    
+    /**
+     * The index of the first item affected, for a {@linkplain CollectionChangeKind#MOVE} it is the old index
+     */
+    private final int index;
+    
+    /**
+     * The new index of the moved item, equal to the {@linkplain #index} for any other kind
+     */
+    private final int newIndex;
+    
+    /**
+     * The inserted, removed, moved or new items
+     */
+    private final List<TValue> items;
+    
+    /**
+     * The replaced items
+     */
+    private final List<TValue> oldItems;
+
+    /**
+     * Initializes a new {@linkplain CollectionChange}
+     * 
+     * @param kind the {@linkplain CollectionChangeKind}
+     * @param index the index of the first item affected
+     * @param newIndex the new index of the moved item
+     * @param items the inserted, removed, moved or new items
+     * @param oldItems the replaced items
+     */
+    private CollectionChange(CollectionChangeKind kind, int index, int newIndex, List<TValue> items, List<TValue> oldItems)
+    {
+        this.kind = kind;
+        this.index = index;
+        this.newIndex = newIndex;
+        this.items = Collections.unmodifiableList(items);
+        this.oldItems = Collections.unmodifiableList(oldItems);
+    }
+    
+    /**
+     * Creates a {@linkplain CollectionChange} that describes the insertion of the provided contiguous items
+     * 
+     * @param <TValue> the type of item
+     * @param index the index of the first inserted item
+     * @param items the inserted items
+     * @return a {@linkplain CollectionChange}
+     */
+    public static <TValue> CollectionChange<TValue> Inserted(int index, List<TValue> items)
+    {
+        return new CollectionChange<>(CollectionChangeKind.INSERT, index, index, items, Collections.emptyList());
+    }
+    
+    /**
+     * Creates a {@linkplain CollectionChange} that describes the removal of the provided contiguous items
+     * 
+     * @param <TValue> the type of item
+     * @param index the index the first removed item was at
+     * @param items the removed items
+     * @return a {@linkplain CollectionChange}
+     */
+    public static <TValue> CollectionChange<TValue> Removed(int index, List<TValue> items)
+    {
+        return new CollectionChange<>(CollectionChangeKind.REMOVE, index, index, items, Collections.emptyList());
+    }
+    
+    /**
+     * Creates a {@linkplain CollectionChange} that describes the replacement of the item at the provided index
+     * 
+     * @param <TValue> the type of item
+     * @param index the index of the replaced item
+     * @param oldItem the replaced item
+     * @param newItem the new item
+     * @return a {@linkplain CollectionChange}
+     */
+    public static <TValue> CollectionChange<TValue> Replaced(int index, TValue oldItem, TValue newItem)
+    {
+        return new CollectionChange<>(CollectionChangeKind.REPLACE, index, index, Collections.singletonList(newItem), Collections.singletonList(oldItem));
+    }
+    
+    /**
+     * Creates a {@linkplain CollectionChange} that describes the move of one item
+     * 
+     * @param <TValue> the type of item
+     * @param oldIndex the index the item was at
+     * @param newIndex the index the item is at
+     * @param item the moved item
+     * @return a {@linkplain CollectionChange}
+     */
+    public static <TValue> CollectionChange<TValue> Moved(int oldIndex, int newIndex, TValue item)
+    {
+        return new CollectionChange<>(CollectionChangeKind.MOVE, oldIndex, newIndex, Collections.singletonList(item), Collections.emptyList());
+    }
+    
+    /**
+     * Creates a {@linkplain CollectionChange} that tells the collection has to be read again
+     * 
+     * @param <TValue> the type of item
+     * @return a {@linkplain CollectionChange}
+     */
+    public static <TValue> CollectionChange<TValue> Reset()
+    {
+        return new CollectionChange<>(CollectionChangeKind.RESET, -1, -1, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Gets the {@linkplain CollectionChangeKind}
+     * 
+     * @return the {@linkplain CollectionChangeKind}
+     */
+    public CollectionChangeKind GetKind()
+    {
+        return this.kind;
+    }
+
+    /**
+     * Gets the index of the first item affected, for a {@linkplain CollectionChangeKind#MOVE} it is the old index, 
+     * -1 for a {@linkplain CollectionChangeKind#RESET}
+     * 
+     * @return an int
+     */
+    public int GetIndex()
+    {
+        return this.index;
+    }
+
+    /**
+     * Gets the new index of the moved item, equal to the {@linkplain #GetIndex()} for any other kind
+     * 
+     * @return an int
+     */
+    public int GetNewIndex()
+    {
+        return this.newIndex;
+    }
+
+    /**
+     * Gets the inserted, removed, moved or new items
+     * 
+     * @return an unmodifiable {@linkplain List} of {@linkplain TValue}
+     */
+    public List<TValue> GetItems()
+    {
+        return this.items;
+    }
+
+    /**
+     * Gets the replaced items, empty for any kind but {@linkplain CollectionChangeKind#REPLACE}
+     * 
+     * @return an unmodifiable {@linkplain List} of {@linkplain TValue}
+     */
+    public List<TValue> GetOldItems()
+    {
+        return this.oldItems;
+    }
+    
+    /**
+     * Gets the index of the last item affected
+     * 
+     * @return an int
+     */
+    public int GetLastIndex()
+    {
+        return this.index + this.items.size() - 1;
+    }
+    
+    /**
+     * Gets a string representation of this {@linkplain CollectionChange}
+     * 
+     * @return a {@linkplain String}
+     */
+    @Override
+    public String toString()
+    {
+        return this.kind == CollectionChangeKind.MOVE 
+                ? String.format("%s %s -> %s", this.kind, this.index, this.newIndex)
+                : String.format("%s %s %s", this.kind, this.index, this.items);
+    }
+}
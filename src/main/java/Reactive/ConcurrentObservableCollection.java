@@ -0,0 +1,511 @@
+/*
+ * ConcurrentObservableCollection.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The {@linkplain ConcurrentObservableCollection} is a copy-on-write {@linkplain ObservableCollection} that can be written from any thread
+ * while other threads, like the EDT, read it. Reads never lock: they go to the last published snapshot, and iterators walk 
+ * that snapshot so they never throw a {@linkplain java.util.ConcurrentModificationException}. 
+ * Writes are serialized, each one copies the snapshot, applies the change, publishes the copy, then fires the notifications
+ * on the writing thread, so the subscribers see the notifications in the order the changes have been applied.
+ * The snapshots are read-only: the iterators and sub lists do not support modifications. 
+ * Every write copies the whole list, so it suits collections that are read much more than written, batch the writes with
+ * the bulk operations rather than adding items one by one.
+ * 
+ * @param <TValue> the type of the collection this holds
+ */
+public class ConcurrentObservableCollection<TValue> extends ObservableCollection<TValue>
+{
+    /**
+     * The lock that serializes the writes
+     */
+    private final Object writeLock = new Object();
+    
+    /**
+     * The last published snapshot, never modified once published
+     */
+    private volatile ArrayList<TValue> snapshot;
+    
+    /**
+     * The number of nested writes in progress on the thread that holds the {@linkplain #writeLock}
+     */
+    private int writeDepth;
+
+    /**
+     * Initializes a new {@linkplain ConcurrentObservableCollection} with an empty {@linkplain Collection}
+     */
+    public ConcurrentObservableCollection()
+    {
+        super();
+        this.snapshot = this.value;
+    }
+
+    /**
+     * Initializes a new {@linkplain ConcurrentObservableCollection} with an empty {@linkplain Collection}
+     * 
+     * @param type the enclosed type of this {@linkplain ObservableValue}
+     */
+    public ConcurrentObservableCollection(Class<TValue> type)
+    {
+        super(type);
+        this.snapshot = this.value;
+    }
+
+    /**
+     * Initializes a new {@linkplain ConcurrentObservableCollection}
+     * 
+     * @param initializingCollection a base collection to fill the represented collection
+     * @param type the enclosed type of this {@linkplain ObservableValue}
+     */
+    public ConcurrentObservableCollection(Collection<TValue> initializingCollection, Class<TValue> type)
+    {
+        super(initializingCollection, type);
+        this.snapshot = this.value;
+    }
+    
+    /**
+     * Runs the provided write operation on a private copy of the snapshot
+     * 
+     * @param <TResult> the type of result
+     * @param operation the write operation
+     * @return the result of the operation
+     */
+    private <TResult> TResult Write(Supplier<TResult> operation)
+    {
+        return this.Synchronize(operation, true);
+    }
+    
+    /**
+     * Runs the provided operation while holding the {@linkplain #writeLock}
+     * 
+     * @param <TResult> the type of result
+     * @param operation the operation
+     * @param isWriting a value indicating whether the operation modifies the list, and then needs a private copy of the snapshot
+     * @return the result of the operation
+     */
+    private <TResult> TResult Synchronize(Supplier<TResult> operation, boolean isWriting)
+    {
+        synchronized (this.writeLock)
+        {
+            if(isWriting && this.value == this.snapshot)
+            {
+                this.value = new ArrayList<>(this.snapshot);
+            }
+            
+            this.writeDepth++;
+            
+            try
+            {
+                return operation.get();
+            }
+            finally
+            {
+                if(--this.writeDepth == 0)
+                {
+                    this.value = this.snapshot;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Publishes the modified copy as the new snapshot before the notifications fire
+     * 
+     * @param changes the {@linkplain CollectionChange}s that have just been applied, in order
+     */
+    @Override
+    protected void OnMutated(List<CollectionChange<TValue>> changes)
+    {
+        this.snapshot = this.value;
+    }
+    
+    /**
+     * Gets a copy of the current snapshot
+     * 
+     * @return an {@linkplain ArrayList} of {@linkplain TValue}
+     */
+    @Override
+    public ArrayList<TValue> Value()
+    {
+        return new ArrayList<>(this.snapshot);
+    }
+    
+    /**
+     * Replaces the whole content of this collection with a copy of the provided list. It fires a {@linkplain CollectionChangeKind#RESET}
+     * 
+     * @param value the new {@linkplain ArrayList} of {@linkplain TValue}
+     */
+    @Override
+    public void Value(ArrayList<TValue> value)
+    {
+        this.Write(() -> 
+        {
+            super.Value(new ArrayList<>(value));
+            return null;
+        });
+    }
+
+    /**
+     * Suspends the notifications until the matching {@linkplain #EndUpdate()}. The update spans the writes of all the threads
+     */
+    @Override
+    public void BeginUpdate()
+    {
+        this.Synchronize(() -> 
+        {
+            super.BeginUpdate();
+            return null;
+        }, false);
+    }
+
+    /**
+     * Ends the update started by the matching {@linkplain #BeginUpdate()}
+     */
+    @Override
+    public void EndUpdate()
+    {
+        this.Synchronize(() -> 
+        {
+            super.EndUpdate();
+            return null;
+        }, false);
+    }
+
+    /**
+     * Adds a new {@linkplain TValue} to the {@linkplain ConcurrentObservableCollection}
+     * 
+     * @param value the {@linkplain TValue}
+     * @return An value indication whether the addition went through
+     */
+    @Override
+    public boolean add(TValue value)
+    {
+        return this.Write(() -> super.add(value));
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this collection
+     * 
+     * @param index the index at which the specified element is to be inserted
+     * @param element the element to be added
+     */
+    @Override
+    public void add(int index, TValue element)
+    {
+        this.Write(() -> 
+        {
+            super.add(index, element);
+            return null;
+        });
+    }
+
+    /**
+     * Removes the {@linkplain TValue} from the {@linkplain ConcurrentObservableCollection}
+     * 
+     * @param value the {@linkplain TValue}
+     * @return An value indication whether the removal went through
+     */
+    @Override
+    public boolean RemoveOne(TValue value)
+    {
+        return this.Write(() -> super.RemoveOne(value));
+    }
+
+    /**
+     * Remove the element at the specified position in this collection
+     * 
+     * @param index the index at which the specified element is to be removed
+     * @return the value removed
+     */
+    @Override
+    public TValue remove(int index)
+    {
+        return this.Write(() -> super.remove(index));
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the specified element
+     * 
+     * @param index the index where the old item is located
+     * @param element the new element
+     * @return the old value removed from this collection
+     */
+    @Override
+    public TValue set(int index, TValue element)
+    {
+        return this.Write(() -> super.set(index, element));
+    }
+
+    /**
+     * Moves the item at the provided index to the new index
+     * 
+     * @param oldIndex the index of the item to move
+     * @param newIndex the index the item is moved to
+     */
+    @Override
+    public void Move(int oldIndex, int newIndex)
+    {
+        this.Write(() -> 
+        {
+            super.Move(oldIndex, newIndex);
+            return null;
+        });
+    }
+
+    /**
+     * Adds all the items in the provided {@linkplain collection} to this collection
+     * 
+     * @param collection the {@linkplain Collection} of item to add
+     * @return an assert indicating whether all items were added successfully
+     */
+    @Override
+    public boolean addAll(Collection<? extends TValue> collection)
+    {
+        return this.Write(() -> super.addAll(collection));
+    }
+
+    /**
+     * Inserts all of the elements in the specified collection into this list at the specified position
+     * 
+     * @param index the {@linkplain index} where to add the new items
+     * @param collection the {@linkplain Collection} of item to add
+     * @return an assert indicating whether all items were added successfully
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends TValue> collection)
+    {
+        return this.Write(() -> super.addAll(index, collection));
+    }
+
+    /**
+     * Removes all the items in the provided {@linkplain collection} from this collection
+     * 
+     * @param collection the {@linkplain Collection} of item to remove
+     * @return an assert indicating whether all items were removed successfully
+     */
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        return this.Write(() -> super.removeAll(collection));
+    }
+
+    /**
+     * Retains only the elements in this list that are contained in the specified collection
+     * 
+     * @param collection the {@linkplain Collection} of item to retain
+     * @return a {@linkplain boolean} holding true if this list changed as a result of the call
+     */
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        return this.Write(() -> super.retainAll(collection));
+    }
+
+    /**
+     * Removes all of the elements of this collection that satisfy the given predicate
+     * 
+     * @param filter a predicate which returns {@code true} for elements to be removed
+     * @return {@code true} if any elements were removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super TValue> filter)
+    {
+        return this.Write(() -> super.removeIf(filter));
+    }
+
+    /**
+     * Clears this collection
+     */
+    @Override
+    public void clear()
+    {
+        this.Write(() -> 
+        {
+            super.clear();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the number of element of this collection
+     * 
+     * @return the number of element as {@linkplain int}
+     */
+    @Override
+    public int size()
+    {
+        return this.snapshot.size();
+    }
+
+    /**
+     * Gets a value indicating whether this collection has not element
+     * 
+     * @return an assert
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return this.snapshot.isEmpty();
+    }
+
+    /**
+     * Asserts that this collection contains the provided {@linkplain Object}
+     * 
+     * @param object the {@linkplain Object} that could be present in this collection
+     * @return an assert
+     */
+    @Override
+    public boolean contains(Object object)
+    {
+        return this.snapshot.contains(object);
+    }
+
+    /**
+     * Verify that the items in the provided {@linkplain Collection} are all contained also in this collection
+     * 
+     * @param collection the {@linkplain Collection} of item to check existence
+     * @return an assert
+     */
+    @Override
+    public boolean containsAll(Collection<?> collection)
+    {
+        ArrayList<TValue> current = this.snapshot;
+        return !(collection.isEmpty() || current.isEmpty()) && current.containsAll(collection);
+    }
+
+    /**
+     * Gets an {@linkplain Iterator} over the current snapshot
+     * 
+     * @return a read-only {@linkplain Iterator} of {@linkplain TValue}
+     */
+    @Override
+    public Iterator<TValue> iterator()
+    {
+        return Collections.unmodifiableList(this.snapshot).iterator();
+    }
+
+    /**
+     * Converts this collection to an array
+     * 
+     * @return an array of {@linkplain Object}
+     */
+    @Override
+    public Object[] toArray()
+    {
+        return this.snapshot.toArray();
+    }
+
+    /**
+     * Converts this collection to an array of the type provided by {@linkplain T}
+     * 
+     * @param array an initial array used to provided the type
+     * @return an array of {@linkplain T}
+     */
+    @Override
+    public <T> T[] toArray(T[] array)
+    {
+        return this.snapshot.toArray(array);
+    }
+
+    /**
+     * Gets the item located at the specified index
+     * 
+     * @param index the index where the item to return is located
+     * @return the value extracted from this collection
+     */
+    @Override
+    public TValue get(int index)
+    {
+        return this.snapshot.get(index);
+    }
+
+    /**
+     * Gets the index of the provided element. Return -1 if not found
+     * 
+     * @param element the {@linkplain Object} element to find the index of
+     * @return the 0 based index
+     */
+    @Override
+    public int indexOf(Object element)
+    {
+        return this.snapshot.indexOf(element);
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified element in this collection
+     * 
+     * @param element the {@linkplain Object} element to find the index of
+     * @return the 0 based index
+     */
+    @Override
+    public int lastIndexOf(Object element)
+    {
+        return this.snapshot.lastIndexOf(element);
+    }
+
+    /**
+     * Returns a read-only list iterator over the current snapshot
+     * 
+     * @return a list iterator over the elements in this list
+     */
+    @Override
+    public ListIterator<TValue> listIterator()
+    {
+        return Collections.unmodifiableList(this.snapshot).listIterator();
+    }
+
+    /**
+     * Returns a read-only list iterator over the current snapshot starting at the specified position
+     * 
+     * @param index the index to start at
+     * @return a list iterator over the elements in this list
+     */
+    @Override
+    public ListIterator<TValue> listIterator(int index)
+    {
+        return Collections.unmodifiableList(this.snapshot).listIterator(index);
+    }
+
+    /**
+     * Gets a read-only subsequence of the current snapshot
+     * 
+     * @param fromIndex the lower bound index
+     * @param toIndex the upper bound index
+     * @return a {@linkplain List} of {@linkplain TValue}
+     */
+    @Override
+    public List<TValue> subList(int fromIndex, int toIndex)
+    {
+        return Collections.unmodifiableList(this.snapshot).subList(fromIndex, toIndex);
+    }
+}
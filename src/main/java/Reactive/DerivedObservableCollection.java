@@ -0,0 +1,449 @@
+/*
+ * DerivedObservableCollection.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+
+import io.reactivex.disposables.Disposable;
+
+/**
+ * The {@linkplain DerivedObservableCollection} is the base class for the read only live views computed from a source {@linkplain ObservableCollection}.
+ * The derived classes apply every {@linkplain CollectionChange} of the source incrementally, a {@linkplain CollectionChangeKind#RESET} recomputes the whole view.
+ * The view stays subscribed to its source until {@linkplain #Dispose()} is called.
+ * 
+ * @param <TSource> the type of the items of the source collection
+ * @param <TValue> the type of the items of this view
+ */
+public abstract class DerivedObservableCollection<TSource, TValue> extends ObservableCollection<TValue>
+{
+    /**
+     * The source {@linkplain ObservableCollection}
+     */
+    protected final ObservableCollection<TSource> source;
+    
+    /**
+     * The subscription to the {@linkplain ObservableCollection#CollectionChanged()} of the {@linkplain #source}
+     */
+    private Disposable subscription;
+    
+    /**
+     * Initializes a new {@linkplain DerivedObservableCollection}
+     * 
+     * @param source the source {@linkplain ObservableCollection}
+     */
+    protected DerivedObservableCollection(ObservableCollection<TSource> source)
+    {
+        super();
+        this.source = source;
+    }
+    
+    /**
+     * Computes the initial state of this view and subscribes to the changes of the {@linkplain #source}.
+     * It is to be called by the derived classes once they are fully initialized
+     */
+    protected final void Connect()
+    {
+        this.OnSourceReset();
+        this.subscription = this.source.CollectionChanged().subscribe(this::OnSourceChanged);
+    }
+    
+    /**
+     * Stops following the changes of the {@linkplain #source}, the view keeps its current items
+     */
+    public void Dispose()
+    {
+        if(this.subscription != null)
+        {
+            this.subscription.dispose();
+        }
+    }
+    
+    /**
+     * Recomputes the whole view from the {@linkplain #source}, 
+     * for instance after a change of the items that the view depends on that the source cannot notify
+     */
+    public void Refresh()
+    {
+        this.OnSourceReset();
+    }
+    
+    /**
+     * Applies the provided change of the {@linkplain #source}
+     * 
+     * @param change the {@linkplain CollectionChange}
+     */
+    private void OnSourceChanged(CollectionChange<TSource> change)
+    {
+        switch (change.GetKind())
+        {
+            case INSERT:
+                this.OnSourceInserted(change.GetIndex(), change.GetItems());
+                break;
+            case REMOVE:
+                this.OnSourceRemoved(change.GetIndex(), change.GetItems());
+                break;
+            case REPLACE:
+                this.OnSourceReplaced(change.GetIndex(), change.GetOldItems().get(0), change.GetItems().get(0));
+                break;
+            case MOVE:
+                this.OnSourceMoved(change.GetIndex(), change.GetNewIndex(), change.GetItems().get(0));
+                break;
+            default:
+                this.OnSourceReset();
+                break;
+        }
+    }
+    
+    /**
+     * Applies the insertion of contiguous items in the {@linkplain #source}
+     * 
+     * @param index the index of the first inserted item in the {@linkplain #source}
+     * @param items the inserted items
+     */
+    protected abstract void OnSourceInserted(int index, List<TSource> items);
+
+    /**
+     * Applies the removal of contiguous items from the {@linkplain #source}
+     * 
+     * @param index the index the first removed item had in the {@linkplain #source}
+     * @param items the removed items
+     */
+    protected abstract void OnSourceRemoved(int index, List<TSource> items);
+
+    /**
+     * Applies the replacement of one item of the {@linkplain #source}
+     * 
+     * @param index the index of the replaced item in the {@linkplain #source}
+     * @param oldItem the replaced item
+     * @param newItem the new item
+     */
+    protected abstract void OnSourceReplaced(int index, TSource oldItem, TSource newItem);
+
+    /**
+     * Applies the move of one item of the {@linkplain #source}
+     * 
+     * @param oldIndex the index the item had
+     * @param newIndex the index the item has now
+     * @param item the moved item
+     */
+    protected abstract void OnSourceMoved(int oldIndex, int newIndex, TSource item);
+
+    /**
+     * Recomputes the whole view from the {@linkplain #source}
+     */
+    protected abstract void OnSourceReset();
+    
+    /**
+     * Inserts the provided items in this view
+     * 
+     * @param index the index where to insert the items
+     * @param items the items to insert
+     */
+    protected void InsertItems(int index, List<TValue> items)
+    {
+        super.addAll(index, items);
+    }
+    
+    /**
+     * Removes the provided number of contiguous items from this view
+     * 
+     * @param index the index of the first item to remove
+     * @param count the number of items to remove
+     */
+    protected void RemoveItems(int index, int count)
+    {
+        super.RemoveRange(index, count);
+    }
+    
+    /**
+     * Removes the items of this view that satisfy the provided predicate
+     * 
+     * @param filter the {@linkplain Predicate}
+     */
+    protected void RemoveItemsWhere(Predicate<? super TValue> filter)
+    {
+        super.removeIf(filter);
+    }
+    
+    /**
+     * Replaces the item at the provided index in this view
+     * 
+     * @param index the index of the item to replace
+     * @param item the new item
+     */
+    protected void ReplaceItem(int index, TValue item)
+    {
+        super.set(index, item);
+    }
+    
+    /**
+     * Moves the item at the provided index in this view
+     * 
+     * @param oldIndex the index of the item to move
+     * @param newIndex the index the item is moved to
+     */
+    protected void MoveItem(int oldIndex, int newIndex)
+    {
+        super.Move(oldIndex, newIndex);
+    }
+    
+    /**
+     * Replaces all the items of this view, it fires a {@linkplain CollectionChangeKind#RESET}
+     * 
+     * @param items the new items
+     */
+    protected void ResetItems(Collection<TValue> items)
+    {
+        super.Value(new ArrayList<>(items));
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param value the {@linkplain TValue}
+     * @return never returns
+     */
+    @Override
+    public boolean add(TValue value)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param index the index
+     * @param element the element
+     */
+    @Override
+    public void add(int index, TValue element)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param collection the {@linkplain Collection}
+     * @return never returns
+     */
+    @Override
+    public boolean addAll(Collection<? extends TValue> collection)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param index the index
+     * @param collection the {@linkplain Collection}
+     * @return never returns
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends TValue> collection)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param value the {@linkplain Object}
+     * @return never returns
+     */
+    @Override
+    public boolean remove(Object value)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param value the {@linkplain TValue}
+     * @return never returns
+     */
+    @Override
+    public boolean RemoveOne(TValue value)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param index the index
+     * @return never returns
+     */
+    @Override
+    public TValue remove(int index)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param collection the {@linkplain Collection}
+     * @return never returns
+     */
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param collection the {@linkplain Collection}
+     * @return never returns
+     */
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param filter the {@linkplain Predicate}
+     * @return never returns
+     */
+    @Override
+    public boolean removeIf(Predicate<? super TValue> filter)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param index the index
+     * @param element the element
+     * @return never returns
+     */
+    @Override
+    public TValue set(int index, TValue element)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param oldIndex the index of the item to move
+     * @param newIndex the index the item is moved to
+     */
+    @Override
+    public void Move(int oldIndex, int newIndex)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     * 
+     * @param value the {@linkplain ArrayList}
+     */
+    @Override
+    public void Value(ArrayList<TValue> value)
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Not supported, the view is read only
+     */
+    @Override
+    public void clear()
+    {
+        throw ReadOnly();
+    }
+
+    /**
+     * Gets a read only {@linkplain Iterator} from this view
+     * 
+     * @return a {@linkplain Iterator} of {@linkplain TValue}
+     */
+    @Override
+    public Iterator<TValue> iterator()
+    {
+        return Collections.unmodifiableList(this.value).iterator();
+    }
+
+    /**
+     * Returns a read only list iterator over the elements in this view
+     * 
+     * @return a list iterator over the elements in this view
+     */
+    @Override
+    public ListIterator<TValue> listIterator()
+    {
+        return Collections.unmodifiableList(this.value).listIterator();
+    }
+
+    /**
+     * Returns a read only list iterator over the elements in this view starting at the specified position
+     * 
+     * @param index the index of the first element to be returned
+     * @return a list iterator over the elements in this view
+     */
+    @Override
+    public ListIterator<TValue> listIterator(int index)
+    {
+        return Collections.unmodifiableList(this.value).listIterator(index);
+    }
+
+    /**
+     * Gets a read only subsequence of item from this view
+     * 
+     * @param fromIndex the lower bound index
+     * @param toIndex the upper bound index
+     * @return a {@linkplain List} of {@linkplain TValue}
+     */
+    @Override
+    public List<TValue> subList(int fromIndex, int toIndex)
+    {
+        return Collections.unmodifiableList(this.value).subList(fromIndex, toIndex);
+    }
+    
+    /**
+     * Creates the exception thrown by the mutators
+     * 
+     * @return an {@linkplain UnsupportedOperationException}
+     */
+    private static UnsupportedOperationException ReadOnly()
+    {
+        return new UnsupportedOperationException("A derived view is read only, change its source instead");
+    }
+}
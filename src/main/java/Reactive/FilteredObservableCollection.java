@@ -0,0 +1,216 @@
+/*
+ * FilteredObservableCollection.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The {@linkplain FilteredObservableCollection} is a live view of the items of a source {@linkplain ObservableCollection} that satisfy a predicate, in the source order.
+ * Only the items that changed in the source are tested, call {@linkplain #Refresh()} when the outcome of the predicate changes for items that are still in the source.
+ * 
+ * @param <TValue> the type of the items
+ */
+public class FilteredObservableCollection<TValue> extends DerivedObservableCollection<TValue, TValue>
+{
+    /**
+     * The {@linkplain Predicate} the items have to satisfy
+     */
+    private final Predicate<? super TValue> predicate;
+    
+    /**
+     * Values indicating for each item of the source, in the same order, whether it is part of this view
+     */
+    private final ArrayList<Boolean> isIncluded = new ArrayList<>();
+    
+    /**
+     * Initializes a new {@linkplain FilteredObservableCollection}
+     * 
+     * @param source the source {@linkplain ObservableCollection}
+     * @param predicate the {@linkplain Predicate} the items have to satisfy
+     */
+    public FilteredObservableCollection(ObservableCollection<TValue> source, Predicate<? super TValue> predicate)
+    {
+        super(source);
+        this.predicate = Objects.requireNonNull(predicate);
+        this.Connect();
+    }
+
+    /**
+     * Applies the insertion of contiguous items in the {@linkplain #source}
+     * 
+     * @param index the index of the first inserted item in the {@linkplain #source}
+     * @param items the inserted items
+     */
+    @Override
+    protected void OnSourceInserted(int index, List<TValue> items)
+    {
+        ArrayList<Boolean> flags = new ArrayList<>(items.size());
+        ArrayList<TValue> includedItems = new ArrayList<>();
+        
+        for (TValue item : items)
+        {
+            boolean isItemIncluded = this.predicate.test(item);
+            flags.add(isItemIncluded);
+            
+            if(isItemIncluded)
+            {
+                includedItems.add(item);
+            }
+        }
+        
+        int targetIndex = this.GetTargetIndex(index);
+        this.isIncluded.addAll(index, flags);
+        
+        if(!includedItems.isEmpty())
+        {
+            this.InsertItems(targetIndex, includedItems);
+        }
+    }
+
+    /**
+     * Applies the removal of contiguous items from the {@linkplain #source}
+     * 
+     * @param index the index the first removed item had in the {@linkplain #source}
+     * @param items the removed items
+     */
+    @Override
+    protected void OnSourceRemoved(int index, List<TValue> items)
+    {
+        int targetIndex = this.GetTargetIndex(index);
+        List<Boolean> flags = this.isIncluded.subList(index, index + items.size());
+        int count = 0;
+        
+        for (Boolean flag : flags)
+        {
+            count += flag ? 1 : 0;
+        }
+        
+        flags.clear();
+        
+        if(count > 0)
+        {
+            this.RemoveItems(targetIndex, count);
+        }
+    }
+
+    /**
+     * Applies the replacement of one item of the {@linkplain #source}
+     * 
+     * @param index the index of the replaced item in the {@linkplain #source}
+     * @param oldItem the replaced item
+     * @param newItem the new item
+     */
+    @Override
+    protected void OnSourceReplaced(int index, TValue oldItem, TValue newItem)
+    {
+        boolean wasIncluded = this.isIncluded.get(index);
+        boolean isNowIncluded = this.predicate.test(newItem);
+        int targetIndex = this.GetTargetIndex(index);
+        this.isIncluded.set(index, isNowIncluded);
+        
+        if(wasIncluded && isNowIncluded)
+        {
+            this.ReplaceItem(targetIndex, newItem);
+        }
+        else if(wasIncluded)
+        {
+            this.RemoveItems(targetIndex, 1);
+        }
+        else if(isNowIncluded)
+        {
+            List<TValue> items = new ArrayList<>();
+            items.add(newItem);
+            this.InsertItems(targetIndex, items);
+        }
+    }
+
+    /**
+     * Applies the move of one item of the {@linkplain #source}
+     * 
+     * @param oldIndex the index the item had
+     * @param newIndex the index the item has now
+     * @param item the moved item
+     */
+    @Override
+    protected void OnSourceMoved(int oldIndex, int newIndex, TValue item)
+    {
+        int oldTargetIndex = this.GetTargetIndex(oldIndex);
+        boolean isItemIncluded = this.isIncluded.remove(oldIndex);
+        this.isIncluded.add(newIndex, isItemIncluded);
+        
+        if(isItemIncluded)
+        {
+            int newTargetIndex = this.GetTargetIndex(newIndex);
+            
+            if(oldTargetIndex != newTargetIndex)
+            {
+                this.MoveItem(oldTargetIndex, newTargetIndex);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the whole view from the {@linkplain #source}
+     */
+    @Override
+    protected void OnSourceReset()
+    {
+        this.isIncluded.clear();
+        ArrayList<TValue> includedItems = new ArrayList<>();
+        
+        for (TValue item : this.source)
+        {
+            boolean isItemIncluded = this.predicate.test(item);
+            this.isIncluded.add(isItemIncluded);
+            
+            if(isItemIncluded)
+            {
+                includedItems.add(item);
+            }
+        }
+        
+        this.ResetItems(includedItems);
+    }
+    
+    /**
+     * Gets the index in this view that corresponds to the provided index in the {@linkplain #source}
+     * 
+     * @param sourceIndex the index in the {@linkplain #source}
+     * @return the number of included items before the provided index
+     */
+    private int GetTargetIndex(int sourceIndex)
+    {
+        int targetIndex = 0;
+        
+        for (int index = 0; index < sourceIndex; index++)
+        {
+            targetIndex += this.isIncluded.get(index) ? 1 : 0;
+        }
+        
+        return targetIndex;
+    }
+}
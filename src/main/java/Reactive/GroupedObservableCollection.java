@@ -0,0 +1,230 @@
+/*
+ * GroupedObservableCollection.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The {@linkplain GroupedObservableCollection} is a live view of the keys of the groups of items of a source {@linkplain ObservableCollection}.
+ * The keys are in the order the groups appeared, each group is an {@linkplain ObservableCollection} available through {@linkplain #GetGroup(Object)}
+ * that holds its items in the order they arrived. A group is removed with its last item. Only the items that changed in the source are grouped,
+ * call {@linkplain #Refresh()} when the key of items that are still in the source changes. The groups are not to be modified directly.
+ * 
+ * @param <TKey> the type of the key
+ * @param <TValue> the type of the items
+ */
+public class GroupedObservableCollection<TKey, TValue> extends DerivedObservableCollection<TValue, TKey>
+{
+    /**
+     * The {@linkplain Function} that computes the key of an item
+     */
+    private final Function<? super TValue, ? extends TKey> keySelector;
+    
+    /**
+     * The groups by key
+     */
+    private final HashMap<TKey, ObservableCollection<TValue>> groups = new HashMap<>();
+    
+    /**
+     * Initializes a new {@linkplain GroupedObservableCollection}
+     * 
+     * @param source the source {@linkplain ObservableCollection}
+     * @param keySelector the {@linkplain Function} that computes the key of an item
+     */
+    public GroupedObservableCollection(ObservableCollection<TValue> source, Function<? super TValue, ? extends TKey> keySelector)
+    {
+        super(source);
+        this.keySelector = Objects.requireNonNull(keySelector);
+        this.Connect();
+    }
+    
+    /**
+     * Gets the group of items that have the provided key
+     * 
+     * @param key the key
+     * @return an {@linkplain ObservableCollection} of {@linkplain TValue} or null if there is no such group
+     */
+    public ObservableCollection<TValue> GetGroup(TKey key)
+    {
+        return this.groups.get(key);
+    }
+
+    /**
+     * Applies the insertion of contiguous items in the {@linkplain #source}
+     * 
+     * @param index the index of the first inserted item in the {@linkplain #source}
+     * @param items the inserted items
+     */
+    @Override
+    protected void OnSourceInserted(int index, List<TValue> items)
+    {
+        LinkedHashMap<TKey, List<TValue>> itemsByKey = this.Group(items);
+        ArrayList<TKey> newKeys = new ArrayList<>();
+        
+        itemsByKey.forEach((key, groupItems) -> 
+        {
+            ObservableCollection<TValue> group = this.groups.get(key);
+            
+            if(group == null)
+            {
+                this.groups.put(key, new ObservableCollection<>(groupItems, null));
+                newKeys.add(key);
+            }
+            else
+            {
+                group.addAll(groupItems);
+            }
+        });
+        
+        if(!newKeys.isEmpty())
+        {
+            this.InsertItems(this.value.size(), newKeys);
+        }
+    }
+
+    /**
+     * Applies the removal of contiguous items from the {@linkplain #source}
+     * 
+     * @param index the index the first removed item had in the {@linkplain #source}
+     * @param items the removed items
+     */
+    @Override
+    protected void OnSourceRemoved(int index, List<TValue> items)
+    {
+        this.Group(items).forEach((key, groupItems) -> 
+        {
+            ObservableCollection<TValue> group = this.groups.get(key);
+            
+            if(group == null)
+            {
+                return;
+            }
+            
+            if(group.size() == groupItems.size())
+            {
+                this.groups.remove(key);
+                this.RemoveItems(this.indexOf(key), 1);
+            }
+            else
+            {
+                group.removeAll(groupItems);
+            }
+        });
+    }
+
+    /**
+     * Applies the replacement of one item of the {@linkplain #source}
+     * 
+     * @param index the index of the replaced item in the {@linkplain #source}
+     * @param oldItem the replaced item
+     * @param newItem the new item
+     */
+    @Override
+    protected void OnSourceReplaced(int index, TValue oldItem, TValue newItem)
+    {
+        TKey oldKey = this.keySelector.apply(oldItem);
+        ObservableCollection<TValue> group = this.groups.get(oldKey);
+        
+        if(group != null && Objects.equals(oldKey, this.keySelector.apply(newItem)))
+        {
+            int itemIndex = group.indexOf(oldItem);
+            
+            if(itemIndex >= 0)
+            {
+                group.set(itemIndex, newItem);
+                return;
+            }
+        }
+        
+        List<TValue> oldItems = new ArrayList<>();
+        oldItems.add(oldItem);
+        this.OnSourceRemoved(index, oldItems);
+        
+        List<TValue> newItems = new ArrayList<>();
+        newItems.add(newItem);
+        this.OnSourceInserted(index, newItems);
+    }
+
+    /**
+     * Ignores the move of one item of the {@linkplain #source} as the groups keep the order the items arrived in
+     * 
+     * @param oldIndex the index the item had
+     * @param newIndex the index the item has now
+     * @param item the moved item
+     */
+    @Override
+    protected void OnSourceMoved(int oldIndex, int newIndex, TValue item)
+    {
+    }
+
+    /**
+     * Recomputes the whole view from the {@linkplain #source}, the groups that still exist are kept and reset
+     */
+    @Override
+    protected void OnSourceReset()
+    {
+        LinkedHashMap<TKey, List<TValue>> itemsByKey = this.Group(this.source);
+        this.groups.keySet().retainAll(itemsByKey.keySet());
+        
+        itemsByKey.forEach((key, groupItems) -> 
+        {
+            ObservableCollection<TValue> group = this.groups.get(key);
+            
+            if(group == null)
+            {
+                this.groups.put(key, new ObservableCollection<>(groupItems, null));
+            }
+            else
+            {
+                group.Value(new ArrayList<>(groupItems));
+            }
+        });
+        
+        this.ResetItems(itemsByKey.keySet());
+    }
+    
+    /**
+     * Groups the provided items by key
+     * 
+     * @param items the items
+     * @return a {@linkplain Map} of the items by key in the order the keys appear
+     */
+    private LinkedHashMap<TKey, List<TValue>> Group(List<TValue> items)
+    {
+        LinkedHashMap<TKey, List<TValue>> itemsByKey = new LinkedHashMap<>();
+        
+        for (TValue item : items)
+        {
+            itemsByKey.computeIfAbsent(this.keySelector.apply(item), x -> new ArrayList<>()).add(item);
+        }
+        
+        return itemsByKey;
+    }
+}
@@ -0,0 +1,650 @@
+/*
+ * KeyedObservableCollection.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain KeyedObservableCollection} is an insertion ordered {@linkplain ObservableCollection} that indexes its items by a key,
+ * such as the {@linkplain Thing#getIid()}. Membership, lookup and removal by key are constant time and it fires the same events as the {@linkplain ObservableCollection}.
+ * Two items are considered the same when they share the same key, adding an item whose key is already present replaces the existing one in place.
+ * Null items are not supported. {@linkplain #add(Object)} returns false when it replaced an item rather than appended it. 
+ * The changes made through the iterators and the sub lists go through this collection so the index stays in sync, 
+ * but inserting through them an item whose key is already present throws an {@linkplain IllegalArgumentException} as {@linkplain #set(int, Object)} does.
+ * 
+ * @param <TKey> the type of the key
+ * @param <TValue> the type of the collection this holds
+ */
+public class KeyedObservableCollection<TKey, TValue> extends ObservableCollection<TValue>
+{
+    /**
+     * The {@linkplain Function} that computes the key of an item
+     */
+    private final Function<? super TValue, ? extends TKey> keyExtractor;
+    
+    /**
+     * The items by key, always in sync with the underlying list
+     */
+    private final HashMap<TKey, TValue> itemByKey = new HashMap<>();
+    
+    /**
+     * The index of the items by key, the entries of the items located after {@linkplain #indexedCount} can be stale
+     * and are checked against the item they point to
+     */
+    private final HashMap<TKey, Integer> indexByKey = new HashMap<>();
+    
+    /**
+     * The number of leading items whose index in {@linkplain #indexByKey} is up to date. 
+     * A change only invalidates the indices from its position, so appending keeps the whole index up to date
+     */
+    private int indexedCount;
+    
+    /**
+     * The {@linkplain View} the iterators and the sub lists are taken from
+     */
+    private final View view = new View();
+    
+    /**
+     * Initializes a new {@linkplain KeyedObservableCollection} of a generic type
+     * 
+     * @param keyExtractor the {@linkplain Function} that computes the key of an item
+     */
+    public KeyedObservableCollection(Function<? super TValue, ? extends TKey> keyExtractor)
+    {
+        super();
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+    }
+    
+    /**
+     * Initializes a new {@linkplain KeyedObservableCollection}
+     * 
+     * @param keyExtractor the {@linkplain Function} that computes the key of an item
+     * @param type the enclosed type of this {@linkplain KeyedObservableCollection}
+     */
+    public KeyedObservableCollection(Function<? super TValue, ? extends TKey> keyExtractor, Class<TValue> type)
+    {
+        super(type);
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+    }
+    
+    /**
+     * Initializes a new {@linkplain KeyedObservableCollection} filled with the provided items, the last item wins when several share the same key
+     * 
+     * @param initializingCollection a base collection to fill the represented collection
+     * @param keyExtractor the {@linkplain Function} that computes the key of an item
+     * @param type the enclosed type of this {@linkplain KeyedObservableCollection}
+     */
+    public KeyedObservableCollection(Collection<TValue> initializingCollection, Function<? super TValue, ? extends TKey> keyExtractor, Class<TValue> type)
+    {
+        this(keyExtractor, type);
+        this.addAll(initializingCollection);
+    }
+    
+    /**
+     * Creates a new {@linkplain KeyedObservableCollection} of {@linkplain Thing} keyed by their {@linkplain Thing#getIid()}
+     * 
+     * @param <TThing> the type of {@linkplain Thing}
+     * @param type the enclosed type of the collection
+     * @return a {@linkplain KeyedObservableCollection}
+     */
+    public static <TThing extends Thing> KeyedObservableCollection<UUID, TThing> ByIid(Class<TThing> type)
+    {
+        return new KeyedObservableCollection<>(Thing::getIid, type);
+    }
+    
+    /**
+     * Gets the item that has the provided key
+     * 
+     * @param key the key
+     * @return the {@linkplain TValue} or null if there is none
+     */
+    public TValue Get(TKey key)
+    {
+        return this.itemByKey.get(key);
+    }
+    
+    /**
+     * Gets a value indicating whether this collection contains an item with the provided key
+     * 
+     * @param key the key
+     * @return a {@linkplain boolean}
+     */
+    public boolean ContainsKey(TKey key)
+    {
+        return this.itemByKey.containsKey(key);
+    }
+    
+    /**
+     * Gets the index of the item that has the provided key, the index is rebuilt from the first invalidated position when needed
+     * 
+     * @param key the key
+     * @return the 0 based index or -1 if there is none
+     */
+    public int IndexOfKey(TKey key)
+    {
+        if(!this.itemByKey.containsKey(key))
+        {
+            return -1;
+        }
+        
+        Integer index = this.indexByKey.get(key);
+        
+        if(index != null && index < this.indexedCount && Objects.equals(this.keyExtractor.apply(this.value.get(index)), key))
+        {
+            return index;
+        }
+        
+        for (; this.indexedCount < this.value.size(); this.indexedCount++)
+        {
+            this.indexByKey.put(this.keyExtractor.apply(this.value.get(this.indexedCount)), this.indexedCount);
+        }
+        
+        return this.indexByKey.get(key);
+    }
+    
+    /**
+     * Removes the item that has the provided key
+     * 
+     * @param key the key
+     * @return the removed {@linkplain TValue} or null if there was none
+     */
+    public TValue RemoveByKey(TKey key)
+    {
+        int index = this.IndexOfKey(key);
+        return index < 0 ? null : this.remove(index);
+    }
+
+    /**
+     * Appends the provided item, or replaces the item that has the same key where it stands
+     * 
+     * @param value the {@linkplain TValue}
+     * @return true if the item has been appended, false if it replaced an existing one
+     */
+    @Override
+    public boolean add(TValue value)
+    {
+        int existingIndex = this.IndexOfKey(this.keyExtractor.apply(Objects.requireNonNull(value)));
+        
+        if(existingIndex < 0)
+        {
+            super.add(this.value.size(), value);
+            return true;
+        }
+        
+        super.set(existingIndex, value);
+        return false;
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this collection, 
+     * or replaces the item that has the same key where it stands
+     * 
+     * @param index the index at which the specified element is to be inserted
+     * @param element the element to be added
+     */
+    @Override
+    public void add(int index, TValue element)
+    {
+        int existingIndex = this.IndexOfKey(this.keyExtractor.apply(Objects.requireNonNull(element)));
+        
+        if(existingIndex < 0)
+        {
+            super.add(index, element);
+        }
+        else
+        {
+            super.set(existingIndex, element);
+        }
+    }
+
+    /**
+     * Inserts all of the elements in the specified collection into this list at the specified position.
+     * The items whose key is already present replace the existing ones where they stand, 
+     * in which case the notifications are batched as by {@linkplain #BeginUpdate()}
+     * 
+     * @param index the {@linkplain index} where to add the new items
+     * @param collection the {@linkplain Collection} of item to add
+     * @return an assert indicating whether this collection changed
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends TValue> collection)
+    {
+        LinkedHashMap<TKey, TValue> newItems = new LinkedHashMap<>();
+        LinkedHashMap<TKey, TValue> replacingItems = new LinkedHashMap<>();
+        
+        for (TValue item : collection)
+        {
+            TKey key = this.keyExtractor.apply(Objects.requireNonNull(item));
+            (this.itemByKey.containsKey(key) ? replacingItems : newItems).put(key, item);
+        }
+        
+        if(replacingItems.isEmpty())
+        {
+            return super.addAll(index, newItems.values());
+        }
+        
+        this.BeginUpdate();
+        
+        try
+        {
+            replacingItems.forEach((key, item) -> super.set(this.IndexOfKey(key), item));
+            super.addAll(index, newItems.values());
+        }
+        finally
+        {
+            this.EndUpdate();
+        }
+        
+        return true;
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the specified element
+     * 
+     * @param index the index where the old item is located
+     * @param element the new element
+     * @return the old value removed from this collection
+     * @throws IllegalArgumentException when another item already has the key of the new element
+     */
+    @Override
+    public TValue set(int index, TValue element)
+    {
+        int existingIndex = this.IndexOfKey(this.keyExtractor.apply(Objects.requireNonNull(element)));
+        
+        if(existingIndex >= 0 && existingIndex != index)
+        {
+            throw new IllegalArgumentException(String.format("The item at index %s already has the key of the provided element", existingIndex));
+        }
+        
+        return super.set(index, element);
+    }
+
+    /**
+     * Sets the underlying collection. It fires a {@linkplain CollectionChangeKind#RESET}
+     * 
+     * @param value the new {@linkplain ArrayList} of {@linkplain TValue}
+     * @throws IllegalArgumentException when several items share the same key
+     */
+    @Override
+    public void Value(ArrayList<TValue> value)
+    {
+        Set<TKey> keys = new HashSet<>();
+        
+        for (TValue item : value)
+        {
+            if(!keys.add(this.keyExtractor.apply(Objects.requireNonNull(item))))
+            {
+                throw new IllegalArgumentException("The provided items do not have unique keys");
+            }
+        }
+        
+        super.Value(value);
+    }
+
+    /**
+     * Removes the item that has the same key as the provided one
+     * 
+     * @param value the {@linkplain TValue}
+     * @return An value indication whether the removal went through
+     */
+    @Override
+    public boolean RemoveOne(TValue value)
+    {
+        int index = this.IndexOfItem(value);
+        
+        if(index < 0)
+        {
+            return false;
+        }
+        
+        this.remove(index);
+        return true;
+    }
+
+    /**
+     * Removes the items that have the same key as the provided ones, in one pass.
+     * It fires the {@linkplain itemRemoved} {@linkplain Observable} per item, then the {@linkplain itemsRemoved} once
+     * 
+     * @param collection the {@linkplain Collection} of item to remove
+     * @return an assert indicating whether all items were removed successfully
+     */
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        Set<TKey> keys = new HashSet<>();
+        
+        for (Object item : collection)
+        {
+            TKey key = this.GetKeyOf(item);
+            
+            if(key != null && this.itemByKey.containsKey(key))
+            {
+                keys.add(key);
+            }
+        }
+        
+        if(!keys.isEmpty())
+        {
+            this.removeIf(x -> keys.contains(this.keyExtractor.apply(x)));
+        }
+        
+        return keys.size() == collection.size();
+    }
+
+    /**
+     * Asserts that this collection contains an item with the same key as the provided {@linkplain Object}
+     * 
+     * @param object the {@linkplain Object} that could be present in this collection
+     * @return an assert
+     */
+    @Override
+    public boolean contains(Object object)
+    {
+        TKey key = this.GetKeyOf(object);
+        return key != null && this.itemByKey.containsKey(key);
+    }
+
+    /**
+     * Gets the index of the item that has the same key as the provided element. Return -1 if not found
+     * 
+     * @param element the {@linkplain Object} element to find the index of
+     * @return the 0 based index
+     */
+    @Override
+    public int indexOf(Object element)
+    {
+        return this.IndexOfItem(element);
+    }
+
+    /**
+     * Gets the index of the item that has the same key as the provided element, keys being unique it is the same as {@linkplain #indexOf(Object)}
+     * 
+     * @param element the {@linkplain Object} element to find the index of
+     * @return the 0 based index
+     */
+    @Override
+    public int lastIndexOf(Object element)
+    {
+        return this.IndexOfItem(element);
+    }
+
+    /**
+     * Gets an {@linkplain Iterator} from this collection, removing through it removes from this collection and fires the same events
+     * 
+     * @return a {@linkplain Iterator} of {@linkplain TValue}
+     */
+    @Override
+    public Iterator<TValue> iterator()
+    {
+        return this.view.iterator();
+    }
+
+    /**
+     * Returns a list iterator over the elements in this list, the changes made through it apply to this collection and fire the same events
+     * 
+     * @return a list iterator over the elements in this list
+     */
+    @Override
+    public ListIterator<TValue> listIterator()
+    {
+        return this.view.listIterator();
+    }
+
+    /**
+     * Returns a list iterator over the elements in this list starting at the specified position, 
+     * the changes made through it apply to this collection and fire the same events
+     * 
+     * @param index the index of the first element to be returned
+     * @return a list iterator over the elements in this list
+     */
+    @Override
+    public ListIterator<TValue> listIterator(int index)
+    {
+        return this.view.listIterator(index);
+    }
+
+    /**
+     * Gets a subsequence of item from this collection, the changes made through it apply to this collection and fire the same events
+     * 
+     * @param fromIndex the lower bound index
+     * @param toIndex the upper bound index
+     * @return a {@linkplain List} of {@linkplain TValue}
+     */
+    @Override
+    public List<TValue> subList(int fromIndex, int toIndex)
+    {
+        return this.view.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * Keeps the keys and the indices in sync with the changes that have just been applied
+     * 
+     * @param changes the {@linkplain CollectionChange}s that have just been applied, in order
+     */
+    @Override
+    protected void OnMutated(List<CollectionChange<TValue>> changes)
+    {
+        for (CollectionChange<TValue> change : changes)
+        {
+            switch (change.GetKind())
+            {
+                case INSERT:
+                    this.indexedCount = Math.min(this.indexedCount, change.GetIndex());
+                    
+                    for (int offset = 0; offset < change.GetItems().size(); offset++)
+                    {
+                        TValue item = change.GetItems().get(offset);
+                        TKey key = this.keyExtractor.apply(item);
+                        this.itemByKey.put(key, item);
+                        
+                        if(this.indexedCount == change.GetIndex() + offset)
+                        {
+                            this.indexByKey.put(key, this.indexedCount++);
+                        }
+                    }
+                    break;
+                case REMOVE:
+                    this.Forget(change.GetItems());
+                    this.indexedCount = Math.min(this.indexedCount, change.GetIndex());
+                    break;
+                case REPLACE:
+                    this.Forget(change.GetOldItems());
+                    TKey key = this.keyExtractor.apply(change.GetItems().get(0));
+                    this.itemByKey.put(key, change.GetItems().get(0));
+                    
+                    if(change.GetIndex() < this.indexedCount)
+                    {
+                        this.indexByKey.put(key, change.GetIndex());
+                    }
+                    break;
+                case MOVE:
+                    this.indexedCount = Math.min(this.indexedCount, Math.min(change.GetIndex(), change.GetNewIndex()));
+                    break;
+                default:
+                    this.itemByKey.clear();
+                    this.indexByKey.clear();
+                    this.indexedCount = 0;
+                    this.value.forEach(x -> this.itemByKey.put(this.keyExtractor.apply(x), x));
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * Removes the provided items from the keys and the indices
+     * 
+     * @param items the items that are no longer in this collection
+     */
+    private void Forget(List<TValue> items)
+    {
+        for (TValue item : items)
+        {
+            TKey key = this.keyExtractor.apply(item);
+            this.itemByKey.remove(key);
+            this.indexByKey.remove(key);
+        }
+    }
+    
+    /**
+     * Gets the index of the item that has the same key as the provided one
+     * 
+     * @param item the item
+     * @return the 0 based index or -1 if there is none
+     */
+    private int IndexOfItem(Object item)
+    {
+        TKey key = this.GetKeyOf(item);
+        return key == null ? -1 : this.IndexOfKey(key);
+    }
+    
+    /**
+     * Gets the key of the provided {@linkplain Object} when it is a {@linkplain TValue}
+     * 
+     * @param item the {@linkplain Object}
+     * @return the key or null if it cannot be computed
+     */
+    @SuppressWarnings("unchecked")
+    private TKey GetKeyOf(Object item)
+    {
+        if(item == null || (this.GetType() != null && !this.GetType().isInstance(item)))
+        {
+            return null;
+        }
+        
+        try
+        {
+            return this.keyExtractor.apply((TValue)item);
+        }
+        catch (ClassCastException exception)
+        {
+            return null;
+        }
+    }
+    
+    /**
+     * The {@linkplain View} is the {@linkplain AbstractList} over this collection that backs the iterators and the sub lists, 
+     * so that the changes made through them go through this collection, keep the index in sync and fire the events. 
+     * Since an insertion through it has to grow the list by one, it rejects an item whose key is already present
+     */
+    private final class View extends AbstractList<TValue> implements RandomAccess
+    {
+        /**
+         * Gets the item at the provided index
+         * 
+         * @param index the index
+         * @return the {@linkplain TValue}
+         */
+        @Override
+        public TValue get(int index)
+        {
+            return KeyedObservableCollection.this.value.get(index);
+        }
+
+        /**
+         * Gets the number of items
+         * 
+         * @return an int
+         */
+        @Override
+        public int size()
+        {
+            return KeyedObservableCollection.this.value.size();
+        }
+
+        /**
+         * Replaces the item at the provided index
+         * 
+         * @param index the index
+         * @param element the new element
+         * @return the replaced element
+         */
+        @Override
+        public TValue set(int index, TValue element)
+        {
+            return KeyedObservableCollection.this.set(index, element);
+        }
+
+        /**
+         * Inserts the provided element at the provided index
+         * 
+         * @param index the index
+         * @param element the element to insert
+         * @throws IllegalArgumentException when an item already has the key of the element
+         */
+        @Override
+        public void add(int index, TValue element)
+        {
+            if(KeyedObservableCollection.this.ContainsKey(KeyedObservableCollection.this.keyExtractor.apply(Objects.requireNonNull(element))))
+            {
+                throw new IllegalArgumentException("An item already has the key of the provided element");
+            }
+            
+            KeyedObservableCollection.this.add(index, element);
+            this.modCount++;
+        }
+
+        /**
+         * Removes the item at the provided index
+         * 
+         * @param index the index
+         * @return the removed item
+         */
+        @Override
+        public TValue remove(int index)
+        {
+            TValue element = KeyedObservableCollection.this.remove(index);
+            this.modCount++;
+            return element;
+        }
+
+        /**
+         * Removes the items from the provided index, inclusive, to the other one, exclusive, at once
+         * 
+         * @param fromIndex the index of the first item to remove
+         * @param toIndex the index after the last item to remove
+         */
+        @Override
+        protected void removeRange(int fromIndex, int toIndex)
+        {
+            KeyedObservableCollection.this.RemoveRange(fromIndex, toIndex - fromIndex);
+            this.modCount++;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * MappedObservableCollection.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The {@linkplain MappedObservableCollection} is a live view of the projection of the items of a source {@linkplain ObservableCollection}, in the source order.
+ * Only the items that changed in the source are projected.
+ * 
+ * @param <TSource> the type of the items of the source collection
+ * @param <TValue> the type of the projected items
+ */
+public class MappedObservableCollection<TSource, TValue> extends DerivedObservableCollection<TSource, TValue>
+{
+    /**
+     * The projection {@linkplain Function}
+     */
+    private final Function<? super TSource, ? extends TValue> selector;
+    
+    /**
+     * Initializes a new {@linkplain MappedObservableCollection}
+     * 
+     * @param source the source {@linkplain ObservableCollection}
+     * @param selector the projection {@linkplain Function}
+     */
+    public MappedObservableCollection(ObservableCollection<TSource> source, Function<? super TSource, ? extends TValue> selector)
+    {
+        super(source);
+        this.selector = Objects.requireNonNull(selector);
+        this.Connect();
+    }
+
+    /**
+     * Applies the insertion of contiguous items in the {@linkplain #source}
+     * 
+     * @param index the index of the first inserted item in the {@linkplain #source}
+     * @param items the inserted items
+     */
+    @Override
+    protected void OnSourceInserted(int index, List<TSource> items)
+    {
+        this.InsertItems(index, this.Project(items));
+    }
+
+    /**
+     * Applies the removal of contiguous items from the {@linkplain #source}
+     * 
+     * @param index the index the first removed item had in the {@linkplain #source}
+     * @param items the removed items
+     */
+    @Override
+    protected void OnSourceRemoved(int index, List<TSource> items)
+    {
+        this.RemoveItems(index, items.size());
+    }
+
+    /**
+     * Applies the replacement of one item of the {@linkplain #source}
+     * 
+     * @param index the index of the replaced item in the {@linkplain #source}
+     * @param oldItem the replaced item
+     * @param newItem the new item
+     */
+    @Override
+    protected void OnSourceReplaced(int index, TSource oldItem, TSource newItem)
+    {
+        this.ReplaceItem(index, this.selector.apply(newItem));
+    }
+
+    /**
+     * Applies the move of one item of the {@linkplain #source}
+     * 
+     * @param oldIndex the index the item had
+     * @param newIndex the index the item has now
+     * @param item the moved item
+     */
+    @Override
+    protected void OnSourceMoved(int oldIndex, int newIndex, TSource item)
+    {
+        this.MoveItem(oldIndex, newIndex);
+    }
+
+    /**
+     * Recomputes the whole view from the {@linkplain #source}
+     */
+    @Override
+    protected void OnSourceReset()
+    {
+        this.ResetItems(this.Project(this.source));
+    }
+    
+    /**
+     * Projects the provided items
+     * 
+     * @param items the items to project
+     * @return a {@linkplain List} of {@linkplain TValue}
+     */
+    private List<TValue> Project(List<TSource> items)
+    {
+        ArrayList<TValue> result = new ArrayList<>(items.size());
+        
+        for (TSource item : items)
+        {
+            result.add(this.selector.apply(item));
+        }
+        
+        return result;
+    }
+}
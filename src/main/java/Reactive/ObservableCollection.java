@@ -25,13 +25,20 @@ package Reactive;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
+import Services.SchedulerService.SchedulerService;
 import cdp4common.ChangeKind;
 import io.reactivex.Observable;
 import io.reactivex.subjects.PublishSubject;
@@ -44,35 +51,334 @@ import io.reactivex.subjects.PublishSubject;
  */
 public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TValue>> implements List<TValue>, Collection<TValue>, RandomAccess
 {
+    /**
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #itemAdded} on first subscription
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableCollection, PublishSubject> ItemAddedUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableCollection.class, PublishSubject.class, "itemAdded");
+    
+    /**
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #itemsAdded} on first subscription
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableCollection, PublishSubject> ItemsAddedUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableCollection.class, PublishSubject.class, "itemsAdded");
+    
+    /**
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #itemRemoved} on first subscription
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableCollection, PublishSubject> ItemRemovedUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableCollection.class, PublishSubject.class, "itemRemoved");
+    
+    /**
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #itemsRemoved} on first subscription
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableCollection, PublishSubject> ItemsRemovedUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableCollection.class, PublishSubject.class, "itemsRemoved");
+    
+    /**
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #isEmpty} on first subscription
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableCollection, PublishSubject> IsEmptyUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableCollection.class, PublishSubject.class, "isEmpty");
+    
+    /**
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #changed} on first subscription
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableCollection, PublishSubject> ChangedUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableCollection.class, PublishSubject.class, "changed");
+    
+    /**
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #collectionChanged} on first subscription
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableCollection, PublishSubject> CollectionChangedUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableCollection.class, PublishSubject.class, "collectionChanged");
+    
     /**
      * The {@linkplain PublisherSubject} that serves to raise the OnNext event when an item is added to the collection
      */
-    protected PublishSubject<TValue> itemAdded = PublishSubject.create();    
+    private volatile PublishSubject<TValue> itemAdded;    
 
     /**
      * The {@linkplain PublisherSubject} that serves to raise the OnNext event when a collection of items have been added to the collection
      */
-    protected PublishSubject<Collection<TValue>> itemsAdded = PublishSubject.create();
+    private volatile PublishSubject<Collection<TValue>> itemsAdded;
     
     /**
      * The {@linkplain PublisherSubject} that serves to raise the OnNext event when an item is removed from the collection
      */
-    protected PublishSubject<TValue> itemRemoved = PublishSubject.create();
+    private volatile PublishSubject<TValue> itemRemoved;
+
+    /**
+     * The {@linkplain PublisherSubject} that serves to raise the OnNext event when a collection of items have been removed from the collection
+     */
+    private volatile PublishSubject<Collection<TValue>> itemsRemoved;
 
     /**
      * The {@linkplain PublisherSubject} that serves to raise the OnNext event when the collection becomes empty
      */
-    protected PublishSubject<Boolean> isEmpty = PublishSubject.create();
+    private volatile PublishSubject<Boolean> isEmpty;
 
     /**
      * The {@linkplain PublisherSubject} that serves to raise the OnNext event whenever the collection changed like an addition or a removal of item(s) or that it is empty
      */
-    protected PublishSubject<ChangeKind> changed = PublishSubject.create();
+    private volatile PublishSubject<ChangeKind> changed;
+
+    /**
+     * The {@linkplain PublisherSubject} that serves to raise the OnNext event with the position of every change
+     */
+    private volatile PublishSubject<CollectionChange<TValue>> collectionChanged;
+    
+    /**
+     * Gets the {@linkplain PublishSubject} that serves to raise the OnNext event when an item is added to the collection, creating it on first call
+     * 
+     * @return the {@linkplain PublishSubject}
+     */
+    protected PublishSubject<TValue> GetItemAddedSubject()
+    {
+        return GetOrCreateSubject(ItemAddedUpdater, this);
+    }
+    
+    /**
+     * Gets the {@linkplain PublishSubject} that serves to raise the OnNext event when a collection of items have been added to the collection, creating it on first call
+     * 
+     * @return the {@linkplain PublishSubject}
+     */
+    protected PublishSubject<Collection<TValue>> GetItemsAddedSubject()
+    {
+        return GetOrCreateSubject(ItemsAddedUpdater, this);
+    }
+    
+    /**
+     * Gets the {@linkplain PublishSubject} that serves to raise the OnNext event when an item is removed from the collection, creating it on first call
+     * 
+     * @return the {@linkplain PublishSubject}
+     */
+    protected PublishSubject<TValue> GetItemRemovedSubject()
+    {
+        return GetOrCreateSubject(ItemRemovedUpdater, this);
+    }
+    
+    /**
+     * Gets the {@linkplain PublishSubject} that serves to raise the OnNext event when a collection of items have been removed from the collection, creating it on first call
+     * 
+     * @return the {@linkplain PublishSubject}
+     */
+    protected PublishSubject<Collection<TValue>> GetItemsRemovedSubject()
+    {
+        return GetOrCreateSubject(ItemsRemovedUpdater, this);
+    }
+    
+    /**
+     * Gets the {@linkplain PublishSubject} that serves to raise the OnNext event when the collection becomes empty, creating it on first call
+     * 
+     * @return the {@linkplain PublishSubject}
+     */
+    protected PublishSubject<Boolean> GetIsEmptySubject()
+    {
+        return GetOrCreateSubject(IsEmptyUpdater, this);
+    }
+    
+    /**
+     * Gets the {@linkplain PublishSubject} that serves to raise the OnNext event whenever the collection changed, creating it on first call
+     * 
+     * @return the {@linkplain PublishSubject}
+     */
+    protected PublishSubject<ChangeKind> GetChangedSubject()
+    {
+        return GetOrCreateSubject(ChangedUpdater, this);
+    }
     
+    /**
+     * Gets the {@linkplain PublishSubject} that serves to raise the OnNext event with the position of every change, creating it on first call
+     * 
+     * @return the {@linkplain PublishSubject}
+     */
+    protected PublishSubject<CollectionChange<TValue>> GetCollectionChangedSubject()
+    {
+        return GetOrCreateSubject(CollectionChangedUpdater, this);
+    }
+
     /**
      * Field holding a value indicating whether the collection is empty or not
      */
     private boolean isEmptyValue;
+    
+    /**
+     * The number of nested {@linkplain #BeginUpdate()} calls not yet closed by {@linkplain #EndUpdate()}
+     */
+    private int updateDepth;
+    
+    /**
+     * The items added since the outermost {@linkplain #BeginUpdate()}, null outside of an update
+     */
+    private ArrayList<TValue> pendingAddedItems;
+    
+    /**
+     * The items removed since the outermost {@linkplain #BeginUpdate()}, null outside of an update
+     */
+    private ArrayList<TValue> pendingRemovedItems;
+    
+    /**
+     * The {@linkplain CollectionChange}s since the outermost {@linkplain #BeginUpdate()}, null outside of an update
+     */
+    private ArrayList<CollectionChange<TValue>> pendingChanges;
+
+    /**
+     * Suspends the notifications until the matching {@linkplain #EndUpdate()}. Calls can be nested, 
+     * the notifications resume when the outermost update ends.
+     */
+    public void BeginUpdate()
+    {
+        if(this.updateDepth++ == 0)
+        {
+            this.pendingAddedItems = new ArrayList<>();
+            this.pendingRemovedItems = new ArrayList<>();
+            this.pendingChanges = new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Ends the update started by the matching {@linkplain #BeginUpdate()}. When it ends the outermost update, 
+     * it fires the {@linkplain #ItemsAdded()} and {@linkplain #ItemsRemoved()} once with everything that changed during the update,
+     * then one {@linkplain #Changed()} event. The {@linkplain #CollectionChanged()} yields the only change of the update 
+     * or a {@linkplain CollectionChangeKind#RESET} when there were several.
+     */
+    public void EndUpdate()
+    {
+        if(this.updateDepth == 0)
+        {
+            throw new IllegalStateException("EndUpdate has been called without a matching BeginUpdate");
+        }
+        
+        if(--this.updateDepth > 0)
+        {
+            return;
+        }
+        
+        List<CollectionChange<TValue>> changes = this.pendingChanges.size() > 1 
+                ? Collections.singletonList(CollectionChange.Reset()) 
+                : this.pendingChanges;
+        
+        ArrayList<TValue> addedItems = this.pendingAddedItems;
+        ArrayList<TValue> removedItems = this.pendingRemovedItems;
+        this.pendingChanges = null;
+        this.pendingAddedItems = null;
+        this.pendingRemovedItems = null;
+        
+        if(!changes.isEmpty())
+        {
+            this.Fire(changes, addedItems, removedItems, true, false);
+        }
+    }
+    
+    /**
+     * Gets a value indicating whether the notifications are suspended by {@linkplain #BeginUpdate()}
+     * 
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsUpdating()
+    {
+        return this.updateDepth > 0;
+    }
+    
+    /**
+     * Lets the derived collections follow the provided changes through {@linkplain #OnMutated(List)}, 
+     * then fires the notifications or records them when an update is in progress
+     * 
+     * @param changes the {@linkplain CollectionChange}s in the order they have been applied
+     * @param addedItems the added items
+     * @param removedItems the removed items
+     * @param isBulk a value indicating whether the items are also notified at once through {@linkplain #itemsAdded} and {@linkplain #itemsRemoved}
+     */
+    private void Notify(List<CollectionChange<TValue>> changes, List<TValue> addedItems, List<TValue> removedItems, boolean isBulk)
+    {
+        this.OnMutated(changes);
+        
+        if(changes.isEmpty())
+        {
+            return;
+        }
+        
+        if(this.updateDepth > 0)
+        {
+            this.pendingChanges.addAll(changes);
+            this.pendingAddedItems.addAll(addedItems);
+            this.pendingRemovedItems.addAll(removedItems);
+            return;
+        }
+        
+        this.Fire(changes, addedItems, removedItems, isBulk, true);
+    }
+    
+    /**
+     * Fires the notifications for the provided changes, that the derived collections already follow
+     * 
+     * @param changes the {@linkplain CollectionChange}s in the order they have been applied
+     * @param addedItems the added items
+     * @param removedItems the removed items
+     * @param isBulk a value indicating whether the items are notified at once through {@linkplain #itemsAdded} and {@linkplain #itemsRemoved}
+     * @param shouldNotifyEachItem a value indicating whether the items are notified one by one through {@linkplain #itemAdded} 
+     * and {@linkplain #itemRemoved}, which only the end of an update does not
+     */
+    private void Fire(List<CollectionChange<TValue>> changes, List<TValue> addedItems, List<TValue> removedItems, boolean isBulk, boolean shouldNotifyEachItem)
+    {
+        PublishSubject<CollectionChange<TValue>> currentCollectionChanged = this.collectionChanged;
+        
+        if(currentCollectionChanged != null)
+        {
+            changes.forEach(currentCollectionChanged::onNext);
+        }
+        
+        if(shouldNotifyEachItem)
+        {
+            PublishSubject<TValue> currentItemRemoved = this.itemRemoved;
+            PublishSubject<TValue> currentItemAdded = this.itemAdded;
+            
+            if(currentItemRemoved != null)
+            {
+                removedItems.forEach(currentItemRemoved::onNext);
+            }
+            
+            if(currentItemAdded != null)
+            {
+                addedItems.forEach(currentItemAdded::onNext);
+            }
+        }
+        
+        if(isBulk)
+        {
+            if(!addedItems.isEmpty())
+            {
+                Emit(this.itemsAdded, addedItems);
+            }
+            
+            if(!removedItems.isEmpty())
+            {
+                Emit(this.itemsRemoved, removedItems);
+            }
+        }
+        
+        Emit(this.changed, addedItems.isEmpty() && !removedItems.isEmpty() ? ChangeKind.DELETE : ChangeKind.UPDATE);
+        this.FiresIsEmpty();
+    }
+
+    /**
+     * Called once after every mutation of the underlying list, before any notification fires, even during an update. 
+     * The end of an update does not call it again, the changes it notifies have all been passed already. 
+     * Lets the derived collections publish the new state or maintain their indices first.
+     * 
+     * @param changes the {@linkplain CollectionChange}s that have just been applied, in order
+     */
+    protected void OnMutated(List<CollectionChange<TValue>> changes)
+    {
+    }
 
     /**
      * Adds a new {@linkplain TValue} to the {@linkplain ObservableCollection}
@@ -83,11 +389,8 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     @Override
     public boolean add(TValue value)
     {
-        boolean result = this.value.add(value);
-        this.itemAdded.onNext(value);
-        this.changed.onNext(ChangeKind.UPDATE);
-        this.FiresIsEmpty();
-        return result;
+        this.add(this.value.size(), value);
+        return true;
     }
 
     /**
@@ -112,16 +415,34 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
      */
     public boolean RemoveOne(TValue value)
     {
-        boolean result = this.value.remove(value);
+        int index = this.value.indexOf(value);
         
-        if(result)
+        if(index < 0)
         {
-            this.itemRemoved.onNext(value);
-            this.changed.onNext(ChangeKind.DELETE);
-            this.FiresIsEmpty();
+            return false;
         }
         
-        return result;
+        this.remove(index);
+        return true;
+    }
+    
+    /**
+     * Moves the item at the provided index to the new index
+     * 
+     * @param oldIndex the index of the item to move
+     * @param newIndex the index the item is moved to
+     */
+    public void Move(int oldIndex, int newIndex)
+    {
+        if(oldIndex == newIndex)
+        {
+            this.value.get(oldIndex);
+            return;
+        }
+        
+        TValue item = this.value.remove(oldIndex);
+        this.value.add(newIndex, item);
+        this.Notify(Collections.singletonList(CollectionChange.Moved(oldIndex, newIndex, item)), Collections.emptyList(), Collections.emptyList(), false);
     }
     
     /**
@@ -134,11 +455,23 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
         if (this.isEmptyValue != newValue)
         {
             this.isEmptyValue = newValue;
-            this.isEmpty.onNext(newValue);
-            this.changed.onNext(ChangeKind.NONE);
+            Emit(this.isEmpty, newValue);
+            Emit(this.changed, ChangeKind.NONE);
         }
     }
     
+    /**
+     * Sets the underlying collection. It fires a {@linkplain CollectionChangeKind#RESET}
+     * 
+     * @param value the new {@linkplain ArrayList} of {@linkplain TValue}, null empties the collection
+     */
+    @Override
+    public void Value(ArrayList<TValue> value) 
+    {
+        super.Value(value == null ? new ArrayList<>() : value);
+        this.Notify(Collections.singletonList(CollectionChange.Reset()), Collections.emptyList(), Collections.emptyList(), true);
+    }
+    
     /**
      * Gets the {@linkplain Observable} that fires when ever the collection changed like an addition or a removal of item(s) or that it is empty
      * 
@@ -146,17 +479,44 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
      */
     public Observable<ChangeKind> Changed()
     {
-        return changed.hide();
+        return Observable.defer(this::GetChangedSubject);
+    }
+
+    /**
+     * Gets the {@linkplain Observable} that fires on the event dispatch thread of the {@linkplain SchedulerService#Current} when ever the collection changed.
+     * Bursts of changes are conflated so the views get at most one notification per event dispatch thread turn,
+     * the fine grained events like {@linkplain #CollectionChanged()} cannot be conflated without losing information
+     * 
+     * @return An {@linkplain Observable} of {@linkplain ChangeKind}
+     */
+    public Observable<ChangeKind> ChangedOnEdt()
+    {
+        return SchedulerService.Current.ObserveOnEdt(this.Changed());
+    }
+    
+    /**
+     * Gets the {@linkplain Observable} that fires for every change with the position of the affected items.
+     * Removals of non contiguous items yield one {@linkplain CollectionChangeKind#REMOVE} per range, from the last range to the first,
+     * so applying them in order keeps the indices valid.
+     * 
+     * @return An {@linkplain Observable} of {@linkplain CollectionChange}
+     */
+    public Observable<CollectionChange<TValue>> CollectionChanged()
+    {
+        return Observable.defer(this::GetCollectionChangedSubject);
     }
     
     /**
-     * Gets the {@linkplain Observable} that fires when ever the collection gets one new item added
+     * Gets the {@linkplain Observable} that fires when ever the collection gets one new item added through {@linkplain #add(Object)} 
+     * or {@linkplain #add(int, Object)}, and once per item through the bulk operations such as {@linkplain #addAll(Collection)}.
+     * Only the end of an update does not fire it per item, it fires {@linkplain #ItemsAdded()} once instead. Observe {@linkplain #Changed()} 
+     * or {@linkplain #CollectionChanged()} to be notified of every addition whatever the way it has been made.
      * 
      * @return An {@linkplain Observable} of {@linkplain TValue}
      */
     public Observable<TValue> ItemAdded()
     {
-        return itemAdded.hide();
+        return Observable.defer(this::GetItemAddedSubject);
     }
         
     /**
@@ -166,17 +526,32 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
      */
     public Observable<Collection<TValue>> ItemsAdded()
     {
-        return itemsAdded.hide();
+        return Observable.defer(this::GetItemsAddedSubject);
     }
     
     /**
-     * Gets the {@linkplain Observable} that fires when ever the collection loses one item
+     * Gets the {@linkplain Observable} that fires when ever the collection loses one item through {@linkplain #remove(int)}, 
+     * {@linkplain #remove(Object)} or {@linkplain #RemoveOne(Object)}, and once per item through the bulk operations such as 
+     * {@linkplain #removeAll(Collection)}, {@linkplain #removeIf(Predicate)} or {@linkplain #clear()}. Only the end of an update 
+     * does not fire it per item, it fires {@linkplain #ItemsRemoved()} once instead. Observe {@linkplain #Changed()} 
+     * or {@linkplain #CollectionChanged()} to be notified of every removal whatever the way it has been made.
      * 
      * @return An {@linkplain Observable} of {@linkplain TValue}
      */
     public Observable<TValue> ItemRemoved()
     {
-        return itemRemoved.hide();
+        return Observable.defer(this::GetItemRemovedSubject);
+    }
+    
+    /**
+     * Gets the {@linkplain Observable} that fires when ever the collection loses several items at once, 
+     * through the bulk operations or at the end of an update
+     * 
+     * @return An {@linkplain Observable} of {@linkplain Collection} of {@linkplain TValue}
+     */
+    public Observable<Collection<TValue>> ItemsRemoved()
+    {
+        return Observable.defer(this::GetItemsRemovedSubject);
     }
     
     /**
@@ -186,7 +561,7 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
      */
     public Observable<Boolean> IsEmptyObservable()
     {
-        return isEmpty.hide();
+        return Observable.defer(this::GetIsEmptySubject);
     }
 
     /**
@@ -280,29 +655,20 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
 
     /**
      * Adds all the items in the provided {@linkplain collection} to this collection.
-     * It fire the {@linkplain itemsAdded} {@linkplain Observable}
+     * It fires the {@linkplain itemAdded} {@linkplain Observable} per item, then the {@linkplain itemsAdded} once
      * 
      * @param collection the {@linkplain Collection} of item to add
      * @return an assert indicating whether all items were added successfully
      */
-    @SuppressWarnings("unchecked")
     @Override
     public boolean addAll(Collection<? extends TValue> collection)
     {
-        boolean result = true;
-        
-        for (TValue value : collection)
-        {
-            result &= this.add(value);
-        }
-
-        this.itemsAdded.onNext((Collection<TValue>) collection);  
-        return result;
+        return this.addAll(this.value.size(), collection);
     }
 
     /**
      * Removes all the items in the provided {@linkplain collection} to this collection.
-     * It fire the {@linkplain itemRemoved} {@linkplain Observable}
+     * It fires the {@linkplain itemRemoved} {@linkplain Observable} per item, then the {@linkplain itemsRemoved} once
      * 
      * @param collection the {@linkplain Collection} of item to remove
      * @return an assert indicating whether all items were removed successfully
@@ -310,19 +676,36 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     @Override
     public boolean removeAll(Collection<?> collection)
     {
-        boolean result = true;
+        Map<Object, Integer> remainingCountByItem = new HashMap<>();
         
-        for (Object value : collection)
+        for (Object item : collection)
         {
-            result &= this.remove(value);
+            remainingCountByItem.merge(item, 1, Integer::sum);
         }
         
-        return result;
+        boolean[] isRemoved = new boolean[this.value.size()];
+        int numberOfRemovedItems = 0;
+        
+        for (int index = 0; index < isRemoved.length; index++)
+        {
+            Integer remainingCount = remainingCountByItem.get(this.value.get(index));
+            
+            if(remainingCount != null && remainingCount > 0)
+            {
+                isRemoved[index] = true;
+                remainingCountByItem.put(this.value.get(index), remainingCount - 1);
+                numberOfRemovedItems++;
+            }
+        }
+        
+        this.RemoveAt(isRemoved);
+        return numberOfRemovedItems == collection.size();
     }
 
     /**
      * Retains only the elements in this list that are contained in the specified collection. 
      * In other words, removes from this list all of its elements that are not contained in the specified collection.
+     * It fires the {@linkplain itemsRemoved} {@linkplain Observable} once with the removed items
      * 
      * @param collection the {@linkplain Collection} of item to retain
      * @return a {@linkplain boolean} holding true if this list changed as a result of the call
@@ -330,17 +713,24 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     @Override
     public boolean retainAll(Collection<?> collection)
     {
-        return this.value.retainAll(collection);
+        Objects.requireNonNull(collection);
+        return this.removeIf(x -> !collection.contains(x));
     }
 
     /**
-     * Clear this collection. It fires the {@linkplain isEmpty}     * 
+     * Clear this collection. It fires the {@linkplain itemsRemoved} once with all the removed items and the {@linkplain isEmpty}
      */
     @Override
     public void clear()
     {
+        if(this.value.isEmpty())
+        {
+            return;
+        }
+        
+        ArrayList<TValue> removedItems = new ArrayList<>(this.value);
         this.value.clear();
-        this.FiresIsEmpty();
+        this.Notify(Collections.singletonList(CollectionChange.Removed(0, removedItems)), Collections.emptyList(), removedItems, true);
     }
 
     /**
@@ -378,7 +768,7 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
 
     /**
      * Inserts all of the elements in the specified collection into this. list at the specified position.
-     * Does not fire the {@linkplain itemAdded} {@linkplain Observable}
+     * It fires the {@linkplain itemAdded} {@linkplain Observable} per item, then the {@linkplain itemsAdded} once
      * 
      * @param collection the {@linkplain Collection} of item to add
      * @param index the {@linkplain index} where to add the new items
@@ -387,7 +777,15 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     @Override
     public boolean addAll(int index, Collection<? extends TValue> collection)
     {
-        return this.value.addAll(index, collection);
+        ArrayList<TValue> addedItems = new ArrayList<>(collection);
+        boolean result = this.value.addAll(index, addedItems);
+        
+        if(result)
+        {
+            this.Notify(Collections.singletonList(CollectionChange.Inserted(index, addedItems)), addedItems, Collections.emptyList(), true);
+        }
+        
+        return result;
     }
 
     /**
@@ -404,6 +802,7 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
 
     /**
      * Replaces the element at the specified position in this list with the specified element.
+     * It fires the {@linkplain itemRemoved} with the old element and the {@linkplain itemAdded} with the new one
      * 
      * @param index the index where the old item is located
      * @return the old value removed from this collection
@@ -411,7 +810,12 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     @Override
     public TValue set(int index, TValue element)
     {
-        return this.value.set(index, element);
+        TValue oldElement = this.value.set(index, element);
+        
+        this.Notify(Collections.singletonList(CollectionChange.Replaced(index, oldElement, element)), 
+                Collections.singletonList(element), Collections.singletonList(oldElement), false);
+        
+        return oldElement;
     }
 
     /**
@@ -424,6 +828,9 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     public void add(int index, TValue element)
     {
         this.value.add(index, element);
+        
+        List<TValue> addedItems = Collections.singletonList(element);
+        this.Notify(Collections.singletonList(CollectionChange.Inserted(index, addedItems)), addedItems, Collections.emptyList(), false);
     }
 
     /**
@@ -435,7 +842,85 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     @Override
     public TValue remove(int index)
     {
-        return this.value.remove(index);
+        TValue element = this.value.remove(index);
+        
+        List<TValue> removedItems = Collections.singletonList(element);
+        this.Notify(Collections.singletonList(CollectionChange.Removed(index, removedItems)), Collections.emptyList(), removedItems, false);
+        
+        return element;
+    }
+    
+    /**
+     * Removes the provided number of contiguous items starting at the provided index.
+     * It fires the {@linkplain itemsRemoved} once and one {@linkplain CollectionChangeKind#REMOVE}
+     * 
+     * @param index the index of the first item to remove
+     * @param count the number of items to remove
+     * @return the removed items
+     */
+    protected List<TValue> RemoveRange(int index, int count)
+    {
+        List<TValue> range = this.value.subList(index, index + count);
+        ArrayList<TValue> removedItems = new ArrayList<>(range);
+        range.clear();
+        
+        if(!removedItems.isEmpty())
+        {
+            this.Notify(Collections.singletonList(CollectionChange.Removed(index, removedItems)), Collections.emptyList(), removedItems, true);
+        }
+        
+        return removedItems;
+    }
+    
+    /**
+     * Removes the items flagged by the provided array in one pass and fires one {@linkplain CollectionChangeKind#REMOVE} per contiguous range
+     * 
+     * @param isRemoved the array flagging the indices of the items to remove
+     * @return the removed items
+     */
+    private List<TValue> RemoveAt(boolean[] isRemoved)
+    {
+        ArrayList<TValue> removedItems = new ArrayList<>();
+        ArrayList<CollectionChange<TValue>> changes = new ArrayList<>();
+        ArrayList<TValue> range = null;
+        int rangeStart = 0;
+        int writeIndex = 0;
+        
+        for (int readIndex = 0; readIndex < isRemoved.length; readIndex++)
+        {
+            TValue item = this.value.get(readIndex);
+            
+            if(isRemoved[readIndex])
+            {
+                if(range == null)
+                {
+                    range = new ArrayList<>();
+                    rangeStart = readIndex;
+                }
+                
+                range.add(item);
+                removedItems.add(item);
+                continue;
+            }
+            
+            if(range != null)
+            {
+                changes.add(CollectionChange.Removed(rangeStart, range));
+                range = null;
+            }
+            
+            this.value.set(writeIndex++, item);
+        }
+        
+        if(range != null)
+        {
+            changes.add(CollectionChange.Removed(rangeStart, range));
+        }
+        
+        this.value.subList(writeIndex, isRemoved.length).clear();
+        Collections.reverse(changes);
+        this.Notify(changes, Collections.emptyList(), removedItems, true);
+        return removedItems;
     }
 
     /**
@@ -463,7 +948,8 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     }
 
     /**
-     * Returns a list iterator over the elements in this list
+     * Returns a list iterator over the elements in this list. 
+     * Changes made through the iterator are not notified.
      * 
      * @return a list iterator over the elements in this list
      */
@@ -474,7 +960,8 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     }
 
     /**
-     * Returns a list iterator over the elements in this list starting at the specified position
+     * Returns a list iterator over the elements in this list starting at the specified position.
+     * Changes made through the iterator are not notified.
      * 
      * @return a list iterator over the elements in this list
      */
@@ -485,7 +972,8 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     }
 
     /**
-     * Gets a subsequence of item from this collection
+     * Gets a subsequence of item from this collection. 
+     * Changes made through the sub list are not notified.
      * 
      *  @param fromIndex the lower bound index
      *  @param toIndex the upper bound index
@@ -499,7 +987,7 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     /**
      * Removes all of the elements of this collection that satisfy the given
      * predicate.  Errors or runtime exceptions thrown during iteration or by
-     * the predicate are relayed to the caller. Overriden so it can fire {@linkplain IsEmpty}
+     * the predicate are relayed to the caller. Overriden so it fires the {@linkplain itemsRemoved} once with the removed items
      * 
      * @param filter a predicate which returns {@code true} for elements to be removed
      * @return {@code true} if any elements were removed
@@ -509,20 +997,70 @@ public class ObservableCollection<TValue> extends ObservableValue<ArrayList<TVal
     {
         Objects.requireNonNull(filter);
         
-        ArrayList<TValue> toRemove = new ArrayList<>();
+        boolean[] isRemoved = new boolean[this.value.size()];
+        boolean result = false;
         
-        final Iterator<TValue> iterator = iterator();
+        for (int index = 0; index < isRemoved.length; index++)
+        {
+            isRemoved[index] = filter.test(this.value.get(index));
+            result |= isRemoved[index];
+        }
         
-        while (iterator.hasNext()) 
+        if(result)
         {
-            TValue currentItem = iterator.next();
-            
-            if (filter.test(currentItem)) 
-            {
-                toRemove.add(currentItem);
-            }
+            this.RemoveAt(isRemoved);
         }
         
-        return this.removeAll(toRemove);
+        return result;
+    }
+
+    /**
+     * Gets a live view of the items of this collection that satisfy the provided predicate, in the same order.
+     * The view updates itself from the {@linkplain #CollectionChanged()} events and only tests the items that changed
+     * 
+     * @param predicate the {@linkplain Predicate} the items have to satisfy
+     * @return a {@linkplain FilteredObservableCollection}
+     */
+    public FilteredObservableCollection<TValue> Where(Predicate<? super TValue> predicate)
+    {
+        return new FilteredObservableCollection<>(this, predicate);
+    }
+
+    /**
+     * Gets a live view of the items of this collection sorted by the provided {@linkplain Comparator}. 
+     * The view updates itself from the {@linkplain #CollectionChanged()} events and places only the items that changed
+     * 
+     * @param comparator the {@linkplain Comparator}
+     * @return a {@linkplain SortedObservableCollection}
+     */
+    public SortedObservableCollection<TValue> OrderBy(Comparator<? super TValue> comparator)
+    {
+        return new SortedObservableCollection<>(this, comparator);
+    }
+
+    /**
+     * Gets a live view of the result of the provided projection applied on the items of this collection, in the same order. 
+     * The view updates itself from the {@linkplain #CollectionChanged()} events and only projects the items that changed
+     * 
+     * @param <TResult> the type of the projected items
+     * @param selector the projection {@linkplain Function}
+     * @return a {@linkplain MappedObservableCollection}
+     */
+    public <TResult> MappedObservableCollection<TValue, TResult> Select(Function<? super TValue, ? extends TResult> selector)
+    {
+        return new MappedObservableCollection<>(this, selector);
+    }
+
+    /**
+     * Gets a live view of the items of this collection grouped by the provided key. 
+     * The view updates itself from the {@linkplain #CollectionChanged()} events and only moves the items that changed
+     * 
+     * @param <TKey> the type of the key
+     * @param keySelector the {@linkplain Function} that computes the key of an item
+     * @return a {@linkplain GroupedObservableCollection}
+     */
+    public <TKey> GroupedObservableCollection<TKey, TValue> GroupBy(Function<? super TValue, ? extends TKey> keySelector)
+    {
+        return new GroupedObservableCollection<>(this, keySelector);
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * ObservableExtensions.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * The {@linkplain ObservableExtensions} provides the operators on {@linkplain Observable} that the reactive types need 
+ * and that RxJava does not offer out of the box, such as delivering the latest value only on a given {@linkplain Scheduler}
+ */
+public final class ObservableExtensions
+{
+    /**
+     * Prevents the {@linkplain ObservableExtensions} from being instantiated
+     */
+    private ObservableExtensions()
+    {
+    }
+    
+    /**
+     * Gets an {@linkplain Observable} that delivers the values of the provided one on the provided {@linkplain Scheduler}.
+     * At most one delivery is pending at any time, the values emitted while it is pending replace each other
+     * and only the latest one gets delivered. Errors and completion are delivered after the pending value.
+     * 
+     * @param <TValue> the type of value
+     * @param source the source {@linkplain Observable}
+     * @param scheduler the {@linkplain Scheduler} to deliver the values on
+     * @return an {@linkplain Observable} of {@linkplain TValue}
+     */
+    public static <TValue> Observable<TValue> ObserveLatestOn(Observable<TValue> source, Scheduler scheduler)
+    {
+        return Observable.create(emitter ->
+        {
+            Scheduler.Worker worker = scheduler.createWorker();
+            AtomicReference<TValue> latest = new AtomicReference<>();
+            
+            Disposable subscription = source.subscribe(
+                    x -> 
+                    {
+                        if(latest.getAndSet(x) == null)
+                        {
+                            worker.schedule(() -> 
+                            {
+                                TValue value = latest.getAndSet(null);
+                                
+                                if(value != null)
+                                {
+                                    emitter.onNext(value);
+                                }
+                            });
+                        }
+                    },
+                    x -> worker.schedule(() -> emitter.tryOnError(x)),
+                    () -> worker.schedule(emitter::onComplete));
+            
+            emitter.setCancellable(() -> 
+            {
+                subscription.dispose();
+                worker.dispose();
+            });
+        });
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * ObservableFlags.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+
+/**
+ * The {@linkplain ObservableFlags} holds up to 32 observable boolean properties in one int, for the objects that exist by the hundred thousands
+ * like the row view models. The flags are identified by a single bit mask, and the {@linkplain PublishSubject} is only created on first subscription.
+ * Like the rows it serves, it is meant to be mutated from one thread at a time.
+ */
+public final class ObservableFlags
+{
+    /**
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #changed} on first subscription
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableFlags, PublishSubject> ChangedUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableFlags.class, PublishSubject.class, "changed");
+    
+    /**
+     * The current value of all the flags
+     */
+    private int flags;
+    
+    /**
+     * The {@linkplain PublishSubject} that emits the mask of the flags that changed, null until the first subscription
+     */
+    private volatile PublishSubject<Integer> changed;
+
+    /**
+     * Initializes a new {@linkplain ObservableFlags} with all the flags cleared
+     */
+    public ObservableFlags()
+    {
+    }
+    
+    /**
+     * Initializes a new {@linkplain ObservableFlags}
+     * 
+     * @param initialFlags the mask of the flags that are initially set
+     */
+    public ObservableFlags(int initialFlags)
+    {
+        this.flags = initialFlags;
+    }
+    
+    /**
+     * Gets a value indicating whether the provided flag is set
+     * 
+     * @param flag the bit mask of the flag
+     * @return a {@linkplain boolean}
+     */
+    public boolean Get(int flag)
+    {
+        return (this.flags & flag) != 0;
+    }
+    
+    /**
+     * Sets or clears the provided flag, it notifies the observers only when the flag actually changes
+     * 
+     * @param flag the bit mask of the flag
+     * @param value the new value
+     */
+    public void Set(int flag, boolean value)
+    {
+        int newFlags = value ? this.flags | flag : this.flags & ~flag;
+        
+        if(newFlags == this.flags)
+        {
+            return;
+        }
+        
+        this.flags = newFlags;
+        ObservableValue.Emit(this.changed, flag);
+    }
+    
+    /**
+     * Switches the provided flag
+     * 
+     * @param flag the bit mask of the flag
+     * @return the new value of the flag
+     */
+    public boolean Switch(int flag)
+    {
+        boolean newValue = !this.Get(flag);
+        this.Set(flag, newValue);
+        return newValue;
+    }
+    
+    /**
+     * Gets the {@linkplain Observable} that emits the bit mask of every flag that changes
+     * 
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    public Observable<Integer> Changed()
+    {
+        return Observable.defer(() -> ObservableValue.GetOrCreateSubject(ChangedUpdater, this));
+    }
+    
+    /**
+     * Gets the {@linkplain Observable} that emits the new value of the provided flag every time it changes
+     * 
+     * @param flag the bit mask of the flag
+     * @return an {@linkplain Observable} of {@linkplain Boolean}
+     */
+    public Observable<Boolean> Observable(int flag)
+    {
+        return this.Changed().filter(x -> (x & flag) != 0).map(x -> this.Get(flag));
+    }
+    
+    /**
+     * Gets an {@linkplain ObservableValue} of {@linkplain Boolean} view of the provided flag that reads, writes and observes it through this {@linkplain ObservableFlags}.
+     * It serves the code written against an {@linkplain ObservableValue} of {@linkplain Boolean}, a new view is created on each call
+     * 
+     * @param flag the bit mask of the flag
+     * @return an {@linkplain ObservableValue} of {@linkplain Boolean}
+     */
+    public ObservableValue<Boolean> AsObservableValue(int flag)
+    {
+        return new ObservableValue<Boolean>(Boolean.class)
+        {
+            @Override
+            public Boolean Value()
+            {
+                return ObservableFlags.this.Get(flag);
+            }
+            
+            @Override
+            public void Value(Boolean value)
+            {
+                ObservableFlags.this.Set(flag, Boolean.TRUE.equals(value));
+            }
+            
+            @Override
+            public Observable<Boolean> Observable()
+            {
+                return ObservableFlags.this.Observable(flag);
+            }
+        };
+    }
+}
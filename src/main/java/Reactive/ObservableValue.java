@@ -24,8 +24,12 @@
 package Reactive;
 
 import java.lang.reflect.Type;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiConsumer;
 
+import Services.SchedulerService.SchedulerService;
 import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.subjects.PublishSubject;
 
 /**
@@ -68,9 +72,39 @@ public class ObservableValue<TValue>
     protected TValue value;
     
     /**
-     * The {@linkplain PublisherSubject} that serves to raise the OnNext event
+     * The {@linkplain AtomicReferenceFieldUpdater} that creates the {@linkplain #subject} on first subscription
      */
-    protected PublishSubject<TValue> subject = PublishSubject.create();
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ObservableValue, PublishSubject> SubjectUpdater = 
+            AtomicReferenceFieldUpdater.newUpdater(ObservableValue.class, PublishSubject.class, "subject");
+    
+    /**
+     * The {@linkplain PublisherSubject} that serves to raise the OnNext event, 
+     * null until the first subscription so that the values nobody observes do not pay for it. 
+     * It replaces the former protected subject field, the derived classes go through {@linkplain #GetSubject()} or {@linkplain #Emit(Object)}
+     */
+    private volatile PublishSubject<TValue> subject;
+    
+    /**
+     * Gets the {@linkplain PublishSubject} that serves to raise the OnNext event, creating it on first call. 
+     * Derived classes that only emit should rather go through {@linkplain #Emit(Object)} that does not create it
+     * 
+     * @return the {@linkplain PublishSubject}
+     */
+    protected PublishSubject<TValue> GetSubject()
+    {
+        return GetOrCreateSubject(SubjectUpdater, this);
+    }
+    
+    /**
+     * Emits the provided value to the observers, if any
+     * 
+     * @param value the {@linkplain TValue} to emit
+     */
+    protected void Emit(TValue value)
+    {
+        Emit(this.subject, value);
+    }
 
     /**
      * Gets the {@linkplain TValue}
@@ -93,7 +127,7 @@ public class ObservableValue<TValue>
 
     	if(this.value != null)
     	{
-            subject.onNext(value);
+            this.Emit(value);
     	}
     }
 
@@ -104,7 +138,72 @@ public class ObservableValue<TValue>
      */
     public Observable<TValue> Observable() 
     {
-        return subject.hide();
+        return Observable.defer(this::GetSubject);
+    }
+    
+    /**
+     * Gets the {@linkplain PublishSubject} held by the field the provided {@linkplain AtomicReferenceFieldUpdater} points to, 
+     * creating it when it does not exist yet. Concurrent first subscriptions all get the same {@linkplain PublishSubject}.
+     * 
+     * @param <TOwner> the type of the object that holds the field
+     * @param <TSubjectValue> the type of the values the {@linkplain PublishSubject} emits
+     * @param updater the {@linkplain AtomicReferenceFieldUpdater} of the volatile field
+     * @param owner the object that holds the field
+     * @return the {@linkplain PublishSubject}
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected static <TOwner, TSubjectValue> PublishSubject<TSubjectValue> GetOrCreateSubject(AtomicReferenceFieldUpdater<TOwner, PublishSubject> updater, TOwner owner)
+    {
+        PublishSubject<TSubjectValue> subject = updater.get(owner);
+        
+        if(subject == null)
+        {
+            updater.compareAndSet(owner, null, PublishSubject.create());
+            subject = updater.get(owner);
+        }
+        
+        return subject;
+    }
+    
+    /**
+     * Emits the provided value through the provided {@linkplain PublishSubject} unless it has not been created yet, 
+     * in which case nobody is listening
+     * 
+     * @param <TSubjectValue> the type of the values the {@linkplain PublishSubject} emits
+     * @param subject the {@linkplain PublishSubject}, possibly null
+     * @param value the value to emit
+     */
+    protected static <TSubjectValue> void Emit(PublishSubject<TSubjectValue> subject, TSubjectValue value)
+    {
+        if(subject != null)
+        {
+            subject.onNext(value);
+        }
+    }
+
+    /**
+     * Subscribes the provided owner to the changes of the value without this {@linkplain ObservableValue} keeping the owner reachable,
+     * see {@linkplain WeakSubscription}
+     * 
+     * @param <TOwner> the type of the owner
+     * @param owner the owner that is only weakly referenced
+     * @param onNext the {@linkplain BiConsumer} that receives the owner and the new value, it must not capture the owner
+     * @return a {@linkplain Disposable}
+     */
+    public <TOwner> Disposable SubscribeWeak(TOwner owner, BiConsumer<? super TOwner, ? super TValue> onNext)
+    {
+        return WeakSubscription.Subscribe(this.Observable(), owner, onNext);
+    }
+    
+    /**
+     * Gets the {@linkplain Observable} that can be subscribed to from the views, it delivers on the event dispatch thread
+     * of the {@linkplain SchedulerService#Current} and conflates the bursts of values so that only the latest one is delivered per event dispatch thread turn
+     * 
+     * @return an {@linkplain Observable}
+     */
+    public Observable<TValue> ObservableOnEdt() 
+    {
+        return SchedulerService.Current.ObserveOnEdt(this.Observable());
     }
     
     /**
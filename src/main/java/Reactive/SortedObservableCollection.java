@@ -0,0 +1,225 @@
+/*
+ * SortedObservableCollection.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The {@linkplain SortedObservableCollection} is a live view of the items of a source {@linkplain ObservableCollection} sorted by a {@linkplain Comparator}.
+ * The sort is stable, items that compare equal keep the order in which they arrived. Single items are placed by binary search,
+ * several items are merged in one pass. Call {@linkplain #Refresh()} when the sort key of items that are still in the source changes.
+ * 
+ * @param <TValue> the type of the items
+ */
+public class SortedObservableCollection<TValue> extends DerivedObservableCollection<TValue, TValue>
+{
+    /**
+     * The {@linkplain Comparator} that sorts the items
+     */
+    private final Comparator<? super TValue> comparator;
+    
+    /**
+     * Initializes a new {@linkplain SortedObservableCollection}
+     * 
+     * @param source the source {@linkplain ObservableCollection}
+     * @param comparator the {@linkplain Comparator} that sorts the items
+     */
+    public SortedObservableCollection(ObservableCollection<TValue> source, Comparator<? super TValue> comparator)
+    {
+        super(source);
+        this.comparator = Objects.requireNonNull(comparator);
+        this.Connect();
+    }
+
+    /**
+     * Applies the insertion of contiguous items in the {@linkplain #source}
+     * 
+     * @param index the index of the first inserted item in the {@linkplain #source}
+     * @param items the inserted items
+     */
+    @Override
+    protected void OnSourceInserted(int index, List<TValue> items)
+    {
+        if(items.size() == 1)
+        {
+            this.InsertItems(this.GetInsertionIndex(items.get(0)), items);
+            return;
+        }
+        
+        ArrayList<TValue> newItems = new ArrayList<>(items);
+        newItems.sort(this.comparator);
+        ArrayList<TValue> merged = new ArrayList<>(this.value.size() + newItems.size());
+        int existingIndex = 0;
+        int newIndex = 0;
+        
+        while (existingIndex < this.value.size() && newIndex < newItems.size())
+        {
+            merged.add(this.comparator.compare(newItems.get(newIndex), this.value.get(existingIndex)) < 0 
+                    ? newItems.get(newIndex++) 
+                    : this.value.get(existingIndex++));
+        }
+        
+        merged.addAll(this.value.subList(existingIndex, this.value.size()));
+        merged.addAll(newItems.subList(newIndex, newItems.size()));
+        this.ResetItems(merged);
+    }
+
+    /**
+     * Applies the removal of contiguous items from the {@linkplain #source}
+     * 
+     * @param index the index the first removed item had in the {@linkplain #source}
+     * @param items the removed items
+     */
+    @Override
+    protected void OnSourceRemoved(int index, List<TValue> items)
+    {
+        if(items.size() == 1)
+        {
+            this.RemoveItems(this.GetIndex(items.get(0)), 1);
+            return;
+        }
+        
+        Map<TValue, Integer> remainingCountByItem = new IdentityHashMap<>();
+        
+        for (TValue item : items)
+        {
+            remainingCountByItem.merge(item, 1, Integer::sum);
+        }
+        
+        this.RemoveItemsWhere(x -> 
+        {
+            Integer remainingCount = remainingCountByItem.get(x);
+            
+            if(remainingCount == null || remainingCount == 0)
+            {
+                return false;
+            }
+            
+            remainingCountByItem.put(x, remainingCount - 1);
+            return true;
+        });
+    }
+
+    /**
+     * Applies the replacement of one item of the {@linkplain #source}
+     * 
+     * @param index the index of the replaced item in the {@linkplain #source}
+     * @param oldItem the replaced item
+     * @param newItem the new item
+     */
+    @Override
+    protected void OnSourceReplaced(int index, TValue oldItem, TValue newItem)
+    {
+        int oldIndex = this.GetIndex(oldItem);
+        this.RemoveItems(oldIndex, 1);
+        
+        List<TValue> items = new ArrayList<>();
+        items.add(newItem);
+        this.InsertItems(this.GetInsertionIndex(newItem), items);
+    }
+
+    /**
+     * Ignores the move of one item of the {@linkplain #source} as the order of this view does not depend on it
+     * 
+     * @param oldIndex the index the item had
+     * @param newIndex the index the item has now
+     * @param item the moved item
+     */
+    @Override
+    protected void OnSourceMoved(int oldIndex, int newIndex, TValue item)
+    {
+    }
+
+    /**
+     * Recomputes the whole view from the {@linkplain #source}
+     */
+    @Override
+    protected void OnSourceReset()
+    {
+        ArrayList<TValue> items = new ArrayList<>(this.source);
+        items.sort(this.comparator);
+        this.ResetItems(items);
+    }
+    
+    /**
+     * Gets the index where the provided item is to be inserted, after the items that compare equal to it
+     * 
+     * @param item the item to insert
+     * @return the 0 based index
+     */
+    private int GetInsertionIndex(TValue item)
+    {
+        int low = 0;
+        int high = this.value.size();
+        
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            
+            if(this.comparator.compare(this.value.get(middle), item) <= 0)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        
+        return low;
+    }
+    
+    /**
+     * Gets the index of the provided item, it looks among the items that compare equal to it first 
+     * then falls back on a linear search in case the sort key of the item changed since it has been placed
+     * 
+     * @param item the item to find
+     * @return the 0 based index
+     */
+    private int GetIndex(TValue item)
+    {
+        for (int index = this.GetInsertionIndex(item) - 1; index >= 0 && this.comparator.compare(this.value.get(index), item) == 0; index--)
+        {
+            if(this.value.get(index) == item)
+            {
+                return index;
+            }
+        }
+        
+        for (int index = 0; index < this.value.size(); index++)
+        {
+            if(this.value.get(index) == item)
+            {
+                return index;
+            }
+        }
+        
+        throw new IllegalStateException("The removed item is not part of the sorted view");
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * WeakSubscription.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import java.lang.ref.WeakReference;
+import java.util.function.BiConsumer;
+
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.OnErrorNotImplementedException;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * The {@linkplain WeakSubscription} subscribes an owner to an {@linkplain Observable} without the {@linkplain Observable} keeping the owner reachable.
+ * Once the owner has been collected, the subscription disposes itself on the next emission. 
+ * The callbacks receive the owner as first argument and must not capture it, otherwise the owner stays reachable through them.
+ */
+public final class WeakSubscription
+{
+    /**
+     * Prevents the {@linkplain WeakSubscription} from being instantiated
+     */
+    private WeakSubscription()
+    {
+    }
+    
+    /**
+     * Subscribes the provided owner to the provided {@linkplain Observable}, the errors are relayed to the {@linkplain RxJavaPlugins}
+     * 
+     * @param <TOwner> the type of the owner
+     * @param <TValue> the type of the emitted values
+     * @param source the {@linkplain Observable} to subscribe to
+     * @param owner the owner that is only weakly referenced
+     * @param onNext the {@linkplain BiConsumer} that receives the owner and the emitted value
+     * @return a {@linkplain Disposable}
+     */
+    public static <TOwner, TValue> Disposable Subscribe(Observable<TValue> source, TOwner owner, BiConsumer<? super TOwner, ? super TValue> onNext)
+    {
+        return Subscribe(source, owner, onNext, (x, error) -> RxJavaPlugins.onError(new OnErrorNotImplementedException(error)));
+    }
+    
+    /**
+     * Subscribes the provided owner to the provided {@linkplain Observable}
+     * 
+     * @param <TOwner> the type of the owner
+     * @param <TValue> the type of the emitted values
+     * @param source the {@linkplain Observable} to subscribe to
+     * @param owner the owner that is only weakly referenced
+     * @param onNext the {@linkplain BiConsumer} that receives the owner and the emitted value
+     * @param onError the {@linkplain BiConsumer} that receives the owner and the error
+     * @return a {@linkplain Disposable}
+     */
+    public static <TOwner, TValue> Disposable Subscribe(Observable<TValue> source, TOwner owner, 
+            BiConsumer<? super TOwner, ? super TValue> onNext, BiConsumer<? super TOwner, ? super Throwable> onError)
+    {
+        WeakReference<TOwner> reference = new WeakReference<>(owner);
+        
+        return source.takeWhile(x -> reference.get() != null).subscribe(
+                x -> 
+                {
+                    TOwner currentOwner = reference.get();
+                    
+                    if(currentOwner != null)
+                    {
+                        onNext.accept(currentOwner, x);
+                    }
+                },
+                x -> 
+                {
+                    TOwner currentOwner = reference.get();
+                    
+                    if(currentOwner != null)
+                    {
+                        onError.accept(currentOwner, x);
+                    }
+                });
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * InMemoryDataSourceSettings.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.InMemoryDataSource;
+
+/**
+ * The {@linkplain InMemoryDataSourceSettings} sets the size of the synthetic data served by the {@linkplain InMemorySessionFactory}
+ * and the latency it simulates. Every setter returns this {@linkplain InMemoryDataSourceSettings} so the settings can be chained.
+ */
+public final class InMemoryDataSourceSettings
+{
+    /**
+     * The number of engineering models in the site directory
+     */
+    private int numberOfEngineeringModels = 1;
+
+    /**
+     * The number of iterations per engineering model
+     */
+    private int numberOfIterations = 1;
+
+    /**
+     * The number of parameter types in the site reference data library
+     */
+    private int numberOfParameterTypes = 10;
+
+    /**
+     * The number of element definitions per iteration
+     */
+    private int numberOfElementDefinitions = 100;
+
+    /**
+     * The number of element usages per element definition
+     */
+    private int numberOfElementUsages = 2;
+
+    /**
+     * The number of parameters per element definition
+     */
+    private int numberOfParameters = 5;
+
+    /**
+     * The number of options per iteration
+     */
+    private int numberOfOptions = 1;
+
+    /**
+     * The number of possible finite state lists per iteration
+     */
+    private int numberOfStateLists = 1;
+
+    /**
+     * The number of states per possible finite state list
+     */
+    private int numberOfStates = 2;
+
+    /**
+     * The number of requirements specifications per iteration
+     */
+    private int numberOfRequirementsSpecifications = 1;
+
+    /**
+     * The number of requirements per requirements specification
+     */
+    private int numberOfRequirements = 50;
+
+    /**
+     * The simulated latency in milliseconds of every round trip to the data source
+     */
+    private long latencyInMilliseconds;
+
+    /**
+     * Gets the number of engineering models in the site directory
+     * 
+     * @return an int
+     */
+    public int GetNumberOfEngineeringModels()
+    {
+        return this.numberOfEngineeringModels;
+    }
+
+    /**
+     * Sets the number of engineering models in the site directory
+     * 
+     * @param numberOfEngineeringModels the number of engineering models
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfEngineeringModels(int numberOfEngineeringModels)
+    {
+        this.numberOfEngineeringModels = RequireNotNegative(numberOfEngineeringModels);
+        return this;
+    }
+
+    /**
+     * Gets the number of iterations per engineering model
+     * 
+     * @return an int
+     */
+    public int GetNumberOfIterations()
+    {
+        return this.numberOfIterations;
+    }
+
+    /**
+     * Sets the number of iterations per engineering model
+     * 
+     * @param numberOfIterations the number of iterations
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfIterations(int numberOfIterations)
+    {
+        this.numberOfIterations = RequireNotNegative(numberOfIterations);
+        return this;
+    }
+
+    /**
+     * Gets the number of parameter types in the site reference data library
+     * 
+     * @return an int
+     */
+    public int GetNumberOfParameterTypes()
+    {
+        return this.numberOfParameterTypes;
+    }
+
+    /**
+     * Sets the number of parameter types in the site reference data library
+     * 
+     * @param numberOfParameterTypes the number of parameter types
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfParameterTypes(int numberOfParameterTypes)
+    {
+        this.numberOfParameterTypes = RequireNotNegative(numberOfParameterTypes);
+        return this;
+    }
+
+    /**
+     * Gets the number of element definitions per iteration
+     * 
+     * @return an int
+     */
+    public int GetNumberOfElementDefinitions()
+    {
+        return this.numberOfElementDefinitions;
+    }
+
+    /**
+     * Sets the number of element definitions per iteration
+     * 
+     * @param numberOfElementDefinitions the number of element definitions
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfElementDefinitions(int numberOfElementDefinitions)
+    {
+        this.numberOfElementDefinitions = RequireNotNegative(numberOfElementDefinitions);
+        return this;
+    }
+
+    /**
+     * Gets the number of element usages per element definition
+     * 
+     * @return an int
+     */
+    public int GetNumberOfElementUsages()
+    {
+        return this.numberOfElementUsages;
+    }
+
+    /**
+     * Sets the number of element usages per element definition
+     * 
+     * @param numberOfElementUsages the number of element usages
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfElementUsages(int numberOfElementUsages)
+    {
+        this.numberOfElementUsages = RequireNotNegative(numberOfElementUsages);
+        return this;
+    }
+
+    /**
+     * Gets the number of parameters per element definition
+     * 
+     * @return an int
+     */
+    public int GetNumberOfParameters()
+    {
+        return this.numberOfParameters;
+    }
+
+    /**
+     * Sets the number of parameters per element definition, capped by the number of parameter types
+     * 
+     * @param numberOfParameters the number of parameters
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfParameters(int numberOfParameters)
+    {
+        this.numberOfParameters = RequireNotNegative(numberOfParameters);
+        return this;
+    }
+
+    /**
+     * Gets the number of options per iteration
+     * 
+     * @return an int
+     */
+    public int GetNumberOfOptions()
+    {
+        return this.numberOfOptions;
+    }
+
+    /**
+     * Sets the number of options per iteration
+     * 
+     * @param numberOfOptions the number of options
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfOptions(int numberOfOptions)
+    {
+        this.numberOfOptions = RequireNotNegative(numberOfOptions);
+        return this;
+    }
+
+    /**
+     * Gets the number of possible finite state lists per iteration
+     * 
+     * @return an int
+     */
+    public int GetNumberOfStateLists()
+    {
+        return this.numberOfStateLists;
+    }
+
+    /**
+     * Sets the number of possible finite state lists per iteration
+     * 
+     * @param numberOfStateLists the number of possible finite state lists
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfStateLists(int numberOfStateLists)
+    {
+        this.numberOfStateLists = RequireNotNegative(numberOfStateLists);
+        return this;
+    }
+
+    /**
+     * Gets the number of states per possible finite state list
+     * 
+     * @return an int
+     */
+    public int GetNumberOfStates()
+    {
+        return this.numberOfStates;
+    }
+
+    /**
+     * Sets the number of states per possible finite state list
+     * 
+     * @param numberOfStates the number of states
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfStates(int numberOfStates)
+    {
+        this.numberOfStates = RequireNotNegative(numberOfStates);
+        return this;
+    }
+
+    /**
+     * Gets the number of requirements specifications per iteration
+     * 
+     * @return an int
+     */
+    public int GetNumberOfRequirementsSpecifications()
+    {
+        return this.numberOfRequirementsSpecifications;
+    }
+
+    /**
+     * Sets the number of requirements specifications per iteration
+     * 
+     * @param numberOfRequirementsSpecifications the number of requirements specifications
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfRequirementsSpecifications(int numberOfRequirementsSpecifications)
+    {
+        this.numberOfRequirementsSpecifications = RequireNotNegative(numberOfRequirementsSpecifications);
+        return this;
+    }
+
+    /**
+     * Gets the number of requirements per requirements specification
+     * 
+     * @return an int
+     */
+    public int GetNumberOfRequirements()
+    {
+        return this.numberOfRequirements;
+    }
+
+    /**
+     * Sets the number of requirements per requirements specification
+     * 
+     * @param numberOfRequirements the number of requirements
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetNumberOfRequirements(int numberOfRequirements)
+    {
+        this.numberOfRequirements = RequireNotNegative(numberOfRequirements);
+        return this;
+    }
+
+    /**
+     * Gets the simulated latency in milliseconds of every round trip to the data source
+     * 
+     * @return a long
+     */
+    public long GetLatencyInMilliseconds()
+    {
+        return this.latencyInMilliseconds;
+    }
+
+    /**
+     * Sets the simulated latency in milliseconds of every round trip to the data source
+     * 
+     * @param latencyInMilliseconds the latency, zero means the round trips complete immediately
+     * @return this {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings SetLatencyInMilliseconds(long latencyInMilliseconds)
+    {
+        if(latencyInMilliseconds < 0)
+        {
+            throw new IllegalArgumentException("The latency cannot be negative");
+        }
+        
+        this.latencyInMilliseconds = latencyInMilliseconds;
+        return this;
+    }
+
+    /**
+     * Verifies that the provided number is not negative
+     * 
+     * @param number the number to verify
+     * @return the provided number
+     */
+    private static int RequireNotNegative(int number)
+    {
+        if(number < 0)
+        {
+            throw new IllegalArgumentException("The number of things to generate cannot be negative");
+        }
+        
+        return number;
+    }
+}
@@ -0,0 +1,490 @@
+/*
+ * InMemorySession.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.InMemoryDataSource;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.commons.lang3.tuple.Pair;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import cdp4common.engineeringmodeldata.Iteration;
+import cdp4common.sitedirectorydata.DomainOfExpertise;
+import cdp4common.sitedirectorydata.EngineeringModelSetup;
+import cdp4common.sitedirectorydata.IterationSetup;
+import cdp4common.sitedirectorydata.Participant;
+import cdp4common.sitedirectorydata.Person;
+import cdp4common.sitedirectorydata.ReferenceDataLibrary;
+import cdp4common.sitedirectorydata.SiteDirectory;
+import cdp4dal.Assembler;
+import cdp4dal.Session;
+import cdp4dal.dal.Credentials;
+import cdp4dal.operations.Operation;
+import cdp4dal.operations.OperationContainer;
+import cdp4dal.operations.OperationKind;
+
+/**
+ * The {@linkplain InMemorySession} is the {@linkplain InvocationHandler} behind the {@linkplain Session}s created by the {@linkplain InMemorySessionFactory}.
+ * It serves the data generated by the {@linkplain SyntheticModelGenerator} and answers every round trip after the configured latency.
+ * Writes are applied to the stand-in server side data with a new revision number, the next refresh or reload brings them into the cache.
+ */
+final class InMemorySession implements InvocationHandler
+{
+    /**
+     * The number of threads created so far by the {@linkplain #scheduler}, used to name them
+     */
+    private static final AtomicInteger numberOfThreads = new AtomicInteger();
+
+    /**
+     * The {@linkplain ScheduledExecutorService} that completes the round trips once the latency has elapsed,
+     * with one thread per processor so that concurrent round trips do not queue behind each other
+     */
+    private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable ->
+    {
+        Thread thread = new Thread(runnable, String.format("DEHP-InMemoryDataSource-%s", numberOfThreads.incrementAndGet()));
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The current class logger
+     */
+    private final Logger logger = LogManager.getLogger();
+
+    /**
+     * The names of the {@linkplain Session} methods answered with a neutral result so far, each is logged once
+     */
+    private final Set<String> unsupportedMethods = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The {@linkplain InMemoryDataSourceSettings}
+     */
+    private final InMemoryDataSourceSettings settings;
+
+    /**
+     * The {@linkplain Credentials}
+     */
+    private final Credentials credentials;
+
+    /**
+     * The {@linkplain Assembler} that holds the cache
+     */
+    private final Assembler assembler;
+
+    /**
+     * The {@linkplain SyntheticModelGenerator}
+     */
+    private final SyntheticModelGenerator generator;
+
+    /**
+     * The generated {@linkplain Iteration}s by Iid, the stand-in for the server side data
+     */
+    private final Map<UUID, Iteration> generatedIterations = new HashMap<>();
+
+    /**
+     * The open {@linkplain Iteration}s with the {@linkplain DomainOfExpertise} and the {@linkplain Participant} they have been opened with
+     */
+    private final Map<Iteration, Pair<DomainOfExpertise, Participant>> openIterations = new LinkedHashMap<>();
+
+    /**
+     * The written {@linkplain cdp4common.dto.Thing}s not yet brought into the cache by a refresh or reload, by Iid
+     */
+    private final Map<UUID, cdp4common.dto.Thing> pendingChanges = new LinkedHashMap<>();
+
+    /**
+     * The Iids of the deleted {@linkplain cdp4common.dto.Thing}s not yet removed from the cache by a refresh or reload
+     */
+    private final Set<UUID> pendingDeletions = new HashSet<>();
+
+    /**
+     * The revision number of the last write
+     */
+    private int revisionNumber;
+
+    /**
+     * The active {@linkplain Person}
+     */
+    private final Person activePerson;
+
+    /**
+     * The {@linkplain SiteDirectory}, null until the session is open
+     */
+    private SiteDirectory siteDirectory;
+
+    /**
+     * Initializes a new {@linkplain InMemorySession}
+     * 
+     * @param settings the {@linkplain InMemoryDataSourceSettings}
+     * @param credentials the {@linkplain Credentials}
+     */
+    private InMemorySession(InMemoryDataSourceSettings settings, Credentials credentials)
+    {
+        this.settings = settings;
+        this.credentials = credentials;
+        this.assembler = new Assembler(credentials.getUri());
+        this.generator = new SyntheticModelGenerator(settings, this.assembler.getCache(), credentials.getUri());
+        this.activePerson = new Person(UUID.randomUUID(), this.assembler.getCache(), credentials.getUri());
+        this.activePerson.setShortName("SyntheticUser");
+    }
+
+    /**
+     * Creates a new {@linkplain Session} backed by a new {@linkplain InMemorySession}
+     * 
+     * @param settings the {@linkplain InMemoryDataSourceSettings}
+     * @param credentials the {@linkplain Credentials}
+     * @return a new {@linkplain Session}
+     */
+    static Session Create(InMemoryDataSourceSettings settings, Credentials credentials)
+    {
+        return (Session)Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[] { Session.class }, 
+                new InMemorySession(settings, credentials));
+    }
+
+    /**
+     * Handles the provided {@linkplain Method} call on the {@linkplain Session} proxy
+     * 
+     * @param proxy the {@linkplain Session} proxy
+     * @param method the called {@linkplain Method}
+     * @param arguments the arguments of the call
+     * @return the result of the call
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] arguments)
+    {
+        switch (method.getName())
+        {
+            case "open":
+                return this.RoundTrip(this::Open);
+            case "read":
+                return this.RoundTrip(() -> this.Read(arguments));
+            case "refresh":
+            case "reload":
+                return this.RoundTrip(this::ApplyPendingChanges);
+            case "write":
+                return this.RoundTrip(() -> this.Write((OperationContainer)arguments[0]));
+            case "close":
+                return this.RoundTrip(this::Close);
+            case "closeIterationSetup":
+                return this.RoundTrip(() -> this.CloseIterationSetup((IterationSetup)arguments[0]));
+            case "getAssembler":
+                return this.assembler;
+            case "getCredentials":
+                return this.credentials;
+            case "getDataSourceUri":
+                return this.credentials.getUri().toString();
+            case "getActivePerson":
+                return this.activePerson;
+            case "retrieveSiteDirectory":
+                return this.siteDirectory;
+            case "getOpenIterations":
+                return this.GetOpenIterations();
+            case "getOpenReferenceDataLibraries":
+                return this.GetOpenReferenceDataLibraries();
+            case "toString":
+                return String.format("InMemorySession %s", this.credentials.getUri());
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == arguments[0];
+            default:
+                return this.GetDefaultResult(method);
+        }
+    }
+
+    /**
+     * Gets a neutral result for a {@linkplain Session} method the in-memory data source does not simulate: 
+     * a completed round trip, an empty collection or map, false, zero or null depending on the return type.
+     * Logs a warning the first time each method is called so that a test relying on it notices
+     * 
+     * @param method the called {@linkplain Method}
+     * @return the neutral result
+     */
+    private Object GetDefaultResult(Method method)
+    {
+        Class<?> returnType = method.getReturnType();
+        
+        if(this.unsupportedMethods.add(method.getName()))
+        {
+            this.logger.warn(String.format("The in-memory data source does not simulate %s, it returns a neutral %s", method.getName(), returnType.getSimpleName()));
+        }
+        
+        if(CompletableFuture.class.isAssignableFrom(returnType))
+        {
+            return this.RoundTrip(() -> null);
+        }
+        
+        if(returnType.isPrimitive() && returnType != void.class)
+        {
+            return Array.get(Array.newInstance(returnType, 1), 0);
+        }
+        
+        if(returnType.isAssignableFrom(ImmutableList.class))
+        {
+            return ImmutableList.of();
+        }
+        
+        if(returnType.isAssignableFrom(ImmutableSet.class))
+        {
+            return ImmutableSet.of();
+        }
+        
+        if(returnType.isAssignableFrom(ImmutableMap.class))
+        {
+            return ImmutableMap.of();
+        }
+        
+        if(returnType == Optional.class)
+        {
+            return Optional.empty();
+        }
+        
+        return null;
+    }
+
+    /**
+     * Generates the {@linkplain SiteDirectory}
+     * 
+     * @return null
+     */
+    private synchronized Void Open()
+    {
+        if(this.siteDirectory == null)
+        {
+            this.siteDirectory = this.generator.GenerateSiteDirectory(this.activePerson);
+        }
+        
+        return null;
+    }
+
+    /**
+     * Reads the {@linkplain Iteration} if the provided arguments are an {@linkplain Iteration} and a {@linkplain DomainOfExpertise},
+     * generating its content on the first read. Any other read is a no-op.
+     * 
+     * @param arguments the arguments of the read call
+     * @return null
+     */
+    private synchronized Void Read(Object[] arguments)
+    {
+        if(arguments == null || arguments.length < 2 || !(arguments[0] instanceof Iteration) || !(arguments[1] instanceof DomainOfExpertise))
+        {
+            return null;
+        }
+        
+        UUID iterationIid = ((Iteration)arguments[0]).getIid();
+        DomainOfExpertise domain = (DomainOfExpertise)arguments[1];
+        
+        for (EngineeringModelSetup engineeringModelSetup : this.siteDirectory.getModel())
+        {
+            for (IterationSetup iterationSetup : engineeringModelSetup.getIterationSetup())
+            {
+                if(iterationSetup.getIterationIid().equals(iterationIid))
+                {
+                    Iteration iteration = this.generatedIterations.computeIfAbsent(iterationIid, 
+                            x -> this.generator.GenerateIteration(engineeringModelSetup, iterationSetup, domain));
+                    
+                    this.openIterations.put(iteration, new ImmutablePair<>(domain, engineeringModelSetup.getParticipant().get(0)));
+                    return null;
+                }
+            }
+        }
+        
+        throw new IllegalArgumentException(String.format("The iteration %s does not exist in the in-memory data source", iterationIid));
+    }
+
+    /**
+     * Applies the operations of the provided {@linkplain OperationContainer} to the stand-in server side data under a new revision number.
+     * Only the creations, updates and deletions are supported, the other kinds of operation are ignored.
+     * 
+     * @param operationContainer the {@linkplain OperationContainer}
+     * @return null
+     */
+    private synchronized Void Write(OperationContainer operationContainer)
+    {
+        int newRevisionNumber = ++this.revisionNumber;
+        
+        for (Operation operation : operationContainer.getOperations())
+        {
+            if(operation.getOperationKind() == OperationKind.DELETE)
+            {
+                UUID iid = operation.getOriginalThing().getIid();
+                this.pendingChanges.remove(iid);
+                this.pendingDeletions.add(iid);
+            }
+            else if(operation.getOperationKind() == OperationKind.CREATE || operation.getOperationKind() == OperationKind.UPDATE)
+            {
+                cdp4common.dto.Thing thing = operation.getModifiedThing();
+                thing.setRevisionNumber(newRevisionNumber);
+                this.pendingChanges.put(thing.getIid(), thing);
+                this.pendingDeletions.remove(thing.getIid());
+            }
+        }
+        
+        return null;
+    }
+
+    /**
+     * Brings the writes since the last refresh or reload into the cache, 
+     * which updates the cached {@linkplain cdp4common.commondata.Thing}s in place the same way the changes of a server would
+     * 
+     * @return null
+     */
+    private synchronized Void ApplyPendingChanges()
+    {
+        if(!this.pendingDeletions.isEmpty())
+        {
+            this.assembler.getCache().asMap().values().removeIf(x -> this.pendingDeletions.contains(x.getIid()));
+            this.pendingDeletions.clear();
+        }
+        
+        if(!this.pendingChanges.isEmpty())
+        {
+            List<cdp4common.dto.Thing> changes = new ArrayList<>(this.pendingChanges.values());
+            this.pendingChanges.clear();
+            this.assembler.synchronize(changes).join();
+        }
+        
+        return null;
+    }
+
+    /**
+     * Closes the {@linkplain Iteration} of the provided {@linkplain IterationSetup}
+     * 
+     * @param iterationSetup the {@linkplain IterationSetup}
+     * @return null
+     */
+    private synchronized Void CloseIterationSetup(IterationSetup iterationSetup)
+    {
+        this.openIterations.keySet().removeIf(x -> x.getIid().equals(iterationSetup.getIterationIid()));
+        return null;
+    }
+
+    /**
+     * Closes all the {@linkplain Iteration}s and clears the cache
+     * 
+     * @return null
+     */
+    private synchronized Void Close()
+    {
+        this.openIterations.clear();
+        this.generatedIterations.clear();
+        this.pendingChanges.clear();
+        this.pendingDeletions.clear();
+        this.assembler.getCache().invalidateAll();
+        this.siteDirectory = null;
+        return null;
+    }
+
+    /**
+     * Gets a copy of the open {@linkplain Iteration}s
+     * 
+     * @return an {@linkplain ImmutableMap}
+     */
+    private synchronized ImmutableMap<Iteration, Pair<DomainOfExpertise, Participant>> GetOpenIterations()
+    {
+        return ImmutableMap.copyOf(this.openIterations);
+    }
+
+    /**
+     * Gets the site reference data library and the model reference data libraries of the open {@linkplain Iteration}s
+     * 
+     * @return a {@linkplain Collection} of {@linkplain ReferenceDataLibrary}
+     */
+    private synchronized Collection<ReferenceDataLibrary> GetOpenReferenceDataLibraries()
+    {
+        Collection<ReferenceDataLibrary> referenceDataLibraries = new ArrayList<>();
+        
+        if(this.siteDirectory == null)
+        {
+            return referenceDataLibraries;
+        }
+        
+        referenceDataLibraries.addAll(this.siteDirectory.getSiteReferenceDataLibrary());
+        
+        for (Iteration iteration : this.openIterations.keySet())
+        {
+            referenceDataLibraries.addAll(iteration.getIterationSetup().getContainerOfType(EngineeringModelSetup.class).getRequiredRdl());
+        }
+        
+        return referenceDataLibraries;
+    }
+
+    /**
+     * Runs the provided round trip once the configured latency has elapsed
+     * 
+     * @param <T> the type of result
+     * @param roundTrip the {@linkplain Supplier} of the result
+     * @return a {@linkplain CompletableFuture} of the result
+     */
+    private <T> CompletableFuture<T> RoundTrip(Supplier<T> roundTrip)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable completion = () -> 
+        {
+            try
+            {
+                future.complete(roundTrip.get());
+            }
+            catch (Exception exception)
+            {
+                future.completeExceptionally(exception);
+            }
+        };
+        
+        if(this.settings.GetLatencyInMilliseconds() == 0)
+        {
+            completion.run();
+        }
+        else
+        {
+            scheduler.schedule(completion, this.settings.GetLatencyInMilliseconds(), TimeUnit.MILLISECONDS);
+        }
+        
+        return future;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * InMemorySessionFactory.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.InMemoryDataSource;
+
+import HubController.ISessionFactory;
+import cdp4dal.Session;
+import cdp4dal.dal.Credentials;
+
+/**
+ * The {@linkplain InMemorySessionFactory} is the {@linkplain ISessionFactory} that creates {@linkplain Session}s on synthetic, in-memory data.
+ * It lets the {@linkplain HubController.HubController} be opened, refreshed and written to without any CDP4 server, 
+ * typically to measure its throughput or to test it offline.
+ */
+public final class InMemorySessionFactory implements ISessionFactory
+{
+    /**
+     * The {@linkplain InMemoryDataSourceSettings}
+     */
+    private final InMemoryDataSourceSettings settings;
+
+    /**
+     * Initializes a new {@linkplain InMemorySessionFactory} with the default {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemorySessionFactory()
+    {
+        this(new InMemoryDataSourceSettings());
+    }
+
+    /**
+     * Initializes a new {@linkplain InMemorySessionFactory}
+     * 
+     * @param settings the {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemorySessionFactory(InMemoryDataSourceSettings settings)
+    {
+        this.settings = settings;
+    }
+
+    /**
+     * Gets the {@linkplain InMemoryDataSourceSettings}, changing them affects the {@linkplain Session}s created afterwards 
+     * and the latency of the existing ones
+     * 
+     * @return the {@linkplain InMemoryDataSourceSettings}
+     */
+    public InMemoryDataSourceSettings GetSettings()
+    {
+        return this.settings;
+    }
+
+    /**
+     * Creates a new in-memory {@linkplain Session} for the provided {@linkplain Credentials}
+     * 
+     * @param credentials the {@linkplain Credentials}, only the {@linkplain java.net.URI} is used
+     * @return a new {@linkplain Session}, not opened yet
+     */
+    @Override
+    public Session Create(Credentials credentials)
+    {
+        return InMemorySession.Create(this.settings, credentials);
+    }
+}
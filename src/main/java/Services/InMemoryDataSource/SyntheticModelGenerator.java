@@ -0,0 +1,335 @@
+/*
+ * SyntheticModelGenerator.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.InMemoryDataSource;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.cache.Cache;
+
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.ActualFiniteState;
+import cdp4common.engineeringmodeldata.ActualFiniteStateList;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.ElementUsage;
+import cdp4common.engineeringmodeldata.EngineeringModel;
+import cdp4common.engineeringmodeldata.Iteration;
+import cdp4common.engineeringmodeldata.Option;
+import cdp4common.engineeringmodeldata.Parameter;
+import cdp4common.engineeringmodeldata.ParameterValueSet;
+import cdp4common.engineeringmodeldata.PossibleFiniteState;
+import cdp4common.engineeringmodeldata.PossibleFiniteStateList;
+import cdp4common.engineeringmodeldata.Requirement;
+import cdp4common.engineeringmodeldata.RequirementsSpecification;
+import cdp4common.sitedirectorydata.BooleanParameterType;
+import cdp4common.sitedirectorydata.DomainOfExpertise;
+import cdp4common.sitedirectorydata.EngineeringModelSetup;
+import cdp4common.sitedirectorydata.IterationSetup;
+import cdp4common.sitedirectorydata.ModelReferenceDataLibrary;
+import cdp4common.sitedirectorydata.ParameterType;
+import cdp4common.sitedirectorydata.Participant;
+import cdp4common.sitedirectorydata.Person;
+import cdp4common.sitedirectorydata.SiteDirectory;
+import cdp4common.sitedirectorydata.SiteReferenceDataLibrary;
+import cdp4common.types.CacheKey;
+
+/**
+ * The {@linkplain SyntheticModelGenerator} generates a site directory and iterations of the size set by the {@linkplain InMemoryDataSourceSettings}
+ * and puts the generated {@linkplain Thing}s in the provided cache, the way the assembler does when the data comes from a server.
+ * The generated data is deterministic apart from the Iids.
+ */
+final class SyntheticModelGenerator
+{
+    /**
+     * The {@linkplain InMemoryDataSourceSettings}
+     */
+    private final InMemoryDataSourceSettings settings;
+
+    /**
+     * The cache to fill
+     */
+    private final Cache<CacheKey, Thing> cache;
+
+    /**
+     * The {@linkplain URI} of the data source
+     */
+    private final URI uri;
+
+    /**
+     * The {@linkplain ParameterType}s generated in the site reference data library
+     */
+    private final List<ParameterType> parameterTypes = new ArrayList<>();
+
+    /**
+     * Initializes a new {@linkplain SyntheticModelGenerator}
+     * 
+     * @param settings the {@linkplain InMemoryDataSourceSettings}
+     * @param cache the cache to fill
+     * @param uri the {@linkplain URI} of the data source
+     */
+    SyntheticModelGenerator(InMemoryDataSourceSettings settings, Cache<CacheKey, Thing> cache, URI uri)
+    {
+        this.settings = settings;
+        this.cache = cache;
+        this.uri = uri;
+    }
+
+    /**
+     * Generates the {@linkplain SiteDirectory} with one {@linkplain Person}, one {@linkplain DomainOfExpertise}, 
+     * one {@linkplain SiteReferenceDataLibrary} and the {@linkplain EngineeringModelSetup}s
+     * 
+     * @param person the {@linkplain Person} that is the active person and the participant of every model
+     * @return the generated {@linkplain SiteDirectory}
+     */
+    SiteDirectory GenerateSiteDirectory(Person person)
+    {
+        SiteDirectory siteDirectory = this.Add(new SiteDirectory(UUID.randomUUID(), this.cache, this.uri), null);
+        siteDirectory.setShortName("SiteDirectory");
+        siteDirectory.setName("Synthetic Site Directory");
+        
+        siteDirectory.getPerson().add(this.Add(person, null));
+        
+        DomainOfExpertise domain = this.Add(new DomainOfExpertise(UUID.randomUUID(), this.cache, this.uri), null);
+        domain.setShortName("SYS");
+        domain.setName("System Engineering");
+        siteDirectory.getDomain().add(domain);
+        
+        SiteReferenceDataLibrary siteReferenceDataLibrary = this.Add(new SiteReferenceDataLibrary(UUID.randomUUID(), this.cache, this.uri), null);
+        siteReferenceDataLibrary.setShortName("SRDL");
+        siteReferenceDataLibrary.setName("Synthetic Site Reference Data Library");
+        siteDirectory.getSiteReferenceDataLibrary().add(siteReferenceDataLibrary);
+        
+        for (int index = 0; index < this.settings.GetNumberOfParameterTypes(); index++)
+        {
+            BooleanParameterType parameterType = this.Add(new BooleanParameterType(UUID.randomUUID(), this.cache, this.uri), null);
+            this.SetNames(parameterType, "PT", index);
+            siteReferenceDataLibrary.getParameterType().add(parameterType);
+            this.parameterTypes.add(parameterType);
+        }
+        
+        for (int modelIndex = 0; modelIndex < this.settings.GetNumberOfEngineeringModels(); modelIndex++)
+        {
+            EngineeringModelSetup engineeringModelSetup = this.Add(new EngineeringModelSetup(UUID.randomUUID(), this.cache, this.uri), null);
+            this.SetNames(engineeringModelSetup, "Model", modelIndex);
+            engineeringModelSetup.setEngineeringModelIid(UUID.randomUUID());
+            engineeringModelSetup.getActiveDomain().add(domain);
+            siteDirectory.getModel().add(engineeringModelSetup);
+            
+            ModelReferenceDataLibrary modelReferenceDataLibrary = this.Add(new ModelReferenceDataLibrary(UUID.randomUUID(), this.cache, this.uri), null);
+            this.SetNames(modelReferenceDataLibrary, "MRDL", modelIndex);
+            modelReferenceDataLibrary.setRequiredRdl(siteReferenceDataLibrary);
+            engineeringModelSetup.getRequiredRdl().add(modelReferenceDataLibrary);
+            
+            Participant participant = this.Add(new Participant(UUID.randomUUID(), this.cache, this.uri), null);
+            participant.setPerson(person);
+            participant.getDomain().add(domain);
+            participant.setSelectedDomain(domain);
+            engineeringModelSetup.getParticipant().add(participant);
+            
+            for (int iterationIndex = 0; iterationIndex < this.settings.GetNumberOfIterations(); iterationIndex++)
+            {
+                IterationSetup iterationSetup = this.Add(new IterationSetup(UUID.randomUUID(), this.cache, this.uri), null);
+                iterationSetup.setIterationIid(UUID.randomUUID());
+                iterationSetup.setIterationNumber(iterationIndex + 1);
+                engineeringModelSetup.getIterationSetup().add(iterationSetup);
+            }
+        }
+        
+        return siteDirectory;
+    }
+
+    /**
+     * Generates the {@linkplain EngineeringModel} and the content of the {@linkplain Iteration} described by the provided setups
+     * 
+     * @param engineeringModelSetup the {@linkplain EngineeringModelSetup}
+     * @param iterationSetup the {@linkplain IterationSetup}
+     * @param domain the {@linkplain DomainOfExpertise} that owns the generated {@linkplain Thing}s
+     * @return the generated {@linkplain Iteration}
+     */
+    Iteration GenerateIteration(EngineeringModelSetup engineeringModelSetup, IterationSetup iterationSetup, DomainOfExpertise domain)
+    {
+        UUID iterationIid = iterationSetup.getIterationIid();
+        
+        EngineeringModel engineeringModel = this.Add(new EngineeringModel(engineeringModelSetup.getEngineeringModelIid(), this.cache, this.uri), null);
+        engineeringModel.setEngineeringModelSetup(engineeringModelSetup);
+        
+        Iteration iteration = this.Add(new Iteration(iterationIid, this.cache, this.uri), null);
+        iteration.setIterationSetup(iterationSetup);
+        engineeringModel.getIteration().add(iteration);
+        
+        for (int index = 0; index < this.settings.GetNumberOfOptions(); index++)
+        {
+            Option option = this.Add(new Option(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+            this.SetNames(option, "Option", index);
+            iteration.getOption().add(option);
+        }
+        
+        this.GenerateStates(iteration, domain);
+        this.GenerateElements(iteration, domain);
+        this.GenerateRequirements(iteration, domain);
+        
+        return iteration;
+    }
+
+    /**
+     * Generates the {@linkplain PossibleFiniteStateList}s and one {@linkplain ActualFiniteStateList} per {@linkplain PossibleFiniteStateList}
+     * 
+     * @param iteration the {@linkplain Iteration} to fill
+     * @param domain the owner {@linkplain DomainOfExpertise}
+     */
+    private void GenerateStates(Iteration iteration, DomainOfExpertise domain)
+    {
+        UUID iterationIid = iteration.getIid();
+        
+        for (int listIndex = 0; listIndex < this.settings.GetNumberOfStateLists(); listIndex++)
+        {
+            PossibleFiniteStateList possibleStateList = this.Add(new PossibleFiniteStateList(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+            this.SetNames(possibleStateList, "StateList", listIndex);
+            possibleStateList.setOwner(domain);
+            iteration.getPossibleFiniteStateList().add(possibleStateList);
+            
+            ActualFiniteStateList actualStateList = this.Add(new ActualFiniteStateList(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+            actualStateList.setOwner(domain);
+            actualStateList.getPossibleFiniteStateList().add(possibleStateList);
+            iteration.getActualFiniteStateList().add(actualStateList);
+            
+            for (int stateIndex = 0; stateIndex < this.settings.GetNumberOfStates(); stateIndex++)
+            {
+                PossibleFiniteState possibleState = this.Add(new PossibleFiniteState(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+                this.SetNames(possibleState, String.format("State%s_", listIndex), stateIndex);
+                possibleStateList.getPossibleState().add(possibleState);
+                
+                ActualFiniteState actualState = this.Add(new ActualFiniteState(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+                actualState.getPossibleState().add(possibleState);
+                actualStateList.getActualState().add(actualState);
+            }
+        }
+    }
+
+    /**
+     * Generates the {@linkplain ElementDefinition}s with their {@linkplain Parameter}s and {@linkplain ElementUsage}s.
+     * Each {@linkplain ElementDefinition} uses the ones that follow it, so the element tree is as deep as it is wide.
+     * 
+     * @param iteration the {@linkplain Iteration} to fill
+     * @param domain the owner {@linkplain DomainOfExpertise}
+     */
+    private void GenerateElements(Iteration iteration, DomainOfExpertise domain)
+    {
+        UUID iterationIid = iteration.getIid();
+        List<ElementDefinition> elementDefinitions = new ArrayList<>();
+        
+        for (int index = 0; index < this.settings.GetNumberOfElementDefinitions(); index++)
+        {
+            ElementDefinition elementDefinition = this.Add(new ElementDefinition(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+            this.SetNames(elementDefinition, "Element", index);
+            elementDefinition.setOwner(domain);
+            iteration.getElement().add(elementDefinition);
+            elementDefinitions.add(elementDefinition);
+            
+            for (int parameterIndex = 0; parameterIndex < Math.min(this.settings.GetNumberOfParameters(), this.parameterTypes.size()); parameterIndex++)
+            {
+                Parameter parameter = this.Add(new Parameter(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+                parameter.setParameterType(this.parameterTypes.get(parameterIndex));
+                parameter.setOwner(domain);
+                parameter.getValueSet().add(this.Add(new ParameterValueSet(UUID.randomUUID(), this.cache, this.uri), iterationIid));
+                elementDefinition.getParameter().add(parameter);
+            }
+        }
+        
+        if(!elementDefinitions.isEmpty())
+        {
+            iteration.setTopElement(elementDefinitions.get(0));
+        }
+        
+        for (int index = 0; index < elementDefinitions.size(); index++)
+        {
+            for (int usageIndex = 0; usageIndex < this.settings.GetNumberOfElementUsages() && index + usageIndex + 1 < elementDefinitions.size(); usageIndex++)
+            {
+                ElementDefinition usedElementDefinition = elementDefinitions.get(index + usageIndex + 1);
+                ElementUsage elementUsage = this.Add(new ElementUsage(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+                elementUsage.setShortName(String.format("%s_%s", usedElementDefinition.getShortName(), usageIndex));
+                elementUsage.setName(usedElementDefinition.getName());
+                elementUsage.setOwner(domain);
+                elementUsage.setElementDefinition(usedElementDefinition);
+                elementDefinitions.get(index).getContainedElement().add(elementUsage);
+            }
+        }
+    }
+
+    /**
+     * Generates the {@linkplain RequirementsSpecification}s and their {@linkplain Requirement}s
+     * 
+     * @param iteration the {@linkplain Iteration} to fill
+     * @param domain the owner {@linkplain DomainOfExpertise}
+     */
+    private void GenerateRequirements(Iteration iteration, DomainOfExpertise domain)
+    {
+        UUID iterationIid = iteration.getIid();
+        
+        for (int specificationIndex = 0; specificationIndex < this.settings.GetNumberOfRequirementsSpecifications(); specificationIndex++)
+        {
+            RequirementsSpecification specification = this.Add(new RequirementsSpecification(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+            this.SetNames(specification, "Specification", specificationIndex);
+            specification.setOwner(domain);
+            iteration.getRequirementsSpecification().add(specification);
+            
+            for (int index = 0; index < this.settings.GetNumberOfRequirements(); index++)
+            {
+                Requirement requirement = this.Add(new Requirement(UUID.randomUUID(), this.cache, this.uri), iterationIid);
+                this.SetNames(requirement, String.format("Req%s_", specificationIndex), index);
+                requirement.setOwner(domain);
+                specification.getRequirement().add(requirement);
+            }
+        }
+    }
+
+    /**
+     * Puts the provided {@linkplain Thing} in the cache
+     * 
+     * @param <TThing> the type of {@linkplain Thing}
+     * @param thing the {@linkplain Thing} to cache
+     * @param iterationIid the Iid of the containing {@linkplain Iteration}, null for the {@linkplain Thing}s outside of any {@linkplain Iteration}
+     * @return the provided {@linkplain Thing}
+     */
+    private <TThing extends Thing> TThing Add(TThing thing, UUID iterationIid)
+    {
+        this.cache.put(new CacheKey(thing.getIid(), iterationIid), thing);
+        return thing;
+    }
+
+    /**
+     * Sets the short name and the name of the provided {@linkplain Thing} from the provided prefix and index
+     * 
+     * @param thing the {@linkplain cdp4common.commondata.DefinedThing}
+     * @param prefix the prefix
+     * @param index the index
+     */
+    private void SetNames(cdp4common.commondata.DefinedThing thing, String prefix, int index)
+    {
+        thing.setShortName(String.format("%s%s", prefix, index));
+        thing.setName(String.format("%s %s", prefix, index));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * IIterationSnapshotService.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.IterationSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain IIterationSnapshotService} is the interface definition for {@linkplain IterationSnapshotService}
+ */
+public interface IIterationSnapshotService
+{
+    /**
+     * Gets a value indicating whether the user opted in for iteration snapshots
+     *
+     * @return a {@linkplain boolean}
+     */
+    boolean IsEnabled();
+
+    /**
+     * Saves a snapshot of the provided {@linkplain Thing}s, replacing any older snapshot of the same iteration
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @param revisionNumber the revision number of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param things the {@linkplain Collection} of {@linkplain Thing} to save
+     * @return a value indicating whether the snapshot has been saved
+     */
+    boolean Save(UUID engineeringModelIid, UUID iterationIid, int revisionNumber, Collection<Thing> things);
+
+    /**
+     * Loads the DTOs from the most recent snapshot of the provided iteration
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @return a {@linkplain List} of {@linkplain cdp4common.dto.Thing}, empty if there is no snapshot
+     */
+    List<cdp4common.dto.Thing> Load(UUID engineeringModelIid, UUID iterationIid);
+
+    /**
+     * Gets the revision number of the most recent snapshot of the provided iteration
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @return the revision number or -1 if there is no snapshot
+     */
+    int GetRevisionNumber(UUID engineeringModelIid, UUID iterationIid);
+}
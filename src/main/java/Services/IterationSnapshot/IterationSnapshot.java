@@ -0,0 +1,85 @@
+/*
+ * IterationSnapshot.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.IterationSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.gson.JsonElement;
+
+/**
+ * The {@linkplain IterationSnapshot} is the serialized form of an {@linkplain cdp4common.engineeringmodeldata.Iteration}
+ * saved on disk by the {@linkplain IterationSnapshotService}
+ */
+public class IterationSnapshot
+{
+    /**
+     * The Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     */
+    public UUID engineeringModelIid;
+
+    /**
+     * The Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     */
+    public UUID iterationIid;
+
+    /**
+     * The revision number of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel} at the time the snapshot was taken
+     */
+    public int revisionNumber;
+
+    /**
+     * The serialized DTOs
+     */
+    public List<Entry> things = new ArrayList<>();
+
+    /**
+     * The {@linkplain Entry} is one serialized DTO along with its type
+     */
+    public static class Entry
+    {
+        /**
+         * The fully qualified class name of the DTO
+         */
+        public String type;
+
+        /**
+         * The DTO content
+         */
+        public JsonElement content;
+
+        /**
+         * Initializes a new {@linkplain Entry}
+         *
+         * @param type the fully qualified class name of the DTO
+         * @param content the DTO content
+         */
+        public Entry(String type, JsonElement content)
+        {
+            this.type = type;
+            this.content = content;
+        }
+    }
+}
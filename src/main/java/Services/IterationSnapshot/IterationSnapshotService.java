@@ -0,0 +1,353 @@
+/*
+ * IterationSnapshotService.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.IterationSnapshot;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.Gson;
+
+import Services.UserPreferenceService.IUserPreferenceService;
+import Services.UserPreferenceService.UserPreference;
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain IterationSnapshotService} saves and loads gzipped json snapshots of iterations so adapters can show
+ * the last opened iteration before the server has answered. There is one snapshot per model and iteration, the file name also holds its revision number.
+ */
+public class IterationSnapshotService implements IIterationSnapshotService
+{
+    /**
+     * The current class logger
+     */
+    private final Logger logger = LogManager.getLogger();
+
+    /**
+     * The name of the folder where the snapshots are stored
+     */
+    public static final String SnapshotDirectoryName = "IterationSnapshots";
+
+    /**
+     * The snapshot file extension
+     */
+    public static final String SnapshotFileExtension = ".snapshot.json.gz";
+
+    /**
+     * The {@linkplain IUserPreferenceService}
+     */
+    private final IUserPreferenceService userPreferenceService;
+
+    /**
+     * The {@linkplain Gson} converter
+     */
+    private final Gson jsonConverter = new Gson();
+
+    /**
+     * The directory that holds the snapshot files, only created by the first {@linkplain #Save(UUID, UUID, int, Collection)}
+     */
+    private File snapshotDirectory = new File(new File(new File(System.getProperty("user.home"), ".rheagroup"), "DEHAdapterSettingFile"), SnapshotDirectoryName);
+
+    /**
+     * Initializes a new {@linkplain IterationSnapshotService}
+     *
+     * @param userPreferenceService the {@linkplain IUserPreferenceService}
+     */
+    public IterationSnapshotService(IUserPreferenceService userPreferenceService)
+    {
+        this.userPreferenceService = userPreferenceService;
+    }
+
+    /**
+     * Gets a value indicating whether the user opted in for iteration snapshots
+     *
+     * @return a {@linkplain boolean}
+     */
+    @Override
+    public boolean IsEnabled()
+    {
+        UserPreference userPreference = this.userPreferenceService.GetUserPreference();
+        return userPreference != null && userPreference.useIterationSnapshot;
+    }
+
+    /**
+     * Saves a snapshot of the provided {@linkplain Thing}s, replacing any older snapshot of the same iteration
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @param revisionNumber the revision number of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param things the {@linkplain Collection} of {@linkplain Thing} to save
+     * @return a value indicating whether the snapshot has been saved
+     */
+    @Override
+    public boolean Save(UUID engineeringModelIid, UUID iterationIid, int revisionNumber, Collection<Thing> things)
+    {
+        if(revisionNumber == this.GetRevisionNumber(engineeringModelIid, iterationIid))
+        {
+            return true;
+        }
+
+        IterationSnapshot snapshot = new IterationSnapshot();
+        snapshot.engineeringModelIid = engineeringModelIid;
+        snapshot.iterationIid = iterationIid;
+        snapshot.revisionNumber = revisionNumber;
+
+        for (Thing thing : things)
+        {
+            cdp4common.dto.Thing dto = thing.toDto();
+            snapshot.things.add(new IterationSnapshot.Entry(dto.getClass().getName(), this.jsonConverter.toJsonTree(dto)));
+        }
+
+        if(!this.CreateSnapshotDirectory())
+        {
+            return false;
+        }
+        
+        File file = new File(this.snapshotDirectory, this.GetFileName(engineeringModelIid, iterationIid, revisionNumber));
+        File temporaryFile = new File(this.snapshotDirectory, file.getName() + ".tmp");
+
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(temporaryFile)), StandardCharsets.UTF_8))
+        {
+            this.jsonConverter.toJson(snapshot, writer);
+        }
+        catch (IOException exception)
+        {
+            this.logger.error(MessageFormat.format("Could not write the iteration snapshot {0} because {1}", file.getAbsolutePath(), exception));
+            this.Delete(temporaryFile);
+            return false;
+        }
+
+        try
+        {
+            this.MoveInPlace(temporaryFile, file);
+        }
+        catch (IOException exception)
+        {
+            this.logger.error(MessageFormat.format("Could not write the iteration snapshot {0} because {1}", file.getAbsolutePath(), exception));
+            this.Delete(temporaryFile);
+            return false;
+        }
+
+        for (File olderSnapshot : this.GetSnapshotFiles(engineeringModelIid, iterationIid))
+        {
+            if(!olderSnapshot.equals(file))
+            {
+                this.Delete(olderSnapshot);
+            }
+        }
+
+        this.logger.info(String.format("Iteration snapshot saved with %s things at revision %s", snapshot.things.size(), revisionNumber));
+        return true;
+    }
+
+    /**
+     * Moves the provided written temporary file to the provided snapshot file, atomically when the file system supports it, 
+     * so that the previous snapshots are only deleted once the new one is in place
+     *
+     * @param temporaryFile the written temporary {@linkplain File}
+     * @param file the snapshot {@linkplain File}
+     * @throws IOException when the file could not be moved
+     */
+    private void MoveInPlace(File temporaryFile, File file) throws IOException
+    {
+        try
+        {
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException exception)
+        {
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads the DTOs from the most recent snapshot of the provided iteration
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @return a {@linkplain List} of {@linkplain cdp4common.dto.Thing}, empty if there is no snapshot
+     */
+    @Override
+    public List<cdp4common.dto.Thing> Load(UUID engineeringModelIid, UUID iterationIid)
+    {
+        Optional<File> file = this.GetLatestSnapshotFile(engineeringModelIid, iterationIid);
+
+        if(!file.isPresent())
+        {
+            return Collections.emptyList();
+        }
+
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(new FileInputStream(file.get())), StandardCharsets.UTF_8))
+        {
+            IterationSnapshot snapshot = this.jsonConverter.fromJson(reader, IterationSnapshot.class);
+            List<cdp4common.dto.Thing> things = new ArrayList<>();
+
+            for (IterationSnapshot.Entry entry : snapshot.things)
+            {
+                things.add((cdp4common.dto.Thing)this.jsonConverter.fromJson(entry.content, Class.forName(entry.type)));
+            }
+
+            this.logger.info(String.format("Iteration snapshot loaded with %s things at revision %s", things.size(), snapshot.revisionNumber));
+            return things;
+        }
+        catch (Exception exception)
+        {
+            this.logger.error(MessageFormat.format("Could not read the iteration snapshot {0} because {1}", file.get().getAbsolutePath(), exception));
+            this.Delete(file.get());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Gets the revision number of the most recent snapshot of the provided iteration
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @return the revision number or -1 if there is no snapshot
+     */
+    @Override
+    public int GetRevisionNumber(UUID engineeringModelIid, UUID iterationIid)
+    {
+        return this.GetLatestSnapshotFile(engineeringModelIid, iterationIid)
+                .map(this::GetRevisionNumber)
+                .orElse(-1);
+    }
+
+    /**
+     * Gets the snapshot file with the highest revision number for the provided iteration
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @return an {@linkplain Optional} of {@linkplain File}
+     */
+    private Optional<File> GetLatestSnapshotFile(UUID engineeringModelIid, UUID iterationIid)
+    {
+        return this.GetSnapshotFiles(engineeringModelIid, iterationIid).stream()
+                .max(Comparator.comparingInt(this::GetRevisionNumber));
+    }
+
+    /**
+     * Gets all the snapshot files of the provided iteration
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @return a {@linkplain List} of {@linkplain File}
+     */
+    private List<File> GetSnapshotFiles(UUID engineeringModelIid, UUID iterationIid)
+    {
+        String prefix = String.format("%s_%s_", engineeringModelIid, iterationIid);
+        File[] files = this.snapshotDirectory.listFiles((directory, name) -> name.startsWith(prefix) && name.endsWith(SnapshotFileExtension));
+        return files == null ? Collections.emptyList() : Arrays.asList(files);
+    }
+
+    /**
+     * Gets the revision number held by the provided snapshot file name
+     *
+     * @param file the snapshot {@linkplain File}
+     * @return the revision number or -1 if the name is not one of a snapshot
+     */
+    private int GetRevisionNumber(File file)
+    {
+        String name = file.getName();
+        String revision = name.substring(name.lastIndexOf('_') + 1, name.length() - SnapshotFileExtension.length());
+
+        try
+        {
+            return Integer.parseInt(revision);
+        }
+        catch (NumberFormatException exception)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the file name of a snapshot
+     *
+     * @param engineeringModelIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.EngineeringModel}
+     * @param iterationIid the Iid of the {@linkplain cdp4common.engineeringmodeldata.Iteration}
+     * @param revisionNumber the revision number
+     * @return a {@linkplain String}
+     */
+    private String GetFileName(UUID engineeringModelIid, UUID iterationIid, int revisionNumber)
+    {
+        return String.format("%s_%s_%s%s", engineeringModelIid, iterationIid, revisionNumber, SnapshotFileExtension);
+    }
+
+    /**
+     * Deletes the provided file and logs a failure
+     *
+     * @param file the {@linkplain File} to delete
+     */
+    private void Delete(File file)
+    {
+        try
+        {
+            Files.deleteIfExists(file.toPath());
+        }
+        catch (IOException exception)
+        {
+            this.logger.error(MessageFormat.format("Could not delete the file {0} because {1}", file.getAbsolutePath(), exception));
+        }
+    }
+
+    /**
+     * Creates the directory that holds the snapshot files if it does not exist yet
+     *
+     * @return a value indicating whether the directory exists
+     */
+    private boolean CreateSnapshotDirectory()
+    {
+        if(!this.snapshotDirectory.exists() && !this.snapshotDirectory.mkdirs())
+        {
+            this.logger.error(MessageFormat.format("Could not create specified directory: {0}", this.snapshotDirectory.getAbsolutePath()));
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * BatchMappingResult.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingEngineService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@linkplain BatchMappingResult} holds the outcome of {@linkplain IMappingEngineService#MapAll(java.util.Collection)}: 
+ * the outputs in the order of the inputs, and the failures by input index. 
+ * The output of an input that failed or that no rule applies to is null.
+ */
+public final class BatchMappingResult
+{
+    /**
+     * The outputs in the order of the inputs
+     */
+    private final List<Object> outputs;
+    
+    /**
+     * The failures by index of the input that caused them
+     */
+    private final Map<Integer, Exception> failures = new TreeMap<>();
+    
+    /**
+     * Initializes a new {@linkplain BatchMappingResult}
+     * 
+     * @param outputs the outputs in the order of the inputs
+     * @param failures the failures at the index of the input that caused them, null where the input did not fail
+     */
+    BatchMappingResult(Object[] outputs, Exception[] failures)
+    {
+        this.outputs = Collections.unmodifiableList(Arrays.asList(outputs));
+        
+        for (int index = 0; index < failures.length; index++)
+        {
+            if(failures[index] != null)
+            {
+                this.failures.put(index, failures[index]);
+            }
+        }
+    }
+    
+    /**
+     * Gets the outputs in the order of the inputs
+     * 
+     * @return an unmodifiable {@linkplain List} of output, null at the index of the inputs that failed or were not mapped
+     */
+    public List<Object> GetOutputs()
+    {
+        return this.outputs;
+    }
+    
+    /**
+     * Gets the failures by index of the input that caused them
+     * 
+     * @return an unmodifiable sorted {@linkplain Map} of input index and {@linkplain Exception}
+     */
+    public Map<Integer, Exception> GetFailures()
+    {
+        return Collections.unmodifiableMap(this.failures);
+    }
+    
+    /**
+     * Gets a value indicating whether the mapping of any input failed
+     * 
+     * @return a {@linkplain boolean}
+     */
+    public boolean HasFailures()
+    {
+        return !this.failures.isEmpty();
+    }
+}
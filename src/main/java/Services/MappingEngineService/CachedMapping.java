@@ -0,0 +1,121 @@
+/*
+ * CachedMapping.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingEngineService;
+
+import java.util.Objects;
+
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain CachedMapping} is the output of one {@linkplain MappingRule} for one input, 
+ * valid as long as the input fingerprint is the same and none of the {@linkplain Thing}s the rule read has a new revision
+ */
+final class CachedMapping
+{
+    /**
+     * The {@linkplain MappingRule} that produced the {@linkplain #output}
+     */
+    private final MappingRule<?, ?> rule;
+    
+    /**
+     * The fingerprint of the input when it was transformed
+     */
+    private final Object fingerprint;
+    
+    /**
+     * The output of the {@linkplain #rule}
+     */
+    private final Object output;
+    
+    /**
+     * The {@linkplain Thing}s the {@linkplain #rule} read
+     */
+    private final Thing[] dependencies;
+    
+    /**
+     * The revision numbers of the {@linkplain #dependencies} when they were read
+     */
+    private final int[] revisionNumbers;
+    
+    /**
+     * Initializes a new {@linkplain CachedMapping}
+     * 
+     * @param rule the {@linkplain MappingRule} that produced the output
+     * @param fingerprint the fingerprint of the input when it was transformed
+     * @param output the output of the rule
+     * @param recorder the {@linkplain MappingDependencyRecorder} that recorded the {@linkplain Thing}s the rule read
+     */
+    CachedMapping(MappingRule<?, ?> rule, Object fingerprint, Object output, MappingDependencyRecorder recorder)
+    {
+        this.rule = rule;
+        this.fingerprint = fingerprint;
+        this.output = output;
+        this.dependencies = recorder.GetThings();
+        this.revisionNumbers = recorder.GetRevisionNumbers();
+    }
+    
+    /**
+     * Gets the output of the rule
+     * 
+     * @return the output
+     */
+    Object GetOutput()
+    {
+        return this.output;
+    }
+    
+    /**
+     * Records the {@linkplain Thing}s the {@linkplain #rule} read in the recording of the current thread, if any, 
+     * so that a rule that reuses this output while being recorded depends on them as well
+     */
+    void ReplayDependencies()
+    {
+        MappingDependencyRecorder.Record(this.dependencies, this.revisionNumbers);
+    }
+    
+    /**
+     * Gets a value indicating whether this output still stands for the provided rule and input fingerprint
+     * 
+     * @param currentRule the {@linkplain MappingRule} that applies to the input now
+     * @param currentFingerprint the fingerprint of the input now
+     * @return a {@linkplain boolean}
+     */
+    boolean IsValidFor(MappingRule<?, ?> currentRule, Object currentFingerprint)
+    {
+        if(this.rule != currentRule || !Objects.equals(this.fingerprint, currentFingerprint))
+        {
+            return false;
+        }
+        
+        for (int index = 0; index < this.dependencies.length; index++)
+        {
+            if(this.dependencies[index].getRevisionNumber() != this.revisionNumbers[index])
+            {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+}
@@ -23,6 +23,8 @@
  */
 package Services.MappingEngineService;
 
+import java.util.Collection;
+
 /**
  * The {@linkplain IMappingEngineService} is the main interface definition for the {@linkplain MappingEngine}. It's purpose is to be used by the IoC
  */
@@ -35,4 +37,42 @@ public interface IMappingEngineService
      * @return the output of the rule
      */
     Object Map(Object input);
+    
+    /**
+     * Maps the provided {@linkplain input} to another type if a rule is found, the rule receives the provided {@linkplain MappingContext}
+     * to report its progress and to check for cancellation
+     * 
+     * @param input the input to be mapped
+     * @param context the {@linkplain MappingContext}
+     * @return the output of the rule
+     */
+    Object Map(Object input, MappingContext context);
+
+    /**
+     * Maps all the provided inputs, the inputs of the thread safe rules in parallel, see {@linkplain IMappingRule#IsThreadSafe()}. 
+     * A failing input does not abort the others.
+     * 
+     * @param inputs the inputs to be mapped
+     * @return a {@linkplain BatchMappingResult} with the outputs in the order of the inputs and the failures
+     */
+    BatchMappingResult MapAll(Collection<?> inputs);
+    
+    /**
+     * Maps all the provided inputs, reporting one item of progress per input to the provided {@linkplain MappingContext}. 
+     * Once the context is cancelled the inputs not started yet are skipped
+     * 
+     * @param inputs the inputs to be mapped
+     * @param context the {@linkplain MappingContext}
+     * @return a {@linkplain BatchMappingResult} with the outputs in the order of the inputs and the failures
+     */
+    BatchMappingResult MapAll(Collection<?> inputs, MappingContext context);
+
+    /**
+     * Clears the cached outputs of the rules that opted in the result cache, see {@linkplain IMappingRule#GetFingerprint(Object)}.
+     * The cache cannot tell on its own when an output stops standing for its input beyond the fingerprint and the revisions 
+     * of the {@linkplain cdp4common.commondata.Thing}s the rule read, so the adapters have to call it when the session is closed 
+     * or another iteration is opened, since the cached outputs reference {@linkplain cdp4common.commondata.Thing}s of the previous one, 
+     * and whenever something a rule reads but does not declare changes, such as the mapping configuration or the user preferences
+     */
+    void ClearCache();
 }
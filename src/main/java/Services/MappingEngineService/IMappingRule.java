@@ -38,4 +38,45 @@ public interface IMappingRule<TOutput>
      * @return a {@linkplain TOutput} object
      */
     TOutput Transform(Object input);
+    
+    /**
+     * Transforms a object of type {@linkplain TInput} to another one of type {@linkplain TOutput} within the provided {@linkplain MappingContext}.
+     * Long rules override it to report their progress and to call {@linkplain MappingContext#ThrowIfCancelled()} between items, 
+     * the default ignores the context
+     * 
+     * @param input the input object to transform
+     * @param context the {@linkplain MappingContext} of the current mapping run
+     * @return a {@linkplain TOutput} object
+     */
+    default TOutput Transform(Object input, MappingContext context)
+    {
+        return this.Transform(input);
+    }
+    
+    /**
+     * Gets a value indicating whether {@linkplain #Transform(Object)} can run on several threads at once. 
+     * The {@linkplain IMappingEngineService#MapAll(java.util.Collection)} only maps in parallel the inputs of the thread safe rules, 
+     * the others are mapped one after the other
+     * 
+     * @return false unless the rule overrides it
+     */
+    default boolean IsThreadSafe()
+    {
+        return false;
+    }
+    
+    /**
+     * Gets the fingerprint of the content of the provided input, used to opt in the result cache of the {@linkplain IMappingEngineService}.
+     * As long as the same input instance has an equal fingerprint and none of the {@linkplain cdp4common.commondata.Thing}s 
+     * declared through {@linkplain MappingRule#DependsOn(cdp4common.commondata.Thing)} has a new revision, 
+     * the previous output is returned instead of being transformed again. The cached output is shared between the calls, 
+     * so only rules whose callers do not modify the output should opt in
+     * 
+     * @param input the input about to be transformed
+     * @return an {@linkplain Object} that implements equals, or null when the output must not be cached, which is the default
+     */
+    default Object GetFingerprint(Object input)
+    {
+        return null;
+    }
 }
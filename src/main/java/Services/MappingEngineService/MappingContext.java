@@ -0,0 +1,210 @@
+/*
+ * MappingContext.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingEngineService;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@linkplain MappingContext} is passed to the {@linkplain IMappingRule}s during one mapping run. 
+ * It carries the progress of the run, reported to an optional {@linkplain IMappingProgressSink}, and a cancellation flag
+ * that long rules check between items so they stop promptly once the run is cancelled
+ */
+public final class MappingContext
+{
+    /**
+     * The maximum number of progress reports per run, the sink is not called for every item of a large run
+     */
+    public static final long MaximumNumberOfReports = 200;
+    
+    /**
+     * The {@linkplain IMappingProgressSink} the progress is reported to, or null
+     */
+    private final IMappingProgressSink progressSink;
+    
+    /**
+     * The {@linkplain MappingContext} this one has been created from through {@linkplain #CreateChild()}, or null
+     */
+    private final MappingContext parent;
+    
+    /**
+     * The number of items processed so far
+     */
+    private final AtomicLong processedItems = new AtomicLong();
+    
+    /**
+     * The total number of items to process
+     */
+    private volatile long totalItems;
+    
+    /**
+     * A value indicating whether the run has been cancelled
+     */
+    private volatile boolean isCancelled;
+    
+    /**
+     * Initializes a new {@linkplain MappingContext} that does not report its progress
+     */
+    public MappingContext()
+    {
+        this(null);
+    }
+    
+    /**
+     * Initializes a new {@linkplain MappingContext}
+     * 
+     * @param progressSink the {@linkplain IMappingProgressSink} the progress is reported to, or null
+     */
+    public MappingContext(IMappingProgressSink progressSink)
+    {
+        this(progressSink, null);
+    }
+    
+    /**
+     * Initializes a new {@linkplain MappingContext}
+     * 
+     * @param progressSink the {@linkplain IMappingProgressSink} the progress is reported to, or null
+     * @param parent the parent {@linkplain MappingContext} whose cancellation this one follows, or null
+     */
+    private MappingContext(IMappingProgressSink progressSink, MappingContext parent)
+    {
+        this.progressSink = progressSink;
+        this.parent = parent;
+    }
+    
+    /**
+     * Creates a {@linkplain MappingContext} for one item of this run. It is cancelled as soon as this context is, 
+     * but it keeps its own progress and does not report it, so that a rule calling {@linkplain #SetTotalItems(long)} 
+     * or {@linkplain #Advance()} on it cannot alter the progress of this run
+     * 
+     * @return a new {@linkplain MappingContext}
+     */
+    public MappingContext CreateChild()
+    {
+        return new MappingContext(null, this);
+    }
+    
+    /**
+     * Cancels the run, the remaining items are not mapped
+     */
+    public void Cancel()
+    {
+        this.isCancelled = true;
+    }
+    
+    /**
+     * Gets a value indicating whether the run has been cancelled
+     * 
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsCancelled()
+    {
+        return this.isCancelled || (this.parent != null && this.parent.IsCancelled());
+    }
+    
+    /**
+     * Throws a {@linkplain CancellationException} if the run has been cancelled
+     * 
+     * @throws CancellationException when the run has been cancelled
+     */
+    public void ThrowIfCancelled()
+    {
+        if(this.IsCancelled())
+        {
+            throw new CancellationException("The mapping has been cancelled");
+        }
+    }
+    
+    /**
+     * Sets the total number of items to process and restarts the progress from zero. 
+     * The {@linkplain IMappingEngineService#MapAll(java.util.Collection, MappingContext)} sets it to the number of inputs 
+     * and hands each rule a child context from {@linkplain #CreateChild()}, so rules are free to set it for their own items
+     * 
+     * @param totalItems the total number of items
+     */
+    public void SetTotalItems(long totalItems)
+    {
+        this.totalItems = Math.max(0, totalItems);
+        this.processedItems.set(0);
+        this.Report(0);
+    }
+    
+    /**
+     * Gets the total number of items to process
+     * 
+     * @return a long
+     */
+    public long GetTotalItems()
+    {
+        return this.totalItems;
+    }
+    
+    /**
+     * Gets the number of items processed so far
+     * 
+     * @return a long
+     */
+    public long GetProcessedItems()
+    {
+        return this.processedItems.get();
+    }
+    
+    /**
+     * Records that one more item has been processed
+     */
+    public void Advance()
+    {
+        this.Advance(1);
+    }
+    
+    /**
+     * Records that the provided number of items have been processed. 
+     * The sink is called at most {@linkplain #MaximumNumberOfReports} times per run, and always for the last item
+     * 
+     * @param numberOfItems the number of items processed since the last call
+     */
+    public void Advance(long numberOfItems)
+    {
+        long processed = this.processedItems.addAndGet(numberOfItems);
+        long step = Math.max(1, this.totalItems / MaximumNumberOfReports);
+        
+        if(processed >= this.totalItems || processed / step != (processed - numberOfItems) / step)
+        {
+            this.Report(processed);
+        }
+    }
+    
+    /**
+     * Reports the provided progress to the sink, if any
+     * 
+     * @param processed the number of items processed
+     */
+    private void Report(long processed)
+    {
+        if(this.progressSink != null)
+        {
+            this.progressSink.Report(Math.min(processed, this.totalItems), this.totalItems);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MappingDependencyRecorder.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingEngineService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain MappingDependencyRecorder} records the {@linkplain Thing}s a {@linkplain MappingRule} reads while it transforms one cached input,
+ * with their revision numbers at that time, so the {@linkplain MappingEngineService} knows when the cached output is outdated.
+ * There is one recording at a time per thread, nested recordings hand what they recorded to the outer one and restore it when they stop, 
+ * since the output of the outer rule depends on everything the inner rules read.
+ */
+final class MappingDependencyRecorder
+{
+    /**
+     * The recording in progress on the current thread
+     */
+    private static final ThreadLocal<MappingDependencyRecorder> current = new ThreadLocal<>();
+    
+    /**
+     * The recording this one has interrupted, restored when this one stops
+     */
+    private final MappingDependencyRecorder outerRecorder;
+    
+    /**
+     * The {@linkplain Thing}s read so far
+     */
+    private final List<Thing> things = new ArrayList<>();
+    
+    /**
+     * The revision numbers of the {@linkplain #things} when they were read
+     */
+    private final List<Integer> revisionNumbers = new ArrayList<>();
+    
+    /**
+     * Initializes a new {@linkplain MappingDependencyRecorder}
+     * 
+     * @param outerRecorder the recording this one interrupts, or null
+     */
+    private MappingDependencyRecorder(MappingDependencyRecorder outerRecorder)
+    {
+        this.outerRecorder = outerRecorder;
+    }
+    
+    /**
+     * Starts a recording on the current thread
+     * 
+     * @return the new {@linkplain MappingDependencyRecorder}
+     */
+    static MappingDependencyRecorder Start()
+    {
+        MappingDependencyRecorder recorder = new MappingDependencyRecorder(current.get());
+        current.set(recorder);
+        return recorder;
+    }
+    
+    /**
+     * Stops this recording, adds what it recorded to the one it has interrupted and restores it
+     */
+    void Stop()
+    {
+        if(this.outerRecorder == null)
+        {
+            current.remove();
+        }
+        else
+        {
+            this.outerRecorder.things.addAll(this.things);
+            this.outerRecorder.revisionNumbers.addAll(this.revisionNumbers);
+            current.set(this.outerRecorder);
+        }
+    }
+    
+    /**
+     * Records the provided {@linkplain Thing} in the recording of the current thread, if any
+     * 
+     * @param thing the {@linkplain Thing} that has been read
+     */
+    static void Record(Thing thing)
+    {
+        MappingDependencyRecorder recorder = current.get();
+        
+        if(recorder != null && thing != null)
+        {
+            recorder.things.add(thing);
+            recorder.revisionNumbers.add(thing.getRevisionNumber());
+        }
+    }
+    
+    /**
+     * Records the provided {@linkplain Thing}s with the provided revision numbers in the recording of the current thread, if any. 
+     * It replays the dependencies of a cached output so that the recording of the rule that reused it depends on them as well
+     * 
+     * @param things the {@linkplain Thing}s that have been read
+     * @param revisionNumbers the revision numbers of the {@linkplain Thing}s when they were read, in the same order
+     */
+    static void Record(Thing[] things, int[] revisionNumbers)
+    {
+        MappingDependencyRecorder recorder = current.get();
+        
+        if(recorder != null)
+        {
+            for (int index = 0; index < things.length; index++)
+            {
+                recorder.things.add(things[index]);
+                recorder.revisionNumbers.add(revisionNumbers[index]);
+            }
+        }
+    }
+    
+    /**
+     * Gets the {@linkplain Thing}s read during this recording
+     * 
+     * @return an array of {@linkplain Thing}
+     */
+    Thing[] GetThings()
+    {
+        return this.things.toArray(new Thing[0]);
+    }
+    
+    /**
+     * Gets the revision numbers of the {@linkplain Thing}s read during this recording, in the same order as {@linkplain #GetThings()}
+     * 
+     * @return an array of int
+     */
+    int[] GetRevisionNumbers()
+    {
+        return this.revisionNumbers.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
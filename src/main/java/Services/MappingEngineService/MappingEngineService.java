@@ -23,16 +23,38 @@
  */
 package Services.MappingEngineService;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.reflections.Reflections;
 import org.reflections.scanners.SubTypesScanner;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import App.AppContainer;
 import Reactive.ObservableCollection;
 
@@ -54,10 +76,74 @@ public final class MappingEngineService implements IMappingEngineService
     private final Logger logger = LogManager.getLogger();
     
     /**
-     * Gets a Dictionary that contains all the available {@linkplain IMappingRule} based on the provided assembly
+     * Gets a Dictionary that contains the class names of all the available {@linkplain IMappingRule} based on the provided assembly
      * where the Key is the Input type as string of the Value of a corresponding {@linkplain IMappingRule}
      */
-    Map<String, MappingRule<?,?>> rules = new HashMap<>();
+    Map<String, String> ruleClassNames = new HashMap<>();
+    
+    /**
+     * Gets a Dictionary that contains the {@linkplain IMappingRule} instantiated so far, by the same keys as the {@linkplain #ruleClassNames}.
+     * A rule is only instantiated by the first {@linkplain #Map(Object)} call for its input type
+     */
+    Map<String, MappingRule<?,?>> rules = new ConcurrentHashMap<>();
+    
+    /**
+     * The keys of the rules that could not be initialized, so that their initialization is neither attempted nor logged again on each map
+     */
+    Set<String> failedRuleKeys = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * The rule keys resolved by runtime class of the inputs, the empty string when no rule applies. 
+     * Once a class has been resolved, the dispatch of its instances does not allocate
+     */
+    private final ClassValue<String> ruleKeysByClass = new ClassValue<String>()
+    {
+        @Override
+        protected String computeValue(Class<?> type)
+        {
+            return ResolveRuleKey(type);
+        }
+    };
+    
+    /**
+     * The rule keys resolved by runtime class of the {@linkplain ObservableCollection} inputs and then by element type
+     */
+    private final ClassValue<ClassValue<String>> ruleKeysByCollectionClass = new ClassValue<ClassValue<String>>()
+    {
+        @Override
+        protected ClassValue<String> computeValue(Class<?> collectionClass)
+        {
+            return new ClassValue<String>()
+            {
+                @Override
+                protected String computeValue(Class<?> elementType)
+                {
+                    return ResolveCollectionRuleKey(collectionClass, elementType);
+                }
+            };
+        }
+    };
+    
+    /**
+     * The maximum number of outputs kept in {@linkplain #cachedMappings}, the least recently used ones are evicted first
+     */
+    public static final long MaximumNumberOfCachedMappings = 100_000;
+    
+    /**
+     * The cached outputs of the rules that opted in, by input instance. The inputs are weakly referenced and compared by identity. 
+     * An output commonly references its input, which would keep a weak key reachable through its own value forever, 
+     * so the values are softly referenced and the cache is bounded by {@linkplain #MaximumNumberOfCachedMappings}
+     */
+    private final Cache<Object, CachedMapping> cachedMappings = CacheBuilder.newBuilder()
+            .weakKeys()
+            .softValues()
+            .maximumSize(MaximumNumberOfCachedMappings)
+            .build();
+    
+    /**
+     * The {@linkplain ClassLoader} the rules and their index are loaded from
+     */
+    private final ClassLoader classLoader;
     
     /**
      * Initializes a new {@linkplain MappingEngine}
@@ -66,11 +152,14 @@ public final class MappingEngineService implements IMappingEngineService
      */
     public MappingEngineService(Package assembly)
     {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        this.classLoader = contextClassLoader != null ? contextClassLoader : MappingEngineService.class.getClassLoader();
         this.PopulateRules(assembly.getName());
     }
     
     /**
-     * Maps the provided {@linkplain input} to another type if a rule is found
+     * Maps the provided {@linkplain input} to another type if a rule is found for its type, or else for the closest of its super classes
+     * and then of its interfaces
      * 
      * @param input the input to be mapped
      * @return the output of the rule
@@ -78,80 +167,527 @@ public final class MappingEngineService implements IMappingEngineService
     @Override
     public Object Map(Object input)
     {
-        if(this.rules.isEmpty())
+        return this.Map(input, new MappingContext());
+    }
+    
+    /**
+     * Maps the provided {@linkplain input} to another type if a rule is found, the rule receives the provided {@linkplain MappingContext}
+     * to report its progress and to check for cancellation
+     * 
+     * @param input the input to be mapped
+     * @param context the {@linkplain MappingContext}
+     * @return the output of the rule
+     * @throws CancellationException when the context has been cancelled
+     */
+    @Override
+    public Object Map(Object input, MappingContext context)
+    {
+        context.ThrowIfCancelled();
+        
+        if(input == null || this.ruleClassNames.isEmpty())
         {
             return null;
         }
 
-        MappingRule<?, ?> foundRule = this.rules.getOrDefault(this.GetKeyFromObject(input), null);
+        MappingRule<?, ?> foundRule = this.GetRule(this.GetRuleKey(input));
 
         if(foundRule != null)
         {
-            return foundRule.Transform(input);
+            return this.Transform(foundRule, input, context);
         }
         
         return null;
     }
 
     /**
-     * Gets the key as it is used in the {@linkplain Rules} as key
+     * Maps all the provided inputs. The inputs of the thread safe rules are split across the common {@linkplain ForkJoinPool} 
+     * while the inputs of the other rules are mapped one after the other on the calling thread.
+     * A failing input does not abort the others, its exception is collected in the {@linkplain BatchMappingResult}
      * 
-     * @param object the {@linkplain Object} input
-     * @return a {@linkplain String}
+     * @param inputs the inputs to be mapped
+     * @return a {@linkplain BatchMappingResult} with the outputs in the order of the inputs and the failures
+     */
+    @Override
+    public BatchMappingResult MapAll(Collection<?> inputs)
+    {
+        return this.MapAll(inputs, new MappingContext());
+    }
+    
+    /**
+     * Maps all the provided inputs as {@linkplain #MapAll(Collection)} does, reporting one item of progress per input to the provided
+     * {@linkplain MappingContext}. Once the context is cancelled the inputs not started yet are skipped
+     * 
+     * @param inputs the inputs to be mapped
+     * @param context the {@linkplain MappingContext}
+     * @return a {@linkplain BatchMappingResult} with the outputs in the order of the inputs and the failures
+     * @throws CancellationException when the context has been cancelled
+     */
+    @Override
+    public BatchMappingResult MapAll(Collection<?> inputs, MappingContext context)
+    {
+        context.ThrowIfCancelled();
+        Object[] inputArray = inputs.toArray();
+        context.SetTotalItems(inputArray.length);
+        MappingRule<?, ?>[] foundRules = new MappingRule<?, ?>[inputArray.length];
+        Object[] outputs = new Object[inputArray.length];
+        Exception[] failures = new Exception[inputArray.length];
+        List<Integer> threadSafeIndices = new ArrayList<>();
+        List<Integer> sequentialIndices = new ArrayList<>();
+        
+        for (int index = 0; index < inputArray.length; index++)
+        {
+            if(inputArray[index] == null || this.ruleClassNames.isEmpty())
+            {
+                continue;
+            }
+            
+            foundRules[index] = this.GetRule(this.GetRuleKey(inputArray[index]));
+            
+            if(foundRules[index] != null)
+            {
+                (foundRules[index].IsThreadSafe() ? threadSafeIndices : sequentialIndices).add(index);
+            }
+        }
+        
+        context.Advance(inputArray.length - threadSafeIndices.size() - sequentialIndices.size());
+        
+        int[] parallelIndices = threadSafeIndices.stream().mapToInt(Integer::intValue).toArray();
+        
+        ForkJoinTask<Void> parallelMapping = parallelIndices.length == 0 
+                ? null 
+                : ForkJoinPool.commonPool().submit(new MapAllTask(parallelIndices, 0, parallelIndices.length, 
+                        Math.max(1, parallelIndices.length / (ForkJoinPool.getCommonPoolParallelism() * 4)), 
+                        inputArray, foundRules, outputs, failures, context));
+        
+        for (int index : sequentialIndices)
+        {
+            this.MapOne(index, inputArray, foundRules, outputs, failures, context);
+        }
+        
+        if(parallelMapping != null)
+        {
+            parallelMapping.join();
+        }
+        
+        context.ThrowIfCancelled();
+        return new BatchMappingResult(outputs, failures);
+    }
+    
+    /**
+     * Clears the cached outputs of the rules that opted in the result cache, see {@linkplain IMappingRule#GetFingerprint(Object)}
+     */
+    @Override
+    public void ClearCache()
+    {
+        this.cachedMappings.invalidateAll();
+    }
+    
+    /**
+     * Transforms the provided input with the provided rule, or returns the cached output when the rule opted in the result cache
+     * and neither the input fingerprint nor the revision of the {@linkplain cdp4common.commondata.Thing}s the rule read have changed
+     * 
+     * @param rule the {@linkplain MappingRule} that applies to the input
+     * @param input the input to be mapped
+     * @param context the {@linkplain MappingContext}
+     * @return the output of the rule
+     */
+    private Object Transform(MappingRule<?, ?> rule, Object input, MappingContext context)
+    {
+        Object fingerprint = rule.GetFingerprint(input);
+        
+        if(fingerprint == null)
+        {
+            return rule.Transform(input, context);
+        }
+        
+        CachedMapping cachedMapping = this.cachedMappings.getIfPresent(input);
+        
+        if(cachedMapping != null && cachedMapping.IsValidFor(rule, fingerprint))
+        {
+            cachedMapping.ReplayDependencies();
+            return cachedMapping.GetOutput();
+        }
+        
+        MappingDependencyRecorder recorder = MappingDependencyRecorder.Start();
+        
+        try
+        {
+            Object output = rule.Transform(input, context);
+            this.cachedMappings.put(input, new CachedMapping(rule, fingerprint, output, recorder));
+            return output;
+        }
+        finally
+        {
+            recorder.Stop();
+        }
+    }
+    
+    /**
+     * Maps the input at the provided index with its rule, and stores either the output or the failure at the same index. 
+     * The rule gets a child of the context so it cannot alter the progress of the run, which advances by one whatever the outcome.
+     * Does nothing once the context is cancelled
+     * 
+     * @param index the index of the input
+     * @param inputs the inputs
+     * @param foundRules the rules by input index
+     * @param outputs the outputs by input index
+     * @param failures the failures by input index
+     * @param context the {@linkplain MappingContext}
+     */
+    private void MapOne(int index, Object[] inputs, MappingRule<?, ?>[] foundRules, Object[] outputs, Exception[] failures, MappingContext context)
+    {
+        if(context.IsCancelled())
+        {
+            return;
+        }
+        
+        try
+        {
+            outputs[index] = this.Transform(foundRules[index], inputs[index], context.CreateChild());
+        }
+        catch (CancellationException exception)
+        {
+            failures[index] = exception;
+        }
+        catch (Exception exception)
+        {
+            failures[index] = exception;
+            this.logger.error(String.format("The mapping of the input %s at index %s failed, because %s", inputs[index], index, exception));
+        }
+        finally
+        {
+            context.Advance();
+        }
+    }
+    
+    /**
+     * The {@linkplain MapAllTask} maps a range of the inputs of thread safe rules, splitting it in halves until it is small enough
+     */
+    private final class MapAllTask extends RecursiveAction
+    {
+        /**
+         * The serial version UID of this {@linkplain RecursiveAction}
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The indices of the inputs to map
+         */
+        private final int[] indices;
+        
+        /**
+         * The position in {@linkplain #indices} where the range of this task starts, inclusive
+         */
+        private final int start;
+        
+        /**
+         * The position in {@linkplain #indices} where the range of this task ends, exclusive
+         */
+        private final int end;
+        
+        /**
+         * The size under which a range is not split anymore
+         */
+        private final int threshold;
+        
+        /**
+         * The inputs
+         */
+        private final transient Object[] inputs;
+        
+        /**
+         * The rules by input index
+         */
+        private final transient MappingRule<?, ?>[] foundRules;
+        
+        /**
+         * The outputs by input index
+         */
+        private final transient Object[] outputs;
+        
+        /**
+         * The failures by input index
+         */
+        private final transient Exception[] failures;
+        
+        /**
+         * The {@linkplain MappingContext}
+         */
+        private final transient MappingContext context;
+        
+        /**
+         * Initializes a new {@linkplain MapAllTask}
+         * 
+         * @param indices the indices of the inputs to map
+         * @param start the position in the indices where the range of this task starts, inclusive
+         * @param end the position in the indices where the range of this task ends, exclusive
+         * @param threshold the size under which a range is not split anymore
+         * @param inputs the inputs
+         * @param foundRules the rules by input index
+         * @param outputs the outputs by input index
+         * @param failures the failures by input index
+         * @param context the {@linkplain MappingContext}
+         */
+        MapAllTask(int[] indices, int start, int end, int threshold, Object[] inputs, MappingRule<?, ?>[] foundRules, Object[] outputs, Exception[] failures,
+                MappingContext context)
+        {
+            this.indices = indices;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+            this.inputs = inputs;
+            this.foundRules = foundRules;
+            this.outputs = outputs;
+            this.failures = failures;
+            this.context = context;
+        }
+        
+        /**
+         * Maps the range of this task or splits it
+         */
+        @Override
+        protected void compute()
+        {
+            if(this.end - this.start <= this.threshold)
+            {
+                for (int position = this.start; position < this.end; position++)
+                {
+                    MapOne(this.indices[position], this.inputs, this.foundRules, this.outputs, this.failures, this.context);
+                }
+                
+                return;
+            }
+            
+            int middle = (this.start + this.end) >>> 1;
+            
+            invokeAll(new MapAllTask(this.indices, this.start, middle, this.threshold, this.inputs, this.foundRules, this.outputs, this.failures, this.context),
+                    new MapAllTask(this.indices, middle, this.end, this.threshold, this.inputs, this.foundRules, this.outputs, this.failures, this.context));
+        }
+    }
+    
+    /**
+     * Gets the rule registered for the provided key, instantiates it on first use. 
+     * A rule that fails to initialize is only attempted once
+     * 
+     * @param key the input type key
+     * @return the {@linkplain MappingRule} or null if there is none or if it could not be initialized
+     */
+    private MappingRule<?, ?> GetRule(String key)
+    {
+        MappingRule<?, ?> rule = this.rules.get(key);
+        
+        if(rule != null)
+        {
+            return rule;
+        }
+        
+        String ruleClassName = this.ruleClassNames.get(key);
+        
+        if(ruleClassName == null || this.failedRuleKeys.contains(key))
+        {
+            return null;
+        }
+        
+        rule = this.InitializeRule(ruleClassName);
+        
+        if(rule == null)
+        {
+            this.failedRuleKeys.add(key);
+            return null;
+        }
+        
+        MappingRule<?, ?> concurrentlyInitializedRule = this.rules.putIfAbsent(key, rule);
+        return concurrentlyInitializedRule != null ? concurrentlyInitializedRule : rule;
+    }
+    
+    /**
+     * Gets the key of the rule that applies to the provided input from the dispatch caches
+     * 
+     * @param input the input to be mapped
+     * @return the key of the rule, or an empty {@linkplain String} when no rule applies
+     */
+    private String GetRuleKey(Object input)
+    {
+        if(input instanceof ObservableCollection)
+        {
+            Class<?> elementType = ((ObservableCollection<?>)input).GetType();
+            
+            if(elementType != null)
+            {
+                return this.ruleKeysByCollectionClass.get(input.getClass()).get(elementType);
+            }
+        }
+        
+        return this.ruleKeysByClass.get(input.getClass());
+    }
+    
+    /**
+     * Resolves the key of the rule that applies to the provided {@linkplain ObservableCollection} type holding the provided element type.
+     * The rules for a collection type of the same element type come first, from the most derived collection type, 
+     * then the rules that apply to the collection type regardless of its elements
+     * 
+     * @param collectionClass the runtime {@linkplain Class} of the {@linkplain ObservableCollection}
+     * @param elementType the {@linkplain Class} of the elements
+     * @return the key of the rule, or an empty {@linkplain String} when no rule applies
+     */
+    private String ResolveCollectionRuleKey(Class<?> collectionClass, Class<?> elementType)
+    {
+        for (Class<?> type = collectionClass; type != null && ObservableCollection.class.isAssignableFrom(type); type = type.getSuperclass())
+        {
+            String key = String.format("%s<%s>", type.getName(), elementType.getName());
+            
+            if(this.ruleClassNames.containsKey(key))
+            {
+                return key;
+            }
+        }
+        
+        return this.ruleKeysByClass.get(collectionClass);
+    }
+    
+    /**
+     * Resolves the key of the rule that applies to the provided type: the rule for the type itself, 
+     * or else for its closest super class, or else for its interfaces breadth first
+     * 
+     * @param type the runtime {@linkplain Class} of an input
+     * @return the key of the rule, or an empty {@linkplain String} when no rule applies
      */
-    private String GetKeyFromObject(Object object)
+    private String ResolveRuleKey(Class<?> type)
     {
-        final String classSuffixString = "class ";
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
         
-        if(object instanceof ObservableCollection)
+        for (Class<?> superclass = type; superclass != null; superclass = superclass.getSuperclass())
         {
-            return String.format("%s<%s>", object.getClass(), 
-                    ((ObservableCollection<?>)object).GetType().getName()).replace(classSuffixString, "");
+            if(this.ruleClassNames.containsKey(superclass.getName()))
+            {
+                return superclass.getName();
+            }
+            
+            Collections.addAll(interfaces, superclass.getInterfaces());
         }
         
-        else if(object instanceof Class<?>)
+        Set<Class<?>> visitedInterfaces = new HashSet<>();
+        
+        while (!interfaces.isEmpty())
         {
-            Class<?> objectClass = (Class<?>)object;
+            Class<?> currentInterface = interfaces.poll();
+            
+            if(!visitedInterfaces.add(currentInterface))
+            {
+                continue;
+            }
             
-            if(objectClass.getGenericSuperclass() instanceof ParameterizedType)
+            if(this.ruleClassNames.containsKey(currentInterface.getName()))
             {
-                return String.format("%s", ((ParameterizedType) objectClass.getGenericSuperclass())
-                        .getActualTypeArguments()[0]).replace(classSuffixString, "");
+                return currentInterface.getName();
             }
+            
+            Collections.addAll(interfaces, currentInterface.getInterfaces());
         }
         
-        return (object.getClass().toString()).replace(classSuffixString, "");
+        return "";
+    }
+    
+    /**
+     * Gets the key of the input type of the provided rule class, as it is used in the {@linkplain #ruleClassNames} as key
+     * 
+     * @param classRule the rule {@linkplain Class}
+     * @return a {@linkplain String}
+     */
+    private String GetKeyFromRuleClass(Class<?> classRule)
+    {
+        Type inputType = ((ParameterizedType) classRule.getGenericSuperclass()).getActualTypeArguments()[0];
+        return inputType instanceof Class ? ((Class<?>)inputType).getName() : inputType.toString();
     }
     
     /**
-     * Populates the rules that have been found  
+     * Populates the rule class names from the index generated at compile time by the {@linkplain MappingRuleIndexProcessor}, 
+     * merged per rule key with a scan of the provided assembly. The index may only cover part of the rules, 
+     * when some of them have been compiled without the processor, so the rules missing from it are taken from the scan and reported
      * 
      * @param ruleAssembly the assembly name where the rules are
      */
     private void PopulateRules(String ruleAssembly)
     {
+        boolean hasIndex = this.LoadRuleIndex(ruleAssembly);
+        
+        if(!hasIndex)
+        {
+            this.logger.warn(String.format("No mapping rule index found for %s, the rules are scanned instead", ruleAssembly));
+        }
+        
+        List<String> rulesMissingFromTheIndex = new ArrayList<>();
+        
         for (Class<?> classRule : this.GetAvailableMappingRules(ruleAssembly))
         {
-            MappingRule<?, ?> ruleInstance = this.InitializeRule(classRule);
-            
-            if(ruleInstance != null)
+            if(classRule.getGenericSuperclass() instanceof ParameterizedType 
+                    && this.ruleClassNames.putIfAbsent(this.GetKeyFromRuleClass(classRule), classRule.getName()) == null)
             {
-               this.rules.putIfAbsent(this.GetKeyFromObject(classRule), ruleInstance);
+                rulesMissingFromTheIndex.add(classRule.getName());
             }            
         }
+        
+        if(hasIndex && !rulesMissingFromTheIndex.isEmpty())
+        {
+            this.logger.warn(String.format("The mapping rule index of %s is missing the rules %s, they have probably been compiled without the %s", 
+                    ruleAssembly, rulesMissingFromTheIndex, MappingRuleIndexProcessor.class.getSimpleName()));
+        }
+    }
+    
+    /**
+     * Loads the rule class names of the provided assembly from all the {@linkplain MappingRuleIndexProcessor#IndexResourceName} on the class path
+     * 
+     * @param ruleAssembly the assembly name where the rules are
+     * @return a value indicating whether any rule of the provided assembly has been found in an index
+     */
+    private boolean LoadRuleIndex(String ruleAssembly)
+    {
+        String packagePrefix = ruleAssembly + ".";
+        
+        try
+        {
+            Enumeration<URL> indexes = this.classLoader.getResources(MappingRuleIndexProcessor.IndexResourceName);
+            
+            while (indexes.hasMoreElements())
+            {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexes.nextElement().openStream(), StandardCharsets.UTF_8)))
+                {
+                    String line;
+                    
+                    while ((line = reader.readLine()) != null)
+                    {
+                        int separatorIndex = line.indexOf(MappingRuleIndexProcessor.Separator);
+                        
+                        if(separatorIndex > 0 && line.startsWith(packagePrefix))
+                        {
+                            this.ruleClassNames.putIfAbsent(line.substring(separatorIndex + 1), line.substring(0, separatorIndex));
+                        }
+                    }
+                }
+            }
+        }
+        catch (IOException exception)
+        {
+            this.logger.error(String.format("The mapping rule index could not be read, because %s", exception));
+            this.ruleClassNames.clear();
+        }
+        
+        return !this.ruleClassNames.isEmpty();
     }
 
     /**
      * Initializes the rule whether it is present in the IoC or it need to be initialized by constructor calling.
      * In case the rule is registered in the container, in order for the container to resolve it register it with the fully qualified class name
      * 
-     * @param classRule the class rule to initialize
+     * @param ruleClassName the name of the class rule to initialize
      * @return an instance of the {@linkplain classRule}
      */
-    private MappingRule<?,?> InitializeRule(Class<?> classRule)
+    private MappingRule<?,?> InitializeRule(String ruleClassName)
     {
         try
         {  
+            Class<?> classRule = Class.forName(ruleClassName, true, this.classLoader);
+            
             if (classRule.getSuperclass().getTypeParameters().length == 0)
             {
                 return null;
@@ -168,7 +704,7 @@ public final class MappingEngineService implements IMappingEngineService
         }
         catch (Exception exception)
         {
-            this.logger.error(String.format("Error, could not initialize the mapping rule %s, because the following exception occured %s", classRule.getSimpleName(), exception));
+            this.logger.error(String.format("Error, could not initialize the mapping rule %s, because the following exception occured %s", ruleClassName, exception));
             this.logger.catching(exception);
             return null;
         }
@@ -29,6 +29,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import cdp4common.commondata.ShortNamedThing;
+import cdp4common.commondata.Thing;
 
 /**
  * The {@linkplain MappingRule} class is the abstract base class for all mapping rules implemented in dst adapters. 
@@ -69,4 +70,19 @@ public abstract class MappingRule<TInput extends Object, TOutput> implements IMa
     {
         return AreTheseEquals(shortNamedThing.getShortName(), elementShortName, true);
     }
+    
+    /**
+     * Declares that the output being computed depends on the provided {@linkplain Thing}. 
+     * When the rule caches its outputs, see {@linkplain #GetFingerprint(Object)}, the cached output is transformed again 
+     * as soon as the revision number of the {@linkplain Thing} changes
+     * 
+     * @param <TThing> the type of {@linkplain Thing}
+     * @param thing the {@linkplain Thing} read by the rule
+     * @return the provided {@linkplain Thing}
+     */
+    protected <TThing extends Thing> TThing DependsOn(TThing thing)
+    {
+        MappingDependencyRecorder.Record(thing);
+        return thing;
+    }
 }
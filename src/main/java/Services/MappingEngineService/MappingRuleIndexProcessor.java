@@ -0,0 +1,284 @@
+/*
+ * MappingRuleIndexProcessor.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingEngineService;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * The {@linkplain MappingRuleIndexProcessor} is an annotation processor that records, at compile time, every concrete {@linkplain MappingRule} 
+ * with the key of its input type in the {@linkplain #IndexResourceName} resource. The {@linkplain MappingEngineService} 
+ * merges it per rule key with a scan of the class path, and reports the rules the scan finds that are missing from the index. It is registered as a service of the library jar, 
+ * so any adapter compiled against it gets its index without further configuration.
+ * Each line of the index holds the rule class binary name and the input type key, separated by a tab.
+ * An incremental compilation only sees the recompiled types, so the index it writes is merged with the one of the previous compilation.
+ */
+@SupportedAnnotationTypes("*")
+public final class MappingRuleIndexProcessor extends AbstractProcessor
+{
+    /**
+     * The name of the resource that holds the index
+     */
+    public static final String IndexResourceName = "META-INF/dehp/mapping-rules.index";
+    
+    /**
+     * The separator between the rule class name and the input type key in one line of the index
+     */
+    public static final char Separator = '\t';
+    
+    /**
+     * The name of the {@linkplain MappingRule} class, not taken from the class itself so that running the processor does not load it
+     */
+    private static final String MappingRuleClassName = "Services.MappingEngineService.MappingRule";
+    
+    /**
+     * The input type keys by rule class binary name found so far
+     */
+    private final Map<String, String> inputKeysByRule = new TreeMap<>();
+    
+    /**
+     * The binary names of all the types compiled so far, rules or not, whose entries of the previous index are superseded
+     */
+    private final Set<String> compiledTypes = new HashSet<>();
+    
+    /**
+     * Gets the latest supported {@linkplain SourceVersion} since this processor does not depend on the language level
+     * 
+     * @return a {@linkplain SourceVersion}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+    
+    /**
+     * Collects the {@linkplain MappingRule}s of the round and writes the index once the processing is over
+     * 
+     * @param annotations the annotations of the round, not used
+     * @param roundEnvironment the {@linkplain RoundEnvironment}
+     * @return false, this processor does not claim any annotation
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment)
+    {
+        TypeElement mappingRule = this.processingEnv.getElementUtils().getTypeElement(MappingRuleClassName);
+        
+        if(mappingRule == null)
+        {
+            return false;
+        }
+        
+        if(roundEnvironment.processingOver())
+        {
+            this.WriteIndex();
+        }
+        else
+        {
+            for (TypeElement type : ElementFilter.typesIn(roundEnvironment.getRootElements()))
+            {
+                this.Collect(type, mappingRule);
+            }
+        }
+        
+        return false;
+    }
+
+    /**
+     * Records the provided type if it is a concrete {@linkplain MappingRule}, then looks into its nested types
+     * 
+     * @param type the {@linkplain TypeElement} to inspect
+     * @param mappingRule the {@linkplain TypeElement} of {@linkplain MappingRule}
+     */
+    private void Collect(TypeElement type, TypeElement mappingRule)
+    {
+        this.compiledTypes.add(this.processingEnv.getElementUtils().getBinaryName(type).toString());
+        
+        if(type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && this.processingEnv.getTypeUtils().isSubtype(
+                        this.processingEnv.getTypeUtils().erasure(type.asType()), this.processingEnv.getTypeUtils().erasure(mappingRule.asType())))
+        {
+            String inputKey = this.GetInputKey(type);
+            
+            if(inputKey != null)
+            {
+                this.inputKeysByRule.put(this.processingEnv.getElementUtils().getBinaryName(type).toString(), inputKey);
+            }
+        }
+        
+        for (TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements()))
+        {
+            this.Collect(nestedType, mappingRule);
+        }
+    }
+
+    /**
+     * Gets the input type key of the provided rule, the first type argument of its direct super class as the {@linkplain MappingEngineService} 
+     * computes it from a {@linkplain Class} at runtime
+     * 
+     * @param rule the rule {@linkplain TypeElement}
+     * @return the key, or null if the direct super class is not generic, such rules are not supported by the {@linkplain MappingEngineService}
+     */
+    private String GetInputKey(TypeElement rule)
+    {
+        if(rule.getSuperclass().getKind() != TypeKind.DECLARED)
+        {
+            return null;
+        }
+        
+        List<? extends TypeMirror> typeArguments = ((DeclaredType)rule.getSuperclass()).getTypeArguments();
+        return typeArguments.isEmpty() ? null : this.ToKey(typeArguments.get(0));
+    }
+
+    /**
+     * Formats the provided {@linkplain TypeMirror} as {@linkplain java.lang.reflect.Type#toString()} does, with binary class names
+     * 
+     * @param type the {@linkplain TypeMirror}
+     * @return a {@linkplain String}
+     */
+    private String ToKey(TypeMirror type)
+    {
+        if(type.getKind() != TypeKind.DECLARED)
+        {
+            return type.toString();
+        }
+        
+        DeclaredType declaredType = (DeclaredType)type;
+        String name = this.processingEnv.getElementUtils().getBinaryName((TypeElement)declaredType.asElement()).toString();
+        
+        if(declaredType.getTypeArguments().isEmpty())
+        {
+            return name;
+        }
+        
+        return declaredType.getTypeArguments().stream()
+                .map(this::ToKey)
+                .collect(Collectors.joining(", ", name + "<", ">"));
+    }
+    
+    /**
+     * Writes the index of the rules found during the compilation merged with the index of the previous compilation, if any
+     */
+    private void WriteIndex()
+    {
+        boolean hasPreviousIndex = this.MergePreviousIndex();
+        
+        if(this.inputKeysByRule.isEmpty() && !hasPreviousIndex)
+        {
+            return;
+        }
+        
+        try
+        {
+            FileObject index = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", IndexResourceName);
+            
+            try (Writer writer = index.openWriter())
+            {
+                for (Map.Entry<String, String> entry : this.inputKeysByRule.entrySet())
+                {
+                    writer.write(entry.getKey() + Separator + entry.getValue() + "\n");
+                }
+            }
+        }
+        catch (IOException exception)
+        {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, 
+                    String.format("The mapping rule index could not be written, the rules will be scanned at runtime, because %s", exception));
+        }
+    }
+    
+    /**
+     * Adds to the {@linkplain #inputKeysByRule} the entries of the index left in the class output by the previous compilation, 
+     * except the ones of the types compiled this time and the ones of the rules that do not exist anymore
+     * 
+     * @return a value indicating whether there is a previous index, that has to be overwritten even if no rule is left
+     */
+    private boolean MergePreviousIndex()
+    {
+        try
+        {
+            FileObject previousIndex = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", IndexResourceName);
+            
+            try (BufferedReader reader = new BufferedReader(previousIndex.openReader(true)))
+            {
+                String line;
+                
+                while ((line = reader.readLine()) != null)
+                {
+                    int separatorIndex = line.indexOf(Separator);
+                    
+                    if(separatorIndex <= 0)
+                    {
+                        continue;
+                    }
+                    
+                    String ruleName = line.substring(0, separatorIndex);
+                    
+                    if(!this.compiledTypes.contains(ruleName) 
+                            && this.processingEnv.getElementUtils().getTypeElement(ruleName.replace('$', '.')) != null)
+                    {
+                        this.inputKeysByRule.putIfAbsent(ruleName, line.substring(separatorIndex + 1));
+                    }
+                }
+            }
+            
+            return true;
+        }
+        catch (FileNotFoundException | NoSuchFileException exception)
+        {
+            return false;
+        }
+        catch (IOException exception)
+        {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, 
+                    String.format("The previous mapping rule index could not be read, the index only holds the rules compiled this time, because %s", exception));
+            return true;
+        }
+    }
+}
@@ -23,6 +23,9 @@
  */
 package Services.NavigationService;
 
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
 import javax.swing.JFrame;
 
 import org.apache.logging.log4j.LogManager;
@@ -44,7 +47,8 @@ public final class NavigationService implements INavigationService
     private final Logger logger =LogManager.getLogger(); 
     
     /**
-     * Shows a dialog and returns the dialog result and associate its view model to it
+     * Shows a dialog and returns the dialog result and associate its view model to it. 
+     * Once the dialog is closed, the dialog is disposed, the view model resolved for it is left to the container that can share it
      * 
      * @param <TResult> the kind of result to return from the dialog
      * @param window the {@linkplain IDialog} dialog window instance
@@ -54,11 +58,20 @@ public final class NavigationService implements INavigationService
     public <TResult> TResult ShowDialog(IDialog<? extends IViewModel, TResult> window)
     {
         this.BuildView(window);
-        return window.ShowDialog();
+        
+        try
+        {
+            return window.ShowDialog();
+        }
+        finally
+        {
+            window.Dispose();
+        }
     }
 
     /**
-     * Shows a dialog and returns the dialog result and associate the specified view model to it
+     * Shows a dialog and returns the dialog result and associate the specified view model to it. 
+     * Once the dialog is closed, the dialog is disposed, the view model stays with the caller that provided it
      * 
      * @param <TViewModel> the kind of view model that view accepts
      * @param <TResult> the kind of result to return from the dialog
@@ -70,11 +83,20 @@ public final class NavigationService implements INavigationService
     public <TViewModel extends IViewModel, TResult> TResult ShowDialog(IDialog<TViewModel, TResult> window, TViewModel viewModel)
     {
         window.SetDataContext(viewModel);
-        return window.ShowDialog();
+        
+        try
+        {
+            return window.ShowDialog();
+        }
+        finally
+        {
+            window.Dispose();
+        }
     }
     
     /**
-     * Shows a window and associate its view model to it
+     * Shows a window and associate its view model to it. 
+     * Once the window is closed, the window is disposed, the view model resolved for it is left to the container that can share it
      * 
      * @param window the {@linkplain IView} window instance
      */
@@ -82,6 +104,7 @@ public final class NavigationService implements INavigationService
     public void Show(IView<? extends IViewModel> window)
     {
         this.BuildView(window);
+        this.DisposeOnClose(window);
         ((JFrame) window).setVisible(true);
     }
 
@@ -95,9 +118,33 @@ public final class NavigationService implements INavigationService
     @Override
     public <TViewModel extends IViewModel> void Show(IView<TViewModel> window, TViewModel viewModel)
     {
-        window.SetDataContext(viewModel);        
+        window.SetDataContext(viewModel);
+        this.DisposeOnClose(window);
         ((JFrame) window).setVisible(true);
     }
+    
+    /**
+     * Disposes the provided window once it is closed
+     * 
+     * @param window the {@linkplain IView} window instance
+     */
+    private void DisposeOnClose(IView<?> window)
+    {
+        ((JFrame) window).addWindowListener(new WindowAdapter()
+        {
+            /**
+             * Invoked when the window has been closed as the result of calling dispose on it
+             * 
+             * @param event the {@linkplain WindowEvent}
+             */
+            @Override
+            public void windowClosed(WindowEvent event)
+            {
+                ((JFrame) window).removeWindowListener(this);
+                window.Dispose();
+            }
+        });
+    }
 
     /**
      * Builds a view by resolving it's viewModel base on Naming conventions
@@ -0,0 +1,103 @@
+/*
+ * SchedulerService.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.SchedulerService;
+
+import javax.swing.SwingUtilities;
+
+import Reactive.ObservableExtensions;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * The {@linkplain SchedulerService} is the central place where the {@linkplain Scheduler}s used across the adapters are defined,
+ * so that the threading of the view models and of the views stays consistent and can be swapped in tests
+ */
+public final class SchedulerService implements ISchedulerService
+{
+    /**
+     * Provides the singleton instance of the {@linkplain SchedulerService} for the classes that are not resolved through the container
+     */
+    public static final SchedulerService Current;
+    
+    /**
+     * Initializes the {@linkplain #Current}
+     */
+    static
+    {
+        Current = new SchedulerService();
+    }
+    
+    /**
+     * The {@linkplain Scheduler} that runs its work on the Swing event dispatch thread
+     */
+    private final Scheduler edt = Schedulers.from(SwingUtilities::invokeLater);
+    
+    /**
+     * Gets the {@linkplain Scheduler} meant for CPU bound work such as mapping or building row view models
+     * 
+     * @return a {@linkplain Scheduler}
+     */
+    @Override
+    public Scheduler Computation()
+    {
+        return Schedulers.computation();
+    }
+
+    /**
+     * Gets the {@linkplain Scheduler} meant for blocking work such as the calls to the hub or to the file system
+     * 
+     * @return a {@linkplain Scheduler}
+     */
+    @Override
+    public Scheduler IO()
+    {
+        return Schedulers.io();
+    }
+
+    /**
+     * Gets the {@linkplain Scheduler} that runs its work on the Swing event dispatch thread
+     * 
+     * @return a {@linkplain Scheduler}
+     */
+    @Override
+    public Scheduler Edt()
+    {
+        return this.edt;
+    }
+
+    /**
+     * Gets an {@linkplain Observable} that delivers the values of the provided one on the event dispatch thread,
+     * conflating the bursts so that only the latest value is delivered per event dispatch thread turn
+     * 
+     * @param <TValue> the type of value
+     * @param source the source {@linkplain Observable}
+     * @return an {@linkplain Observable} of {@linkplain TValue}
+     */
+    @Override
+    public <TValue> Observable<TValue> ObserveOnEdt(Observable<TValue> source)
+    {
+        return ObservableExtensions.ObserveLatestOn(source, this.edt);
+    }
+}
@@ -35,4 +35,9 @@ public class UserPreference
      * Gets or sets server Uri
      */
     public List<SavedServerConnection> savedServerConections = new ArrayList<>();
+
+    /**
+     * Gets or sets a value indicating whether the last opened iterations are saved on disk to speed up the next opening
+     */
+    public boolean useIterationSnapshot;
 }
@@ -0,0 +1,130 @@
+/*
+ * FutureExtensions.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The {@linkplain FutureExtensions} provides extensions on {@linkplain CompletableFuture} that java 8 does not offer out of the box
+ */
+public final class FutureExtensions
+{
+    /**
+     * The {@linkplain ScheduledExecutorService} that fires the timeouts
+     */
+    private static final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "DEHP-FutureTimeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Initializes a new {@linkplain FutureExtensions}
+     * this constructor is explicitly specifying the static character of this {@linkplain Class}
+     * since static class don't exist out of the box in java. UNUSED
+     */
+    private FutureExtensions() { }
+
+    /**
+     * Wraps the provided {@linkplain CompletableFuture} into one that completes exceptionally with a {@linkplain TimeoutException}
+     * when the provided timeout elapses. Cancelling the returned {@linkplain CompletableFuture} or a timeout also cancels the {@linkplain source}.
+     *
+     * @param <T> the type of result
+     * @param future the {@linkplain CompletableFuture} that yields the result
+     * @param source the upstream {@linkplain CompletableFuture} {@linkplain future} depends on, that is the one to cancel
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return a {@linkplain CompletableFuture} of {@linkplain T}
+     */
+    public static <T> CompletableFuture<T> WithTimeout(CompletableFuture<T> future, CompletableFuture<?> source, long timeout, TimeUnit timeUnit)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        future.whenComplete((value, exception) ->
+        {
+            if(exception != null)
+            {
+                result.completeExceptionally(exception);
+            }
+            else
+            {
+                result.complete(value);
+            }
+        });
+
+        result.whenComplete((value, exception) ->
+        {
+            if(exception != null)
+            {
+                source.cancel(true);
+            }
+        });
+
+        if(timeout > 0 && !result.isDone())
+        {
+            ScheduledFuture<?> timer = timeoutScheduler.schedule(
+                    () -> result.completeExceptionally(new TimeoutException(String.format("The operation did not complete within %s %s", timeout, timeUnit))),
+                    timeout, timeUnit);
+
+            result.whenComplete((value, exception) -> timer.cancel(false));
+        }
+
+        return result;
+    }
+
+    /**
+     * Wraps the provided {@linkplain CompletableFuture} into one that completes exceptionally with a {@linkplain TimeoutException}
+     * when the provided timeout elapses. Cancelling the returned {@linkplain CompletableFuture} or a timeout also cancels the {@linkplain future}.
+     *
+     * @param <T> the type of result
+     * @param future the {@linkplain CompletableFuture} that yields the result
+     * @param timeout the timeout, zero or less means no timeout
+     * @param timeUnit the {@linkplain TimeUnit} of the {@linkplain timeout}
+     * @return a {@linkplain CompletableFuture} of {@linkplain T}
+     */
+    public static <T> CompletableFuture<T> WithTimeout(CompletableFuture<T> future, long timeout, TimeUnit timeUnit)
+    {
+        return WithTimeout(future, future, timeout, timeUnit);
+    }
+
+    /**
+     * Gets a {@linkplain CompletableFuture} that is already completed exceptionally with the provided {@linkplain Throwable}
+     *
+     * @param <T> the type of result
+     * @param exception the {@linkplain Throwable}
+     * @return a {@linkplain CompletableFuture} of {@linkplain T}
+     */
+    public static <T> CompletableFuture<T> Failed(Throwable exception)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(exception);
+        return future;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Histogram.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Utils.Metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@linkplain Histogram} is a lock free, fixed buckets histogram of long values.
+ * Recording a value is constant time, percentiles are approximated by the upper bound of the bucket they fall in.
+ */
+public final class Histogram
+{
+    /**
+     * The default bucket upper bounds for latencies in microseconds, from 10 microseconds for the in memory lookups up to one minute for the round trips
+     */
+    public static final long[] LatencyBucketsInMicroseconds = { 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 
+            100_000, 200_000, 500_000, 1_000_000, 2_000_000, 5_000_000, 10_000_000, 30_000_000, 60_000_000 };
+
+    /**
+     * The default bucket upper bounds for sizes
+     */
+    public static final long[] SizeBuckets = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 100000 };
+
+    /**
+     * The inclusive upper bounds of the buckets, the last implicit bucket holds everything above
+     */
+    private final long[] upperBounds;
+
+    /**
+     * The number of values per bucket
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * The number of recorded values
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The sum of the recorded values
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The highest recorded value
+     */
+    private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Initializes a new {@linkplain Histogram}
+     *
+     * @param upperBounds the inclusive upper bounds of the buckets in ascending order
+     */
+    public Histogram(long[] upperBounds)
+    {
+        this.upperBounds = Arrays.copyOf(upperBounds, upperBounds.length);
+        this.buckets = new AtomicLongArray(upperBounds.length + 1);
+    }
+
+    /**
+     * Records the provided value
+     *
+     * @param value the value to record
+     */
+    public void Record(long value)
+    {
+        int index = Arrays.binarySearch(this.upperBounds, value);
+        this.buckets.incrementAndGet(index < 0 ? -index - 1 : index);
+        this.count.increment();
+        this.sum.add(value);
+        this.maximum.accumulate(value);
+    }
+
+    /**
+     * Gets the number of recorded values
+     *
+     * @return a long
+     */
+    public long GetCount()
+    {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets the sum of the recorded values
+     *
+     * @return a long
+     */
+    public long GetSum()
+    {
+        return this.sum.sum();
+    }
+
+    /**
+     * Gets the highest recorded value
+     *
+     * @return a long
+     */
+    public long GetMaximum()
+    {
+        return this.maximum.get();
+    }
+
+    /**
+     * Gets the mean of the recorded values
+     *
+     * @return a double, zero when nothing has been recorded
+     */
+    public double GetMean()
+    {
+        long currentCount = this.GetCount();
+        return currentCount == 0 ? 0 : (double)this.GetSum() / currentCount;
+    }
+
+    /**
+     * Gets the approximated value below which the provided percentage of the recorded values fall
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the upper bound of the bucket the percentile falls in, or the maximum when it falls in the last bucket
+     */
+    public long GetPercentile(double percentile)
+    {
+        long currentCount = this.GetCount();
+
+        if(currentCount == 0)
+        {
+            return 0;
+        }
+
+        long rank = (long)Math.ceil(currentCount * Math.min(Math.max(percentile, 0), 100) / 100d);
+        long cumulated = 0;
+
+        for (int index = 0; index < this.upperBounds.length; index++)
+        {
+            cumulated += this.buckets.get(index);
+
+            if(cumulated >= Math.max(rank, 1))
+            {
+                return Math.min(this.upperBounds[index], this.GetMaximum());
+            }
+        }
+
+        return this.GetMaximum();
+    }
+
+    /**
+     * Gets the number of values per bucket, the last one holds the values above the highest upper bound
+     *
+     * @return an array of long
+     */
+    public long[] GetBucketCounts()
+    {
+        long[] counts = new long[this.buckets.length()];
+
+        for (int index = 0; index < counts.length; index++)
+        {
+            counts[index] = this.buckets.get(index);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Gets the inclusive upper bounds of the buckets
+     *
+     * @return an array of long
+     */
+    public long[] GetUpperBounds()
+    {
+        return Arrays.copyOf(this.upperBounds, this.upperBounds.length);
+    }
+
+    /**
+     * Clears all the recorded values
+     */
+    public void Reset()
+    {
+        for (int index = 0; index < this.buckets.length(); index++)
+        {
+            this.buckets.set(index, 0);
+        }
+
+        this.count.reset();
+        this.sum.reset();
+        this.maximum.reset();
+    }
+}
@@ -23,10 +23,10 @@
  */
 package ViewModels.Dialogs;
 
-import static Utils.Operators.Operators.AreTheseEquals;
-
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.UUID;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,8 +34,10 @@ import org.apache.logging.log4j.Logger;
 import DstController.IDstControllerBase;
 import Enumerations.MappedElementRowStatus;
 import HubController.IHubController;
+import Reactive.KeyedObservableCollection;
 import Reactive.ObservableCollection;
 import Reactive.ObservableValue;
+import Reactive.WeakSubscription;
 import Utils.Ref;
 import ViewModels.Dialogs.Interfaces.IMappingConfigurationDialogViewModel;
 import ViewModels.Interfaces.IElementDefinitionBrowserViewModel;
@@ -48,6 +50,7 @@ import cdp4common.commondata.Thing;
 import cdp4common.engineeringmodeldata.ElementDefinition;
 import cdp4common.engineeringmodeldata.Requirement;
 import io.reactivex.Observable;
+import io.reactivex.disposables.CompositeDisposable;
 
 /**
  * The MappingConfigurationDialogViewModel is the base view model for the {@linkplain DstToHubMappingConfigurationDialogViewModel} 
@@ -65,6 +68,11 @@ public abstract class MappingConfigurationDialogViewModel<TSourceElement, TDstEl
      */
     protected Logger logger = LogManager.getLogger();
     
+    /**
+     * The subscriptions this view model holds on the browser view models, released by {@linkplain #Dispose()}
+     */
+    protected final CompositeDisposable disposables = new CompositeDisposable();
+    
     /**
      * The {@linkplain IDstController}
      */
@@ -127,6 +135,17 @@ public abstract class MappingConfigurationDialogViewModel<TSourceElement, TDstEl
         return this.mappedElementListViewViewModel;
     }
     
+    /**
+     * The hub elements of the {@linkplain IDstControllerBase#GetDstMapResult()} by iid, that {@linkplain #UpdateRowStatus} looks the existing mappings up in
+     */
+    private final KeyedObservableCollection<UUID, Thing> dstMapResultHubElements = KeyedObservableCollection.ByIid(Thing.class);
+    
+    /**
+     * A value indicating whether {@linkplain #dstMapResultHubElements} has to be rebuilt before its next use, 
+     * set when the map result changes and when this view model assigns a hub element to a row, since the rows do not notify it
+     */
+    private boolean isDstMapResultHubElementsStale = true;
+    
     /**
      * The {@linkplain ObservableCollection} of {@linkplain MappedElementRowViewModel} that represents all the mapped elements
      */
@@ -206,6 +225,9 @@ public abstract class MappingConfigurationDialogViewModel<TSourceElement, TDstEl
         this.dstController = dstController;
         this.hubController = hubController;
         this.mappedElementListViewViewModel = mappedElementListViewViewModel;
+        
+        this.disposables.add(WeakSubscription.Subscribe(this.dstController.GetDstMapResult().Changed(), this, 
+                (owner, x) -> owner.isDstMapResultHubElementsStale = true));
     }
         
     /**
@@ -213,14 +235,14 @@ public abstract class MappingConfigurationDialogViewModel<TSourceElement, TDstEl
      */
     protected void InitializeObservables()
     {
-        this.elementDefinitionBrowserViewModel.GetSelectedElement()
-            .subscribe(x -> this.SetHubElement(x.GetThing()));
+        this.disposables.add(WeakSubscription.Subscribe(this.elementDefinitionBrowserViewModel.GetSelectedElement(), this,
+                (owner, x) -> owner.SetHubElement(x.GetThing())));
 
-        this.requirementBrowserViewModel.GetSelectedElement()
-            .subscribe(x -> this.SetHubElement(x.GetThing()));
+        this.disposables.add(WeakSubscription.Subscribe(this.requirementBrowserViewModel.GetSelectedElement(), this,
+                (owner, x) -> owner.SetHubElement(x.GetThing())));
 
-        this.mappedElementListViewViewModel.GetSelectedElement()
-            .subscribe(x -> this.SetSelectedMappedElement(x));
+        this.disposables.add(WeakSubscription.Subscribe(this.mappedElementListViewViewModel.GetSelectedElement(), this,
+                (owner, x) -> owner.SetSelectedMappedElement(x)));
         
         this.selectedMappedElement.Observable().subscribe(
                 x -> this.shouldMapToNewHubElementCheckBoxBeEnabled.Value(
@@ -228,6 +250,15 @@ public abstract class MappingConfigurationDialogViewModel<TSourceElement, TDstEl
                 x -> this.logger.catching(x));        
     }
 
+    /**
+     * Releases the subscriptions this view model holds on the browser view models so it can be collected once discarded
+     */
+    @Override
+    public void Dispose()
+    {
+        this.disposables.dispose();
+    }
+
     /**
      * Sets the Hub element on the selected element if the element is compatible
      * 
@@ -269,6 +300,7 @@ public abstract class MappingConfigurationDialogViewModel<TSourceElement, TDstEl
                 (MappedElementRowViewModel<TThing, ? extends TDstElement>)this.selectedMappedElement.Value();
         
         mappedElementRowViewModel.SetHubElement((TThing)thing.clone(true));
+        this.isDstMapResultHubElementsStale = true;
         
         this.shouldMapToNewHubElementCheckBoxBeEnabled.Value(false);
         mappedElementRowViewModel.SetShouldCreateNewTargetElement(false);
@@ -294,9 +326,9 @@ public abstract class MappingConfigurationDialogViewModel<TSourceElement, TDstEl
         }
         else if(mappedElementRowViewModel.GetHubElement() != null)
         {
-            if(this.dstController.GetDstMapResult().stream()
-                    .filter(x -> x.GetHubElement().getClass() == clazz)
-                    .anyMatch(x -> AreTheseEquals(x.GetHubElement().getIid(), mappedElementRowViewModel.GetHubElement().getIid())))
+            Thing mappedHubElement = this.GetDstMapResultHubElements().Get(mappedElementRowViewModel.GetHubElement().getIid());
+            
+            if(mappedHubElement != null && mappedHubElement.getClass() == clazz)
             {
                 mappedElementRowViewModel.SetRowStatus(MappedElementRowStatus.ExistingMapping);
             }
@@ -307,6 +339,33 @@ public abstract class MappingConfigurationDialogViewModel<TSourceElement, TDstEl
         }
     }
     
+    /**
+     * Gets the hub elements of the {@linkplain IDstControllerBase#GetDstMapResult()} by iid, rebuilding them when they are stale 
+     * so that looking up the status of every row stays linear in the number of rows
+     * 
+     * @return a {@linkplain KeyedObservableCollection} of {@linkplain Thing} by iid
+     */
+    private KeyedObservableCollection<UUID, Thing> GetDstMapResultHubElements()
+    {
+        if(this.isDstMapResultHubElementsStale)
+        {
+            LinkedHashMap<UUID, Thing> hubElements = new LinkedHashMap<>();
+            
+            for (MappedElementRowViewModel<DefinedThing, TDstElement> mappedElement : this.dstController.GetDstMapResult())
+            {
+                if(mappedElement.GetHubElement() != null)
+                {
+                    hubElements.putIfAbsent(mappedElement.GetHubElement().getIid(), mappedElement.GetHubElement());
+                }
+            }
+            
+            this.dstMapResultHubElements.Value(new ArrayList<>(hubElements.values()));
+            this.isDstMapResultHubElementsStale = false;
+        }
+        
+        return this.dstMapResultHubElements;
+    }
+    
     /**
      * Resets the pre-mapped things to the default way 
      */
@@ -25,9 +25,11 @@ package ViewModels;
 
 import HubController.IHubController;
 import Reactive.ObservableValue;
+import Reactive.WeakSubscription;
 import ViewModels.Interfaces.IHubBrowserHeaderViewModel;
 import cdp4common.engineeringmodeldata.EngineeringModel;
 import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
 
 /**
  * The {@linkplain HubBrowserHeaderViewModel} is the main view model for {@linkplain HubBrowserHeader}
@@ -119,6 +121,11 @@ public final class HubBrowserHeaderViewModel implements IHubBrowserHeaderViewMod
         return this.domainOfExpertiseName.Observable();
     }
 
+    /**
+     * The subscription to the {@linkplain IHubController#GetIsSessionOpenObservable()}
+     */
+    private Disposable sessionOpenSubscription;
+    
     /**
      * Initializes a new {@linkplain HubBrowserHeaderViewModel}
      * 
@@ -136,8 +143,17 @@ public final class HubBrowserHeaderViewModel implements IHubBrowserHeaderViewMod
      */
     private void InitializeObservable()
     {
-        this.hubController.GetIsSessionOpenObservable()
-            .subscribe(isSessionIsOpen -> UpdateProperties(isSessionIsOpen));
+        this.sessionOpenSubscription = WeakSubscription.Subscribe(this.hubController.GetIsSessionOpenObservable(), this,
+                (owner, isSessionIsOpen) -> owner.UpdateProperties(isSessionIsOpen));
+    }
+    
+    /**
+     * Releases the subscription to the {@linkplain IHubController} so this view model can be collected once discarded
+     */
+    @Override
+    public void Dispose()
+    {
+        this.sessionOpenSubscription.dispose();
     }
 
     /**
@@ -79,4 +79,11 @@ public interface ISessionControlPanelViewModel extends IViewModel
      * @return an {@linkplain Observable} of {@linkplain Integer}
      */
     Observable<Integer> GetTimeObservable();
+
+    /**
+     * Gets the {@linkplain Observable} of the interval between two auto refreshes, that changes as the auto refresh backs off
+     * 
+     * @return an {@linkplain Observable} of {@linkplain Integer}
+     */
+    Observable<Integer> GetIntervalObservable();
 }
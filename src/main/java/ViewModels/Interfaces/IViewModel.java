@@ -28,4 +28,11 @@ package ViewModels.Interfaces;
  */
 public interface IViewModel 
 {
+    /**
+     * Releases the subscriptions this view model holds on longer lived objects so it can be collected once discarded.
+     * The view model is not to be used after it has been disposed
+     */
+    default void Dispose()
+    {
+    }
 }
\ No newline at end of file
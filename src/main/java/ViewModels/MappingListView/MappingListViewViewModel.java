@@ -25,10 +25,12 @@ package ViewModels.MappingListView;
 
 import DstController.IDstControllerBase;
 import HubController.IHubController;
+import Reactive.WeakSubscription;
 import ViewModels.ObjectBrowserBaseViewModel;
 import ViewModels.MappingListView.Interfaces.IMappingListViewViewModel;
 import ViewModels.MappingListView.Renderers.MappingListViewCellRendererService;
 import ViewModels.MappingListView.Rows.MappingRowViewModel;
+import cdp4common.ChangeKind;
 import io.reactivex.Observable;
 
 /**
@@ -66,17 +68,11 @@ public abstract class MappingListViewViewModel<TDstController extends IDstContro
      */
     protected void InitializeObservable()
     {        
-        this.dstController.GetDstMapResult().ItemsAdded()
-            .subscribe(x -> this.UpdateBrowserTrees(this.GetShouldDisplayTree()));
+        this.disposables.add(WeakSubscription.Subscribe(this.dstController.GetDstMapResult().Changed().filter(x -> x != ChangeKind.NONE), this,
+                (owner, x) -> owner.UpdateBrowserTrees(owner.GetShouldDisplayTree())));
         
-        this.dstController.GetHubMapResult().ItemsAdded()
-            .subscribe(x -> this.UpdateBrowserTrees(this.GetShouldDisplayTree()));
-
-        this.dstController.GetDstMapResult().IsEmptyObservable()
-            .subscribe(x -> this.UpdateBrowserTrees(this.GetShouldDisplayTree()));
-        
-        this.dstController.GetHubMapResult().IsEmptyObservable()
-            .subscribe(x -> this.UpdateBrowserTrees(this.GetShouldDisplayTree()));
+        this.disposables.add(WeakSubscription.Subscribe(this.dstController.GetHubMapResult().Changed().filter(x -> x != ChangeKind.NONE), this,
+                (owner, x) -> owner.UpdateBrowserTrees(owner.GetShouldDisplayTree())));
     }
 
     /**
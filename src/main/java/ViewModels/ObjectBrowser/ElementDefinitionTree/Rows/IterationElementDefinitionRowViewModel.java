@@ -23,6 +23,10 @@
  */
 package ViewModels.ObjectBrowser.ElementDefinitionTree.Rows;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
 import ViewModels.ObjectBrowser.Rows.IterationRowViewModel;
 import cdp4common.engineeringmodeldata.Iteration;
 
@@ -53,16 +57,16 @@ public final class IterationElementDefinitionRowViewModel extends IterationRowVi
     }
 
     /**
-     * Computes the contained rows
+     * Computes the contained rows, sorted by name once and set at once so that the tree is notified of a single reset 
+     * rather than of every row
      */
     @Override
     public void ComputeContainedRows()
     {
-        super.ComputeContainedRows();    
-        
-        this.GetThing().getElement()
+        this.containedRows.Value(this.GetThing().getElement()
             .stream()
-            .sorted((x, y) -> x.getName().toLowerCase().compareTo(y.getName().toLowerCase()))
-            .forEach(x -> this.containedRows.add(new ElementDefinitionRowViewModel(x, this)));
+            .sorted(Comparator.comparing(x -> x.getName().toLowerCase()))
+            .map(x -> new ElementDefinitionRowViewModel(x, this))
+            .collect(Collectors.toCollection(ArrayList::new)));
     }    
 }
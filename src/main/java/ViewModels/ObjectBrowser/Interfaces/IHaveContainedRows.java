@@ -33,7 +33,8 @@ import Reactive.ObservableCollection;
 public interface IHaveContainedRows<TRowViewModel extends IRowBaseViewModel>
 {
     /**
-     * Gets the contained row the implementing view model has
+     * Gets the contained row the implementing view model has. 
+     * Some implementations return a read only view, such as a sorted one, check the implementation before modifying it
      * 
      * @return An {@linkplain ObservableCollection} of {@linkplain #TRowViewModel}
      */
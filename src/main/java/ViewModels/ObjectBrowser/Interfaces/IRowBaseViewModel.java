@@ -28,4 +28,10 @@ package ViewModels.ObjectBrowser.Interfaces;
  */
 public interface IRowBaseViewModel
 {
+    /**
+     * Releases the resources this row holds, called once the tree that presents it has been rebuilt without it
+     */
+    default void Dispose()
+    {
+    }
 }
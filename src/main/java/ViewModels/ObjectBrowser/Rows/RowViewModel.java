@@ -23,6 +23,7 @@
  */
 package ViewModels.ObjectBrowser.Rows;
 
+import Reactive.ObservableFlags;
 import Reactive.ObservableValue;
 import ViewModels.ObjectBrowser.Interfaces.IRowViewModel;
 
@@ -47,18 +48,48 @@ public abstract class RowViewModel implements IRowViewModel
     }
 
     /**
-     * The {@linkplain ObservableValue} of {@linkplain Boolean} indicating whether this row is selected
+     * The {@linkplain ObservableFlags} bit mask of the value indicating whether this row is selected
      */
-    protected ObservableValue<Boolean> isSelected = new ObservableValue<>(false, Boolean.class);
+    protected static final int IsSelectedFlag = 1;
 
     /**
-     * Gets the {@linkplain boolean} current value from the {@linkplain ObservableValue} isSelected
+     * The {@linkplain ObservableFlags} bit mask of the value indicating whether this row is highlighted
+     */
+    protected static final int IsHighlightedFlag = 1 << 1;
+
+    /**
+     * The {@linkplain ObservableFlags} bit mask of the value indicating whether this row is expanded
+     */
+    protected static final int IsExpandedFlag = 1 << 2;
+
+    /**
+     * The {@linkplain ObservableFlags} that holds the boolean state of this row, 
+     * one int and no subject until someone observes it since the trees can hold a lot of rows. 
+     * It replaces the former protected isSelected and isHighlighted fields, see the breaking changes in the README
+     */
+    protected final ObservableFlags flags = new ObservableFlags();
+
+    /**
+     * Gets the {@linkplain boolean} value indicating whether this row is selected
      * 
      * @return a {@linkplain Boolean}
      */
     public boolean GetIsSelected()
     {
-        return this.isSelected.Value();
+        return this.flags.Get(IsSelectedFlag);
+    }
+    
+    /**
+     * Gets the {@linkplain ObservableValue} of {@linkplain Boolean} indicating whether this row is selected, 
+     * a view over the {@linkplain #flags} that stands for the former isSelected field
+     * 
+     * @return an {@linkplain ObservableValue} of {@linkplain Boolean}
+     * @deprecated use {@linkplain #GetIsSelected()}, {@linkplain #SetIsSelected(boolean)} or {@linkplain #flags} with {@linkplain #IsSelectedFlag}
+     */
+    @Deprecated
+    protected ObservableValue<Boolean> IsSelected()
+    {
+        return this.flags.AsObservableValue(IsSelectedFlag);
     }
     
     /**
@@ -68,26 +99,20 @@ public abstract class RowViewModel implements IRowViewModel
      */
     public void SetIsSelected(boolean isSelected)
     {
-        this.isSelected.Value(isSelected);
+        this.flags.Set(IsSelectedFlag, isSelected);
     }
 
     /**
-     * Switches between the two possible values for the {@linkplain isSelected}
+     * Switches between the two possible values of the value indicating whether this row is selected
      * 
      * @return the new {@linkplain boolean} value
      */
     @Override
     public boolean SwitchIsSelectedValue()
     {
-        this.isSelected.Value(!this.isSelected.Value());
-        return this.isSelected.Value();
+        return this.flags.Switch(IsSelectedFlag);
     }
     
-    /**
-     * The value indicating whether this row should be highlighted in the tree
-     */
-    protected boolean isHighlighted;
-    
     /**
      * Sets a value whether this row is highlighted
      * 
@@ -96,7 +121,7 @@ public abstract class RowViewModel implements IRowViewModel
     @Override
     public void SetIsHighlighted(boolean isHighlighted)
     {
-        this.isHighlighted = isHighlighted;
+        this.flags.Set(IsHighlightedFlag, isHighlighted);
     }
     
     /**
@@ -106,13 +131,21 @@ public abstract class RowViewModel implements IRowViewModel
      */
     public boolean GetIsHighlighted()
     {
-        return this.isHighlighted;
+        return this.flags.Get(IsHighlightedFlag);
     }
     
     /**
-     * A Value indicating whether the current row is expanded
+     * Gets the {@linkplain ObservableValue} of {@linkplain Boolean} indicating whether this row is highlighted, 
+     * a view over the {@linkplain #flags} that stands for the former isHighlighted field
+     * 
+     * @return an {@linkplain ObservableValue} of {@linkplain Boolean}
+     * @deprecated use {@linkplain #GetIsHighlighted()}, {@linkplain #SetIsHighlighted(boolean)} or {@linkplain #flags} with {@linkplain #IsHighlightedFlag}
      */
-    private boolean isExpanded;
+    @Deprecated
+    protected ObservableValue<Boolean> IsHighlighted()
+    {
+        return this.flags.AsObservableValue(IsHighlightedFlag);
+    }
     
     /**
      * Sets a value indicating whether the current row is expanded
@@ -121,7 +154,7 @@ public abstract class RowViewModel implements IRowViewModel
      */
     public void SetIsExpanded(boolean isExpanded)
     {
-        this.isExpanded = isExpanded;
+        this.flags.Set(IsExpandedFlag, isExpanded);
     }
     
     /**
@@ -131,6 +164,6 @@ public abstract class RowViewModel implements IRowViewModel
      */
     public boolean GetIsExpanded()
     {
-        return this.isExpanded;
+        return this.flags.Get(IsExpandedFlag);
     }    
 }
@@ -103,7 +103,7 @@ public abstract class ThingRowViewModel<TThing extends Thing> extends RowViewMod
     {
         this.logger.debug(String.format("UpdateThing for %s", this.GetName()));
         this.thing = thing;
-        this.isHighlighted = true;
+        this.SetIsHighlighted(true);
         this.UpdateProperties();
     }
     
@@ -23,6 +23,10 @@
  */
 package ViewModels;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import javax.swing.ListSelectionModel;
 import javax.swing.tree.TreeModel;
 
@@ -32,9 +36,11 @@ import org.netbeans.swing.outline.OutlineModel;
 
 import Reactive.ObservableValue;
 import ViewModels.Interfaces.IObjectBrowserBaseViewModel;
+import ViewModels.ObjectBrowser.Interfaces.IHaveContainedRows;
 import ViewModels.ObjectBrowser.Interfaces.IRowBaseViewModel;
 import ViewModels.ObjectBrowser.Interfaces.IRowViewModel;
 import io.reactivex.Observable;
+import io.reactivex.disposables.CompositeDisposable;
 
 /**
  * The {@linkplain ObjectBrowserBaseViewModel} is the base abstract class for all browser view model that are based on an {@linkplain OutlineModel}
@@ -47,6 +53,81 @@ public abstract class ObjectBrowserBaseViewModel<TRowViewModel extends IRowBaseV
      * The current class logger
      */
     protected final Logger logger = LogManager.getLogger();
+
+    /**
+     * The subscriptions this view model holds on longer lived objects, released by {@linkplain #Dispose()}
+     */
+    protected final CompositeDisposable disposables = new CompositeDisposable();
+    
+    /**
+     * Initializes a new {@linkplain ObjectBrowserBaseViewModel}
+     */
+    protected ObjectBrowserBaseViewModel()
+    {
+        this.disposables.add(this.browserTreeModel.Observable()
+                .buffer(2, 1)
+                .filter(x -> x.size() == 2)
+                .subscribe(x -> DisposeDiscardedRows(x.get(0), x.get(1))));
+    }
+    
+    /**
+     * Releases the subscriptions this view model holds on longer lived objects 
+     * and the rows of the current tree so it can be collected once discarded
+     */
+    @Override
+    public void Dispose()
+    {
+        this.disposables.dispose();
+        DisposeDiscardedRows(this.browserTreeModel.Value(), null);
+    }
+    
+    /**
+     * Disposes the rows of the previous {@linkplain TreeModel} that the current one does not present anymore
+     * 
+     * @param previousTreeModel the {@linkplain TreeModel} that has been replaced
+     * @param currentTreeModel the {@linkplain TreeModel} that replaced it, can be null
+     */
+    private static void DisposeDiscardedRows(TreeModel previousTreeModel, TreeModel currentTreeModel)
+    {
+        if(previousTreeModel == null)
+        {
+            return;
+        }
+        
+        Set<IRowBaseViewModel> keptRows = Collections.newSetFromMap(new IdentityHashMap<>());
+        
+        if(currentTreeModel != null)
+        {
+            CollectRows(currentTreeModel.getRoot(), keptRows);
+        }
+        
+        Set<IRowBaseViewModel> discardedRows = Collections.newSetFromMap(new IdentityHashMap<>());
+        CollectRows(previousTreeModel.getRoot(), discardedRows);
+        discardedRows.removeAll(keptRows);
+        discardedRows.forEach(IRowBaseViewModel::Dispose);
+    }
+
+    /**
+     * Collects the provided row and all the rows it contains, recursively
+     * 
+     * @param row the row to start from
+     * @param rows the {@linkplain Set} of {@linkplain IRowBaseViewModel} to collect the rows into
+     */
+    private static void CollectRows(Object row, Set<IRowBaseViewModel> rows)
+    {
+        if(row instanceof IRowBaseViewModel && !rows.add((IRowBaseViewModel)row))
+        {
+            return;
+        }
+        
+        if(row instanceof IHaveContainedRows)
+        {
+            for (Object containedRow : ((IHaveContainedRows<?>)row).GetContainedRows())
+            {
+                CollectRows(containedRow, rows);
+            }
+        }
+    }
     
     /**
      * An {@linkplain ObservableValue} of {@linkplain Boolean} indicating whether the tree should get a refresh
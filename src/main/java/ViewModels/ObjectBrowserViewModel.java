@@ -23,11 +23,13 @@
  */
 package ViewModels;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.function.Function;
 
 import HubController.IHubController;
+import Reactive.KeyedObservableCollection;
 import Reactive.ObservableValue;
+import Reactive.WeakSubscription;
 import ViewModels.Interfaces.IObjectBrowserViewModel;
 import ViewModels.ObjectBrowser.Rows.ThingRowViewModel;
 import Views.ObjectBrowser.ObjectBrowser;
@@ -40,9 +42,10 @@ import io.reactivex.Observable;
 public abstract class ObjectBrowserViewModel extends ObjectBrowserBaseViewModel<ThingRowViewModel<Thing>> implements IObjectBrowserViewModel
 {
     /**
-     * Backing field for {@linkplain #GetSelectedElements()}
+     * Backing field for {@linkplain #GetSelectedElements()}, keyed by the rows themselves so that membership and removal are constant time. 
+     * Several rows can represent the same {@linkplain Thing}, each selected row is kept on its own
      */
-    private Collection<ThingRowViewModel<Thing>> selectedElements = new ArrayList<>();
+    private KeyedObservableCollection<ThingRowViewModel<Thing>, ThingRowViewModel<Thing>> selectedElements = new KeyedObservableCollection<>(Function.identity());
     
     /**
      * Gets the current selection of elements 
@@ -85,19 +88,17 @@ public abstract class ObjectBrowserViewModel extends ObjectBrowserBaseViewModel<
     {
         this.hubController = hubController;
         
-        this.hubController.GetIsSessionOpenObservable()
-            .subscribe(x -> this.UpdateBrowserTrees(x), x -> this.logger.catching(x));
+        this.disposables.add(WeakSubscription.Subscribe(this.hubController.GetIsSessionOpenObservable(), this,
+                (owner, x) -> owner.UpdateBrowserTrees(x), (owner, x) -> owner.logger.catching(x)));
         
         if(Boolean.TRUE.equals(this.hubController.GetIsSessionOpen())) 
         {
             this.UpdateBrowserTrees(true);
         }
         
-        this.hubController.GetSessionEventObservable()
-            .filter(x -> x)
-            .subscribe(
-                x -> this.UpdateBrowserTrees(x), 
-                x -> this.logger.error(String.format("An error occured while listening for session event: %s", x)));
+        this.disposables.add(WeakSubscription.Subscribe(this.hubController.GetSessionEventObservable().filter(x -> x), this,
+                (owner, x) -> owner.UpdateBrowserTrees(x), 
+                (owner, x) -> owner.logger.error(String.format("An error occured while listening for session event: %s", x))));
     }
 
     /**
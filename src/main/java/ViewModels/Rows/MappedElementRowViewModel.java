@@ -151,13 +151,13 @@ public abstract class MappedElementRowViewModel<TThing extends DefinedThing, TDs
     }
     
     /**
-     * Gets the {@linkplain Observable} of {@linkplain Boolean} from the {@linkplain ObservableValue} isSelected
+     * Gets the {@linkplain Observable} of {@linkplain Boolean} that fires when this row gets selected or deselected
      * 
      * @return an {@linkplain Observable} of {@linkplain Boolean}
      */
     public Observable<Boolean> GetIsSelectedObservable()
     {
-        return this.isSelected.Observable();
+        return this.flags.Observable(IsSelectedFlag);
     }    
 
     /**
@@ -23,20 +23,8 @@
  */
 package ViewModels;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import org.apache.commons.lang3.tuple.Pair;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import HubController.IHubController;
-import Reactive.ObservableValue;
 import Services.NavigationService.INavigationService;
-import Utils.Ref;
-import Utils.Tasks.ObservableTask;
-import Utils.Tasks.Task;
-import Utils.Tasks.TaskStatus;
 import ViewModels.Interfaces.ISessionControlPanelViewModel;
 import Views.HubLogin;
 import io.reactivex.Observable;
@@ -46,11 +34,6 @@ import io.reactivex.Observable;
  */
 public final class SessionControlPanelViewModel implements ISessionControlPanelViewModel
 {
-    /**
-     * The {@linkplain Logger} of the current class
-     */
-    private Logger logger = LogManager.getLogger();
-    
     /**
      * The {@linkplain IHubController}
      */
@@ -62,24 +45,25 @@ public final class SessionControlPanelViewModel implements ISessionControlPanelV
     private INavigationService navigationService;
     
     /**
-     * The {@linkplain ObservableValue} of type {@linkplain Integer} that yields the current tick of the ongoing timer
-     */
-    private ObservableValue<Integer> timer = new ObservableValue<>(0, Integer.class);
-
-    /**
-     * The auto refresh {@linkplain ObservableTask} collection with their associated cancellation handle
+     * Gets the timer tick {@linkplain Observable}
+     * 
+     * @return an {@linkplain Observable} of {@linkplain Integer}
      */
-    private List<Pair<Ref<Boolean>, ObservableTask<TaskStatus>>> tasks = new ArrayList<>();
+    @Override
+    public Observable<Integer> GetTimeObservable()
+    {
+        return this.hubController.GetAutoRefreshCountdownObservable();
+    }
     
     /**
-     * Gets the timer tick {@linkplain Observable}
+     * Gets the {@linkplain Observable} of the interval between two auto refreshes, that changes as the auto refresh backs off
      * 
      * @return an {@linkplain Observable} of {@linkplain Integer}
      */
     @Override
-    public Observable<Integer> GetTimeObservable()
+    public Observable<Integer> GetIntervalObservable()
     {
-        return this.timer.Observable();
+        return this.hubController.GetAutoRefreshIntervalObservable();
     }
     
     /**
@@ -151,10 +135,7 @@ public final class SessionControlPanelViewModel implements ISessionControlPanelV
     @Override
     public void CancelAutoRefresh()
     {
-        for (Pair<Ref<Boolean>, ObservableTask<TaskStatus>> pair : tasks)
-        {
-            pair.getLeft().Set(true);
-        }
+        this.hubController.StopAutoRefresh();
     }
 
     /**
@@ -165,44 +146,6 @@ public final class SessionControlPanelViewModel implements ISessionControlPanelV
     @Override
     public void SetAutoRefresh(Integer timer)
     {
-        this.CancelAutoRefresh();
-        
-        Ref<Boolean> isCancelled = new Ref<>(Boolean.class, false);
-        
-        ObservableTask<TaskStatus> task = Task.Run(() -> 
-        {
-            this.timer.Value(timer);
-            
-            while(Boolean.FALSE.equals(isCancelled.Get()))
-            {
-                try
-                {
-                    Thread.sleep(1000);
-                    this.timer.Value(this.timer.Value() - 1);
-                    
-                    if(this.timer.Value() == 0)
-                    {
-                        this.hubController.Refresh();
-                        this.timer.Value(timer);
-                    }
-                } 
-                catch (InterruptedException exception)
-                {
-                    this.logger.catching(exception);
-                    isCancelled.Set(true);
-                    this.timer.Value(timer);
-                }
-            }            
-        });
-
-        Pair<Ref<Boolean>, ObservableTask<TaskStatus>> taskWithCancellation = Pair.of(isCancelled, task);
-        
-        task.Observable().subscribe(x -> 
-        {
-            this.logger.debug(String.format("Auto refresh task is done with status: %s", x.GetStatus()));
-            this.tasks.remove(taskWithCancellation);
-        });
-        
-        this.tasks.add(taskWithCancellation);
+        this.hubController.StartAutoRefresh(timer);
     }
 }
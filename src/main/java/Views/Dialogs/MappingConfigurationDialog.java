@@ -59,6 +59,7 @@ import Views.ObjectBrowser.ObjectBrowserBase;
 import cdp4common.commondata.ClassKind;
 import cdp4common.engineeringmodeldata.ElementDefinition;
 import cdp4common.engineeringmodeldata.RequirementsSpecification;
+import io.reactivex.disposables.CompositeDisposable;
 
 /**
  * The MappingConfigurationDialog is the base view for all mapping configuration dialog
@@ -79,6 +80,11 @@ public abstract class MappingConfigurationDialog
      */
     private transient TViewModel dataContext;
     
+    /**
+     * The subscriptions this dialog holds on its {@linkplain #dataContext}
+     */
+    private final transient CompositeDisposable bindings = new CompositeDisposable();
+    
     /**
      * The {@linkplain ObjectBrowser} view for {@linkplain ElementDefinition}
      */
@@ -304,24 +310,40 @@ public abstract class MappingConfigurationDialog
         this.dstObjectBrowser.SetDataContext(this.dataContext.GetDstObjectBrowserViewModel());
         this.mappedElementListView.SetDataContext(this.dataContext.GetMappedElementListViewViewModel());
         
-        this.dataContext.GetSelectedMappedElement().subscribe(x -> 
+        this.bindings.clear();
+        
+        this.bindings.add(this.dataContext.GetSelectedMappedElement().subscribe(x -> 
         {
             if(x != null)
             {
                 this.UpdateMapToNewHubElementCheckBoxState(x.GetShouldCreateNewTargetElementValue());
             }
-        });
+        }));
         
         this.mapToNewElementCheckBox.addActionListener(x -> this.dataContext.WhenMapToNewElementCheckBoxChanged(this.mapToNewElementCheckBox.isSelected()));
         
-        this.dataContext.GetShouldMapToNewElementCheckBoxBeEnabled()
-            .subscribe(x -> this.mapToNewElementCheckBox.setEnabled(x));
+        this.bindings.add(this.dataContext.GetShouldMapToNewElementCheckBoxBeEnabled()
+            .subscribe(x -> this.mapToNewElementCheckBox.setEnabled(x)));
         
         this.okButton.addActionListener(x -> this.CloseDialog(true));        
         this.cancelButton.addActionListener(x -> this.CloseDialog(false));
         this.resetButton.addActionListener(x -> this.dataContext.ResetPreMappedThings());
     }
 
+    /**
+     * Releases the subscriptions this dialog and its browsers hold on their data context, 
+     * the browsers being bound to view models that outlive the dialog
+     */
+    @Override
+    public void Dispose()
+    {
+        this.bindings.clear();
+        this.elementDefinitionBrowser.Dispose();
+        this.requirementBrowser.Dispose();
+        this.dstObjectBrowser.Dispose();
+        this.mappedElementListView.Dispose();
+    }
+    
     /**
      * Updates the visual state of the {@linkplain mapToNewHubElementCheckBox} according to the selected mapped element
      * 
@@ -44,6 +44,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import Enumerations.MappingDirection;
+import Services.MappingEngineService.MappingContext;
 import Views.ContextMenu.ContextMenu;
 import Views.ContextMenu.ImpactViewContextMenu;
 import Views.ObjectBrowser.ImpactViewObjectBrowser;
@@ -53,6 +54,8 @@ import cdp4common.commondata.ClassKind;
 import cdp4common.engineeringmodeldata.ElementDefinition;
 import cdp4common.engineeringmodeldata.RequirementsSpecification;
 import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
 import Utils.ImageLoader.ImageLoader;
 import ViewModels.Interfaces.IImpactViewContextMenuViewModel;
 
@@ -78,6 +81,11 @@ public class ImpactViewPanel extends JPanel
      * The current class {@linkplain Logger}
      */
     private final transient Logger logger = LogManager.getLogger();
+
+    /**
+     * The subscription made by {@linkplain #BindNumberOfSelectedThingToTransfer(Observable)}, replaced on every new binding
+     */
+    private transient Disposable numberOfSelectedThingSubscription = Disposables.disposed();
     
     /**
      * The arrows format-able base string
@@ -447,15 +455,43 @@ public class ImpactViewPanel extends JPanel
      * @param handler the {@linkplain Callable} of {@linkplain Boolean}
      */
     public void AttachOnTransfer(Callable<Boolean> handler)
+    {
+        this.AttachTransferHandler(context -> handler);
+    }
+    
+    /**
+     * Attach a {@linkplain ActionListener} for the {@linkplain switchMappingDirectionButton}. The handler receives a {@linkplain MappingContext}
+     * whose progress is displayed by the {@linkplain #progressBar} and that is cancelled by the {@linkplain #cancelButton}
+     * 
+     * @param handler the {@linkplain Function} of {@linkplain MappingContext} that returns a value indicating whether the transfer succeeded
+     */
+    public void AttachOnTransfer(Function<MappingContext, Boolean> handler)
+    {
+        this.AttachTransferHandler(context -> () -> handler.apply(context));
+    }
+    
+    /**
+     * Attach a {@linkplain ActionListener} for the {@linkplain switchMappingDirectionButton} that runs, on each transfer, 
+     * the {@linkplain Callable} created for a new {@linkplain MappingContext}
+     * 
+     * @param handlerFactory the {@linkplain Function} that creates the {@linkplain Callable} of {@linkplain Boolean} to run
+     */
+    private void AttachTransferHandler(Function<MappingContext, Callable<Boolean>> handlerFactory)
     {
         this.transferButton.addActionListener(e ->
         {
             try
             {
-                ObservableTask<Boolean> task = Task.Create(handler, Boolean.class);
+                MappingContext context = new MappingContext((processed, total) -> SwingUtilities.invokeLater(() -> this.UpdateProgress(processed, total)));
+                ObservableTask<Boolean> task = Task.Create(handlerFactory.apply(context), Boolean.class);
                 
-                ActionListener cancelButtonHandler = x -> task.Cancel();
+                ActionListener cancelButtonHandler = x -> 
+                {
+                    context.Cancel();
+                    task.Cancel();
+                };
 
+                this.UpdateProgress(0, 0);
                 this.SetTransferIsInProgress(true);
                 this.cancelButton.addActionListener(cancelButtonHandler);
                 
@@ -474,6 +510,18 @@ public class ImpactViewPanel extends JPanel
             }
         });        
     }
+    
+    /**
+     * Updates the {@linkplain #progressBar} with the provided progress, it is indeterminate as long as the total is unknown
+     * 
+     * @param processedItems the number of items processed so far
+     * @param totalItems the total number of items to process
+     */
+    private void UpdateProgress(long processedItems, long totalItems)
+    {
+        this.progressBar.setIndeterminate(totalItems <= 0);
+        this.progressBar.setValue(totalItems <= 0 ? 0 : (int)(processedItems * this.progressBar.getMaximum() / totalItems));
+    }
 
     /**
      * Updates the arrows and the active tab for the impact views
@@ -539,7 +587,16 @@ public class ImpactViewPanel extends JPanel
      */
     public void BindNumberOfSelectedThingToTransfer(Observable<Integer> numberOfSelectedThingObservable)
     {
-        numberOfSelectedThingObservable.subscribe(x -> this.UpdateTransferButtonNumberOfItems(x));
+        this.numberOfSelectedThingSubscription.dispose();
+        this.numberOfSelectedThingSubscription = numberOfSelectedThingObservable.subscribe(x -> this.UpdateTransferButtonNumberOfItems(x));
+    }
+    
+    /**
+     * Releases the subscriptions this panel holds on the observables it has been bound to
+     */
+    public void Dispose()
+    {
+        this.numberOfSelectedThingSubscription.dispose();
     }
     
     /**
@@ -52,4 +52,12 @@ public interface IView<TViewModel extends IViewModel>
      * @return An {@link #TViewModel}
      */
 	TViewModel GetDataContext();
+
+    /**
+     * Releases the subscriptions this view holds on its data context, 
+     * a later {@linkplain #SetDataContext} binds the view again
+     */
+	default void Dispose()
+	{
+	}
 }
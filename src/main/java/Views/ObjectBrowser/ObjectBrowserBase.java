@@ -43,12 +43,15 @@ import javax.swing.table.TableColumn;
 import org.netbeans.swing.outline.Outline;
 import org.netbeans.swing.outline.OutlineModel;
 
+import App.AppContainer;
+import Services.SchedulerService.ISchedulerService;
 import ViewModels.Interfaces.IContextMenuViewModel;
 import ViewModels.Interfaces.IObjectBrowserBaseViewModel;
 import ViewModels.Interfaces.IViewModel;
 import ViewModels.ObjectBrowser.RenderDataProvider.ObjectBrowserRenderDataProvider;
 import Views.ContextMenu.ContextMenu;
 import Views.Interfaces.IView;
+import io.reactivex.disposables.CompositeDisposable;
 
 /**
  * The {@linkplain ObjectBrowserBase} is the base view for {@linkplain ObjectBrowser}s
@@ -65,6 +68,16 @@ public abstract class ObjectBrowserBase<TViewModel extends IObjectBrowserBaseVie
     */
     protected transient TViewModel dataContext;
     
+    /**
+     * The subscriptions this view holds on its {@linkplain #dataContext}
+     */
+    private final transient CompositeDisposable bindings = new CompositeDisposable();
+    
+    /**
+     * The {@linkplain ISchedulerService} that delivers the view model changes on the event dispatch thread
+     */
+    private final transient ISchedulerService schedulerService;
+    
     /**
      * Sets the DataContext
      * 
@@ -98,6 +111,17 @@ public abstract class ObjectBrowserBase<TViewModel extends IObjectBrowserBaseVie
      */
     protected ObjectBrowserBase()
     {
+        this(AppContainer.Container.getComponent(ISchedulerService.class));
+    }
+    
+    /**
+     * Initializes a new {@linkplain ObjectBrowser}
+     * 
+     * @param schedulerService the {@linkplain ISchedulerService}
+     */
+    protected ObjectBrowserBase(ISchedulerService schedulerService)
+    {
+        this.schedulerService = schedulerService;
         this.InitializeComponents();
     }
 
@@ -173,11 +197,12 @@ public abstract class ObjectBrowserBase<TViewModel extends IObjectBrowserBaseVie
 
         this.objectBrowserTree.setRowSelectionAllowed(this.GetDataContext().GetSelectionMode() != 1);
         
-        this.GetDataContext().BrowserTreeModel().subscribe(this::SetOutlineModel);
-        this.GetDataContext().IsTheTreeVisible().subscribe(this::SetTreeVisibility);
+        this.bindings.clear();
+        this.bindings.add(this.GetDataContext().BrowserTreeModel().subscribe(this::SetOutlineModel));
+        this.bindings.add(this.GetDataContext().IsTheTreeVisible().subscribe(this::SetTreeVisibility));
 
-        this.GetDataContext().GetShouldRefreshTree().filter(x -> x).subscribe(x -> SwingUtilities.invokeLater(
-                () -> objectBrowserTree.tableChanged(new TableModelEvent(this.objectBrowserTree.getOutlineModel()))));
+        this.bindings.add(this.schedulerService.ObserveOnEdt(this.GetDataContext().GetShouldRefreshTree().filter(x -> x))
+            .subscribe(x -> objectBrowserTree.tableChanged(new TableModelEvent(this.objectBrowserTree.getOutlineModel()))));
 
         this.objectBrowserTree.addMouseListener(new MouseAdapter()
         {
@@ -195,6 +220,15 @@ public abstract class ObjectBrowserBase<TViewModel extends IObjectBrowserBaseVie
         });
     }
 
+    /**
+     * Releases the subscriptions this view holds on its data context
+     */
+    @Override
+    public void Dispose()
+    {
+        this.bindings.clear();
+    }
+    
     /**
      * Sets the columns preferred width
      */
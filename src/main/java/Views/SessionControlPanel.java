@@ -40,6 +40,8 @@ import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
 import javax.swing.text.DefaultFormatter;
 
+import App.AppContainer;
+import Services.SchedulerService.ISchedulerService;
 import ViewModels.Interfaces.ISessionControlPanelViewModel;
 import ViewModels.Interfaces.IViewModel;
 import Views.Interfaces.IView;
@@ -62,6 +64,11 @@ public class SessionControlPanel extends JPanel implements IView<ISessionControl
      */
     protected transient ISessionControlPanelViewModel dataContext;
     
+    /**
+     * The {@linkplain ISchedulerService} that delivers the view model changes on the event dispatch thread
+     */
+    private final transient ISchedulerService schedulerService;
+    
     /**
      * View components declaration
      */
@@ -77,6 +84,17 @@ public class SessionControlPanel extends JPanel implements IView<ISessionControl
      */
     public SessionControlPanel()
     {
+        this(AppContainer.Container.getComponent(ISchedulerService.class));
+    }
+    
+    /**
+     * Initializes a new {@linkplain SessionControlPanel}
+     * 
+     * @param schedulerService the {@linkplain ISchedulerService}
+     */
+    public SessionControlPanel(ISchedulerService schedulerService)
+    {
+        this.schedulerService = schedulerService;
         this.Initialize();
         this.SetControlsEnabled(false);
     }
@@ -204,7 +222,11 @@ public class SessionControlPanel extends JPanel implements IView<ISessionControl
             this.TriggerAutoRefresh();
         });
 
-        this.dataContext.GetTimeObservable().subscribe(x -> SwingUtilities.invokeLater(() -> this.autoRefreshProgressBar.setValue(x)));
+        this.schedulerService.ObserveOnEdt(this.dataContext.GetIntervalObservable())
+            .filter(x -> x > 0)
+            .subscribe(this.autoRefreshProgressBar::setMaximum);
+        
+        this.schedulerService.ObserveOnEdt(this.dataContext.GetTimeObservable()).subscribe(this.autoRefreshProgressBar::setValue);
         
         this.autoRefreshCheckBox.addItemListener(e -> 
         {
@@ -266,11 +288,7 @@ public class SessionControlPanel extends JPanel implements IView<ISessionControl
         
         if(timer != null)
         {
-            SwingUtilities.invokeLater(() -> 
-            {
-                this.autoRefreshProgressBar.setMaximum(timer);
-                this.dataContext.SetAutoRefresh(timer);
-            });
+            SwingUtilities.invokeLater(() -> this.dataContext.SetAutoRefresh(timer));
         }
     }    
 
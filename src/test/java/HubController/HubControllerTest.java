@@ -26,6 +26,7 @@ package HubController;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,8 +35,15 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.MutablePair;
@@ -45,10 +53,15 @@ import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableMap;
 
+import Services.IterationSnapshot.IIterationSnapshotService;
 import Services.NavigationService.INavigationService;
+import Services.SchedulerService.ISchedulerService;
 import Utils.Ref;
 import Views.Dialogs.LogEntryDialog;
+import cdp4common.commondata.ClassKind;
 import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.ElementUsage;
 import cdp4common.engineeringmodeldata.EngineeringModel;
 import cdp4common.engineeringmodeldata.ExternalIdentifierMap;
 import cdp4common.engineeringmodeldata.Iteration;
@@ -71,12 +84,15 @@ import cdp4common.sitedirectorydata.ReferenceSource;
 import cdp4common.sitedirectorydata.Rule;
 import cdp4common.sitedirectorydata.SiteDirectory;
 import cdp4common.sitedirectorydata.UnitPrefix;
+import cdp4common.types.CacheKey;
 import cdp4common.types.ContainerList;
 import cdp4dal.Assembler;
 import cdp4dal.Session;
 import cdp4dal.dal.Credentials;
 import cdp4dal.operations.OperationContainer;
 import cdp4dal.operations.ThingTransaction;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
 
 class HubControllerTest
 {
@@ -139,6 +155,10 @@ class HubControllerTest
 	@Test
 	void VerifyReloadOrRefresh() throws Exception
 	{
+		TestScheduler edt = new TestScheduler();
+		ISchedulerService schedulerService = mock(ISchedulerService.class);
+		when(schedulerService.Edt()).thenReturn(edt);
+		this.controller = new HubController(this.navigationService, null, null, schedulerService);
 		this.SetSession();
 		assertThrows(NullPointerException.class, () -> this.controller.Reload());
 		assertThrows(NullPointerException.class, () -> this.controller.Refresh());
@@ -146,8 +166,282 @@ class HubControllerTest
 		when(this.session.reload()).thenReturn(CompletableFuture.completedFuture(null));
 		when(this.session.refresh()).thenReturn(CompletableFuture.completedFuture(null));
 
+		ArrayList<ThingChangeSet> changeSets = new ArrayList<>();
+		this.controller.GetChangeSetObservable().subscribe(changeSets::add);
+
+		ArrayList<Boolean> sessionEvents = new ArrayList<>();
+		this.controller.GetSessionEventObservable().subscribe(sessionEvents::add);
+		sessionEvents.clear();
+
 		assertTrue(this.controller.Reload());
 		assertTrue(this.controller.Refresh());
+		assertTrue(changeSets.isEmpty());
+		assertTrue(sessionEvents.isEmpty());
+
+		edt.triggerActions();
+		assertEquals(2, changeSets.size());
+		assertEquals(Arrays.asList(true, true), sessionEvents);
+		assertTrue(changeSets.stream().allMatch(ThingChangeSet::IsEmpty));
+	}
+
+	@Test
+	void VerifyAsyncRefreshReloadAndWrite() throws Exception
+	{
+		this.SetSession();
+		when(this.session.reload()).thenReturn(CompletableFuture.completedFuture(null));
+		when(this.session.refresh()).thenReturn(CompletableFuture.completedFuture(null));
+
+		assertTrue(this.controller.ReloadAsync(0, TimeUnit.SECONDS).get());
+		assertTrue(this.controller.RefreshAsync(1, TimeUnit.SECONDS).get());
+
+		CompletableFuture<Void> neverCompleting = new CompletableFuture<>();
+		when(this.session.refresh()).thenReturn(neverCompleting);
+		CompletableFuture<Boolean> timingOut = this.controller.RefreshAsync(50, TimeUnit.MILLISECONDS);
+		ExecutionException exception = assertThrows(ExecutionException.class, () -> timingOut.get());
+		assertTrue(exception.getCause() instanceof TimeoutException);
+		assertFalse(neverCompleting.isCancelled());
+		neverCompleting.complete(null);
+
+		CompletableFuture<Void> cancelled = new CompletableFuture<>();
+		when(this.session.reload()).thenReturn(cancelled);
+		this.controller.ReloadAsync(0, TimeUnit.SECONDS).cancel(true);
+		assertTrue(cancelled.isCancelled());
+
+		ThingTransaction transaction = mock(ThingTransaction.class);
+		when(transaction.finalizeTransaction()).thenReturn(mock(OperationContainer.class));
+		when(this.session.write(any(OperationContainer.class))).thenReturn(CompletableFuture.completedFuture(null));
+		assertDoesNotThrow(() -> this.controller.WriteAsync(transaction, 1, TimeUnit.SECONDS).get());
+	}
+
+	@Test
+	void VerifyOpenIterationAsyncLoadsTheSnapshotOffTheCallingThread() throws Exception
+	{
+		List<Runnable> pendingWork = new ArrayList<>();
+		ISchedulerService schedulerService = mock(ISchedulerService.class);
+		when(schedulerService.IO()).thenReturn(Schedulers.from(pendingWork::add));
+		when(schedulerService.Edt()).thenReturn(Schedulers.trampoline());
+		IIterationSnapshotService iterationSnapshotService = mock(IIterationSnapshotService.class);
+		when(iterationSnapshotService.IsEnabled()).thenReturn(true);
+		when(iterationSnapshotService.Load(any(UUID.class), any(UUID.class))).thenReturn(new ArrayList<>());
+		this.controller = new HubController(this.navigationService, iterationSnapshotService, null, schedulerService);
+		this.SetIteration();
+
+		EngineeringModelSetup engineeringModelSetup = new EngineeringModelSetup();
+		engineeringModelSetup.setEngineeringModelIid(UUID.randomUUID());
+		IterationSetup iterationSetup = new IterationSetup();
+		iterationSetup.setIterationIid(UUID.randomUUID());
+
+		CompletableFuture<Boolean> result = this.controller.OpenIterationAsync(engineeringModelSetup, iterationSetup, new DomainOfExpertise(), 0, TimeUnit.SECONDS);
+		assertFalse(result.isDone());
+		verify(iterationSnapshotService, never()).Load(any(UUID.class), any(UUID.class));
+
+		pendingWork.forEach(Runnable::run);
+		assertTrue(result.get(1, TimeUnit.SECONDS));
+		verify(iterationSnapshotService, times(1)).Load(engineeringModelSetup.getEngineeringModelIid(), iterationSetup.getIterationIid());
+	}
+
+	@Test
+	void VerifyCancelledOpenIterationAsyncDoesNotOpenTheIteration() throws Exception
+	{
+		List<Runnable> pendingWork = new ArrayList<>();
+		ISchedulerService schedulerService = mock(ISchedulerService.class);
+		when(schedulerService.IO()).thenReturn(Schedulers.from(pendingWork::add));
+		when(schedulerService.Edt()).thenReturn(Schedulers.trampoline());
+		IIterationSnapshotService iterationSnapshotService = mock(IIterationSnapshotService.class);
+		when(iterationSnapshotService.IsEnabled()).thenReturn(true);
+		this.controller = new HubController(this.navigationService, iterationSnapshotService, null, schedulerService);
+		this.SetIteration();
+		Iteration openIteration = this.controller.GetOpenIteration();
+
+		EngineeringModelSetup engineeringModelSetup = new EngineeringModelSetup();
+		engineeringModelSetup.setEngineeringModelIid(UUID.randomUUID());
+		IterationSetup iterationSetup = new IterationSetup();
+		iterationSetup.setIterationIid(UUID.randomUUID());
+
+		CompletableFuture<Boolean> result = this.controller.OpenIterationAsync(engineeringModelSetup, iterationSetup, new DomainOfExpertise(), 0, TimeUnit.SECONDS);
+		result.cancel(true);
+		pendingWork.forEach(Runnable::run);
+
+		assertTrue(result.isCancelled());
+		verify(iterationSnapshotService, never()).Load(any(UUID.class), any(UUID.class));
+		verify(this.session, times(1)).read(any(Iteration.class), any(DomainOfExpertise.class));
+		assertSame(openIteration, this.controller.GetOpenIteration());
+	}
+
+	@Test
+	void VerifyRefreshJoinsTheRefreshInFlight() throws Exception
+	{
+		this.SetSession();
+		CompletableFuture<Void> refresh = new CompletableFuture<>();
+		when(this.session.refresh()).thenReturn(refresh);
+
+		CompletableFuture<Boolean> first = this.controller.RefreshAsync(0, TimeUnit.SECONDS);
+		CompletableFuture<Boolean> second = this.controller.RefreshAsync(0, TimeUnit.SECONDS);
+		CompletableFuture<Boolean> third = this.controller.RefreshAsync(0, TimeUnit.SECONDS);
+		verify(this.session, times(1)).refresh();
+
+		first.cancel(true);
+		assertFalse(refresh.isCancelled());
+
+		refresh.complete(null);
+		assertTrue(first.isCancelled());
+		assertTrue(second.get());
+		assertTrue(third.get());
+
+		assertTrue(this.controller.Refresh());
+		verify(this.session, times(2)).refresh();
+	}
+
+	@Test
+	void VerifyAutoRefresh() throws Exception
+	{
+		TestScheduler scheduler = new TestScheduler();
+		ISchedulerService schedulerService = mock(ISchedulerService.class);
+		when(schedulerService.Computation()).thenReturn(scheduler);
+		when(schedulerService.Edt()).thenReturn(Schedulers.trampoline());
+		this.controller = new HubController(this.navigationService, null, null, schedulerService);
+		this.SetIteration();
+		when(this.session.refresh()).thenReturn(CompletableFuture.completedFuture(null));
+
+		ArrayList<Integer> countdown = new ArrayList<>();
+		ArrayList<Integer> intervals = new ArrayList<>();
+		this.controller.GetAutoRefreshCountdownObservable().subscribe(countdown::add);
+		this.controller.GetAutoRefreshIntervalObservable().subscribe(intervals::add);
+
+		assertThrows(IllegalArgumentException.class, () -> this.controller.StartAutoRefresh(0));
+		this.controller.StartAutoRefresh(1);
+		verify(this.session, never()).refresh();
+
+		scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+		verify(this.session, times(1)).refresh();
+		assertTrue(countdown.contains(2));
+		assertEquals(Integer.valueOf(2), intervals.get(intervals.size() - 1));
+
+		scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+		verify(this.session, times(2)).refresh();
+		assertEquals(Integer.valueOf(4), intervals.get(intervals.size() - 1));
+
+		this.controller.StopAutoRefresh();
+		int numberOfTicks = countdown.size();
+		scheduler.advanceTimeBy(30, TimeUnit.SECONDS);
+		assertEquals(numberOfTicks, countdown.size());
+		verify(this.session, times(2)).refresh();
+	}
+
+	@Test
+	void VerifyChunkedTransactionPlan()
+	{
+		Iteration iterationClone = new Iteration();
+		iterationClone.setIid(UUID.randomUUID());
+
+		ElementDefinition elementDefinition0 = new ElementDefinition();
+		elementDefinition0.setIid(UUID.randomUUID());
+		iterationClone.getElement().add(elementDefinition0);
+
+		Parameter parameter = new Parameter();
+		parameter.setIid(UUID.randomUUID());
+		elementDefinition0.getParameter().add(parameter);
+
+		ElementDefinition elementDefinition1 = new ElementDefinition();
+		elementDefinition1.setIid(UUID.randomUUID());
+		iterationClone.getElement().add(elementDefinition1);
+
+		ArrayList<Thing> things = new ArrayList<>();
+		things.add(parameter);
+		things.add(elementDefinition0);
+		things.add(elementDefinition1);
+		things.add(iterationClone);
+
+		assertThrows(IllegalArgumentException.class, () -> ChunkedTransaction.Plan(things, 0));
+
+		ChunkedTransaction chunkedTransaction = ChunkedTransaction.Plan(things, 2);
+		assertEquals(2, chunkedTransaction.GetNumberOfBatches());
+		assertEquals(0, chunkedTransaction.GetNextBatchIndex());
+		assertFalse(chunkedTransaction.IsCompleted());
+		assertTrue(chunkedTransaction.GetBatches().get(0).GetThings().contains(parameter));
+		assertTrue(chunkedTransaction.GetBatches().get(0).GetThings().contains(elementDefinition0));
+		assertTrue(chunkedTransaction.GetBatches().get(1).GetThings().contains(elementDefinition1));
+		assertSame(iterationClone, chunkedTransaction.GetBatches().get(0).GetIterationClone());
+		assertSame(iterationClone, chunkedTransaction.GetBatches().get(1).GetIterationClone());
+
+		assertEquals(1, ChunkedTransaction.Plan(things, 10).GetNumberOfBatches());
+		assertEquals(0, ChunkedTransaction.Plan(new ArrayList<>(), 10).GetNumberOfBatches());
+		assertTrue(ChunkedTransaction.Plan(new ArrayList<>(), 10).IsCompleted());
+
+		List<Thing> firstBatchTopContainers = chunkedTransaction.GetBatches().get(0).CreateTopContainerClones();
+		assertEquals(1, firstBatchTopContainers.size());
+		Iteration firstBatchIteration = (Iteration)firstBatchTopContainers.get(0);
+		assertNotSame(iterationClone, firstBatchIteration);
+		assertTrue(firstBatchIteration.getElement().contains(elementDefinition0));
+		assertFalse(firstBatchIteration.getElement().contains(elementDefinition1));
+		assertSame(iterationClone, elementDefinition1.getContainer());
+		assertSame(iterationClone, elementDefinition0.getContainer());
+		assertTrue(iterationClone.getElement().containsAll(Arrays.asList(elementDefinition0, elementDefinition1)));
+		assertTrue(((Iteration)chunkedTransaction.GetBatches().get(1).CreateTopContainerClones().get(0)).getElement().containsAll(Arrays.asList(elementDefinition0, elementDefinition1)));
+	}
+
+	@Test
+	void VerifyChunkedTransactionPlanOrdersReferencedThingsFirst()
+	{
+		Iteration iterationClone = new Iteration();
+		iterationClone.setIid(UUID.randomUUID());
+
+		ElementDefinition elementDefinition0 = new ElementDefinition();
+		elementDefinition0.setIid(UUID.randomUUID());
+		iterationClone.getElement().add(elementDefinition0);
+
+		ElementDefinition elementDefinition1 = new ElementDefinition();
+		elementDefinition1.setIid(UUID.randomUUID());
+		iterationClone.getElement().add(elementDefinition1);
+
+		ElementUsage elementUsage = new ElementUsage();
+		elementUsage.setIid(UUID.randomUUID());
+		elementUsage.setElementDefinition(elementDefinition1);
+		elementDefinition0.getContainedElement().add(elementUsage);
+
+		ArrayList<Thing> things = new ArrayList<>(Arrays.asList(elementDefinition0, elementUsage, elementDefinition1, iterationClone));
+
+		ChunkedTransaction chunkedTransaction = ChunkedTransaction.Plan(things, 1);
+		assertEquals(2, chunkedTransaction.GetNumberOfBatches());
+		assertEquals(Arrays.asList(elementDefinition1), chunkedTransaction.GetBatches().get(0).GetThings());
+		assertTrue(chunkedTransaction.GetBatches().get(1).GetThings().containsAll(Arrays.asList(elementDefinition0, elementUsage)));
+
+		ElementUsage backReference = new ElementUsage();
+		backReference.setIid(UUID.randomUUID());
+		backReference.setElementDefinition(elementDefinition0);
+		elementDefinition1.getContainedElement().add(backReference);
+		things.add(backReference);
+
+		chunkedTransaction = ChunkedTransaction.Plan(things, 1);
+		assertEquals(1, chunkedTransaction.GetNumberOfBatches());
+		assertEquals(4, chunkedTransaction.GetBatches().get(0).GetThings().size());
+	}
+
+	@Test
+	void VerifyThingChangeSet()
+	{
+		UUID added = UUID.randomUUID();
+		UUID updated = UUID.randomUUID();
+		UUID deleted = UUID.randomUUID();
+		UUID untouched = UUID.randomUUID();
+
+		HashMap<UUID, Integer> previous = new HashMap<>();
+		previous.put(updated, 1);
+		previous.put(deleted, 1);
+		previous.put(untouched, 3);
+
+		HashMap<UUID, Integer> current = new HashMap<>();
+		current.put(added, 2);
+		current.put(updated, 2);
+		current.put(untouched, 3);
+
+		ThingChangeSet changeSet = ThingChangeSet.Compute(previous, current);
+		assertFalse(changeSet.IsEmpty());
+		assertTrue(changeSet.GetAdded().contains(added));
+		assertTrue(changeSet.GetUpdated().contains(updated));
+		assertTrue(changeSet.GetDeleted().contains(deleted));
+		assertFalse(changeSet.Contains(untouched));
+		assertTrue(ThingChangeSet.Compute(current, current).IsEmpty());
 	}
 
 	@Test
@@ -312,6 +606,191 @@ class HubControllerTest
 				new Ref<>(Category.class)));
 	}
 
+	@Test
+	void VerifyWriteInvalidatesThingIndex() throws Exception
+	{
+		this.SetIteration();
+		this.controller.GetOpenIteration().setIid(UUID.randomUUID());
+		ElementDefinition elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+		assertFalse(this.controller.TryGetThingById(elementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+
+		ThingTransaction transaction = mock(ThingTransaction.class);
+		when(transaction.finalizeTransaction()).thenReturn(mock(OperationContainer.class));
+		
+		when(this.session.write(any(OperationContainer.class))).thenAnswer(x -> 
+		{
+			this.session.getAssembler().getCache().put(
+					new CacheKey(elementDefinition.getIid(), this.controller.GetOpenIteration().getIid()), elementDefinition);
+			
+			return CompletableFuture.completedFuture(null);
+		});
+		
+		this.controller.Write(transaction);
+		assertTrue(this.controller.TryGetThingById(elementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+		
+		ElementDefinition asyncElementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+		assertFalse(this.controller.TryGetThingById(asyncElementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+		
+		when(this.session.write(any(OperationContainer.class))).thenAnswer(x -> 
+		{
+			this.session.getAssembler().getCache().put(
+					new CacheKey(asyncElementDefinition.getIid(), this.controller.GetOpenIteration().getIid()), asyncElementDefinition);
+			
+			return CompletableFuture.completedFuture(null);
+		});
+		
+		this.controller.WriteAsync(transaction, 0, TimeUnit.SECONDS).join();
+		assertTrue(this.controller.TryGetThingById(asyncElementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+	}
+
+	@Test
+	void VerifyRefreshDoesNotBuildTheThingIndex() throws Exception
+	{
+		ISchedulerService schedulerService = mock(ISchedulerService.class);
+		when(schedulerService.Edt()).thenReturn(Schedulers.trampoline());
+		this.controller = new HubController(this.navigationService, null, null, schedulerService);
+		this.SetIteration();
+		this.controller.GetOpenIteration().setIid(UUID.randomUUID());
+		ElementDefinition elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+
+		when(this.session.refresh()).thenAnswer(x -> 
+		{
+			this.session.getAssembler().getCache().put(
+					new CacheKey(elementDefinition.getIid(), this.controller.GetOpenIteration().getIid()), elementDefinition);
+			
+			return CompletableFuture.completedFuture(null);
+		});
+
+		ArrayList<ThingChangeSet> changeSets = new ArrayList<>();
+		this.controller.GetChangeSetObservable().subscribe(changeSets::add);
+		assertTrue(this.controller.Refresh());
+
+		Field thingIndexesField = HubController.class.getDeclaredField("thingIndexes");
+		thingIndexesField.setAccessible(true);
+		assertTrue(((Map<?, ?>)thingIndexesField.get(this.controller)).isEmpty());
+		assertEquals(1, changeSets.size());
+		assertTrue(changeSets.get(0).GetAdded().contains(elementDefinition.getIid()));
+
+		assertTrue(this.controller.TryGetThingById(elementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+		assertFalse(((Map<?, ?>)thingIndexesField.get(this.controller)).isEmpty());
+	}
+
+	@Test
+	void VerifyMetrics() throws Exception
+	{
+		this.SetIteration();
+		IHubControllerMetrics metrics = this.controller.GetMetrics();
+		metrics.Reset();
+
+		this.controller.GetOpenIteration().setIid(UUID.randomUUID());
+		ElementDefinition elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+		this.session.getAssembler().getCache().put(
+				new CacheKey(elementDefinition.getIid(), this.controller.GetOpenIteration().getIid()), elementDefinition);
+
+		assertFalse(this.controller.TryGetThingById(UUID.randomUUID(), new Ref<>(Category.class)));
+		assertTrue(this.controller.TryGetThingById(elementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+		assertEquals(2, metrics.GetCallCount(HubControllerMetrics.TryGetThingById));
+		assertEquals(1, metrics.GetLookupHitCount(HubControllerMetrics.TryGetThingById));
+		assertEquals(1, metrics.GetLookupMissCount(HubControllerMetrics.TryGetThingById));
+
+		when(this.session.refresh()).thenReturn(CompletableFuture.completedFuture(null));
+		assertTrue(this.controller.Refresh());
+		assertEquals(1, metrics.GetCallCount(HubControllerMetrics.Refresh));
+		assertEquals(0, metrics.GetFailureCount(HubControllerMetrics.Refresh));
+
+		ThingTransaction transaction = mock(ThingTransaction.class);
+		when(transaction.finalizeTransaction()).thenReturn(mock(OperationContainer.class));
+		when(this.session.write(any(OperationContainer.class))).thenReturn(CompletableFuture.completedFuture(null));
+		this.controller.Write(transaction);
+		assertEquals(1, metrics.GetCallCount(HubControllerMetrics.Write));
+		assertEquals(1, metrics.GetThingsWrittenPerTransaction().GetCount());
+
+		assertTrue(metrics.GetOperations().containsAll(Arrays.asList(HubControllerMetrics.TryGetThingById, HubControllerMetrics.Refresh, HubControllerMetrics.Write)));
+		metrics.Reset();
+		assertEquals(0, metrics.GetCallCount(HubControllerMetrics.Write));
+	}
+
+	@Test
+	void VerifyTryGetThingByShortNameAndClassKind() throws Exception
+	{
+		this.SetIteration();
+
+		ModelReferenceDataLibrary mRdl = new ModelReferenceDataLibrary();
+		mRdl.setIid(UUID.randomUUID());
+
+		ArrayList<ReferenceDataLibrary> dataLibraries = new ArrayList<>();
+		dataLibraries.add(mRdl);
+		when(this.session.getOpenReferenceDataLibraries()).thenReturn(dataLibraries);
+
+		Category category = new Category(UUID.randomUUID(), null, null);
+		category.setShortName("Equipments");
+		mRdl.getDefinedCategory().add(category);
+
+		Ref<Category> refCategory = new Ref<>(Category.class);
+		assertTrue(this.controller.TryGetThingFromChainOfRdlByShortName("Equipments", refCategory));
+		assertSame(category, refCategory.Get());
+		assertFalse(this.controller.TryGetThingFromChainOfRdlByShortName("Products", new Ref<>(Category.class)));
+		assertFalse(this.controller.TryGetThingFromChainOfRdlByShortName("Equipments", new Ref<>(Rule.class)));
+
+		category.setDeprecated(true);
+		assertFalse(this.controller.TryGetThingFromChainOfRdlByShortName("Equipments", new Ref<>(Category.class)));
+
+		assertTrue(this.controller.GetThingsByClassKind(ClassKind.ElementDefinition, ElementDefinition.class).isEmpty());
+	}
+
+	@Test
+	void VerifyMultipleOpenIterations() throws Exception
+	{
+		assertTrue(this.controller.GetOpenIterations().isEmpty());
+		this.SetSession();
+
+		Assembler assembler = new Assembler(new URI("http://tes.t"));
+		when(this.session.getAssembler()).thenReturn(assembler);
+		when(this.session.read(any(Iteration.class), any(DomainOfExpertise.class)))
+				.thenReturn(CompletableFuture.completedFuture(null));
+		when(this.session.closeIterationSetup(any(IterationSetup.class)))
+				.thenReturn(CompletableFuture.completedFuture(null));
+
+		Iteration iteration0 = new Iteration(UUID.randomUUID(), null, null);
+		iteration0.setIterationSetup(new IterationSetup());
+		Iteration iteration1 = new Iteration(UUID.randomUUID(), null, null);
+		iteration1.setIterationSetup(new IterationSetup());
+		DomainOfExpertise domain0 = new DomainOfExpertise();
+		DomainOfExpertise domain1 = new DomainOfExpertise();
+
+		ElementDefinition elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+		assembler.getCache().put(new CacheKey(elementDefinition.getIid(), iteration0.getIid()), elementDefinition);
+
+		ImmutableMap<Iteration, Pair<DomainOfExpertise, Participant>> map = ImmutableMap
+				.<Iteration, Pair<DomainOfExpertise, Participant>>builder()
+				.put(iteration0, new ImmutablePair<>(domain0, new Participant()))
+				.put(iteration1, new ImmutablePair<>(domain1, new Participant()))
+				.build();
+
+		when(this.session.getOpenIterations()).thenReturn(map);
+
+		this.controller.GetIteration(new Iteration(iteration1.getIid(), null, null), domain1);
+		assertSame(iteration1, this.controller.GetOpenIteration());
+		assertSame(domain1, this.controller.GetCurrentDomainOfExpertise());
+		assertEquals(2, this.controller.GetOpenIterations().size());
+		assertSame(domain0, this.controller.GetDomainOfExpertise(iteration0));
+
+		assertFalse(this.controller.TryGetThingById(elementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+		assertTrue(this.controller.TryGetThingById(iteration0, elementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+		assertEquals(1, this.controller.GetThingsByClassKind(iteration0, ClassKind.ElementDefinition, ElementDefinition.class).size());
+
+		assertFalse(this.controller.SelectOpenIteration(new Iteration()));
+		assertTrue(this.controller.SelectOpenIteration(iteration0));
+		assertSame(domain0, this.controller.GetCurrentDomainOfExpertise());
+		assertTrue(this.controller.TryGetThingById(elementDefinition.getIid(), new Ref<>(ElementDefinition.class)));
+
+		assertFalse(this.controller.CloseIteration(new Iteration()));
+		assertTrue(this.controller.CloseIteration(iteration0));
+		assertSame(iteration1, this.controller.GetOpenIteration());
+		assertSame(domain1, this.controller.GetCurrentDomainOfExpertise());
+		verify(this.session, times(1)).closeIterationSetup(iteration0.getIterationSetup());
+	}
+
 	@Test
 	void VerifyRegisterLogEntry() throws Exception
 	{
@@ -0,0 +1,163 @@
+/*
+ * LiveQueryTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import Utils.Ref;
+import cdp4common.commondata.ClassKind;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.Iteration;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+class LiveQueryTest
+{
+	private IHubController hubController;
+	private PublishSubject<Boolean> isSessionOpen;
+	private PublishSubject<ThingChangeSet> changeSets;
+	private Map<UUID, ElementDefinition> things;
+	private ElementDefinition element0;
+	private ElementDefinition element1;
+	private LiveQuery<ElementDefinition> query;
+
+	@SuppressWarnings("unchecked")
+	@BeforeEach
+	void setUp()
+	{
+		this.hubController = mock(IHubController.class);
+		this.isSessionOpen = PublishSubject.create();
+		this.changeSets = PublishSubject.create();
+		this.things = new HashMap<>();
+
+		this.element0 = new ElementDefinition(UUID.randomUUID(), null, null);
+		this.element0.setName("a match");
+		this.element1 = new ElementDefinition(UUID.randomUUID(), null, null);
+		this.element1.setName("not matching");
+		this.things.put(this.element0.getIid(), this.element0);
+		this.things.put(this.element1.getIid(), this.element1);
+
+		when(this.hubController.GetIsSessionOpenObservable()).thenReturn(this.isSessionOpen.hide());
+		when(this.hubController.GetChangeSetObservable()).thenReturn(this.changeSets.hide());
+		when(this.hubController.GetIsSessionOpen()).thenReturn(true);
+		when(this.hubController.GetOpenIteration()).thenReturn(new Iteration(UUID.randomUUID(), null, null));
+		when(this.hubController.GetThingsByClassKind(ClassKind.ElementDefinition, ElementDefinition.class)).thenAnswer(x -> this.things.values());
+		when(this.hubController.TryGetThingById(any(UUID.class), any(Ref.class))).thenAnswer(x -> 
+		{
+			ElementDefinition thing = this.things.get(x.getArgument(0));
+			Ref<ElementDefinition> refThing = x.getArgument(1);
+
+			if(thing != null)
+			{
+				refThing.Set(thing);
+			}
+
+			return refThing.HasValue();
+		});
+
+		this.query = new LiveQuery<>(this.hubController, ClassKind.ElementDefinition, ElementDefinition.class, x -> x.getName().startsWith("a"), Schedulers.trampoline());
+	}
+
+	@Test
+	void VerifyInitialResults()
+	{
+		assertEquals(1, this.query.GetResults().size());
+		assertSame(this.element0, this.query.GetResults().Get(this.element0.getIid()));
+	}
+
+	@Test
+	void VerifyApplyChangeSet()
+	{
+		ElementDefinition element2 = new ElementDefinition(UUID.randomUUID(), null, null);
+		element2.setName("another match");
+		this.things.put(element2.getIid(), element2);
+		this.element1.setName("a match now");
+		this.things.remove(this.element0.getIid());
+
+		this.changeSets.onNext(new ThingChangeSet(
+				new HashSet<>(Collections.singletonList(element2.getIid())), 
+				new HashSet<>(Collections.singletonList(this.element1.getIid())), 
+				new HashSet<>(Collections.singletonList(this.element0.getIid()))));
+
+		assertEquals(2, this.query.GetResults().size());
+		assertTrue(this.query.GetResults().ContainsKey(element2.getIid()));
+		assertTrue(this.query.GetResults().ContainsKey(this.element1.getIid()));
+		assertFalse(this.query.GetResults().ContainsKey(this.element0.getIid()));
+
+		element2.setName("not a match anymore");
+		this.changeSets.onNext(new ThingChangeSet(Collections.emptySet(), new HashSet<>(Arrays.asList(element2.getIid())), Collections.emptySet()));
+		assertEquals(1, this.query.GetResults().size());
+	}
+
+	@Test
+	void VerifySessionEventsAndDispose()
+	{
+		when(this.hubController.GetIsSessionOpen()).thenReturn(false);
+		this.isSessionOpen.onNext(false);
+		assertTrue(this.query.GetResults().isEmpty());
+
+		when(this.hubController.GetIsSessionOpen()).thenReturn(true);
+		this.isSessionOpen.onNext(true);
+		assertEquals(1, this.query.GetResults().size());
+
+		this.query.Dispose();
+		assertFalse(this.isSessionOpen.hasObservers());
+		assertFalse(this.changeSets.hasObservers());
+	}
+
+	@Test
+	void VerifyResultsAreUpdatedOnTheScheduler()
+	{
+		TestScheduler scheduler = new TestScheduler();
+		LiveQuery<ElementDefinition> deferredQuery = new LiveQuery<>(this.hubController, ClassKind.ElementDefinition, ElementDefinition.class, 
+				x -> x.getName().startsWith("a"), scheduler);
+		assertTrue(deferredQuery.GetResults().isEmpty());
+
+		scheduler.triggerActions();
+		assertEquals(1, deferredQuery.GetResults().size());
+
+		this.things.remove(this.element0.getIid());
+		this.changeSets.onNext(new ThingChangeSet(Collections.emptySet(), Collections.emptySet(), new HashSet<>(Arrays.asList(this.element0.getIid()))));
+		deferredQuery.Requery();
+		assertEquals(1, deferredQuery.GetResults().size());
+
+		scheduler.triggerActions();
+		assertTrue(deferredQuery.GetResults().isEmpty());
+		deferredQuery.Dispose();
+	}
+}
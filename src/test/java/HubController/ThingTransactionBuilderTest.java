@@ -0,0 +1,90 @@
+/*
+ * ThingTransactionBuilderTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package HubController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.EngineeringModel;
+import cdp4common.engineeringmodeldata.Iteration;
+
+class ThingTransactionBuilderTest
+{
+    private Iteration iteration;
+    private EngineeringModel engineeringModel;
+    private ElementDefinition elementDefinition;
+    private ThingTransactionBuilder builder;
+
+    @BeforeEach
+    void setUp()
+    {
+        this.engineeringModel = new EngineeringModel(UUID.randomUUID(), null, null);
+        this.iteration = new Iteration(UUID.randomUUID(), null, null);
+        this.engineeringModel.getIteration().add(this.iteration);
+        this.elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        this.iteration.getElement().add(this.elementDefinition);
+        this.builder = new ThingTransactionBuilder(this.iteration);
+    }
+
+    @Test
+    void VerifyGetClone()
+    {
+        assertSame(this.iteration, this.builder.GetIteration());
+        assertEquals(0, this.builder.GetNumberOfThings());
+
+        ElementDefinition clone = this.builder.GetClone(this.elementDefinition);
+        assertNotSame(this.elementDefinition, clone);
+        assertEquals(this.elementDefinition.getIid(), clone.getIid());
+        assertSame(clone, this.builder.GetClone(this.elementDefinition));
+        assertSame(clone, this.builder.GetClone(clone));
+        assertEquals(1, this.builder.GetNumberOfThings());
+        assertFalse(this.builder.GetThings().stream().anyMatch(x -> x instanceof Iteration || x instanceof EngineeringModel));
+
+        EngineeringModel engineeringModelClone = this.builder.GetEngineeringModelClone();
+        assertNotSame(this.engineeringModel, engineeringModelClone);
+        assertSame(engineeringModelClone, this.builder.GetEngineeringModelClone());
+        assertEquals(2, this.builder.GetNumberOfThings());
+    }
+
+    @Test
+    void VerifyCreateOrUpdate()
+    {
+        assertThrows(IllegalArgumentException.class, () -> this.builder.CreateOrUpdate(null));
+
+        ElementDefinition newElementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        this.builder.CreateOrUpdate(newElementDefinition);
+        this.builder.CreateOrUpdate(newElementDefinition);
+        assertEquals(1, this.builder.GetNumberOfThings());
+
+        ElementDefinition sameIid = new ElementDefinition(newElementDefinition.getIid(), null, null);
+        this.builder.CreateOrUpdate(sameIid);
+        assertEquals(1, this.builder.GetNumberOfThings());
+        assertSame(sameIid, this.builder.GetThings().iterator().next());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * ConcurrentObservableCollectionTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentObservableCollectionTest
+{
+	private ConcurrentObservableCollection<Integer> collection;
+
+	@BeforeEach
+	void setUp()
+	{
+		this.collection = new ConcurrentObservableCollection<>(Integer.class);
+	}
+
+	@Test
+	void VerifyCollectionOperations()
+	{
+		List<CollectionChange<Integer>> changes = new ArrayList<>();
+		this.collection.CollectionChanged().subscribe(changes::add);
+
+		this.collection.addAll(Arrays.asList(1, 2, 3, 4));
+		this.collection.add(0, 0);
+		this.collection.set(1, 10);
+		this.collection.RemoveOne(3);
+		this.collection.Move(0, 2);
+		assertEquals(Arrays.asList(10, 2, 0, 4), this.collection);
+		assertEquals(5, changes.size());
+
+		Iterator<Integer> iterator = this.collection.iterator();
+		this.collection.clear();
+		assertTrue(this.collection.isEmpty());
+		assertEquals(Integer.valueOf(10), iterator.next());
+		assertThrows(UnsupportedOperationException.class, () -> iterator.remove());
+
+		this.collection.Value(new ArrayList<>(Arrays.asList(5, 6)));
+		ArrayList<Integer> value = this.collection.Value();
+		value.add(7);
+		assertEquals(2, this.collection.size());
+		assertTrue(this.collection.containsAll(Arrays.asList(5, 6)));
+		assertTrue(this.collection.removeIf(x -> x == 5));
+		assertEquals(0, this.collection.indexOf(6));
+	}
+
+	@Test
+	void VerifyNotificationsSeeThePublishedState()
+	{
+		List<Integer> sizes = new ArrayList<>();
+		this.collection.ItemAdded().subscribe(x -> 
+		{
+			sizes.add(this.collection.size());
+
+			if(x < 3)
+			{
+				this.collection.add(x + 1);
+			}
+		});
+
+		this.collection.add(1);
+		assertEquals(Arrays.asList(1, 2, 3), this.collection);
+		assertEquals(Arrays.asList(1, 2, 3), sizes);
+	}
+
+	@Test
+	void VerifyConcurrentWritesAndReads() throws Exception
+	{
+		int numberOfWriters = 4;
+		int numberOfItemsPerWriter = 500;
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfWriters + 1);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean isWriting = new AtomicBoolean(true);
+		List<Integer> notifiedItems = new ArrayList<>();
+		this.collection.ItemAdded().subscribe(notifiedItems::add);
+
+		try
+		{
+			Future<?> reader = executor.submit(() -> 
+			{
+				start.await();
+
+				while (isWriting.get())
+				{
+					long count = 0;
+
+					for (Integer item : this.collection)
+					{
+						count += item >= 0 ? 1 : 0;
+					}
+
+					assertTrue(count <= numberOfWriters * numberOfItemsPerWriter);
+				}
+
+				return null;
+			});
+
+			List<Future<?>> writers = new ArrayList<>();
+
+			for (int writer = 0; writer < numberOfWriters; writer++)
+			{
+				writers.add(executor.submit(() -> 
+				{
+					start.await();
+
+					for (int index = 0; index < numberOfItemsPerWriter; index++)
+					{
+						this.collection.add(index);
+					}
+
+					return null;
+				}));
+			}
+
+			start.countDown();
+
+			for (Future<?> writer : writers)
+			{
+				writer.get(30, TimeUnit.SECONDS);
+			}
+
+			isWriting.set(false);
+			reader.get(30, TimeUnit.SECONDS);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		assertEquals(numberOfWriters * numberOfItemsPerWriter, this.collection.size());
+		assertEquals(numberOfWriters * numberOfItemsPerWriter, notifiedItems.size());
+	}
+}
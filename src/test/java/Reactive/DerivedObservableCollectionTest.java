@@ -0,0 +1,191 @@
+/*
+ * DerivedObservableCollectionTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DerivedObservableCollectionTest
+{
+	ObservableCollection<String> source;
+
+	@BeforeEach
+	void setUp()
+	{
+		this.source = new ObservableCollection<>(String.class);
+		this.source.addAll(Arrays.asList("delta", "Alpha", "charlie", "bravo"));
+	}
+
+	@Test
+	void VerifyWhere()
+	{
+		FilteredObservableCollection<String> view = this.source.Where(x -> x.length() == 5);
+		List<CollectionChange<String>> changes = new ArrayList<>();
+		view.CollectionChanged().subscribe(changes::add);
+		assertEquals(Arrays.asList("delta", "Alpha", "bravo"), view);
+
+		this.source.add(1, "echo");
+		this.source.add(1, "hotel");
+		assertEquals(Arrays.asList("delta", "hotel", "Alpha", "bravo"), view);
+		assertEquals(1, changes.size());
+		assertEquals(CollectionChangeKind.INSERT, changes.get(0).GetKind());
+		assertEquals(1, changes.get(0).GetIndex());
+
+		this.source.set(0, "golf");
+		this.source.Move(5, 0);
+		assertEquals(Arrays.asList("bravo", "hotel", "Alpha"), view);
+
+		this.source.remove("hotel");
+		assertEquals(Arrays.asList("bravo", "Alpha"), view);
+		assertThrows(UnsupportedOperationException.class, () -> view.add("india"));
+		assertThrows(UnsupportedOperationException.class, () -> view.clear());
+
+		view.Dispose();
+		this.source.clear();
+		assertEquals(2, view.size());
+	}
+
+	@Test
+	void VerifyOrderBy()
+	{
+		SortedObservableCollection<String> view = this.source.OrderBy(Comparator.comparing(x -> x.toLowerCase()));
+		List<CollectionChange<String>> changes = new ArrayList<>();
+		view.CollectionChanged().subscribe(changes::add);
+		assertEquals(Arrays.asList("Alpha", "bravo", "charlie", "delta"), view);
+
+		this.source.add("beta");
+		assertEquals(Arrays.asList("Alpha", "beta", "bravo", "charlie", "delta"), view);
+		assertEquals(CollectionChangeKind.INSERT, changes.get(0).GetKind());
+		assertEquals(1, changes.get(0).GetIndex());
+
+		this.source.addAll(Arrays.asList("zulu", "Able"));
+		assertEquals(Arrays.asList("Able", "Alpha", "beta", "bravo", "charlie", "delta", "zulu"), view);
+
+		this.source.remove("charlie");
+		this.source.set(0, "yankee");
+		this.source.Move(0, 3);
+		assertEquals(Arrays.asList("Able", "Alpha", "beta", "bravo", "yankee", "zulu"), view);
+
+		this.source.removeIf(x -> x.startsWith("A"));
+		assertEquals(Arrays.asList("beta", "bravo", "yankee", "zulu"), view);
+	}
+
+	@Test
+	void VerifySelect()
+	{
+		MappedObservableCollection<String, Integer> view = this.source.Select(String::length);
+		assertEquals(Arrays.asList(5, 5, 7, 5), view);
+
+		this.source.add(0, "xy");
+		this.source.set(1, "abc");
+		this.source.Move(0, 4);
+		this.source.remove(1);
+		assertEquals(Arrays.asList(3, 7, 5, 2), view);
+	}
+
+	@Test
+	void VerifyGroupBy()
+	{
+		GroupedObservableCollection<Character, String> view = this.source.GroupBy(x -> Character.toLowerCase(x.charAt(0)));
+		assertEquals(Arrays.asList('d', 'a', 'c', 'b'), view);
+
+		ObservableCollection<String> group = view.GetGroup('b');
+		this.source.add("beta");
+		assertSame(group, view.GetGroup('b'));
+		assertEquals(Arrays.asList("bravo", "beta"), group);
+
+		this.source.add("echo");
+		assertEquals(Arrays.asList('d', 'a', 'c', 'b', 'e'), view);
+
+		this.source.remove("delta");
+		assertNull(view.GetGroup('d'));
+		assertEquals(Arrays.asList('a', 'c', 'b', 'e'), view);
+
+		this.source.set(this.source.indexOf("beta"), "Bob");
+		assertEquals(Arrays.asList("bravo", "Bob"), group);
+
+		this.source.set(this.source.indexOf("echo"), "apple");
+		assertEquals(Arrays.asList('a', 'c', 'b'), view);
+		assertEquals(Arrays.asList("Alpha", "apple"), view.GetGroup('a'));
+
+		this.source.Value(new ArrayList<>(Arrays.asList("bar", "foo")));
+		assertEquals(Arrays.asList('b', 'f'), view);
+		assertSame(group, view.GetGroup('b'));
+		assertEquals(Arrays.asList("bar"), group);
+	}
+
+	@Test
+	void VerifyViewsStayConsistent()
+	{
+		Random random = new Random(42);
+		FilteredObservableCollection<String> filtered = this.source.Where(x -> x.hashCode() % 3 != 0);
+		SortedObservableCollection<String> sorted = this.source.OrderBy(Comparator.naturalOrder());
+		MappedObservableCollection<String, Integer> mapped = this.source.Select(String::length);
+
+		for (int step = 0; step < 2000; step++)
+		{
+			String item = Integer.toString(random.nextInt(50));
+			int operation = random.nextInt(7);
+
+			if(operation < 2 || this.source.isEmpty())
+			{
+				this.source.add(random.nextInt(this.source.size() + 1), item);
+			}
+			else if(operation == 2)
+			{
+				this.source.remove(random.nextInt(this.source.size()));
+			}
+			else if(operation == 3)
+			{
+				this.source.set(random.nextInt(this.source.size()), item);
+			}
+			else if(operation == 4)
+			{
+				this.source.Move(random.nextInt(this.source.size()), random.nextInt(this.source.size()));
+			}
+			else if(operation == 5)
+			{
+				this.source.addAll(random.nextInt(this.source.size() + 1), Arrays.asList(item, item + "0", "1" + item));
+			}
+			else
+			{
+				String prefix = item.substring(0, 1);
+				this.source.removeIf(x -> x.startsWith(prefix));
+			}
+
+			assertEquals(this.source.stream().filter(x -> x.hashCode() % 3 != 0).collect(Collectors.toList()), filtered);
+			assertEquals(this.source.stream().sorted().collect(Collectors.toList()), sorted);
+			assertEquals(this.source.stream().map(String::length).collect(Collectors.toList()), mapped);
+		}
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * KeyedObservableCollectionTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import cdp4common.engineeringmodeldata.ElementDefinition;
+
+class KeyedObservableCollectionTest
+{
+	KeyedObservableCollection<String, String> collection;
+	List<CollectionChange<String>> changes;
+
+	@BeforeEach
+	void setUp()
+	{
+		this.collection = new KeyedObservableCollection<>(x -> x.toLowerCase(), String.class);
+		this.changes = new ArrayList<>();
+		this.collection.CollectionChanged().subscribe(this.changes::add);
+	}
+
+	@Test
+	void VerifyLookup()
+	{
+		this.collection.addAll(Arrays.asList("a", "b", "c", "d"));
+		assertTrue(this.collection.contains("B"));
+		assertTrue(this.collection.ContainsKey("c"));
+		assertFalse(this.collection.contains("e"));
+		assertFalse(this.collection.contains(null));
+		assertFalse(this.collection.contains(Integer.valueOf(1)));
+		assertEquals("d", this.collection.Get("d"));
+		assertNull(this.collection.Get("e"));
+		assertEquals(2, this.collection.indexOf("C"));
+		assertEquals(2, this.collection.lastIndexOf("c"));
+		assertEquals(-1, this.collection.IndexOfKey("e"));
+		assertTrue(this.collection.containsAll(Arrays.asList("a", "D")));
+	}
+
+	@Test
+	void VerifyIndicesFollowTheChanges()
+	{
+		this.collection.addAll(Arrays.asList("a", "b", "c", "d"));
+		this.collection.add(0, "e");
+		this.AssertIndices("e", "a", "b", "c", "d");
+
+		this.collection.remove(2);
+		this.AssertIndices("e", "a", "c", "d");
+
+		this.collection.Move(3, 0);
+		this.AssertIndices("d", "e", "a", "c");
+
+		this.collection.set(1, "f");
+		this.AssertIndices("d", "f", "a", "c");
+		assertFalse(this.collection.ContainsKey("e"));
+
+		this.collection.removeIf(x -> x.equals("f") || x.equals("c"));
+		this.AssertIndices("d", "a");
+
+		this.collection.Value(new ArrayList<>(Arrays.asList("x", "y")));
+		this.AssertIndices("x", "y");
+		assertFalse(this.collection.ContainsKey("d"));
+
+		this.collection.clear();
+		assertEquals(-1, this.collection.IndexOfKey("x"));
+	}
+
+	@Test
+	void VerifyItemsWithTheSameKeyAreReplaced()
+	{
+		this.collection.addAll(Arrays.asList("a", "b", "c"));
+		this.changes.clear();
+
+		assertFalse(this.collection.add("B"));
+		assertEquals(Arrays.asList("a", "B", "c"), new ArrayList<>(this.collection));
+		assertEquals(1, this.changes.size());
+		assertEquals(CollectionChangeKind.REPLACE, this.changes.get(0).GetKind());
+		assertEquals(1, this.changes.get(0).GetIndex());
+
+		this.changes.clear();
+		this.collection.addAll(Arrays.asList("d", "A"));
+		assertEquals(Arrays.asList("A", "B", "c", "d"), new ArrayList<>(this.collection));
+		assertEquals(1, this.changes.size());
+		assertEquals(CollectionChangeKind.RESET, this.changes.get(0).GetKind());
+
+		assertThrows(IllegalArgumentException.class, () -> this.collection.set(0, "b"));
+		assertThrows(IllegalArgumentException.class, () -> this.collection.Value(new ArrayList<>(Arrays.asList("x", "X"))));
+		assertThrows(NullPointerException.class, () -> this.collection.add(null));
+		assertEquals(4, this.collection.size());
+	}
+
+	@Test
+	void VerifyRemoval()
+	{
+		this.collection.addAll(Arrays.asList("a", "b", "c", "d", "e"));
+		List<String> removedItems = new ArrayList<>();
+		this.collection.ItemRemoved().subscribe(removedItems::add);
+
+		assertTrue(this.collection.remove("B"));
+		assertFalse(this.collection.remove("b"));
+		assertEquals("c", this.collection.RemoveByKey("c"));
+		assertNull(this.collection.RemoveByKey("c"));
+		assertTrue(this.collection.removeAll(Arrays.asList("a", "E")));
+		assertFalse(this.collection.removeAll(Arrays.asList("d", "z")));
+		assertTrue(this.collection.isEmpty());
+		assertEquals(Arrays.asList("b", "c", "a", "e", "d"), removedItems);
+	}
+
+	@Test
+	void VerifyViewsWriteThrough()
+	{
+		this.collection.addAll(Arrays.asList("a", "b", "c", "d", "e"));
+		this.changes.clear();
+
+		java.util.Iterator<String> iterator = this.collection.iterator();
+		iterator.next();
+		iterator.remove();
+		this.AssertIndices("b", "c", "d", "e");
+		assertEquals(CollectionChangeKind.REMOVE, this.changes.get(0).GetKind());
+
+		java.util.ListIterator<String> listIterator = this.collection.listIterator(1);
+		listIterator.next();
+		listIterator.set("x");
+		listIterator.add("f");
+		this.AssertIndices("b", "x", "f", "d", "e");
+		assertThrows(IllegalArgumentException.class, () -> this.collection.listIterator().add("D"));
+
+		this.collection.subList(1, 3).clear();
+		this.AssertIndices("b", "d", "e");
+		assertFalse(this.collection.ContainsKey("f"));
+
+		this.collection.subList(0, 2).add("g");
+		this.AssertIndices("b", "d", "g", "e");
+		assertTrue(this.collection.containsAll(Arrays.asList("b", "d", "g", "e")));
+	}
+
+	@Test
+	void VerifyByIid()
+	{
+		KeyedObservableCollection<UUID, ElementDefinition> things = KeyedObservableCollection.ByIid(ElementDefinition.class);
+		ElementDefinition elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+		things.add(elementDefinition);
+		things.add(new ElementDefinition(UUID.randomUUID(), null, null));
+
+		assertSame(elementDefinition, things.Get(elementDefinition.getIid()));
+		assertEquals(0, things.indexOf(new ElementDefinition(elementDefinition.getIid(), null, null)));
+		assertTrue(things.remove(new ElementDefinition(elementDefinition.getIid(), null, null)));
+		assertEquals(1, things.size());
+	}
+
+	private void AssertIndices(String... items)
+	{
+		assertEquals(Arrays.asList(items), new ArrayList<>(this.collection));
+
+		for (int index = 0; index < items.length; index++)
+		{
+			assertEquals(index, this.collection.IndexOfKey(items[index]));
+			assertSame(items[index], this.collection.Get(items[index]));
+		}
+	}
+}
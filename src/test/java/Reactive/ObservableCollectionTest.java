@@ -25,12 +25,16 @@ package Reactive;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import cdp4common.ChangeKind;
+
 class ObservableCollectionTest
 {
 	ObservableCollection<String> observableCollection;
@@ -111,6 +115,163 @@ class ObservableCollectionTest
 		assertFalse(this.observableCollection.contains("4"));
 	}
 
+	@Test
+	void VerifyBulkOperationsFireOnce()
+	{
+		List<Object> events = new ArrayList<>();
+		this.observableCollection.ItemAdded().subscribe(events::add);
+		this.observableCollection.ItemRemoved().subscribe(events::add);
+		this.observableCollection.ItemsAdded().subscribe(events::add);
+		this.observableCollection.ItemsRemoved().subscribe(events::add);
+		this.observableCollection.Changed().subscribe(events::add);
+
+		this.observableCollection.addAll(Arrays.asList("1", "2", "3"));
+		assertEquals(Arrays.asList("1", "2", "3", Arrays.asList("1", "2", "3"), ChangeKind.UPDATE), events);
+
+		events.clear();
+		this.observableCollection.removeIf(x -> !x.equals("2"));
+		assertEquals(Arrays.asList("1", "3", Arrays.asList("1", "3"), ChangeKind.DELETE), events);
+
+		events.clear();
+		this.observableCollection.clear();
+		assertEquals(Arrays.asList("2", Arrays.asList("2"), ChangeKind.DELETE, ChangeKind.NONE), events);
+		assertTrue(this.observableCollection.isEmpty());
+
+		events.clear();
+		this.observableCollection.addAll(new ArrayList<>());
+		this.observableCollection.clear();
+		assertTrue(events.isEmpty());
+	}
+
+	@Test
+	void VerifyValue()
+	{
+		List<Object> events = new ArrayList<>();
+		this.observableCollection.addAll(Arrays.asList("1", "2"));
+		this.observableCollection.CollectionChanged().subscribe(x -> events.add(x.GetKind()));
+
+		assertDoesNotThrow(() -> this.observableCollection.Value(null));
+		assertNotNull(this.observableCollection.Value());
+		assertTrue(this.observableCollection.isEmpty());
+		assertEquals(Arrays.asList(CollectionChangeKind.RESET), events);
+
+		this.observableCollection.Value(new ArrayList<>(Arrays.asList("3")));
+		assertEquals(Arrays.asList("3"), this.observableCollection);
+		this.observableCollection.add("4");
+		assertEquals(2, this.observableCollection.size());
+	}
+
+	@Test
+	void VerifyBeginEndUpdate()
+	{
+		List<Object> events = new ArrayList<>();
+		this.observableCollection.ItemAdded().subscribe(events::add);
+		this.observableCollection.ItemRemoved().subscribe(events::add);
+		this.observableCollection.ItemsAdded().subscribe(events::add);
+		this.observableCollection.ItemsRemoved().subscribe(events::add);
+		this.observableCollection.Changed().subscribe(events::add);
+
+		assertThrows(IllegalStateException.class, () -> this.observableCollection.EndUpdate());
+
+		this.observableCollection.BeginUpdate();
+		this.observableCollection.BeginUpdate();
+		assertTrue(this.observableCollection.IsUpdating());
+		this.observableCollection.add("1");
+		this.observableCollection.addAll(Arrays.asList("2", "3"));
+		this.observableCollection.remove("1");
+		this.observableCollection.EndUpdate();
+		assertTrue(events.isEmpty());
+		assertEquals(2, this.observableCollection.size());
+
+		this.observableCollection.EndUpdate();
+		assertFalse(this.observableCollection.IsUpdating());
+		assertEquals(Arrays.asList(Arrays.asList("1", "2", "3"), Arrays.asList("1"), ChangeKind.UPDATE), events);
+
+		events.clear();
+		this.observableCollection.BeginUpdate();
+		this.observableCollection.EndUpdate();
+		assertTrue(events.isEmpty());
+	}
+
+	@Test
+	void VerifyOnMutatedIsCalledOncePerMutation()
+	{
+		List<CollectionChangeKind> mutations = new ArrayList<>();
+		ObservableCollection<String> collection = new ObservableCollection<String>(String.class)
+		{
+			@Override
+			protected void OnMutated(List<CollectionChange<String>> changes)
+			{
+				changes.forEach(x -> mutations.add(x.GetKind()));
+			}
+		};
+
+		collection.BeginUpdate();
+		collection.add("1");
+		collection.addAll(Arrays.asList("2", "3"));
+		collection.remove("1");
+		assertEquals(Arrays.asList(CollectionChangeKind.INSERT, CollectionChangeKind.INSERT, CollectionChangeKind.REMOVE), mutations);
+
+		collection.EndUpdate();
+		assertEquals(3, mutations.size());
+	}
+
+	@Test
+	void VerifyCollectionChanged()
+	{
+		List<CollectionChange<String>> changes = new ArrayList<>();
+		this.observableCollection.CollectionChanged().subscribe(changes::add);
+
+		this.observableCollection.addAll(Arrays.asList("0", "1", "2", "3", "4", "5"));
+		this.observableCollection.add(1, "a");
+		this.observableCollection.set(0, "b");
+		this.observableCollection.remove(2);
+		this.observableCollection.addAll(2, Arrays.asList("c", "d"));
+		this.observableCollection.Move(0, 3);
+
+		assertEquals(Arrays.asList("a", "c", "d", "b", "2", "3", "4", "5"), this.observableCollection);
+		assertEquals(6, changes.size());
+		this.AssertChange(changes.get(0), CollectionChangeKind.INSERT, 0, "0", "1", "2", "3", "4", "5");
+		this.AssertChange(changes.get(1), CollectionChangeKind.INSERT, 1, "a");
+		this.AssertChange(changes.get(2), CollectionChangeKind.REPLACE, 0, "b");
+		assertEquals(Arrays.asList("0"), changes.get(2).GetOldItems());
+		this.AssertChange(changes.get(3), CollectionChangeKind.REMOVE, 2, "1");
+		this.AssertChange(changes.get(4), CollectionChangeKind.INSERT, 2, "c", "d");
+		this.AssertChange(changes.get(5), CollectionChangeKind.MOVE, 0, "b");
+		assertEquals(3, changes.get(5).GetNewIndex());
+
+		changes.clear();
+		this.observableCollection.removeIf(x -> x.equals("c") || x.equals("d") || x.equals("4"));
+		assertEquals(Arrays.asList("a", "b", "2", "3", "5"), this.observableCollection);
+		assertEquals(2, changes.size());
+		this.AssertChange(changes.get(0), CollectionChangeKind.REMOVE, 6, "4");
+		this.AssertChange(changes.get(1), CollectionChangeKind.REMOVE, 1, "c", "d");
+
+		changes.clear();
+		this.observableCollection.BeginUpdate();
+		this.observableCollection.add("6");
+		this.observableCollection.remove("a");
+		this.observableCollection.EndUpdate();
+		assertEquals(1, changes.size());
+		assertEquals(CollectionChangeKind.RESET, changes.get(0).GetKind());
+
+		changes.clear();
+		this.observableCollection.clear();
+		this.AssertChange(changes.get(0), CollectionChangeKind.REMOVE, 0, "b", "2", "3", "5", "6");
+
+		changes.clear();
+		this.observableCollection.Value(new ArrayList<>(Arrays.asList("7")));
+		assertEquals(CollectionChangeKind.RESET, changes.get(0).GetKind());
+		assertEquals("7", this.observableCollection.get(0));
+	}
+
+	private void AssertChange(CollectionChange<String> change, CollectionChangeKind kind, int index, String... items)
+	{
+		assertEquals(kind, change.GetKind());
+		assertEquals(index, change.GetIndex());
+		assertEquals(Arrays.asList(items), change.GetItems());
+	}
+
 	@Test
 	void VerifyToArrayConversion()
 	{
@@ -137,4 +298,32 @@ class ObservableCollectionTest
 		assertEquals("4", subList.get(0));
 		assertEquals(2, subList.size());
 	}
+
+	@Test
+	void VerifySubjectsAreCreatedOnFirstSubscription() throws Exception
+	{
+		this.observableCollection.add("a");
+		this.observableCollection.remove("a");
+		assertNull(GetSubject(this.observableCollection, "itemAdded"));
+		assertNull(GetSubject(this.observableCollection, "changed"));
+		assertNull(GetSubject(this.observableCollection, "collectionChanged"));
+
+		List<String> added = new ArrayList<>();
+		this.observableCollection.ItemAdded().subscribe(added::add);
+		assertNotNull(GetSubject(this.observableCollection, "itemAdded"));
+		assertNull(GetSubject(this.observableCollection, "itemsAdded"));
+
+		this.observableCollection.add("b");
+		this.observableCollection.addAll(Arrays.asList("c", "d"));
+		assertEquals(Arrays.asList("b", "c", "d"), added);
+		assertNull(GetSubject(this.observableCollection, "itemsAdded"));
+		assertEquals(3, this.observableCollection.size());
+	}
+
+	private static Object GetSubject(ObservableCollection<?> collection, String name) throws ReflectiveOperationException
+	{
+		Field field = ObservableCollection.class.getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(collection);
+	}
 }
@@ -0,0 +1,97 @@
+/*
+ * ObservableExtensionsTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+class ObservableExtensionsTest
+{
+	private TestScheduler scheduler;
+	private PublishSubject<Integer> source;
+	private List<Integer> received;
+
+	@BeforeEach
+	void setUp()
+	{
+		this.scheduler = new TestScheduler();
+		this.source = PublishSubject.create();
+		this.received = new ArrayList<>();
+	}
+
+	@Test
+	void VerifyObserveLatestOnConflatesBursts()
+	{
+		ObservableExtensions.ObserveLatestOn(this.source, this.scheduler).subscribe(this.received::add);
+
+		this.source.onNext(1);
+		this.source.onNext(2);
+		this.source.onNext(3);
+		assertTrue(this.received.isEmpty());
+
+		this.scheduler.triggerActions();
+		assertEquals(Arrays.asList(3), this.received);
+
+		this.source.onNext(4);
+		this.scheduler.triggerActions();
+		this.source.onNext(5);
+		this.source.onNext(6);
+		this.scheduler.triggerActions();
+		assertEquals(Arrays.asList(3, 4, 6), this.received);
+	}
+
+	@Test
+	void VerifyObserveLatestOnCompletionAndDisposal()
+	{
+		AtomicBoolean isCompleted = new AtomicBoolean();
+		Disposable subscription = ObservableExtensions.ObserveLatestOn(this.source, this.scheduler)
+				.subscribe(this.received::add, x -> fail(), () -> isCompleted.set(true));
+
+		this.source.onNext(1);
+		this.source.onComplete();
+		assertFalse(isCompleted.get());
+		this.scheduler.triggerActions();
+		assertEquals(Arrays.asList(1), this.received);
+		assertTrue(isCompleted.get());
+
+		PublishSubject<Integer> otherSource = PublishSubject.create();
+		subscription = ObservableExtensions.ObserveLatestOn(otherSource, this.scheduler).subscribe(this.received::add);
+		otherSource.onNext(2);
+		subscription.dispose();
+		this.scheduler.triggerActions();
+		assertFalse(otherSource.hasObservers());
+		assertEquals(Arrays.asList(1), this.received);
+	}
+}
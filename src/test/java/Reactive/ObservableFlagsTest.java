@@ -0,0 +1,100 @@
+/*
+ * ObservableFlagsTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ObservableFlagsTest
+{
+	static final int First = 1;
+	static final int Second = 1 << 1;
+
+	ObservableFlags flags;
+
+	@BeforeEach
+	void setUp()
+	{
+		this.flags = new ObservableFlags(Second);
+	}
+
+	@Test
+	void VerifyGetSetAndSwitch()
+	{
+		assertFalse(this.flags.Get(First));
+		assertTrue(this.flags.Get(Second));
+		this.flags.Set(First, true);
+		assertTrue(this.flags.Get(First));
+		assertTrue(this.flags.Get(Second));
+		assertFalse(this.flags.Switch(Second));
+		assertFalse(this.flags.Get(Second));
+		assertTrue(this.flags.Get(First));
+		assertTrue(this.flags.Switch(Second));
+	}
+
+	@Test
+	void VerifyObservable()
+	{
+		List<Boolean> firstValues = new ArrayList<>();
+		List<Integer> changes = new ArrayList<>();
+		this.flags.Observable(First).subscribe(firstValues::add);
+		this.flags.Changed().subscribe(changes::add);
+
+		this.flags.Set(First, true);
+		this.flags.Set(First, true);
+		this.flags.Set(Second, false);
+		this.flags.Switch(First);
+
+		assertEquals(2, firstValues.size());
+		assertTrue(firstValues.get(0));
+		assertFalse(firstValues.get(1));
+		assertEquals(3, changes.size());
+		assertEquals(Integer.valueOf(Second), changes.get(1));
+	}
+
+	@Test
+	void VerifyAsObservableValue()
+	{
+		ObservableValue<Boolean> first = this.flags.AsObservableValue(First);
+		List<Boolean> values = new ArrayList<>();
+		first.Observable().subscribe(values::add);
+
+		assertFalse(first.Value());
+		first.Value(true);
+		assertTrue(this.flags.Get(First));
+		assertTrue(this.flags.Get(Second));
+		this.flags.Set(First, false);
+		assertFalse(first.Value());
+		this.flags.Set(Second, false);
+
+		assertEquals(2, values.size());
+		assertTrue(values.get(0));
+		assertFalse(values.get(1));
+	}
+}
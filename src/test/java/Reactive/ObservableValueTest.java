@@ -25,6 +25,15 @@ package Reactive;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -47,4 +56,62 @@ class ObservableValueTest
 		assertDoesNotThrow(() -> this.observable.Value(null));
 		assertNull(this.observable.Value());
 	}
+
+	@Test
+	void VerifySubjectIsCreatedOnFirstSubscription() throws Exception
+	{
+		this.observable.Value("not observed");
+		assertNull(GetSubject(this.observable));
+		
+		io.reactivex.Observable<String> observable = this.observable.Observable();
+		assertNull(GetSubject(this.observable));
+		
+		List<String> values = new ArrayList<>();
+		observable.subscribe(values::add);
+		this.observable.Observable().subscribe(values::add);
+		assertNotNull(GetSubject(this.observable));
+		
+		this.observable.Value("observed");
+		assertEquals(2, values.size());
+		assertEquals("observed", values.get(0));
+	}
+
+	@Test
+	void VerifyDerivedClassesEmitThroughTheSubject()
+	{
+		ObservableValue<String> derived = new ObservableValue<String>(String.class)
+		{
+			{
+				this.Emit("not observed");
+				this.GetSubject().subscribe(x -> this.value = x);
+				this.Emit("emitted");
+			}
+		};
+		
+		assertEquals("emitted", derived.Value());
+	}
+	
+	@Test
+	void VerifyObservableOnEdt() throws InterruptedException
+	{
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicBoolean isOnEdt = new AtomicBoolean();
+
+		this.observable.ObservableOnEdt().subscribe(x -> 
+		{
+			isOnEdt.set(SwingUtilities.isEventDispatchThread());
+			latch.countDown();
+		});
+
+		this.observable.Value("on edt");
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(isOnEdt.get());
+	}
+	
+	private static Object GetSubject(ObservableValue<?> observable) throws ReflectiveOperationException
+	{
+		Field field = ObservableValue.class.getDeclaredField("subject");
+		field.setAccessible(true);
+		return field.get(observable);
+	}
 }
@@ -0,0 +1,92 @@
+/*
+ * WeakSubscriptionTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.subjects.PublishSubject;
+
+class WeakSubscriptionTest
+{
+	static class Owner
+	{
+		List<Integer> values = new ArrayList<>();
+	}
+
+	@Test
+	void VerifySubscribe()
+	{
+		PublishSubject<Integer> subject = PublishSubject.create();
+		Owner owner = new Owner();
+		Disposable subscription = WeakSubscription.Subscribe(subject, owner, (x, value) -> x.values.add(value));
+		subject.onNext(1);
+		subject.onNext(2);
+		assertEquals(2, owner.values.size());
+		subscription.dispose();
+		subject.onNext(3);
+		assertEquals(2, owner.values.size());
+		assertFalse(subject.hasObservers());
+	}
+
+	@Test
+	void VerifySubscriptionReleasesCollectedOwner() throws InterruptedException
+	{
+		PublishSubject<Integer> subject = PublishSubject.create();
+		Owner owner = new Owner();
+		WeakReference<Owner> reference = new WeakReference<>(owner);
+		WeakSubscription.Subscribe(subject, owner, (x, value) -> x.values.add(value));
+		owner = null;
+
+		for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++)
+		{
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertNull(reference.get());
+		assertTrue(subject.hasObservers());
+		subject.onNext(1);
+		assertFalse(subject.hasObservers());
+	}
+
+	@Test
+	void VerifySubscribeWeak()
+	{
+		ObservableValue<Integer> value = new ObservableValue<>(0, Integer.class);
+		Owner owner = new Owner();
+		Disposable subscription = value.SubscribeWeak(owner, (x, newValue) -> x.values.add(newValue));
+		value.Value(4);
+		assertEquals(Integer.valueOf(4), owner.values.get(0));
+		subscription.dispose();
+		value.Value(5);
+		assertEquals(1, owner.values.size());
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * InMemorySessionFactoryTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.InMemoryDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import HubController.HubController;
+import HubController.HubControllerMetrics;
+import HubController.ThingChangeSet;
+import HubController.ThingTransactionBuilder;
+import Services.NavigationService.INavigationService;
+import Services.SchedulerService.ISchedulerService;
+import cdp4common.commondata.ClassKind;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.ElementUsage;
+import cdp4common.engineeringmodeldata.Iteration;
+import cdp4common.engineeringmodeldata.Parameter;
+import cdp4common.engineeringmodeldata.Requirement;
+import cdp4common.sitedirectorydata.EngineeringModelSetup;
+import cdp4common.sitedirectorydata.SiteDirectory;
+import cdp4dal.Session;
+import cdp4dal.dal.Credentials;
+import io.reactivex.schedulers.Schedulers;
+
+class InMemorySessionFactoryTest
+{
+    private InMemoryDataSourceSettings settings;
+    private HubController controller;
+
+    @BeforeEach
+    void setUp()
+    {
+        this.settings = new InMemoryDataSourceSettings()
+                .SetNumberOfEngineeringModels(2)
+                .SetNumberOfIterations(2)
+                .SetNumberOfElementDefinitions(10)
+                .SetNumberOfElementUsages(2)
+                .SetNumberOfParameters(3)
+                .SetNumberOfRequirements(4);
+
+        ISchedulerService schedulerService = mock(ISchedulerService.class);
+        when(schedulerService.IO()).thenReturn(Schedulers.io());
+        when(schedulerService.Computation()).thenReturn(Schedulers.computation());
+        when(schedulerService.Edt()).thenReturn(Schedulers.trampoline());
+        this.controller = new HubController(mock(INavigationService.class), null, new InMemorySessionFactory(this.settings), schedulerService);
+    }
+
+    @Test
+    void VerifySettings()
+    {
+        assertThrows(IllegalArgumentException.class, () -> this.settings.SetNumberOfElementDefinitions(-1));
+        assertThrows(IllegalArgumentException.class, () -> this.settings.SetLatencyInMilliseconds(-1));
+        assertEquals(10, this.settings.GetNumberOfElementDefinitions());
+        assertEquals(0, this.settings.GetLatencyInMilliseconds());
+    }
+
+    @Test
+    void VerifyUnsimulatedMethodsReturnNeutralResults() throws Exception
+    {
+        Session session = new InMemorySessionFactory(this.settings).Create(new Credentials("admin", "pass", new URI("http://in.memo.ry"), null));
+        List<String> simulatedMethods = Arrays.asList("open", "read", "refresh", "reload", "write", "close", "closeIterationSetup", "equals");
+
+        for (Method method : Session.class.getMethods())
+        {
+            if(simulatedMethods.contains(method.getName()))
+            {
+                continue;
+            }
+
+            Object[] arguments = Arrays.stream(method.getParameterTypes()).map(x -> Array.get(Array.newInstance(x, 1), 0)).toArray();
+            Object result = assertDoesNotThrow(() -> method.invoke(session, arguments), method.getName());
+
+            if(result instanceof CompletableFuture)
+            {
+                assertNull(((CompletableFuture<?>)result).get(1, TimeUnit.SECONDS));
+            }
+            else if(result instanceof Collection)
+            {
+                assertTrue(((Collection<?>)result).isEmpty(), method.getName());
+            }
+        }
+    }
+
+    @Test
+    void VerifyOpenAndOpenIteration() throws Exception
+    {
+        assertTrue(this.controller.Open(new Credentials("admin", "pass", new URI("http://in.memo.ry"), null)));
+
+        SiteDirectory siteDirectory = this.controller.GetSiteDirectory();
+        assertEquals(2, siteDirectory.getModel().size());
+        assertEquals("SyntheticUser", this.controller.GetActivePerson().getShortName());
+
+        EngineeringModelSetup engineeringModelSetup = siteDirectory.getModel().get(1);
+        assertEquals(2, engineeringModelSetup.getIterationSetup().size());
+
+        assertTrue(this.controller.OpenIteration(engineeringModelSetup, engineeringModelSetup.getIterationSetup().get(1), siteDirectory.getDomain().get(0)));
+        Iteration iteration = this.controller.GetOpenIteration();
+        assertEquals(engineeringModelSetup.getIterationSetup().get(1).getIterationIid(), iteration.getIid());
+
+        assertEquals(10, this.controller.GetThingsByClassKind(ClassKind.ElementDefinition, ElementDefinition.class).size());
+        assertEquals(30, this.controller.GetThingsByClassKind(ClassKind.Parameter, Parameter.class).size());
+        assertEquals(17, this.controller.GetThingsByClassKind(ClassKind.ElementUsage, ElementUsage.class).size());
+        assertEquals(4, this.controller.GetThingsByClassKind(ClassKind.Requirement, Requirement.class).size());
+        assertEquals(1, iteration.getOption().size());
+        assertEquals(2, iteration.getPossibleFiniteStateList().get(0).getPossibleState().size());
+        assertFalse(this.controller.OpenReferenceDataLibraries().isEmpty());
+    }
+
+    @Test
+    void VerifyWriteAndRefresh() throws Exception
+    {
+        assertTrue(this.controller.Open(new Credentials("admin", "pass", new URI("http://in.memo.ry"), null)));
+        SiteDirectory siteDirectory = this.controller.GetSiteDirectory();
+        EngineeringModelSetup engineeringModelSetup = siteDirectory.getModel().get(0);
+        assertTrue(this.controller.OpenIteration(engineeringModelSetup, engineeringModelSetup.getIterationSetup().get(0), siteDirectory.getDomain().get(0)));
+
+        ElementDefinition elementDefinition = this.controller.GetThingsByClassKind(ClassKind.ElementDefinition, ElementDefinition.class).iterator().next();
+        int previousRevisionNumber = elementDefinition.getRevisionNumber();
+        ThingTransactionBuilder builder = new ThingTransactionBuilder(this.controller.GetOpenIteration());
+        builder.GetClone(elementDefinition).setName("Renamed");
+        this.controller.Write(builder.Build());
+
+        ArrayList<ThingChangeSet> changeSets = new ArrayList<>();
+        this.controller.GetChangeSetObservable().subscribe(changeSets::add);
+        assertTrue(this.controller.Refresh());
+
+        assertEquals("Renamed", elementDefinition.getName());
+        assertTrue(elementDefinition.getRevisionNumber() > previousRevisionNumber);
+        assertTrue(changeSets.stream().anyMatch(x -> x.GetUpdated().contains(elementDefinition.getIid())));
+
+        changeSets.clear();
+        assertTrue(this.controller.Refresh());
+        assertTrue(changeSets.stream().allMatch(ThingChangeSet::IsEmpty));
+    }
+
+    @Test
+    void VerifyLatency() throws Exception
+    {
+        this.settings.SetLatencyInMilliseconds(50);
+        assertTrue(this.controller.OpenAsync(new Credentials("admin", "pass", new URI("http://in.memo.ry"), null), 0, TimeUnit.SECONDS).get());
+        assertTrue(this.controller.GetMetrics().GetLatency(HubControllerMetrics.Open).GetMaximum() >= 50_000);
+    }
+}
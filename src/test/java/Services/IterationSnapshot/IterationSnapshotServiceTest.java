@@ -0,0 +1,122 @@
+/*
+ * IterationSnapshotServiceTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.IterationSnapshot;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import Services.UserPreferenceService.IUserPreferenceService;
+import Services.UserPreferenceService.UserPreference;
+import cdp4common.commondata.Thing;
+
+class IterationSnapshotServiceTest
+{
+    private IterationSnapshotService service;
+    private IUserPreferenceService userPreferenceService;
+    private UserPreference userPreference;
+    private File directory;
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        this.userPreference = new UserPreference();
+        this.userPreferenceService = mock(IUserPreferenceService.class);
+        when(this.userPreferenceService.GetUserPreference()).thenReturn(this.userPreference);
+        this.service = new IterationSnapshotService(this.userPreferenceService);
+
+        this.directory = new File("target", "IterationSnapshotsTest");
+        Field field = IterationSnapshotService.class.getDeclaredField("snapshotDirectory");
+        field.setAccessible(true);
+        field.set(this.service, this.directory);
+    }
+
+    @AfterEach
+    void TearDown()
+    {
+        if(!this.directory.exists())
+        {
+            return;
+        }
+        
+        for (File file : this.directory.listFiles())
+        {
+            file.delete();
+        }
+
+        this.directory.delete();
+    }
+
+    @Test
+    void VerifyIsEnabled()
+    {
+        assertFalse(this.service.IsEnabled());
+        this.userPreference.useIterationSnapshot = true;
+        assertTrue(this.service.IsEnabled());
+    }
+
+    @Test
+    void VerifySaveAndLoad()
+    {
+        UUID modelIid = UUID.randomUUID();
+        UUID iterationIid = UUID.randomUUID();
+
+        assertEquals(-1, this.service.GetRevisionNumber(modelIid, iterationIid));
+        assertTrue(this.service.Load(modelIid, iterationIid).isEmpty());
+        assertFalse(this.directory.exists());
+
+        cdp4common.dto.ElementDefinition dto = new cdp4common.dto.ElementDefinition();
+        dto.setIid(UUID.randomUUID());
+        dto.setRevisionNumber(3);
+
+        Thing thing = mock(Thing.class);
+        when(thing.toDto()).thenReturn(dto);
+
+        assertTrue(this.service.Save(modelIid, iterationIid, 3, Arrays.asList(thing)));
+        assertTrue(this.directory.exists());
+        assertEquals(3, this.service.GetRevisionNumber(modelIid, iterationIid));
+
+        List<cdp4common.dto.Thing> things = this.service.Load(modelIid, iterationIid);
+        assertEquals(1, things.size());
+        assertTrue(things.get(0) instanceof cdp4common.dto.ElementDefinition);
+        assertEquals(dto.getIid(), things.get(0).getIid());
+        assertEquals(3, things.get(0).getRevisionNumber());
+
+        assertTrue(this.service.Save(modelIid, iterationIid, 5, Arrays.asList(thing)));
+        assertEquals(5, this.service.GetRevisionNumber(modelIid, iterationIid));
+        assertEquals(1, this.directory.listFiles().length);
+
+        assertTrue(this.service.Load(modelIid, UUID.randomUUID()).isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * CachedMappingTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingEngineService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+
+import Services.MappingEngineService.TestRules.SphereTestRule;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+
+class CachedMappingTest
+{
+    @Test
+    void VerifyIsValidFor()
+    {
+        ElementDefinition elementDefinition = mock(ElementDefinition.class);
+        when(elementDefinition.getRevisionNumber()).thenReturn(1);
+        SphereTestRule rule = new SphereTestRule();
+        
+        MappingDependencyRecorder recorder = MappingDependencyRecorder.Start();
+        MappingDependencyRecorder.Record(elementDefinition);
+        MappingDependencyRecorder.Record(null);
+        recorder.Stop();
+        MappingDependencyRecorder.Record(elementDefinition);
+        
+        Object output = new Object();
+        CachedMapping cachedMapping = new CachedMapping(rule, "fingerprint", output, recorder);
+        
+        assertSame(output, cachedMapping.GetOutput());
+        assertEquals(1, recorder.GetThings().length);
+        assertTrue(cachedMapping.IsValidFor(rule, "fingerprint"));
+        assertFalse(cachedMapping.IsValidFor(rule, "another fingerprint"));
+        assertFalse(cachedMapping.IsValidFor(new SphereTestRule(), "fingerprint"));
+        
+        when(elementDefinition.getRevisionNumber()).thenReturn(2);
+        assertFalse(cachedMapping.IsValidFor(rule, "fingerprint"));
+    }
+    
+    @Test
+    void VerifyNestedRecordings()
+    {
+        ElementDefinition outerThing = mock(ElementDefinition.class);
+        ElementDefinition innerThing = mock(ElementDefinition.class);
+        
+        MappingDependencyRecorder outerRecorder = MappingDependencyRecorder.Start();
+        MappingDependencyRecorder innerRecorder = MappingDependencyRecorder.Start();
+        MappingDependencyRecorder.Record(innerThing);
+        innerRecorder.Stop();
+        MappingDependencyRecorder.Record(outerThing);
+        outerRecorder.Stop();
+        
+        assertArrayEquals(new Object[] { innerThing }, innerRecorder.GetThings());
+        assertArrayEquals(new Object[] { innerThing, outerThing }, outerRecorder.GetThings());
+        assertArrayEquals(new int[] { 0, 0 }, outerRecorder.GetRevisionNumbers());
+    }
+    
+    @Test
+    void VerifyReplayDependencies()
+    {
+        ElementDefinition elementDefinition = mock(ElementDefinition.class);
+        when(elementDefinition.getRevisionNumber()).thenReturn(3);
+        SphereTestRule rule = new SphereTestRule();
+        
+        MappingDependencyRecorder recorder = MappingDependencyRecorder.Start();
+        MappingDependencyRecorder.Record(elementDefinition);
+        recorder.Stop();
+        CachedMapping cachedMapping = new CachedMapping(rule, "fingerprint", new Object(), recorder);
+        
+        assertDoesNotThrow(cachedMapping::ReplayDependencies);
+        
+        MappingDependencyRecorder outerRecorder = MappingDependencyRecorder.Start();
+        cachedMapping.ReplayDependencies();
+        outerRecorder.Stop();
+        
+        assertArrayEquals(new Object[] { elementDefinition }, outerRecorder.GetThings());
+        assertArrayEquals(new int[] { 3 }, outerRecorder.GetRevisionNumbers());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MappingContextTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingEngineService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+class MappingContextTest
+{
+    @Test
+    void VerifyProgress()
+    {
+        List<long[]> reports = new ArrayList<>();
+        MappingContext context = new MappingContext((processed, total) -> reports.add(new long[] { processed, total }));
+        
+        context.SetTotalItems(10);
+        assertEquals(10, context.GetTotalItems());
+        assertEquals(0, context.GetProcessedItems());
+        assertArrayEquals(new long[] { 0, 10 }, reports.get(0));
+        
+        for (int index = 0; index < 10; index++)
+        {
+            context.Advance();
+        }
+        
+        assertEquals(11, reports.size());
+        assertArrayEquals(new long[] { 10, 10 }, reports.get(10));
+        
+        reports.clear();
+        context.SetTotalItems(MappingContext.MaximumNumberOfReports * 100);
+        
+        for (int index = 0; index < MappingContext.MaximumNumberOfReports * 100; index++)
+        {
+            context.Advance();
+        }
+        
+        assertEquals(MappingContext.MaximumNumberOfReports + 1, reports.size());
+        assertArrayEquals(new long[] { context.GetTotalItems(), context.GetTotalItems() }, reports.get(reports.size() - 1));
+        
+        assertDoesNotThrow(() -> new MappingContext().Advance(3));
+    }
+    
+    @Test
+    void VerifyCancel()
+    {
+        MappingContext context = new MappingContext();
+        assertFalse(context.IsCancelled());
+        assertDoesNotThrow(() -> context.ThrowIfCancelled());
+        
+        context.Cancel();
+        assertTrue(context.IsCancelled());
+        assertThrows(CancellationException.class, () -> context.ThrowIfCancelled());
+    }
+    
+    @Test
+    void VerifyCreateChild()
+    {
+        List<long[]> reports = new ArrayList<>();
+        MappingContext context = new MappingContext((processed, total) -> reports.add(new long[] { processed, total }));
+        context.SetTotalItems(10);
+        reports.clear();
+        
+        MappingContext child = context.CreateChild();
+        child.SetTotalItems(3);
+        child.Advance(3);
+        assertEquals(3, child.GetProcessedItems());
+        assertEquals(10, context.GetTotalItems());
+        assertEquals(0, context.GetProcessedItems());
+        assertTrue(reports.isEmpty());
+        
+        child.Cancel();
+        assertTrue(child.IsCancelled());
+        assertFalse(context.IsCancelled());
+        
+        MappingContext otherChild = context.CreateChild();
+        context.Cancel();
+        assertTrue(otherChild.IsCancelled());
+        assertThrows(CancellationException.class, () -> otherChild.ThrowIfCancelled());
+    }
+}
@@ -32,6 +32,10 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -41,9 +45,11 @@ import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.picocontainer.Characteristics;
 
 import App.AppContainer;
+import Reactive.KeyedObservableCollection;
 import Reactive.ObservableCollection;
 import Services.MappingEngineService.TestRules.Box;
 import Services.MappingEngineService.TestRules.DumbRule;
+import Services.MappingEngineService.TestRules.SmallSphere;
 import Services.MappingEngineService.TestRules.Sphere;
 import Services.MappingEngineService.TestRules.SphereCollectionTestRule;
 import Services.MappingEngineService.TestRules.SphereTestRule;
@@ -83,12 +89,38 @@ class MappingEngineServiceTest
     {
         Type arrayListType = ((ParameterizedType)new SphereCollectionTestRule().getClass().getGenericSuperclass()).getActualTypeArguments()[0];
         assertNotNull(this.engine);
-        assertEquals(4, this.engine.rules.size());
-        ArrayList<String> keys = new ArrayList<String>(this.engine.rules.keySet());
+        assertEquals(4, this.engine.ruleClassNames.size());
+        ArrayList<String> keys = new ArrayList<String>(this.engine.ruleClassNames.keySet());
         
         assertTrue(keys.indexOf(arrayListType.toString()) > -1);
         assertTrue(keys.indexOf(Sphere.class.toString().replace("class ", "")) > -1);
         assertTrue(keys.indexOf(DumbRule.class.toString().replace("class ", "")) > -1);
+        assertEquals(SphereTestRule.class.getName(), this.engine.ruleClassNames.get(Sphere.class.getName()));
+    }
+    
+    @Test
+    void VerifyRulesAreInstantiatedOnFirstMap()
+    {
+        this.engine.Map(new Sphere());
+        MappingRule<?, ?> sphereRule = this.engine.rules.get(Sphere.class.getName());
+        assertTrue(sphereRule instanceof SphereTestRule);
+        this.engine.Map(new Sphere());
+        assertSame(sphereRule, this.engine.rules.get(Sphere.class.getName()));
+        assertTrue(this.engine.rules.size() <= this.engine.ruleClassNames.size());
+    }
+    
+    @Test
+    void VerifyFailedRulesAreOnlyInitializedOnce()
+    {
+        MappingEngineService failingEngine = new MappingEngineService(SphereTestRule.class.getPackage());
+        failingEngine.ruleClassNames.put(Box.class.getName(), "Services.MappingEngineService.TestRules.MissingRule");
+        
+        assertNull(failingEngine.Map(new Box(1, 1)));
+        assertTrue(failingEngine.failedRuleKeys.contains(Box.class.getName()));
+        
+        failingEngine.ruleClassNames.put(Box.class.getName(), DumbRule.class.getName());
+        assertNull(failingEngine.Map(new Box(1, 1)));
+        assertFalse(failingEngine.rules.containsKey(Box.class.getName()));
     }
     
     @Test
@@ -136,4 +168,116 @@ class MappingEngineServiceTest
         assertFalse(result.isEmpty());
         assertTrue(result.stream().allMatch(x -> x.GetHeight() == 42 && x.GetLength() == 42));
     }
+
+    @Test
+    void VerifyMapDispatchesToSuperTypes()
+    {
+        Object mapResultFromSmallSphere = this.engine.Map(new SmallSphere());
+        assertTrue(mapResultFromSmallSphere instanceof Box);
+        
+        KeyedObservableCollection<UUID, Sphere> keyedSpheres = new KeyedObservableCollection<>(Sphere::GetId, Sphere.class);
+        keyedSpheres.add(new Sphere());
+        Object mapResultFromKeyedSpheres = this.engine.Map(keyedSpheres);
+        assertTrue(mapResultFromKeyedSpheres instanceof ArrayList<?>);
+        assertEquals(1, ((ArrayList<?>)mapResultFromKeyedSpheres).size());
+        
+        assertNull(this.engine.Map(new ObservableCollection<Box>(Box.class)));
+        assertNull(this.engine.Map(null));
+    }
+
+    @Test
+    void VerifyMapAll()
+    {
+        List<Object> inputs = new ArrayList<>();
+        
+        for (int index = 0; index < 1000; index++)
+        {
+            inputs.add(new Sphere());
+        }
+        
+        Sphere failingSphere = new Sphere();
+        failingSphere.SetName("");
+        inputs.add(500, failingSphere);
+        inputs.add(8);
+        SphereTypedCollection collection = new SphereTypedCollection();
+        collection.add(new Sphere());
+        inputs.add(collection);
+        
+        BatchMappingResult result = this.engine.MapAll(inputs);
+        
+        assertEquals(inputs.size(), result.GetOutputs().size());
+        assertTrue(result.HasFailures());
+        assertEquals(1, result.GetFailures().size());
+        assertTrue(result.GetFailures().get(500) instanceof StringIndexOutOfBoundsException);
+        assertNull(result.GetOutputs().get(500));
+        assertNull(result.GetOutputs().get(1001));
+        assertTrue(result.GetOutputs().get(1002) instanceof ArrayList<?>);
+        
+        for (int index = 0; index < 1001; index++)
+        {
+            if(index != 500)
+            {
+                assertEquals(((Sphere)inputs.get(index)).GetId().getLeastSignificantBits(), ((Box)result.GetOutputs().get(index)).GetLength());
+            }
+        }
+        
+        assertFalse(this.engine.MapAll(new ArrayList<>()).HasFailures());
+    }
+    
+    @Test
+    void VerifyMapReturnsCachedOutputs()
+    {
+        Sphere sphere = new Sphere();
+        Box box = (Box)this.engine.Map(sphere);
+        assertSame(box, this.engine.Map(sphere));
+        assertSame(box, this.engine.MapAll(Arrays.asList(sphere)).GetOutputs().get(0));
+        assertNotSame(box, this.engine.Map(new Sphere()));
+        
+        sphere.SetName("another name");
+        Box renamedBox = (Box)this.engine.Map(sphere);
+        assertNotSame(box, renamedBox);
+        assertSame(renamedBox, this.engine.Map(sphere));
+        
+        this.engine.ClearCache();
+        assertNotSame(renamedBox, this.engine.Map(sphere));
+    }
+    
+    @Test
+    void VerifyMapAllReportsProgressAndStopsWhenCancelled()
+    {
+        List<Object> inputs = new ArrayList<>();
+        
+        for (int index = 0; index < 1000; index++)
+        {
+            inputs.add(new Sphere());
+        }
+        
+        inputs.add(8);
+        Sphere failingSphere = new Sphere();
+        failingSphere.SetName("");
+        inputs.add(failingSphere);
+        AtomicLong lastProcessedItems = new AtomicLong();
+        MappingContext context = new MappingContext((processed, total) -> lastProcessedItems.accumulateAndGet(processed, Math::max));
+        
+        assertEquals(1, this.engine.MapAll(inputs, context).GetFailures().size());
+        assertEquals(inputs.size(), context.GetTotalItems());
+        assertEquals(inputs.size(), context.GetProcessedItems());
+        assertEquals(inputs.size(), lastProcessedItems.get());
+        inputs.remove(failingSphere);
+        
+        MappingContext[] cancellingContext = new MappingContext[1];
+        
+        cancellingContext[0] = new MappingContext((processed, total) -> 
+        {
+            if(processed >= 10)
+            {
+                cancellingContext[0].Cancel();
+            }
+        });
+        
+        assertThrows(CancellationException.class, () -> this.engine.MapAll(inputs, cancellingContext[0]));
+        assertTrue(cancellingContext[0].GetProcessedItems() < inputs.size());
+        assertThrows(CancellationException.class, () -> this.engine.Map(new Sphere(), cancellingContext[0]));
+        assertNotNull(this.engine.Map(new Sphere(), new MappingContext()));
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * MappingRuleIndexProcessorTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingEngineService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappingRuleIndexProcessorTest
+{
+    @TempDir
+    Path directory;
+    
+    private Path sources;
+    private Path classes;
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        this.sources = Files.createDirectories(this.directory.resolve("src/Rules"));
+        this.classes = Files.createDirectories(this.directory.resolve("classes"));
+    }
+
+    @Test
+    void VerifyIncrementalCompilationMergesTheIndex() throws Exception
+    {
+        Path ruleA = this.WriteRule("RuleA", "String");
+        Path ruleB = this.WriteRule("RuleB", "Integer");
+        this.Compile(ruleA, ruleB);
+        assertEquals(Arrays.asList("Rules.RuleA\tjava.lang.String", "Rules.RuleB\tjava.lang.Integer"), this.ReadIndex());
+        
+        this.Compile(this.WriteRule("RuleB", "Double"));
+        assertEquals(Arrays.asList("Rules.RuleA\tjava.lang.String", "Rules.RuleB\tjava.lang.Double"), this.ReadIndex());
+        
+        Files.delete(ruleA);
+        Files.delete(this.classes.resolve("Rules/RuleA.class"));
+        this.Compile(ruleB);
+        assertEquals(Arrays.asList("Rules.RuleB\tjava.lang.Double"), this.ReadIndex());
+        
+        Files.write(ruleB, "package Rules; public class RuleB { }".getBytes(StandardCharsets.UTF_8));
+        this.Compile(ruleB);
+        assertTrue(this.ReadIndex().isEmpty());
+    }
+    
+    private Path WriteRule(String name, String inputType) throws IOException
+    {
+        return Files.write(this.sources.resolve(name + ".java"), String.format(
+                "package Rules; public class %s extends Services.MappingEngineService.MappingRule<%s, Object> { public Object Transform(Object input) { return input; } }", 
+                name, inputType).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void Compile(Path... sourceFiles) throws IOException
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8))
+        {
+            List<String> options = Arrays.asList("-d", this.classes.toString(), 
+                    "-cp", this.classes.toString() + File.pathSeparator + System.getProperty("java.class.path"));
+            
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, 
+                    fileManager.getJavaFileObjects(Stream.of(sourceFiles).map(Path::toFile).toArray(File[]::new)));
+            
+            task.setProcessors(Arrays.asList(new MappingRuleIndexProcessor()));
+            assertTrue(task.call());
+        }
+    }
+    
+    private List<String> ReadIndex() throws IOException
+    {
+        return Files.readAllLines(this.classes.resolve(MappingRuleIndexProcessor.IndexResourceName), StandardCharsets.UTF_8)
+                .stream()
+                .filter(x -> !x.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
@@ -23,6 +23,7 @@
  */
 package Services.MappingEngineService.TestRules;
 
+import Services.MappingEngineService.MappingContext;
 import Services.MappingEngineService.MappingRule;
 
 public final class SphereTestRule extends MappingRule<Sphere, Box>
@@ -40,4 +41,44 @@ public final class SphereTestRule extends MappingRule<Sphere, Box>
         Sphere sphere = this.CastInput(input);
         return new Box(sphere.GetId().getLeastSignificantBits(), (int)sphere.GetName().charAt(0));
     }
+    
+    /**
+     * Transforms a object of type {@linkplain TInput} to another one of type {@linkplain TOutput}, 
+     * reporting its own progress to the provided {@linkplain MappingContext}
+     * 
+     * @param input the input object to transform
+     * @param context the {@linkplain MappingContext}
+     * @return a {@linkplain TOutput} object
+     */
+    @Override
+    public Box Transform(Object input, MappingContext context)
+    {
+        context.SetTotalItems(1);
+        Box box = this.Transform(input);
+        context.Advance();
+        return box;
+    }
+    
+    /**
+     * Gets a value indicating whether {@linkplain #Transform(Object)} can run on several threads at once
+     * 
+     * @return true, this rule has no state
+     */
+    @Override
+    public boolean IsThreadSafe()
+    {
+        return true;
+    }
+    
+    /**
+     * Gets the fingerprint of the content of the provided input
+     * 
+     * @param input the input about to be transformed
+     * @return the name of the sphere
+     */
+    @Override
+    public Object GetFingerprint(Object input)
+    {
+        return this.CastInput(input).GetName();
+    }
 }
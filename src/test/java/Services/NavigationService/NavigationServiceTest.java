@@ -25,6 +25,8 @@ package Services.NavigationService;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.swing.JFrame;
 
 import org.junit.jupiter.api.AfterEach;
@@ -62,9 +64,45 @@ class NavigationServiceTest
     @Test
     void VerifyShowDialog()
     {
-        assertThrows(org.picocontainer.PicoCompositionException.class, () -> this.navigationService.ShowDialog(GenerateDialog()));
-        AppContainer.Container.addComponent(IViewModel.class.getSimpleName(), new IViewModel() {});
-        assertTrue(() -> this.navigationService.ShowDialog(GenerateDialog()));
+        AtomicInteger dialogDisposals = new AtomicInteger();
+        AtomicInteger viewModelDisposals = new AtomicInteger();
+        
+        assertThrows(org.picocontainer.PicoCompositionException.class, () -> this.navigationService.ShowDialog(GenerateDialog(dialogDisposals)));
+        assertEquals(0, dialogDisposals.get());
+        
+        AppContainer.Container.addComponent(IViewModel.class.getSimpleName(), new IViewModel() 
+        {
+            @Override
+            public void Dispose()
+            {
+                viewModelDisposals.incrementAndGet();
+            }
+        });
+        
+        assertTrue(() -> this.navigationService.ShowDialog(GenerateDialog(dialogDisposals)));
+        assertTrue(() -> this.navigationService.ShowDialog(GenerateDialog(dialogDisposals)));
+        assertEquals(2, dialogDisposals.get());
+        assertEquals(0, viewModelDisposals.get());
+    }
+    
+    @Test
+    void VerifyShowDialogWithViewModel()
+    {
+        AtomicInteger dialogDisposals = new AtomicInteger();
+        AtomicInteger viewModelDisposals = new AtomicInteger();
+        
+        IViewModel viewModel = new IViewModel() 
+        {
+            @Override
+            public void Dispose()
+            {
+                viewModelDisposals.incrementAndGet();
+            }
+        };
+        
+        assertTrue(() -> this.navigationService.ShowDialog(GenerateDialog(dialogDisposals), viewModel));
+        assertEquals(1, dialogDisposals.get());
+        assertEquals(0, viewModelDisposals.get());
     }
     
     @SuppressWarnings("serial")
@@ -76,7 +114,7 @@ class NavigationServiceTest
     }
 
     @Annotations.ExludeFromCodeCoverageGeneratedReport
-    private IDialog<IViewModel, Boolean> GenerateDialog()
+    private IDialog<IViewModel, Boolean> GenerateDialog(AtomicInteger disposals)
     {
         return new IDialog<IViewModel, Boolean>() {
 
@@ -106,6 +144,12 @@ class NavigationServiceTest
             {
                 return null;
             }
+
+            @Override
+            public void Dispose()
+            {
+                disposals.incrementAndGet();
+            }
         };
     }
     
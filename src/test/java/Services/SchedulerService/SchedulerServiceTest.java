@@ -0,0 +1,78 @@
+/*
+ * SchedulerServiceTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.SchedulerService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.subjects.PublishSubject;
+
+class SchedulerServiceTest
+{
+    private PublishSubject<Integer> source;
+    private List<Integer> received;
+
+    @BeforeEach
+    void setUp()
+    {
+        this.source = PublishSubject.create();
+        this.received = new ArrayList<>();
+    }
+
+    @Test
+    void VerifySchedulers()
+    {
+        assertNotNull(SchedulerService.Current.Computation());
+        assertNotNull(SchedulerService.Current.IO());
+        assertSame(SchedulerService.Current.Edt(), SchedulerService.Current.Edt());
+    }
+
+    @Test
+    void VerifyObserveOnEdt() throws InterruptedException
+    {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean isOnEdt = new AtomicBoolean();
+
+        SchedulerService.Current.ObserveOnEdt(this.source).subscribe(x -> 
+        {
+            isOnEdt.set(SwingUtilities.isEventDispatchThread());
+            this.received.add(x);
+            latch.countDown();
+        });
+
+        this.source.onNext(1);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(isOnEdt.get());
+    }
+}
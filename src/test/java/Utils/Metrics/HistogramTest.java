@@ -0,0 +1,81 @@
+/*
+ * HistogramTest.java
+ *
+ * Copyright (c) 2020-2021 RHEA System S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski
+ *
+ * This file is part of DEH-CommonJ
+ *
+ * The DEH-CommonJ is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-CommonJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Utils.Metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HistogramTest
+{
+    private Histogram histogram;
+
+    @BeforeEach
+    void setUp()
+    {
+        this.histogram = new Histogram(new long[] { 10, 100, 1000 });
+    }
+
+    @Test
+    void VerifyRecord()
+    {
+        assertEquals(0, this.histogram.GetCount());
+        assertEquals(0, this.histogram.GetMean());
+        assertEquals(0, this.histogram.GetPercentile(50));
+
+        this.histogram.Record(5);
+        this.histogram.Record(10);
+        this.histogram.Record(50);
+        this.histogram.Record(5000);
+
+        assertEquals(4, this.histogram.GetCount());
+        assertEquals(5065, this.histogram.GetSum());
+        assertEquals(5000, this.histogram.GetMaximum());
+        assertEquals(1266.25, this.histogram.GetMean());
+        assertArrayEquals(new long[] { 2, 1, 0, 1 }, this.histogram.GetBucketCounts());
+        assertArrayEquals(new long[] { 10, 100, 1000 }, this.histogram.GetUpperBounds());
+    }
+
+    @Test
+    void VerifyPercentileAndReset()
+    {
+        for (int value = 1; value <= 100; value++)
+        {
+            this.histogram.Record(value);
+        }
+
+        assertEquals(10, this.histogram.GetPercentile(10));
+        assertEquals(100, this.histogram.GetPercentile(95));
+        assertEquals(100, this.histogram.GetPercentile(100));
+
+        this.histogram.Record(2000);
+        assertEquals(2000, this.histogram.GetPercentile(100));
+
+        this.histogram.Reset();
+        assertEquals(0, this.histogram.GetCount());
+        assertEquals(0, this.histogram.GetMaximum());
+        assertArrayEquals(new long[4], this.histogram.GetBucketCounts());
+    }
+}
@@ -298,6 +298,35 @@ class MappingConfigurationDialogViewModelTest
 		assertEquals(this.requirement.getIid(), mappedRequirement.GetHubElement().getIid());
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	void VerifyUpdateRowStatusLooksTheDstMapResultUp()
+	{
+		Sphere sphere = new Sphere();
+		sphere.SetId(UUID.randomUUID());
+		sphere.SetName("Sphere");
+
+		MappedElementRowViewModel<? extends DefinedThing, Sphere> mappedElement = new MappedElementDefinitionSphereRowViewModel(
+				this.elementDefinition, ElementDefinition.class, sphere, MappingDirection.FromDstToHub);
+
+		MappedElementRowViewModel<? extends DefinedThing, Sphere> otherElement = new MappedElementDefinitionSphereRowViewModel(
+				this.elementDefinition.clone(false), ElementDefinition.class, sphere, MappingDirection.FromDstToHub);
+
+		this.viewModel.UpdateRowStatus(otherElement, ElementDefinition.class);
+		assertEquals(MappedElementRowStatus.None, otherElement.GetRowStatus());
+
+		this.dstMapResult.add((MappedElementRowViewModel<DefinedThing, Sphere>) mappedElement);
+		this.viewModel.UpdateRowStatus(otherElement, ElementDefinition.class);
+		assertEquals(MappedElementRowStatus.ExistingMapping, otherElement.GetRowStatus());
+
+		this.viewModel.UpdateRowStatus(otherElement, Requirement.class);
+		assertEquals(MappedElementRowStatus.None, otherElement.GetRowStatus());
+
+		this.dstMapResult.clear();
+		this.viewModel.UpdateRowStatus(otherElement, ElementDefinition.class);
+		assertEquals(MappedElementRowStatus.None, otherElement.GetRowStatus());
+	}
+
 	@Test
 	void VerifyMappedRowProperties()
 	{
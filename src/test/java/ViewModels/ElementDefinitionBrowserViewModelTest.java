@@ -25,6 +25,9 @@ package ViewModels;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
@@ -35,12 +38,15 @@ import org.junit.jupiter.api.Test;
 import org.netbeans.swing.outline.OutlineModel;
 
 import HubController.IHubController;
+import Reactive.ObservableCollection;
 import Reactive.ObservableValue;
 import ViewModels.ObjectBrowser.ElementDefinitionBrowserViewModel;
 import ViewModels.ObjectBrowser.ElementDefinitionTree.Rows.ElementDefinitionRowViewModel;
 import ViewModels.ObjectBrowser.ElementDefinitionTree.Rows.ElementUsageRowViewModel;
 import ViewModels.ObjectBrowser.ElementDefinitionTree.Rows.IterationElementDefinitionRowViewModel;
 import ViewModels.ObjectBrowser.ElementDefinitionTree.Rows.Parameters.ParameterGroupRowViewModel;
+import ViewModels.ObjectBrowser.Rows.ThingRowViewModel;
+import cdp4common.commondata.Thing;
 import cdp4common.engineeringmodeldata.ActualFiniteState;
 import cdp4common.engineeringmodeldata.ActualFiniteStateList;
 import cdp4common.engineeringmodeldata.ElementDefinition;
@@ -77,6 +83,7 @@ class ElementDefinitionBrowserViewModelTest
     private ActualFiniteState state1;
     private ElementUsage elementUsage;
     private ElementDefinition element1;
+    private ObservableValue<Boolean> isSessionOpen;
 
     /**
      * @throws java.lang.Exception
@@ -86,12 +93,12 @@ class ElementDefinitionBrowserViewModelTest
     {        
         this.SetUpModel();
         this.hubController = mock(IHubController.class);
-        ObservableValue<Boolean> isSessionOpen = new ObservableValue<Boolean>(false, Boolean.class);
-        when(this.hubController.GetIsSessionOpenObservable()).thenReturn(isSessionOpen.Observable());
+        this.isSessionOpen = new ObservableValue<Boolean>(false, Boolean.class);
+        when(this.hubController.GetIsSessionOpenObservable()).thenReturn(this.isSessionOpen.Observable());
         when(this.hubController.GetOpenIteration()).thenReturn(this.iteration);
         when(this.hubController.GetSessionEventObservable()).thenReturn(io.reactivex.Observable.fromArray(true));
         this.viewModel = new ElementDefinitionBrowserViewModel(this.hubController);
-        isSessionOpen.Value(true);
+        this.isSessionOpen.Value(true);
     }
 
     private void SetUpModel()
@@ -254,6 +261,25 @@ class ElementDefinitionBrowserViewModelTest
         this.iteration.getElement().add(this.element1);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void VerifySelectedElementsKeepEveryRow()
+    {
+        ThingRowViewModel<Thing> row0 = mock(ThingRowViewModel.class);
+        ThingRowViewModel<Thing> row1 = mock(ThingRowViewModel.class);
+        when(row0.GetThing()).thenReturn(this.element0);
+        when(row1.GetThing()).thenReturn(this.element0);
+
+        this.viewModel.OnSelectionChanged(Arrays.asList(row0, row1));
+        assertEquals(2, this.viewModel.GetSelectedElements().size());
+        assertTrue(this.viewModel.GetSelectedElements().contains(row0));
+        assertTrue(this.viewModel.GetSelectedElements().contains(row1));
+
+        this.viewModel.GetSelectedElements().removeIf(x -> x == row0);
+        assertEquals(1, this.viewModel.GetSelectedElements().size());
+        assertSame(row1, this.viewModel.GetSelectedElements().iterator().next());
+    }
+
     @Test
     void VerifyTreeBuilds() throws Exception
     {
@@ -273,5 +299,34 @@ class ElementDefinitionBrowserViewModelTest
         assertTrue(elementDefinitionRowViewModel1 instanceof ElementDefinitionRowViewModel);
         assertEquals(1, elementDefinitionRowViewModel1.GetContainedRows().size());
         assertTrue(elementDefinitionRowViewModel1.GetContainedRows().get(0) instanceof ElementUsageRowViewModel);
+
+        assertDoesNotThrow(() -> iterationRowViewModel.GetContainedRows().remove(0));
+        assertEquals(1, iterationRowViewModel.GetContainedRows().size());
+        assertSame(elementDefinitionRowViewModel1, iterationRowViewModel.GetContainedRows().get(0));
+        iterationRowViewModel.GetContainedRows().add(elementDefinitionRowViewModel0);
+        assertEquals(2, iterationRowViewModel.GetContainedRows().size());
+    }
+
+    @Test
+    void VerifyTreeRebuildDisposesThePreviousRows()
+    {
+        ElementDefinitionRowViewModel previousRow = mock(ElementDefinitionRowViewModel.class);
+        when(previousRow.GetContainedRows()).thenReturn(new ObservableCollection<>());
+        IterationElementDefinitionRowViewModel previousRoot = (IterationElementDefinitionRowViewModel)this.viewModel.GetBrowserTreeModel().getRoot();
+        previousRoot.GetContainedRows().add(previousRow);
+        
+        this.isSessionOpen.Value(true);
+        IterationElementDefinitionRowViewModel currentRoot = (IterationElementDefinitionRowViewModel)this.viewModel.GetBrowserTreeModel().getRoot();
+        assertNotSame(previousRoot, currentRoot);
+        verify(previousRow, times(1)).Dispose();
+        
+        ElementDefinitionRowViewModel currentRow = mock(ElementDefinitionRowViewModel.class);
+        when(currentRow.GetContainedRows()).thenReturn(new ObservableCollection<>());
+        currentRoot.GetContainedRows().add(currentRow);
+        verify(currentRow, never()).Dispose();
+        
+        this.viewModel.Dispose();
+        verify(currentRow, times(1)).Dispose();
+        verify(previousRow, times(1)).Dispose();
     }
 }
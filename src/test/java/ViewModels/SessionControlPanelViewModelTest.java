@@ -23,7 +23,6 @@
  */
 package ViewModels;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -32,14 +31,15 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
-import org.awaitility.Awaitility;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import HubController.IHubController;
 import Services.NavigationService.INavigationService;
 import Views.HubLogin;
+import io.reactivex.Observable;
 
 class SessionControlPanelViewModelTest
 {
@@ -79,17 +79,22 @@ class SessionControlPanelViewModelTest
     }
     
     @Test
-    void VerifyAutoRefresh() throws InterruptedException
+    void VerifyAutoRefresh()
     {
+        when(this.hubController.GetAutoRefreshCountdownObservable()).thenReturn(Observable.just(5, 4, 3));
         ArrayList<Integer> observedTicks = new ArrayList<Integer>();
         this.viewModel.GetTimeObservable().subscribe(x -> observedTicks.add(x));
-        this.viewModel.SetAutoRefresh(5);
+        assertEquals(3, observedTicks.size());
+
+        when(this.hubController.GetAutoRefreshIntervalObservable()).thenReturn(Observable.just(5, 10));
+        ArrayList<Integer> observedIntervals = new ArrayList<Integer>();
+        this.viewModel.GetIntervalObservable().subscribe(x -> observedIntervals.add(x));
+        assertEquals(Arrays.asList(5, 10), observedIntervals);
 
-        Awaitility.await().atMost(8, SECONDS).until(() ->
-        {
-        	return observedTicks.size() == 8;
-        });
-        verify(this.hubController, times(1)).Refresh();
+        this.viewModel.SetAutoRefresh(5);
+        verify(this.hubController, times(1)).StartAutoRefresh(5);
+        this.viewModel.CancelAutoRefresh();
+        verify(this.hubController, times(1)).StopAutoRefresh();
     }
     
     @Test